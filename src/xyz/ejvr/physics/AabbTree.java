@@ -0,0 +1,105 @@
+package xyz.ejvr.physics;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Static bounding volume hierarchy over a fixed set of boxes, built once by median splits along the longer axis.
+ * Nodes live in flat arrays: four bounds per node plus either two child nodes or the index of a leaf box. The depth
+ * is recorded while building, so a query's traversal stack holds one entry per level rather than one per node.
+ */
+final class AabbTree {
+
+    private final Aabb[] leaves;
+    private final double[] nodeBounds;
+    private final int[] nodeLeft;
+    private final int[] nodeRight;
+    private final int[] nodeLeaf;
+    private int nodeCount;
+    private int depth;
+
+    AabbTree(Aabb[] leaves) {
+        if (leaves.length == 0) {
+            throw new IllegalArgumentException("AABB tree needs at least one box");
+        }
+        this.leaves = leaves.clone();
+        int capacity = 2 * leaves.length - 1;
+        nodeBounds = new double[capacity * 4];
+        nodeLeft = new int[capacity];
+        nodeRight = new int[capacity];
+        nodeLeaf = new int[capacity];
+        int[] order = new int[leaves.length];
+        Arrays.setAll(order, i -> i);
+        build(order, 0, order.length, 0);
+    }
+
+    Aabb bounds() {
+        return new Aabb(nodeBounds[0], nodeBounds[1], nodeBounds[2], nodeBounds[3]);
+    }
+
+    /**
+     * Reports the index of every leaf box that overlaps {@code bounds}.
+     */
+    void query(Aabb bounds, IntConsumer visitor) {
+        int[] stack = new int[depth + 1];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int offset = node * 4;
+            if (nodeBounds[offset + 2] < bounds.minX() || nodeBounds[offset] > bounds.maxX()
+                    || nodeBounds[offset + 3] < bounds.minY() || nodeBounds[offset + 1] > bounds.maxY()) {
+                continue;
+            }
+            if (nodeLeaf[node] >= 0) {
+                visitor.accept(nodeLeaf[node]);
+            } else {
+                stack[top++] = nodeLeft[node];
+                stack[top++] = nodeRight[node];
+            }
+        }
+    }
+
+    private int build(int[] order, int from, int to, int level) {
+        int node = nodeCount++;
+        depth = Math.max(depth, level);
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            Aabb bounds = leaves[order[i]];
+            minX = Math.min(minX, bounds.minX());
+            minY = Math.min(minY, bounds.minY());
+            maxX = Math.max(maxX, bounds.maxX());
+            maxY = Math.max(maxY, bounds.maxY());
+        }
+        nodeBounds[node * 4] = minX;
+        nodeBounds[node * 4 + 1] = minY;
+        nodeBounds[node * 4 + 2] = maxX;
+        nodeBounds[node * 4 + 3] = maxY;
+
+        if (to - from == 1) {
+            nodeLeaf[node] = order[from];
+            return node;
+        }
+        nodeLeaf[node] = -1;
+        boolean splitX = maxX - minX >= maxY - minY;
+        Integer[] slice = new Integer[to - from];
+        for (int i = from; i < to; i++) {
+            slice[i - from] = order[i];
+        }
+        Arrays.sort(slice, (first, second) -> Double.compare(center(leaves[first], splitX), center(leaves[second], splitX)));
+        for (int i = from; i < to; i++) {
+            order[i] = slice[i - from];
+        }
+        int middle = (from + to) >>> 1;
+        nodeLeft[node] = build(order, from, middle, level + 1);
+        nodeRight[node] = build(order, middle, to, level + 1);
+        return node;
+    }
+
+    private static double center(Aabb bounds, boolean alongX) {
+        return alongX ? bounds.minX() + bounds.maxX() : bounds.minY() + bounds.maxY();
+    }
+}
@@ -0,0 +1,32 @@
+package xyz.ejvr.physics;
+
+/**
+ * Limits for {@link AdaptiveStepper}. A substep never exceeds {@code maxStep} and, unless that would fall below
+ * {@code minStep}, lets the fastest body travel at most {@code courantNumber} times the smallest shape extent in the
+ * world. After a step whose deepest collision penetrates further than {@code maxPenetration}, the next step shrinks in
+ * proportion; otherwise it grows by at most {@code growthFactor} per substep.
+ */
+public record AdaptiveStepSettings(double minStep, double maxStep, double courantNumber, double maxPenetration, double growthFactor) {
+
+    public static final double DEFAULT_COURANT_NUMBER = 0.5;
+    public static final double DEFAULT_GROWTH_FACTOR = 2;
+
+    public AdaptiveStepSettings {
+        if (!(minStep > 0) || !(maxStep >= minStep) || Double.isInfinite(maxStep)) {
+            throw new IllegalArgumentException("Steps must satisfy 0 < minStep <= maxStep < infinity");
+        }
+        if (!(courantNumber > 0) || courantNumber > 1) {
+            throw new IllegalArgumentException("Courant number must be in (0, 1]");
+        }
+        if (!(maxPenetration > 0)) {
+            throw new IllegalArgumentException("Maximum penetration must be positive");
+        }
+        if (!(growthFactor > 1) || Double.isInfinite(growthFactor)) {
+            throw new IllegalArgumentException("Growth factor must be finite and greater than one");
+        }
+    }
+
+    public AdaptiveStepSettings(double minStep, double maxStep, double maxPenetration) {
+        this(minStep, maxStep, DEFAULT_COURANT_NUMBER, maxPenetration, DEFAULT_GROWTH_FACTOR);
+    }
+}
@@ -0,0 +1,215 @@
+package xyz.ejvr.physics;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Advances a world by whole frames in substeps of varying length instead of one fixed {@code deltaTime}. Each substep
+ * is bounded by a CFL-style limit: the fastest movable body (linear speed plus angular speed times bounding radius,
+ * particles included) may travel at most {@link AdaptiveStepSettings#courantNumber()} times the smallest extent of any
+ * shape in the world. Two bodies closing at that speed therefore overlap for at least one substep before they could
+ * pass through each other, so impacts are detected without shrinking every calm frame to the worst case. Line segments
+ * and chains have no thickness and are left out of the smallest extent; the moving body's own extent covers them.
+ * <p>
+ * The limit uses the speeds at the start of a substep, so the collisions that substep resolved feed back into the next
+ * one: when the deepest penetration exceeds {@link AdaptiveStepSettings#maxPenetration()}, the next substep shrinks by
+ * the ratio of the two, and otherwise it grows by at most {@link AdaptiveStepSettings#growthFactor()}. The last
+ * substep of a frame is shortened to land exactly on the frame's end. Not thread-safe; the step size carries over from
+ * one frame to the next.
+ */
+public final class AdaptiveStepper {
+
+    private static final double MIN_SHRINK = 0.25;
+
+    /**
+     * Totals since the stepper was created or last {@link #resetStatistics() reset}. {@code speedLimitedSubsteps}
+     * counts substeps shortened by the CFL limit, {@code penetrationLimitedSubsteps} those shortened after a deep
+     * collision, and {@code minStepClampedSubsteps} those where a limit asked for less than the minimum step.
+     */
+    public record Statistics(long frames, long substeps, double simulatedTime, double smallestStep, double largestStep,
+                             long speedLimitedSubsteps, long penetrationLimitedSubsteps, long minStepClampedSubsteps,
+                             double deepestPenetration) {
+
+        public double substepsPerFrame() {
+            return frames == 0 ? 0 : (double) substeps / frames;
+        }
+    }
+
+    private final AdaptiveStepSettings settings;
+    private double nextStep;
+    private boolean penetrationLimited;
+    private long frames;
+    private long substeps;
+    private double simulatedTime;
+    private double smallestStep = Double.POSITIVE_INFINITY;
+    private double largestStep;
+    private long speedLimitedSubsteps;
+    private long penetrationLimitedSubsteps;
+    private long minStepClampedSubsteps;
+    private double deepestPenetration;
+
+    public AdaptiveStepper(AdaptiveStepSettings settings) {
+        this.settings = Objects.requireNonNull(settings, "AdaptiveStepper settings cannot be null");
+        this.nextStep = settings.maxStep();
+    }
+
+    public AdaptiveStepSettings settings() {
+        return settings;
+    }
+
+    public World advance(World world, double frameTime) {
+        return advance(StepResult.of(world), frameTime).world();
+    }
+
+    /**
+     * Advances {@code previous} by {@code frameTime} and returns the result of the last substep, whose collisions are
+     * those of that substep only.
+     */
+    public StepResult advance(StepResult previous, double frameTime) {
+        Objects.requireNonNull(previous, "AdaptiveStepper previous result cannot be null");
+        if (!(frameTime > 0) || Double.isInfinite(frameTime)) {
+            throw new IllegalArgumentException("Frame time must be positive and finite");
+        }
+        double extent = smallestExtent(previous.world());
+        StepResult result = previous;
+        double remaining = frameTime;
+        while (remaining > 0) {
+            double step = nextStep;
+            double speedLimit = settings.courantNumber() * extent / maxSpeed(result.world());
+            if (speedLimit < step) {
+                step = speedLimit;
+                speedLimitedSubsteps++;
+            } else if (penetrationLimited) {
+                penetrationLimitedSubsteps++;
+            }
+            if (step < settings.minStep()) {
+                step = settings.minStep();
+                minStepClampedSubsteps++;
+            }
+            double chosen = step;
+            if (remaining <= step) {
+                step = remaining;
+            } else if (remaining < step + settings.minStep()) {
+                step = remaining / 2;
+            }
+
+            result = PhysicsEngine.step(result, step);
+            remaining = step == remaining ? 0 : remaining - step;
+            record(step);
+
+            double deepest = deepestPenetration(result.collisions());
+            deepestPenetration = Math.max(deepestPenetration, deepest);
+            penetrationLimited = deepest > settings.maxPenetration();
+            nextStep = penetrationLimited
+                    ? Math.max(settings.minStep(), step * Math.max(MIN_SHRINK, settings.maxPenetration() / deepest))
+                    : Math.min(settings.maxStep(), chosen * settings.growthFactor());
+        }
+        frames++;
+        return result;
+    }
+
+    public Statistics statistics() {
+        return new Statistics(frames, substeps, simulatedTime, substeps == 0 ? 0 : smallestStep, largestStep,
+                speedLimitedSubsteps, penetrationLimitedSubsteps, minStepClampedSubsteps, deepestPenetration);
+    }
+
+    public void resetStatistics() {
+        frames = 0;
+        substeps = 0;
+        simulatedTime = 0;
+        smallestStep = Double.POSITIVE_INFINITY;
+        largestStep = 0;
+        speedLimitedSubsteps = 0;
+        penetrationLimitedSubsteps = 0;
+        minStepClampedSubsteps = 0;
+        deepestPenetration = 0;
+    }
+
+    private void record(double step) {
+        substeps++;
+        simulatedTime += step;
+        smallestStep = Math.min(smallestStep, step);
+        largestStep = Math.max(largestStep, step);
+    }
+
+    /**
+     * Returns the fastest speed of any point of a movable body or of any particle, or zero when nothing moves.
+     */
+    static double maxSpeed(World world) {
+        double fastest = 0;
+        for (Body body : world.bodies()) {
+            if (!body.immovable()) {
+                double speed = Math.hypot(body.velocity().x(), body.velocity().y())
+                        + Math.abs(body.angularVelocity()) * body.shape().boundingRadius();
+                fastest = Math.max(fastest, speed);
+            }
+        }
+        for (ParticleSystem particles : world.particleSystems()) {
+            for (int i = 0; i < particles.size(); i++) {
+                fastest = Math.max(fastest, Math.hypot(particles.velocityX[i], particles.velocityY[i]));
+            }
+        }
+        return fastest;
+    }
+
+    /**
+     * Returns the smallest thickness of any body's shape or any particle, or infinity when there is none.
+     */
+    static double smallestExtent(World world) {
+        double smallest = Double.POSITIVE_INFINITY;
+        for (Body body : world.bodies()) {
+            smallest = Math.min(smallest, thickness(body.shape()));
+        }
+        for (ParticleSystem particles : world.particleSystems()) {
+            if (particles.size() > 0) {
+                smallest = Math.min(smallest, 2 * particles.radius());
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * Returns the smallest width of {@code shape} across any direction, or infinity for shapes without thickness.
+     */
+    static double thickness(Shape shape) {
+        return switch (shape) {
+            case Circle circle -> 2 * circle.radius();
+            case AxisAlignedRectangle rectangle -> 2 * Math.min(rectangle.halfWidth(), rectangle.halfHeight());
+            case RotatedRectangle rectangle -> 2 * Math.min(rectangle.halfWidth(), rectangle.halfHeight());
+            case LineSegment segment -> Double.POSITIVE_INFINITY;
+            case Chain chain -> Double.POSITIVE_INFINITY;
+            case ConvexPolygon polygon -> polygonWidth(polygon);
+            case CompoundShape compound -> {
+                double smallest = Double.POSITIVE_INFINITY;
+                for (CompoundShape.Child child : compound.children()) {
+                    smallest = Math.min(smallest, thickness(child.shape()));
+                }
+                yield smallest;
+            }
+        };
+    }
+
+    private static double polygonWidth(ConvexPolygon polygon) {
+        double smallest = Double.POSITIVE_INFINITY;
+        for (int edge = 0; edge < polygon.vertexCount(); edge++) {
+            VectorDouble normal = polygon.normal(edge);
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < polygon.vertexCount(); i++) {
+                double projection = normal.dotProduct(polygon.vertex(i));
+                min = Math.min(min, projection);
+                max = Math.max(max, projection);
+            }
+            smallest = Math.min(smallest, max - min);
+        }
+        return smallest;
+    }
+
+    private static double deepestPenetration(List<Collision> collisions) {
+        double deepest = 0;
+        for (Collision collision : collisions) {
+            deepest = Math.max(deepest, collision.penetration());
+        }
+        return deepest;
+    }
+}
@@ -0,0 +1,136 @@
+package xyz.ejvr.physics;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@link PhysicsEngine#step(World, double)} on a background thread so a render thread can keep drawing the last
+ * completed world. The front buffer ({@link #front()}) is the most recent immutable {@link World}; the step in flight
+ * writes only to its own new world, which is published once complete. At most {@code maxPendingSteps} steps are
+ * queued; beyond that the {@link Backpressure} policy decides whether callers wait or the request is skipped.
+ */
+public final class AsyncStepper implements AutoCloseable {
+
+    public enum Backpressure {
+        /**
+         * {@link #requestStep(double)} blocks until a queued step completes.
+         */
+        BLOCK,
+        /**
+         * {@link #requestStep(double)} does not queue a new step and returns the future of the latest queued one.
+         */
+        SKIP
+    }
+
+    private final ExecutorService executor;
+    private final Semaphore slots;
+    private final Backpressure backpressure;
+    private final AtomicLong completedSteps = new AtomicLong();
+    private final AtomicLong skippedRequests = new AtomicLong();
+    private volatile World front;
+    private World back;
+    private CompletableFuture<World> latest;
+
+    public AsyncStepper(World initial, int maxPendingSteps, Backpressure backpressure) {
+        Objects.requireNonNull(initial, "AsyncStepper initial world cannot be null");
+        Objects.requireNonNull(backpressure, "AsyncStepper backpressure cannot be null");
+        if (maxPendingSteps < 1) {
+            throw new IllegalArgumentException("At least one pending step must be allowed");
+        }
+        this.front = initial;
+        this.back = initial;
+        this.latest = CompletableFuture.completedFuture(initial);
+        this.slots = new Semaphore(maxPendingSteps);
+        this.backpressure = backpressure;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "physics-async-stepper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * The most recently completed world. Never blocks.
+     */
+    public World front() {
+        return front;
+    }
+
+    /**
+     * Queues a step after the last queued one. Under {@link Backpressure#BLOCK} the caller waits for a free slot without
+     * holding this stepper's lock. The slot is released before the returned future completes, so callbacks on it can
+     * request the next step straight away.
+     */
+    public CompletableFuture<World> requestStep(double deltaTime) {
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("AsyncStepper is closed");
+        }
+        if (backpressure == Backpressure.SKIP) {
+            if (!slots.tryAcquire()) {
+                skippedRequests.incrementAndGet();
+                synchronized (this) {
+                    return latest;
+                }
+            }
+        } else {
+            try {
+                slots.acquire();
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                return CompletableFuture.failedFuture(interrupted);
+            }
+        }
+
+        CompletableFuture<World> future = new CompletableFuture<>();
+        synchronized (this) {
+            if (executor.isShutdown()) {
+                slots.release();
+                throw new IllegalStateException("AsyncStepper is closed");
+            }
+            executor.execute(() -> {
+                World stepped;
+                try {
+                    stepped = PhysicsEngine.step(back, deltaTime);
+                } catch (RuntimeException | Error failure) {
+                    slots.release();
+                    future.completeExceptionally(failure);
+                    return;
+                }
+                back = stepped;
+                front = stepped;
+                completedSteps.incrementAndGet();
+                slots.release();
+                future.complete(stepped);
+            });
+            latest = future;
+        }
+        return future;
+    }
+
+    public long completedSteps() {
+        return completedSteps.get();
+    }
+
+    public long skippedRequests() {
+        return skippedRequests.get();
+    }
+
+    /**
+     * Stops accepting requests and waits for queued steps to finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException interrupted) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -25,4 +25,9 @@ public record AxisAlignedRectangle(double halfWidth, double halfHeight) implemen
     public double boundingRadius() {
         return Math.hypot(halfWidth, halfHeight);
     }
+
+    @Override
+    public double unitInertia() {
+        return (width() * width() + height() * height()) / 12.0;
+    }
 }
@@ -0,0 +1,238 @@
+package xyz.ejvr.physics;
+
+import java.util.Arrays;
+
+/**
+ * Quadtree over point masses for Barnes-Hut summation of inverse-square accelerations. Each square cell is split into
+ * quadrants by partitioning its bodies in place until it holds at most {@value #LEAF_SIZE} of them, and stores their
+ * total mass and centre of mass. Like {@link AabbTree}, nodes live in flat arrays.
+ */
+final class BarnesHutTree {
+
+    static final int LEAF_SIZE = 8;
+
+    /**
+     * Cells at this depth become leaves however many bodies they hold, so coincident bodies cannot split forever.
+     */
+    private static final int MAX_DEPTH = 40;
+    private static final int MIN_NODE_CAPACITY = 16;
+    private static final int LEAF = -2;
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] mass;
+    private final int[] source;
+
+    private double[] nodeMinX;
+    private double[] nodeMinY;
+    private double[] nodeSize;
+    private double[] nodeMass;
+    private double[] nodeCentreX;
+    private double[] nodeCentreY;
+    private int[] nodeFrom;
+    private int[] nodeTo;
+    private int[] nodeChildren;
+    private int nodeCount;
+
+    /**
+     * Builds the tree over the bodies {@code (x[i], y[i])} of mass {@code mass[i]}; the arrays are copied.
+     */
+    BarnesHutTree(double[] x, double[] y, double[] mass) {
+        if (x.length == 0 || x.length != y.length || x.length != mass.length) {
+            throw new IllegalArgumentException("Barnes-Hut tree needs matching, non-empty coordinate and mass arrays");
+        }
+        this.x = x.clone();
+        this.y = y.clone();
+        this.mass = mass.clone();
+        this.source = new int[x.length];
+        Arrays.setAll(source, i -> i);
+        allocate(Math.max(MIN_NODE_CAPACITY, x.length / LEAF_SIZE * 2));
+
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < x.length; i++) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        double size = Math.max(maxX - minX, maxY - minY);
+        build(0, x.length, minX, minY, size > 0 ? size : 1, 0);
+    }
+
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the sum of {@code mass / r^2} towards every body other than {@code self}, as seen from
+     * {@code (pointX, pointY)}, in {@code result[0]} and {@code result[1]}. Cells smaller than {@code openingAngle}
+     * times their distance act through their centre of mass, unless the point lies inside them. {@code stack} needs
+     * {@link #stackSize()} entries.
+     */
+    void accelerationAt(double pointX, double pointY, int self, double openingAngle, double softening, int[] stack, double[] result) {
+        double openingAngleSquared = openingAngle * openingAngle;
+        double softeningSquared = softening * softening;
+        double accelerationX = 0;
+        double accelerationY = 0;
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int children = node * 4;
+            if (nodeChildren[children] == LEAF) {
+                for (int k = nodeFrom[node]; k < nodeTo[node]; k++) {
+                    if (source[k] == self) {
+                        continue;
+                    }
+                    double deltaX = x[k] - pointX;
+                    double deltaY = y[k] - pointY;
+                    double distanceSquared = deltaX * deltaX + deltaY * deltaY + softeningSquared;
+                    if (distanceSquared > 0) {
+                        double factor = mass[k] / (distanceSquared * Math.sqrt(distanceSquared));
+                        accelerationX += factor * deltaX;
+                        accelerationY += factor * deltaY;
+                    }
+                }
+                continue;
+            }
+            double deltaX = nodeCentreX[node] - pointX;
+            double deltaY = nodeCentreY[node] - pointY;
+            double distanceSquared = deltaX * deltaX + deltaY * deltaY;
+            double size = nodeSize[node];
+            if (size * size < openingAngleSquared * distanceSquared && !contains(node, pointX, pointY)) {
+                double softened = distanceSquared + softeningSquared;
+                double factor = nodeMass[node] / (softened * Math.sqrt(softened));
+                accelerationX += factor * deltaX;
+                accelerationY += factor * deltaY;
+                continue;
+            }
+            for (int quadrant = 0; quadrant < 4; quadrant++) {
+                int child = nodeChildren[children + quadrant];
+                if (child >= 0) {
+                    stack[top++] = child;
+                }
+            }
+        }
+        result[0] = accelerationX;
+        result[1] = accelerationY;
+    }
+
+    /**
+     * Depth-first traversal keeps at most three siblings per level waiting, plus the four children of the deepest cell.
+     */
+    static int stackSize() {
+        return 3 * MAX_DEPTH + 4;
+    }
+
+    private int build(int from, int to, double minX, double minY, double size, int depth) {
+        int node = nodeCount++;
+        if (node == nodeMinX.length) {
+            grow();
+        }
+        nodeMinX[node] = minX;
+        nodeMinY[node] = minY;
+        nodeSize[node] = size;
+        nodeFrom[node] = from;
+        nodeTo[node] = to;
+        double total = 0;
+        double weightedX = 0;
+        double weightedY = 0;
+        for (int k = from; k < to; k++) {
+            total += mass[k];
+            weightedX += mass[k] * x[k];
+            weightedY += mass[k] * y[k];
+        }
+        nodeMass[node] = total;
+        nodeCentreX[node] = total > 0 ? weightedX / total : minX + size / 2;
+        nodeCentreY[node] = total > 0 ? weightedY / total : minY + size / 2;
+        int children = node * 4;
+        if (to - from <= LEAF_SIZE || depth == MAX_DEPTH) {
+            Arrays.fill(nodeChildren, children, children + 4, LEAF);
+            return node;
+        }
+
+        double half = size / 2;
+        double middleX = minX + half;
+        double middleY = minY + half;
+        int splitY = partition(y, from, to, middleY);
+        int lowerSplitX = partition(x, from, splitY, middleX);
+        int upperSplitX = partition(x, splitY, to, middleX);
+        int[] bounds = {from, lowerSplitX, splitY, upperSplitX, to};
+        for (int quadrant = 0; quadrant < 4; quadrant++) {
+            int child = -1;
+            if (bounds[quadrant] < bounds[quadrant + 1]) {
+                child = build(bounds[quadrant], bounds[quadrant + 1], quadrant % 2 == 0 ? minX : middleX,
+                        quadrant < 2 ? minY : middleY, half, depth + 1);
+            }
+            nodeChildren[children + quadrant] = child;
+        }
+        return node;
+    }
+
+    /**
+     * Moves the bodies in {@code [from, to)} whose {@code axis} coordinate is below {@code split} to the front and
+     * returns where the rest begins.
+     */
+    private int partition(double[] axis, int from, int to, double split) {
+        int low = from;
+        int high = to - 1;
+        while (low <= high) {
+            if (axis[low] < split) {
+                low++;
+            } else {
+                swap(low, high--);
+            }
+        }
+        return low;
+    }
+
+    private void swap(int i, int j) {
+        double swapX = x[i];
+        x[i] = x[j];
+        x[j] = swapX;
+        double swapY = y[i];
+        y[i] = y[j];
+        y[j] = swapY;
+        double swapMass = mass[i];
+        mass[i] = mass[j];
+        mass[j] = swapMass;
+        int swapSource = source[i];
+        source[i] = source[j];
+        source[j] = swapSource;
+    }
+
+    private boolean contains(int node, double pointX, double pointY) {
+        double minX = nodeMinX[node];
+        double minY = nodeMinY[node];
+        double size = nodeSize[node];
+        return pointX >= minX && pointX <= minX + size && pointY >= minY && pointY <= minY + size;
+    }
+
+    private void allocate(int capacity) {
+        nodeMinX = new double[capacity];
+        nodeMinY = new double[capacity];
+        nodeSize = new double[capacity];
+        nodeMass = new double[capacity];
+        nodeCentreX = new double[capacity];
+        nodeCentreY = new double[capacity];
+        nodeFrom = new int[capacity];
+        nodeTo = new int[capacity];
+        nodeChildren = new int[capacity * 4];
+    }
+
+    private void grow() {
+        int capacity = nodeMinX.length * 2;
+        nodeMinX = Arrays.copyOf(nodeMinX, capacity);
+        nodeMinY = Arrays.copyOf(nodeMinY, capacity);
+        nodeSize = Arrays.copyOf(nodeSize, capacity);
+        nodeMass = Arrays.copyOf(nodeMass, capacity);
+        nodeCentreX = Arrays.copyOf(nodeCentreX, capacity);
+        nodeCentreY = Arrays.copyOf(nodeCentreY, capacity);
+        nodeFrom = Arrays.copyOf(nodeFrom, capacity);
+        nodeTo = Arrays.copyOf(nodeTo, capacity);
+        nodeChildren = Arrays.copyOf(nodeChildren, capacity * 4);
+    }
+}
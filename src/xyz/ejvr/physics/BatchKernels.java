@@ -0,0 +1,44 @@
+package xyz.ejvr.physics;
+
+/**
+ * Entry point for the column kernels. Uses the JDK Vector API when the {@code jdk.incubator.vector} module is
+ * resolved at runtime and falls back to equivalent scalar loops otherwise. Setting the system property
+ * {@code xyz.ejvr.physics.simd} to {@code false} forces the scalar path.
+ */
+public final class BatchKernels {
+
+    private static final boolean VECTORIZED = vectorApiAvailable();
+
+    private BatchKernels() {
+    }
+
+    public static boolean vectorized() {
+        return VECTORIZED;
+    }
+
+    public static void integrate(BodyColumns columns, double deltaTime) {
+        if (VECTORIZED) {
+            SimdKernels.integrate(columns, deltaTime);
+        } else {
+            ScalarKernels.integrate(columns, deltaTime, 0, columns.size);
+        }
+    }
+
+    /**
+     * Tests circle {@code index} against circles {@code from} (inclusive) to {@code to} (exclusive) and appends the
+     * indices of overlapping circles to {@code hits}, starting at {@code hitCount}. Returns the new hit count.
+     */
+    public static int circleOverlaps(double[] x, double[] y, double[] radius, int index, int from, int to, int[] hits, int hitCount) {
+        if (VECTORIZED) {
+            return SimdKernels.circleOverlaps(x, y, radius, index, from, to, hits, hitCount);
+        }
+        return ScalarKernels.circleOverlaps(x, y, radius, index, from, to, hits, hitCount);
+    }
+
+    private static boolean vectorApiAvailable() {
+        if (!Boolean.parseBoolean(System.getProperty("xyz.ejvr.physics.simd", "true"))) {
+            return false;
+        }
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+}
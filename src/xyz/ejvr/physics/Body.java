@@ -41,20 +41,23 @@ public record Body(
         if (immovable) {
             return 0.0;
         }
-        double momentOfInertia = switch (shape) {
-            case Circle circle -> 0.5 * mass * circle.radius() * circle.radius();
-            case AxisAlignedRectangle rectangle -> mass * (rectangle.width() * rectangle.width() + rectangle.height() * rectangle.height()) / 12.0;
-            case RotatedRectangle rectangle -> mass * (rectangle.width() * rectangle.width() + rectangle.height() * rectangle.height()) / 12.0;
-            case LineSegment line -> mass * line.length() * line.length() / 12.0;
-        };
+        double momentOfInertia = mass * shape.unitInertia();
         return momentOfInertia == 0 ? 0.0 : 1.0 / momentOfInertia;
     }
 
     public Body integrate(double deltaTime) {
-        if (immovable) {
+        return integrate(deltaTime, acceleration);
+    }
+
+    /**
+     * Integrates with {@code totalAcceleration} (this body's own acceleration plus that of force fields) in place of
+     * {@link #acceleration()}, which the returned body keeps.
+     */
+    Body integrate(double deltaTime, VectorDouble totalAcceleration) {
+        if (immovable || isAtRest(totalAcceleration)) {
             return this;
         }
-        VectorDouble newVelocity = velocity.add(acceleration.scale(deltaTime));
+        VectorDouble newVelocity = velocity.add(totalAcceleration.scale(deltaTime));
         double newAngularVelocity = angularVelocity + angularAcceleration * deltaTime;
 
         double dampingFactor = Math.max(0.0, 1.0 - drag * deltaTime);
@@ -67,6 +70,12 @@ public record Body(
         return withKinematics(newPosition, newVelocity, newOrientation, newAngularVelocity);
     }
 
+    private boolean isAtRest(VectorDouble totalAcceleration) {
+        return velocity.x() == 0 && velocity.y() == 0
+                && totalAcceleration.x() == 0 && totalAcceleration.y() == 0
+                && angularVelocity == 0 && angularAcceleration == 0;
+    }
+
     public Body withKinematics(VectorDouble newPosition, VectorDouble newVelocity, double newOrientation, double newAngularVelocity) {
         return new Body(
                 shape,
@@ -147,12 +156,47 @@ public record Body(
         );
     }
 
+    public Body withShape(Shape newShape) {
+        return new Body(
+                newShape,
+                position,
+                velocity,
+                acceleration,
+                orientation,
+                angularVelocity,
+                angularAcceleration,
+                mass,
+                restitution,
+                drag,
+                immovable
+        );
+    }
+
+    public Body withImmovable(boolean newImmovable) {
+        return new Body(
+                shape,
+                position,
+                velocity,
+                acceleration,
+                orientation,
+                angularVelocity,
+                angularAcceleration,
+                mass,
+                restitution,
+                drag,
+                newImmovable
+        );
+    }
+
     public Aabb aabb() {
         return switch (shape) {
             case Circle circle -> circleAabb(circle);
             case AxisAlignedRectangle rectangle -> orientedRectangleAabb(rectangle.halfWidth(), rectangle.halfHeight());
             case RotatedRectangle rectangle -> orientedRectangleAabb(rectangle.halfWidth(), rectangle.halfHeight());
             case LineSegment line -> lineAabb(line);
+            case ConvexPolygon polygon -> polygonAabb(polygon);
+            case CompoundShape compound -> compoundAabb(compound);
+            case Chain chain -> rotatedLocalAabb(chain.localBounds());
         };
     }
 
@@ -162,20 +206,48 @@ public record Body(
     }
 
     private Aabb orientedRectangleAabb(double halfWidth, double halfHeight) {
-        VectorDouble[] vertices = rectangleVertices(halfWidth, halfHeight);
-        double minX = vertices[0].x();
-        double maxX = vertices[0].x();
-        double minY = vertices[0].y();
-        double maxY = vertices[0].y();
-
-        for (int i = 1; i < vertices.length; i++) {
-            minX = Math.min(minX, vertices[i].x());
-            maxX = Math.max(maxX, vertices[i].x());
-            minY = Math.min(minY, vertices[i].y());
-            maxY = Math.max(maxY, vertices[i].y());
+        double cos = Math.abs(Math.cos(orientation));
+        double sin = Math.abs(Math.sin(orientation));
+        double extentX = cos * halfWidth + sin * halfHeight;
+        double extentY = sin * halfWidth + cos * halfHeight;
+        return new Aabb(position.x() - extentX, position.y() - extentY, position.x() + extentX, position.y() + extentY);
+    }
+
+    private Aabb polygonAabb(ConvexPolygon polygon) {
+        double cos = Math.cos(orientation);
+        double sin = Math.sin(orientation);
+        double minX = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < polygon.vertexCount(); i++) {
+            VectorDouble vertex = polygon.vertex(i);
+            double x = vertex.x() * cos - vertex.y() * sin;
+            double y = vertex.x() * sin + vertex.y() * cos;
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x);
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
         }
+        return new Aabb(minX + position.x(), minY + position.y(), maxX + position.x(), maxY + position.y());
+    }
 
-        return new Aabb(minX, minY, maxX, maxY);
+    private Aabb compoundAabb(CompoundShape compound) {
+        return rotatedLocalAabb(compound.localBounds());
+    }
+
+    private Aabb rotatedLocalAabb(Aabb local) {
+        double cos = Math.cos(orientation);
+        double sin = Math.sin(orientation);
+        double centerX = (local.minX() + local.maxX()) / 2;
+        double centerY = (local.minY() + local.maxY()) / 2;
+        double halfWidth = (local.maxX() - local.minX()) / 2;
+        double halfHeight = (local.maxY() - local.minY()) / 2;
+        double extentX = Math.abs(cos) * halfWidth + Math.abs(sin) * halfHeight;
+        double extentY = Math.abs(sin) * halfWidth + Math.abs(cos) * halfHeight;
+        double x = position.x() + centerX * cos - centerY * sin;
+        double y = position.y() + centerX * sin + centerY * cos;
+        return new Aabb(x - extentX, y - extentY, x + extentX, y + extentY);
     }
 
     private Aabb lineAabb(LineSegment line) {
@@ -192,12 +264,36 @@ public record Body(
         return VectorDouble.rotatePoint(0, 0, orientation, point);
     }
 
+    /**
+     * Returns the corners of a rectangle with the given half extents in world coordinates, counter-clockwise from the
+     * bottom left corner of the unrotated rectangle. The sine and cosine of the orientation are evaluated once.
+     */
     public VectorDouble[] rectangleVertices(double halfWidth, double halfHeight) {
-        VectorDouble[] vertices = new VectorDouble[4];
-        vertices[0] = rotatePoint(new VectorDouble(-halfWidth, -halfHeight)).add(position);
-        vertices[1] = rotatePoint(new VectorDouble(halfWidth, -halfHeight)).add(position);
-        vertices[2] = rotatePoint(new VectorDouble(halfWidth, halfHeight)).add(position);
-        vertices[3] = rotatePoint(new VectorDouble(-halfWidth, halfHeight)).add(position);
+        double cos = Math.cos(orientation);
+        double sin = Math.sin(orientation);
+        double alongX = halfWidth * cos;
+        double alongY = halfWidth * sin;
+        double acrossX = -halfHeight * sin;
+        double acrossY = halfHeight * cos;
+        double x = position.x();
+        double y = position.y();
+        return new VectorDouble[]{
+                new VectorDouble(x - alongX - acrossX, y - alongY - acrossY),
+                new VectorDouble(x + alongX - acrossX, y + alongY - acrossY),
+                new VectorDouble(x + alongX + acrossX, y + alongY + acrossY),
+                new VectorDouble(x - alongX + acrossX, y - alongY + acrossY)
+        };
+    }
+
+    public VectorDouble[] polygonVertices(ConvexPolygon polygon) {
+        double cos = Math.cos(orientation);
+        double sin = Math.sin(orientation);
+        VectorDouble[] vertices = new VectorDouble[polygon.vertexCount()];
+        for (int i = 0; i < vertices.length; i++) {
+            VectorDouble vertex = polygon.vertex(i);
+            vertices[i] = new VectorDouble(vertex.x() * cos - vertex.y() * sin + position.x(),
+                    vertex.x() * sin + vertex.y() * cos + position.y());
+        }
         return vertices;
     }
 }
@@ -0,0 +1,101 @@
+package xyz.ejvr.physics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Column-oriented (structure of arrays) copy of the kinematic state of a list of bodies, used by the batch kernels.
+ */
+public final class BodyColumns {
+
+    final int size;
+    final double[] positionX;
+    final double[] positionY;
+    final double[] velocityX;
+    final double[] velocityY;
+    final double[] accelerationX;
+    final double[] accelerationY;
+    final double[] orientation;
+    final double[] angularVelocity;
+    final double[] angularAcceleration;
+    final double[] drag;
+    final boolean[] movable;
+
+    private BodyColumns(int size) {
+        this.size = size;
+        this.positionX = new double[size];
+        this.positionY = new double[size];
+        this.velocityX = new double[size];
+        this.velocityY = new double[size];
+        this.accelerationX = new double[size];
+        this.accelerationY = new double[size];
+        this.orientation = new double[size];
+        this.angularVelocity = new double[size];
+        this.angularAcceleration = new double[size];
+        this.drag = new double[size];
+        this.movable = new boolean[size];
+    }
+
+    public static BodyColumns of(List<Body> bodies) {
+        BodyColumns columns = new BodyColumns(bodies.size());
+        for (int i = 0; i < columns.size; i++) {
+            Body body = bodies.get(i);
+            columns.positionX[i] = body.position().x();
+            columns.positionY[i] = body.position().y();
+            columns.velocityX[i] = body.velocity().x();
+            columns.velocityY[i] = body.velocity().y();
+            columns.accelerationX[i] = body.acceleration().x();
+            columns.accelerationY[i] = body.acceleration().y();
+            columns.orientation[i] = body.orientation();
+            columns.angularVelocity[i] = body.angularVelocity();
+            columns.angularAcceleration[i] = body.angularAcceleration();
+            columns.drag[i] = body.drag();
+            columns.movable[i] = !body.immovable();
+        }
+        return columns;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the body at {@code index} with the columns' kinematics, or {@code template} itself when they are
+     * unchanged, so that resting bodies keep their instance as they do in {@link Body#integrate(double)}.
+     */
+    public Body toBody(Body template, int index) {
+        if (!movable[index] || unchanged(template, index)) {
+            return template;
+        }
+        return template.withKinematics(
+                new VectorDouble(positionX[index], positionY[index]),
+                new VectorDouble(velocityX[index], velocityY[index]),
+                orientation[index],
+                angularVelocity[index]
+        );
+    }
+
+    private boolean unchanged(Body template, int index) {
+        return same(positionX[index], template.position().x())
+                && same(positionY[index], template.position().y())
+                && same(velocityX[index], template.velocity().x())
+                && same(velocityY[index], template.velocity().y())
+                && same(orientation[index], template.orientation())
+                && same(angularVelocity[index], template.angularVelocity());
+    }
+
+    private static boolean same(double column, double field) {
+        return Double.doubleToLongBits(column) == Double.doubleToLongBits(field);
+    }
+
+    public List<Body> toBodies(List<Body> templates) {
+        if (templates.size() != size) {
+            throw new IllegalArgumentException("Template count must match column size");
+        }
+        List<Body> bodies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            bodies.add(toBody(templates.get(i), i));
+        }
+        return bodies;
+    }
+}
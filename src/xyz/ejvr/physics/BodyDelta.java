@@ -0,0 +1,38 @@
+package xyz.ejvr.physics;
+
+public record BodyDelta(int index, int positionX, int positionY, int velocityX, int velocityY, int orientation) {
+
+    public BodyDelta {
+        if (index < 0) {
+            throw new IllegalArgumentException("BodyDelta index must be non-negative");
+        }
+    }
+
+    public static BodyDelta of(int index, Body body, Quantization quantization) {
+        return new BodyDelta(
+                index,
+                quantization.position(body.position().x()),
+                quantization.position(body.position().y()),
+                quantization.velocity(body.velocity().x()),
+                quantization.velocity(body.velocity().y()),
+                quantization.angle(body.orientation())
+        );
+    }
+
+    public Body applyTo(Body body, Quantization quantization) {
+        return body.withKinematics(
+                new VectorDouble(positionX * quantization.positionStep(), positionY * quantization.positionStep()),
+                new VectorDouble(velocityX * quantization.velocityStep(), velocityY * quantization.velocityStep()),
+                orientation * quantization.angleStep(),
+                body.angularVelocity()
+        );
+    }
+
+    boolean sameState(BodyDelta other) {
+        return positionX == other.positionX
+                && positionY == other.positionY
+                && velocityX == other.velocityX
+                && velocityY == other.velocityY
+                && orientation == other.orientation;
+    }
+}
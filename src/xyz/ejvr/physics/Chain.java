@@ -0,0 +1,163 @@
+package xyz.ejvr.physics;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+
+/**
+ * Polyline of connected line segments held by one body, meant for static level geometry such as terrain outlines.
+ * Segment {@code i} runs from vertex {@code i} to vertex {@code i + 1}; a loop adds a closing segment from the last
+ * vertex back to the first. Vertices are kept in the body's local frame as given, without recentring.
+ * <p>
+ * A static AABB tree over the segments is built at construction, so the narrow phase only tests the segments whose
+ * bounds overlap the other body. Each segment also knows the vertices beyond its ends, which lets the narrow phase
+ * drop contacts on a shared vertex that belong to the neighbouring segment instead of catching on the join.
+ */
+public final class Chain implements Shape {
+
+    private final List<VectorDouble> vertices;
+    private final boolean loop;
+    private final LineSegment[] segments;
+    private final double length;
+    private final double unitInertia;
+    private final double boundingRadius;
+    private final AabbTree tree;
+
+    public Chain(List<VectorDouble> vertices, boolean loop) {
+        Objects.requireNonNull(vertices, "Chain vertices cannot be null");
+        if (vertices.size() < (loop ? 3 : 2)) {
+            throw new IllegalArgumentException("Chain needs at least " + (loop ? 3 : 2) + " vertices, got " + vertices.size());
+        }
+        this.vertices = List.copyOf(vertices);
+        this.loop = loop;
+        int count = loop ? this.vertices.size() : this.vertices.size() - 1;
+        segments = new LineSegment[count];
+        Aabb[] segmentBounds = new Aabb[count];
+        double totalLength = 0;
+        double inertia = 0;
+        double radius = 0;
+        for (int i = 0; i < count; i++) {
+            VectorDouble start = this.vertices.get(i);
+            VectorDouble end = this.vertices.get((i + 1) % this.vertices.size());
+            segments[i] = new LineSegment(start, end);
+            segmentBounds[i] = new Aabb(
+                    Math.min(start.x(), end.x()), Math.min(start.y(), end.y()),
+                    Math.max(start.x(), end.x()), Math.max(start.y(), end.y()));
+            double segmentLength = segments[i].length();
+            totalLength += segmentLength;
+            inertia += segmentLength * (segmentLength * segmentLength / 12.0 + segments[i].midpoint().radiusSquared());
+            radius = Math.max(radius, segments[i].boundingRadius());
+        }
+        this.length = totalLength;
+        this.unitInertia = inertia / totalLength;
+        this.boundingRadius = radius;
+        this.tree = new AabbTree(segmentBounds);
+    }
+
+    public List<VectorDouble> vertices() {
+        return vertices;
+    }
+
+    public boolean loop() {
+        return loop;
+    }
+
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    public LineSegment segment(int index) {
+        return segments[index];
+    }
+
+    /**
+     * Returns the vertex before the start of segment {@code index}, or empty at the first segment of an open chain.
+     */
+    public Optional<VectorDouble> previousVertex(int index) {
+        if (index == 0 && !loop) {
+            return Optional.empty();
+        }
+        return Optional.of(segments[(index + segments.length - 1) % segments.length].start());
+    }
+
+    /**
+     * Returns the vertex after the end of segment {@code index}, or empty at the last segment of an open chain.
+     */
+    public Optional<VectorDouble> nextVertex(int index) {
+        if (index == segments.length - 1 && !loop) {
+            return Optional.empty();
+        }
+        return Optional.of(segments[(index + 1) % segments.length].end());
+    }
+
+    public double length() {
+        return length;
+    }
+
+    /**
+     * Returns the moment of inertia about the local origin for a mass of one spread evenly along the chain.
+     */
+    @Override
+    public double unitInertia() {
+        return unitInertia;
+    }
+
+    /**
+     * Returns the bounds of all segments in the chain's local frame.
+     */
+    public Aabb localBounds() {
+        return tree.bounds();
+    }
+
+    @Override
+    public double area() {
+        return 0;
+    }
+
+    @Override
+    public double boundingRadius() {
+        return boundingRadius;
+    }
+
+    /**
+     * Reports the index of every segment whose local bounds overlap {@code bounds}, given in the local frame.
+     */
+    void query(Aabb bounds, IntConsumer visitor) {
+        tree.query(bounds, visitor);
+    }
+
+    /**
+     * Returns a stand-in body for segment {@code index} of a chain body, sharing its position and orientation.
+     */
+    Body segmentBody(int index, Body chain) {
+        return new Body(
+                segments[index],
+                chain.position(),
+                new VectorDouble(0, 0),
+                new VectorDouble(0, 0),
+                chain.orientation(),
+                0.0,
+                0.0,
+                1,
+                0,
+                0,
+                true
+        );
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Chain chain && loop == chain.loop && vertices.equals(chain.vertices);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * vertices.hashCode() + Boolean.hashCode(loop);
+    }
+
+    @Override
+    public String toString() {
+        return "Chain[vertices=" + vertices + ", loop=" + loop + "]";
+    }
+}
@@ -17,4 +17,9 @@ public record Circle(double radius) implements Shape {
     public double boundingRadius() {
         return radius;
     }
+
+    @Override
+    public double unitInertia() {
+        return 0.5 * radius * radius;
+    }
 }
@@ -2,74 +2,598 @@ package xyz.ejvr.physics;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 public final class CollisionDetection {
 
+    private static final double HULL_REFERENCE_TOLERANCE = 1e-9;
+    private static final double CHAIN_FACE_TOLERANCE = 1e-6;
+
+    // Dispatch table indexed by ordered pair of shape kinds. Built-in kernels are identified by a code and called
+    // straight from a switch, which keeps them inlinable; an interface call through a table of lambdas measured
+    // slower than the old instanceof chain. Only registered kernels are called through KERNELS.
+    private static final byte NO_KERNEL = 0;
+    private static final byte CIRCLE_CIRCLE = 1;
+    private static final byte CIRCLE_RECTANGLE = 2;
+    private static final byte LINE_CIRCLE = 3;
+    private static final byte LINE_RECTANGLE = 4;
+    private static final byte RECTANGLES = 5;
+    private static final byte POLYGON = 6;
+    private static final byte COMPOUND = 7;
+    private static final byte CHAIN = 8;
+    private static final byte CUSTOM_KERNEL = 9;
+    private static final byte FLIPPED = 0x40;
+    private static final byte[] KERNEL_CODES = new byte[ShapeKind.COUNT * ShapeKind.COUNT];
+    private static final CollisionKernel[] KERNELS = new CollisionKernel[ShapeKind.COUNT * ShapeKind.COUNT];
+
+    static {
+        restoreDefaults();
+    }
+
     private CollisionDetection() {
     }
 
+    /**
+     * Collisions found by one broad and narrow phase pass, with the number of pairs the broad phase handed to the
+     * narrow phase.
+     */
+    record Detection(List<Collision> collisions, int candidatePairs) {
+    }
+
+    /**
+     * Tests every pair of bodies whose bounding boxes overlap, through {@link #detectAllBatched(List)} when the batched
+     * broad phase is switched on in {@link EngineTuning}; the collisions are the same either way.
+     */
     public static List<Collision> detectAll(List<Body> bodies) {
+        return findAll(bodies).collisions();
+    }
+
+    /**
+     * Like {@link #detectAll(List)}, but rectangle pairs first try the separating axis remembered in {@code cache}.
+     * The collisions are the same; only the number of projections changes.
+     */
+    public static List<Collision> detectAll(List<Body> bodies, ContactCache cache) {
+        return findAll(bodies, cache).collisions();
+    }
+
+    /**
+     * Produces the same collisions, in the same order, as {@link #detectAll(List)}, but tests circle-circle pairs in
+     * batches through {@link BatchKernels} instead of going through the AABB filter pair by pair.
+     */
+    public static List<Collision> detectAllBatched(List<Body> bodies) {
+        return findAllBatched(bodies).collisions();
+    }
+
+    static Detection findAll(List<Body> bodies) {
+        return EngineTuning.batchedBroadPhase() ? findAllBatched(bodies) : findAll(bodies, null);
+    }
+
+    /**
+     * Pairwise broad phase; {@code cache} may be null.
+     */
+    static Detection findAll(List<Body> bodies, ContactCache cache) {
         int bodyCount = bodies.size();
         List<Aabb> bounds = bodies.stream().map(Body::aabb).toList();
         List<Collision> collisions = new ArrayList<>();
-        IntStream.range(0, bodyCount).forEach(firstIndex ->
-                IntStream.range(firstIndex + 1, bodyCount)
-                        .filter(secondIndex -> bounds.get(firstIndex).intersects(bounds.get(secondIndex)))
-                        .mapToObj(secondIndex -> detect(firstIndex, secondIndex, bodies.get(firstIndex), bodies.get(secondIndex)))
-                        .filter(Optional::isPresent)
-                        .map(Optional::get)
-                        .forEach(collisions::add)
-        );
-        return collisions;
+        int candidatePairs = 0;
+        for (int firstIndex = 0; firstIndex < bodyCount; firstIndex++) {
+            Aabb firstBounds = bounds.get(firstIndex);
+            for (int secondIndex = firstIndex + 1; secondIndex < bodyCount; secondIndex++) {
+                if (firstBounds.intersects(bounds.get(secondIndex))) {
+                    candidatePairs++;
+                    detect(firstIndex, secondIndex, bodies.get(firstIndex), bodies.get(secondIndex), cache).ifPresent(collisions::add);
+                }
+            }
+        }
+        return new Detection(collisions, candidatePairs);
+    }
+
+    static Detection findAllBatched(List<Body> bodies) {
+        int bodyCount = bodies.size();
+        boolean[] circle = new boolean[bodyCount];
+        int[] circleIndices = IntStream.range(0, bodyCount)
+                .filter(index -> bodies.get(index).shape() instanceof Circle)
+                .toArray();
+        int circleCount = circleIndices.length;
+        double[] circleX = new double[circleCount];
+        double[] circleY = new double[circleCount];
+        double[] circleRadius = new double[circleCount];
+        for (int i = 0; i < circleCount; i++) {
+            Body body = bodies.get(circleIndices[i]);
+            circle[circleIndices[i]] = true;
+            circleX[i] = body.position().x();
+            circleY[i] = body.position().y();
+            circleRadius[i] = ((Circle) body.shape()).radius();
+        }
+
+        LongStream.Builder candidates = LongStream.builder();
+        int[] hits = new int[circleCount];
+        for (int i = 0; i < circleCount; i++) {
+            int hitCount = BatchKernels.circleOverlaps(circleX, circleY, circleRadius, i, i + 1, circleCount, hits, 0);
+            for (int hit = 0; hit < hitCount; hit++) {
+                candidates.add(pairKey(circleIndices[i], circleIndices[hits[hit]]));
+            }
+        }
+
+        List<Aabb> bounds = bodies.stream().map(Body::aabb).toList();
+        for (int first = 0; first < bodyCount; first++) {
+            if (circle[first]) {
+                continue;
+            }
+            for (int second = 0; second < bodyCount; second++) {
+                if (second == first || (!circle[second] && second < first)) {
+                    continue;
+                }
+                if (bounds.get(first).intersects(bounds.get(second))) {
+                    candidates.add(pairKey(Math.min(first, second), Math.max(first, second)));
+                }
+            }
+        }
+
+        long[] pairs = candidates.build().sorted().toArray();
+        List<Collision> collisions = new ArrayList<>();
+        for (long key : pairs) {
+            int firstIndex = (int) (key >>> 32);
+            int secondIndex = (int) key;
+            detect(firstIndex, secondIndex, bodies.get(firstIndex), bodies.get(secondIndex)).ifPresent(collisions::add);
+        }
+        return new Detection(collisions, pairs.length);
+    }
+
+    private static long pairKey(int firstIndex, int secondIndex) {
+        return ((long) firstIndex << 32) | secondIndex;
     }
 
     public static Optional<Collision> detect(int firstIndex, int secondIndex, Body first, Body second) {
-        Shape firstShape = first.shape();
-        Shape secondShape = second.shape();
+        return detect(firstIndex, secondIndex, first, second, null);
+    }
 
-        if (firstShape instanceof Circle firstCircle && secondShape instanceof Circle secondCircle) {
-            return detectCircleCircle(firstIndex, secondIndex, first, second, firstCircle, secondCircle);
+    /**
+     * Narrow phase test for one pair; {@code cache} may be null.
+     */
+    static Optional<Collision> detect(int firstIndex, int secondIndex, Body first, Body second, ContactCache cache) {
+        int pair = pairIndex(ShapeKind.of(first.shape()), ShapeKind.of(second.shape()));
+        byte code = KERNEL_CODES[pair];
+        return switch (code) {
+            case NO_KERNEL -> Optional.empty();
+            case CUSTOM_KERNEL -> KERNELS[pair].detect(firstIndex, secondIndex, first, second);
+            default -> (code & FLIPPED) == 0
+                    ? detectBuiltIn(code, firstIndex, secondIndex, first, second, cache)
+                    : detectBuiltIn((byte) (code & ~FLIPPED), secondIndex, firstIndex, second, first, cache)
+                            .map(collision -> flipNormal(collision, firstIndex, secondIndex));
+        };
+    }
+
+    /**
+     * Installs {@code kernel} for bodies of kind {@code first} against bodies of kind {@code second}, replacing the
+     * current kernel. Unless both kinds are the same, the reverse pair is installed too: it calls {@code kernel} with
+     * the bodies swapped and flips the resulting normal. Register a kernel for the reverse pair afterwards to override
+     * that. The table is shared by every engine, so registration belongs in start-up code, before any stepping.
+     */
+    public static void register(ShapeKind first, ShapeKind second, CollisionKernel kernel) {
+        Objects.requireNonNull(kernel, "Collision kernel cannot be null");
+        int pair = pairIndex(first, second);
+        KERNEL_CODES[pair] = CUSTOM_KERNEL;
+        KERNELS[pair] = kernel;
+        if (first != second) {
+            int reverse = pairIndex(second, first);
+            KERNEL_CODES[reverse] = CUSTOM_KERNEL;
+            KERNELS[reverse] = (firstIndex, secondIndex, firstBody, secondBody) ->
+                    kernel.detect(secondIndex, firstIndex, secondBody, firstBody)
+                            .map(collision -> flipNormal(collision, firstIndex, secondIndex));
         }
-        if (isRectangle(firstShape) && isRectangle(secondShape)) {
-            return detectOrientedRectangles(firstIndex, secondIndex, first, second, rectangleDimensions(firstShape), rectangleDimensions(secondShape));
+    }
+
+    /**
+     * Returns the kernel currently installed for the ordered pair of kinds.
+     */
+    public static CollisionKernel kernel(ShapeKind first, ShapeKind second) {
+        return KERNELS[pairIndex(first, second)];
+    }
+
+    /**
+     * Whether the pair is dispatched to a built-in kernel rather than a {@link #register registered} one.
+     */
+    static boolean isBuiltIn(ShapeKind first, ShapeKind second) {
+        return KERNEL_CODES[pairIndex(first, second)] != CUSTOM_KERNEL;
+    }
+
+    /**
+     * Drops every {@link #register registered} kernel and reinstalls the built-in, switch-dispatched pairings.
+     */
+    static void restoreDefaults() {
+        for (int pair = 0; pair < KERNELS.length; pair++) {
+            installCode(pair, NO_KERNEL);
         }
-        if (firstShape instanceof Circle circle && isRectangle(secondShape)) {
-            return detectCircleRectangle(firstIndex, secondIndex, first, second, circle, rectangleDimensions(secondShape));
+        installDefaults();
+    }
+
+    private static int pairIndex(ShapeKind first, ShapeKind second) {
+        return first.ordinal() * ShapeKind.COUNT + second.ordinal();
+    }
+
+    /**
+     * Default pairings. Kernels written for one order get the flipped reverse; compound, chain, polygon and
+     * rectangle-rectangle kernels handle either order themselves (the hull kernels keep the pair order for their
+     * reference-face tie-break), so they are installed for both orders as they are.
+     */
+    private static void installDefaults() {
+        ShapeKind[] rectangles = {ShapeKind.AXIS_ALIGNED_RECTANGLE, ShapeKind.ROTATED_RECTANGLE};
+        install(ShapeKind.CIRCLE, ShapeKind.CIRCLE, CIRCLE_CIRCLE, CIRCLE_CIRCLE);
+        install(ShapeKind.LINE_SEGMENT, ShapeKind.CIRCLE, LINE_CIRCLE, (byte) (LINE_CIRCLE | FLIPPED));
+        for (ShapeKind rectangle : rectangles) {
+            install(ShapeKind.CIRCLE, rectangle, CIRCLE_RECTANGLE, (byte) (CIRCLE_RECTANGLE | FLIPPED));
+            install(ShapeKind.LINE_SEGMENT, rectangle, LINE_RECTANGLE, (byte) (LINE_RECTANGLE | FLIPPED));
+            for (ShapeKind other : rectangles) {
+                install(rectangle, other, RECTANGLES, RECTANGLES);
+            }
         }
-        if (isRectangle(firstShape) && secondShape instanceof Circle circle) {
-            return detectCircleRectangle(secondIndex, firstIndex, second, first, circle, rectangleDimensions(firstShape))
-                    .map(collision -> flipNormal(collision, firstIndex, secondIndex));
+        for (ShapeKind kind : ShapeKind.values()) {
+            if (kind != ShapeKind.COMPOUND && kind != ShapeKind.CHAIN) {
+                install(ShapeKind.CONVEX_POLYGON, kind, POLYGON, POLYGON);
+            }
+            install(ShapeKind.CHAIN, kind, CHAIN, CHAIN);
         }
-        if (firstShape instanceof LineSegment line && secondShape instanceof Circle circle) {
-            return detectLineCircle(firstIndex, secondIndex, first, second, line, circle);
+        for (ShapeKind kind : ShapeKind.values()) {
+            install(ShapeKind.COMPOUND, kind, COMPOUND, COMPOUND);
         }
-        if (firstShape instanceof Circle circle && secondShape instanceof LineSegment line) {
-            return detectLineCircle(secondIndex, firstIndex, second, first, line, circle)
-                    .map(collision -> flipNormal(collision, firstIndex, secondIndex));
+    }
+
+    private static void install(ShapeKind first, ShapeKind second, byte code, byte reverseCode) {
+        installCode(pairIndex(first, second), code);
+        installCode(pairIndex(second, first), reverseCode);
+    }
+
+    private static void installCode(int pair, byte code) {
+        KERNEL_CODES[pair] = code;
+        KERNELS[pair] = (firstIndex, secondIndex, first, second) -> (code & FLIPPED) != 0
+                ? detectBuiltIn((byte) (code & ~FLIPPED), secondIndex, firstIndex, second, first, null)
+                        .map(collision -> flipNormal(collision, firstIndex, secondIndex))
+                : detectBuiltIn(code, firstIndex, secondIndex, first, second, null);
+    }
+
+    private static Optional<Collision> detectBuiltIn(
+            byte code,
+            int firstIndex,
+            int secondIndex,
+            Body first,
+            Body second,
+            ContactCache cache
+    ) {
+        return switch (code) {
+            case CIRCLE_CIRCLE -> detectCircleCircle(firstIndex, secondIndex, first, second, (Circle) first.shape(), (Circle) second.shape());
+            case CIRCLE_RECTANGLE -> detectCircleRectangle(firstIndex, secondIndex, first, second, (Circle) first.shape(),
+                    halfWidth(second.shape()), halfHeight(second.shape()));
+            case LINE_CIRCLE -> detectLineCircle(firstIndex, secondIndex, first, second, (LineSegment) first.shape(), (Circle) second.shape());
+            case LINE_RECTANGLE -> detectLineRectangle(firstIndex, secondIndex, first, second, (LineSegment) first.shape(),
+                    halfWidth(second.shape()), halfHeight(second.shape()));
+            case RECTANGLES -> detectOrientedRectangles(firstIndex, secondIndex, first, second,
+                    halfWidth(first.shape()), halfHeight(first.shape()), halfWidth(second.shape()), halfHeight(second.shape()), cache);
+            case POLYGON -> detectPolygon(firstIndex, secondIndex, first, second);
+            case COMPOUND -> detectCompound(firstIndex, secondIndex, first, second);
+            case CHAIN -> detectChain(firstIndex, secondIndex, first, second);
+            default -> Optional.empty();
+        };
+    }
+
+    /**
+     * Tests the children of a compound whose local bounds overlap the other body and keeps the deepest contact.
+     * When both bodies are compounds the second one is unwrapped by the recursive call.
+     */
+    private static Optional<Collision> detectCompound(int firstIndex, int secondIndex, Body first, Body second) {
+        boolean firstIsCompound = first.shape() instanceof CompoundShape;
+        Body compoundBody = firstIsCompound ? first : second;
+        Body other = firstIsCompound ? second : first;
+        CompoundShape compound = (CompoundShape) compoundBody.shape();
+
+        Collision[] deepest = new Collision[1];
+        compound.query(localBounds(other.aabb(), compoundBody), child -> {
+            Body childBody = compound.childBody(child, compoundBody);
+            Optional<Collision> collision = firstIsCompound
+                    ? detect(firstIndex, secondIndex, childBody, second)
+                    : detect(firstIndex, secondIndex, first, childBody);
+            collision.ifPresent(found -> {
+                if (deepest[0] == null || found.penetration() > deepest[0].penetration()) {
+                    deepest[0] = found;
+                }
+            });
+        });
+        return Optional.ofNullable(deepest[0]);
+    }
+
+    /**
+     * Tests the chain segments whose local bounds overlap the other body and keeps the deepest contact. Segment
+     * contacts are computed with the normal pointing from the chain towards the other body, smoothed against the
+     * neighbouring segments, and flipped back when the chain is the second body. Two chains never collide.
+     */
+    private static Optional<Collision> detectChain(int firstIndex, int secondIndex, Body first, Body second) {
+        if (first.shape() instanceof Chain && second.shape() instanceof Chain) {
+            return Optional.empty();
         }
-        if (firstShape instanceof LineSegment line && isRectangle(secondShape)) {
-            return detectLineRectangle(firstIndex, secondIndex, first, second, line, rectangleDimensions(secondShape));
+        boolean firstIsChain = first.shape() instanceof Chain;
+        Body chainBody = firstIsChain ? first : second;
+        Body other = firstIsChain ? second : first;
+        int chainIndex = firstIsChain ? firstIndex : secondIndex;
+        int otherIndex = firstIsChain ? secondIndex : firstIndex;
+        Chain chain = (Chain) chainBody.shape();
+
+        Collision[] deepest = new Collision[1];
+        chain.query(localBounds(other.aabb(), chainBody), segment -> {
+            Body segmentBody = chain.segmentBody(segment, chainBody);
+            Optional<Collision> collision = other.shape() instanceof Circle circle
+                    ? detectLineCircle(chainIndex, otherIndex, segmentBody, other, chain.segment(segment), circle)
+                    : detectHulls(chainIndex, otherIndex, hull(segmentBody), hull(other));
+            collision.filter(found -> ownsContact(chain, segment, chainBody, other, found)).ifPresent(found -> {
+                if (deepest[0] == null || found.penetration() > deepest[0].penetration()) {
+                    deepest[0] = found;
+                }
+            });
+        });
+        return Optional.ofNullable(deepest[0])
+                .map(collision -> firstIsChain ? collision : flipNormal(collision, firstIndex, secondIndex));
+    }
+
+    /**
+     * Decides whether a segment contact stands. Contacts inside the segment always do. A contact on one of the
+     * segment's end vertices is kept when the chain turns away from the other body there, so the vertex is a convex
+     * corner, or when its normal is the segment's own face normal. Any other contact on a flat or concave join belongs
+     * to the neighbouring segment, which reports it as a face contact; dropping it is what stops bodies sliding along
+     * a chain from catching on the joins.
+     */
+    private static boolean ownsContact(Chain chain, int segment, Body chainBody, Body other, Collision collision) {
+        LineSegment line = chain.segment(segment);
+        VectorDouble start = chainBody.rotatePoint(line.start()).add(chainBody.position());
+        VectorDouble end = chainBody.rotatePoint(line.end()).add(chainBody.position());
+        VectorDouble edge = end.sub(start);
+        double along = collision.contactPoint().sub(start).dotProduct(edge) / edge.radiusSquared();
+        Optional<VectorDouble> neighbour;
+        if (along <= HULL_REFERENCE_TOLERANCE) {
+            neighbour = chain.previousVertex(segment);
+        } else if (along >= 1 - HULL_REFERENCE_TOLERANCE) {
+            neighbour = chain.nextVertex(segment);
+        } else {
+            return true;
         }
-        if (isRectangle(firstShape) && secondShape instanceof LineSegment line) {
-            return detectLineRectangle(secondIndex, firstIndex, second, first, line, rectangleDimensions(firstShape))
-                    .map(collision -> flipNormal(collision, firstIndex, secondIndex));
+        if (neighbour.isEmpty()) {
+            return true;
+        }
+        VectorDouble ghost = chainBody.rotatePoint(neighbour.get()).add(chainBody.position());
+        VectorDouble incoming = along <= HULL_REFERENCE_TOLERANCE ? start.sub(ghost) : edge;
+        VectorDouble outgoing = along <= HULL_REFERENCE_TOLERANCE ? edge : ghost.sub(end);
+        double side = cross(edge, other.position().sub(start));
+        if (cross(incoming, outgoing) * side < 0) {
+            return true;
         }
+        VectorDouble face = new VectorDouble(-edge.y(), edge.x()).scale(Math.signum(side) / edge.radius());
+        return collision.normal().dotProduct(face) >= 1 - CHAIN_FACE_TOLERANCE;
+    }
 
-        return Optional.empty();
+    private static double cross(VectorDouble first, VectorDouble second) {
+        return first.x() * second.y() - first.y() * second.x();
+    }
+
+    private static Aabb localBounds(Aabb bounds, Body frame) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        double[] xs = {bounds.minX(), bounds.maxX()};
+        double[] ys = {bounds.minY(), bounds.maxY()};
+        for (double x : xs) {
+            for (double y : ys) {
+                VectorDouble local = rotate(new VectorDouble(x, y).sub(frame.position()), -frame.orientation());
+                minX = Math.min(minX, local.x());
+                minY = Math.min(minY, local.y());
+                maxX = Math.max(maxX, local.x());
+                maxY = Math.max(maxY, local.y());
+            }
+        }
+        return new Aabb(minX, minY, maxX, maxY);
     }
 
-    private static boolean isRectangle(Shape shape) {
-        return shape instanceof AxisAlignedRectangle || shape instanceof RotatedRectangle;
+    private static Optional<Collision> detectPolygon(int firstIndex, int secondIndex, Body first, Body second) {
+        if (first.shape() instanceof Circle circle) {
+            return detectCircleHull(secondIndex, firstIndex, second, first, circle, hull(second))
+                    .map(collision -> flipNormal(collision, firstIndex, secondIndex));
+        }
+        if (second.shape() instanceof Circle circle) {
+            return detectCircleHull(firstIndex, secondIndex, first, second, circle, hull(first));
+        }
+        return detectHulls(firstIndex, secondIndex, hull(first), hull(second));
+    }
+
+    /**
+     * World-space outline of a non-circular body: vertices counter-clockwise and the outward normal of the edge
+     * starting at each vertex. A line segment is the degenerate two-edge outline.
+     */
+    private static Hull hull(Body body) {
+        return switch (body.shape()) {
+            case ConvexPolygon polygon -> {
+                double cos = Math.cos(body.orientation());
+                double sin = Math.sin(body.orientation());
+                VectorDouble[] normals = new VectorDouble[polygon.vertexCount()];
+                for (int i = 0; i < normals.length; i++) {
+                    VectorDouble normal = polygon.normal(i);
+                    normals[i] = new VectorDouble(normal.x() * cos - normal.y() * sin, normal.x() * sin + normal.y() * cos);
+                }
+                yield new Hull(body.polygonVertices(polygon), normals);
+            }
+            case LineSegment line -> {
+                VectorDouble start = body.rotatePoint(line.start()).add(body.position());
+                VectorDouble end = body.rotatePoint(line.end()).add(body.position());
+                VectorDouble edge = end.sub(start);
+                VectorDouble normal = new VectorDouble(edge.y(), -edge.x()).normalize();
+                yield new Hull(new VectorDouble[]{start, end}, new VectorDouble[]{normal, normal.negate()});
+            }
+            case AxisAlignedRectangle rectangle -> rectangleHull(body, rectangle.halfWidth(), rectangle.halfHeight());
+            case RotatedRectangle rectangle -> rectangleHull(body, rectangle.halfWidth(), rectangle.halfHeight());
+            case Circle circle -> throw new IllegalArgumentException("Circles have no hull");
+            case CompoundShape compound -> throw new IllegalArgumentException("Compound shapes have no hull");
+            case Chain chain -> throw new IllegalArgumentException("Chains have no hull");
+        };
     }
 
-    private static RectangleDimensions rectangleDimensions(Shape shape) {
-        return switch (shape) {
-            case AxisAlignedRectangle rectangle -> new RectangleDimensions(rectangle.halfWidth(), rectangle.halfHeight());
-            case RotatedRectangle rectangle -> new RectangleDimensions(rectangle.halfWidth(), rectangle.halfHeight());
-            default -> throw new IllegalArgumentException("Unsupported rectangle shape: " + shape.getClass());
+    private static Hull rectangleHull(Body body, double halfWidth, double halfHeight) {
+        VectorDouble[] vertices = body.rectangleVertices(halfWidth, halfHeight);
+        double cos = Math.cos(body.orientation());
+        double sin = Math.sin(body.orientation());
+        // Negated as 0 - x so that axis-aligned normals carry +0 rather than -0, which would not equal the +0 of other normals.
+        VectorDouble[] normals = {
+                new VectorDouble(sin, 0.0 - cos),
+                new VectorDouble(cos, sin),
+                new VectorDouble(0.0 - sin, cos),
+                new VectorDouble(0.0 - cos, 0.0 - sin)
         };
+        return new Hull(vertices, normals);
+    }
+
+    private static Optional<Collision> detectCircleHull(int hullIndex, int circleIndex, Body hullBody, Body circleBody, Circle circle, Hull hull) {
+        VectorDouble center = circleBody.position();
+        double radius = circle.radius();
+        int count = hull.vertices().length;
+
+        int bestFace = 0;
+        double maxSeparation = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            double separation = hull.normals()[i].dotProduct(center.sub(hull.vertices()[i]));
+            if (separation > radius) {
+                return Optional.empty();
+            }
+            if (separation > maxSeparation) {
+                maxSeparation = separation;
+                bestFace = i;
+            }
+        }
+
+        if (maxSeparation <= 0 && count > 2) {
+            VectorDouble normal = hull.normals()[bestFace];
+            VectorDouble contactPoint = center.sub(normal.scale(maxSeparation));
+            return Optional.of(new Collision(hullIndex, circleIndex, normal, radius - maxSeparation, contactPoint));
+        }
+
+        VectorDouble closest = null;
+        double closestDistanceSquared = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            VectorDouble candidate = closestPointOnSegment(hull.vertices()[i], hull.vertices()[(i + 1) % count], center);
+            double distanceSquared = candidate.distanceSquared(center);
+            if (distanceSquared < closestDistanceSquared) {
+                closestDistanceSquared = distanceSquared;
+                closest = candidate;
+            }
+        }
+        if (closestDistanceSquared > radius * radius) {
+            return Optional.empty();
+        }
+        double distance = Math.sqrt(closestDistanceSquared);
+        VectorDouble normal = distance == 0 ? hull.normals()[bestFace] : center.sub(closest).scale(1 / distance);
+        return Optional.of(new Collision(hullIndex, circleIndex, normal, radius - distance, closest));
+    }
+
+    /**
+     * Separating-axis test over the edge normals of both hulls, followed by clipping the incident edge against the
+     * reference edge; the contact point is the mean of the clipped points that lie behind the reference edge.
+     */
+    private static Optional<Collision> detectHulls(int firstIndex, int secondIndex, Hull first, Hull second) {
+        FaceSeparation firstSeparation = maxSeparation(first, second);
+        if (firstSeparation.separation() > 0) {
+            return Optional.empty();
+        }
+        FaceSeparation secondSeparation = maxSeparation(second, first);
+        if (secondSeparation.separation() > 0) {
+            return Optional.empty();
+        }
+
+        boolean firstIsReference = firstSeparation.separation() >= secondSeparation.separation() - HULL_REFERENCE_TOLERANCE;
+        Hull reference = firstIsReference ? first : second;
+        Hull incident = firstIsReference ? second : first;
+        FaceSeparation face = firstIsReference ? firstSeparation : secondSeparation;
+
+        int referenceCount = reference.vertices().length;
+        VectorDouble referenceNormal = reference.normals()[face.face()];
+        VectorDouble referenceStart = reference.vertices()[face.face()];
+        VectorDouble referenceEnd = reference.vertices()[(face.face() + 1) % referenceCount];
+
+        int incidentCount = incident.vertices().length;
+        int incidentFace = 0;
+        double minimumDot = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < incidentCount; i++) {
+            double dot = incident.normals()[i].dotProduct(referenceNormal);
+            if (dot < minimumDot) {
+                minimumDot = dot;
+                incidentFace = i;
+            }
+        }
+        VectorDouble[] clipped = {incident.vertices()[incidentFace], incident.vertices()[(incidentFace + 1) % incidentCount]};
+
+        VectorDouble tangent = referenceEnd.sub(referenceStart).normalize();
+        clipped = clip(clipped, tangent.negate(), -tangent.dotProduct(referenceStart));
+        if (clipped != null) {
+            clipped = clip(clipped, tangent, tangent.dotProduct(referenceEnd));
+        }
+
+        double referenceOffset = referenceNormal.dotProduct(referenceStart);
+        VectorDouble sum = new VectorDouble(0, 0);
+        int contacts = 0;
+        if (clipped != null) {
+            for (VectorDouble point : clipped) {
+                if (referenceNormal.dotProduct(point) - referenceOffset <= 0) {
+                    sum = sum.add(point);
+                    contacts++;
+                }
+            }
+        }
+        VectorDouble contactPoint = contacts == 0
+                ? incident.vertices()[incidentFace].add(incident.vertices()[(incidentFace + 1) % incidentCount]).scale(0.5)
+                : sum.scale(1.0 / contacts);
+
+        VectorDouble normal = firstIsReference ? referenceNormal : referenceNormal.negate();
+        return Optional.of(new Collision(firstIndex, secondIndex, normal, -face.separation(), contactPoint));
+    }
+
+    private static FaceSeparation maxSeparation(Hull hull, Hull other) {
+        int bestFace = 0;
+        double best = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < hull.vertices().length; i++) {
+            VectorDouble normal = hull.normals()[i];
+            double offset = normal.dotProduct(hull.vertices()[i]);
+            double separation = Double.POSITIVE_INFINITY;
+            for (VectorDouble vertex : other.vertices()) {
+                separation = Math.min(separation, normal.dotProduct(vertex) - offset);
+            }
+            if (separation > best) {
+                best = separation;
+                bestFace = i;
+            }
+        }
+        return new FaceSeparation(bestFace, best);
+    }
+
+    /**
+     * Keeps the part of a segment with {@code normal . p <= offset}; returns {@code null} if nothing remains.
+     */
+    private static VectorDouble[] clip(VectorDouble[] segment, VectorDouble normal, double offset) {
+        double startDistance = normal.dotProduct(segment[0]) - offset;
+        double endDistance = normal.dotProduct(segment[1]) - offset;
+        if (startDistance > 0 && endDistance > 0) {
+            return null;
+        }
+        if (startDistance <= 0 && endDistance <= 0) {
+            return segment;
+        }
+        double t = startDistance / (startDistance - endDistance);
+        VectorDouble crossing = segment[0].add(segment[1].sub(segment[0]).scale(t));
+        return startDistance <= 0 ? new VectorDouble[]{segment[0], crossing} : new VectorDouble[]{crossing, segment[1]};
+    }
+
+    private static double halfWidth(Shape rectangle) {
+        return rectangle instanceof AxisAlignedRectangle aligned ? aligned.halfWidth() : ((RotatedRectangle) rectangle).halfWidth();
+    }
+
+    private static double halfHeight(Shape rectangle) {
+        return rectangle instanceof AxisAlignedRectangle aligned ? aligned.halfHeight() : ((RotatedRectangle) rectangle).halfHeight();
     }
 
     private static Optional<Collision> detectCircleCircle(int firstIndex, int secondIndex, Body first, Body second, Circle firstCircle, Circle secondCircle) {
@@ -95,11 +619,14 @@ public final class CollisionDetection {
             int secondIndex,
             Body first,
             Body second,
-            RectangleDimensions firstRect,
-            RectangleDimensions secondRect
+            double firstHalfWidth,
+            double firstHalfHeight,
+            double secondHalfWidth,
+            double secondHalfHeight,
+            ContactCache cache
     ) {
-        VectorDouble[] firstVertices = first.rectangleVertices(firstRect.halfWidth(), firstRect.halfHeight());
-        VectorDouble[] secondVertices = second.rectangleVertices(secondRect.halfWidth(), secondRect.halfHeight());
+        VectorDouble[] firstVertices = first.rectangleVertices(firstHalfWidth, firstHalfHeight);
+        VectorDouble[] secondVertices = second.rectangleVertices(secondHalfWidth, secondHalfHeight);
 
         List<VectorDouble> axes = List.of(
                 rectangleAxis(first.orientation()),
@@ -108,28 +635,62 @@ public final class CollisionDetection {
                 rectanglePerpendicularAxis(second.orientation())
         );
 
+        long pair = pairKey(firstIndex, secondIndex);
+        int cachedAxis = cache == null ? -1 : cache.axis(pair);
+        Projection cachedFirst = null;
+        Projection cachedSecond = null;
+        if (cachedAxis >= 0) {
+            VectorDouble axis = axes.get(cachedAxis);
+            cachedFirst = projectOnto(firstVertices, axis);
+            cachedSecond = projectOnto(secondVertices, axis);
+            cache.countProjections(2);
+            if (cachedFirst.overlap(cachedSecond) <= 0) {
+                cache.countCachedSeparation();
+                return Optional.empty();
+            }
+        }
+
         double minimumOverlap = Double.POSITIVE_INFINITY;
         VectorDouble collisionAxis = null;
+        int collisionAxisIndex = -1;
         Projection firstCollisionProjection = null;
         Projection secondCollisionProjection = null;
 
-        for (VectorDouble axis : axes) {
-            Projection firstProjection = projectOnto(firstVertices, axis);
-            Projection secondProjection = projectOnto(secondVertices, axis);
+        for (int axisIndex = 0; axisIndex < axes.size(); axisIndex++) {
+            VectorDouble axis = axes.get(axisIndex);
+            Projection firstProjection;
+            Projection secondProjection;
+            if (axisIndex == cachedAxis) {
+                firstProjection = cachedFirst;
+                secondProjection = cachedSecond;
+            } else {
+                firstProjection = projectOnto(firstVertices, axis);
+                secondProjection = projectOnto(secondVertices, axis);
+                if (cache != null) {
+                    cache.countProjections(2);
+                }
+            }
             double overlap = firstProjection.overlap(secondProjection);
 
             if (overlap <= 0) {
+                if (cache != null) {
+                    cache.remember(pair, axisIndex);
+                }
                 return Optional.empty();
             }
 
             if (overlap < minimumOverlap) {
                 minimumOverlap = overlap;
                 collisionAxis = axis;
+                collisionAxisIndex = axisIndex;
                 firstCollisionProjection = firstProjection;
                 secondCollisionProjection = secondProjection;
             }
         }
 
+        if (cache != null) {
+            cache.remember(pair, collisionAxisIndex);
+        }
         if (collisionAxis == null) {
             return Optional.empty();
         }
@@ -163,7 +724,8 @@ public final class CollisionDetection {
             Body circleBody,
             Body rectangleBody,
             Circle circle,
-            RectangleDimensions rectangle
+            double halfWidth,
+            double halfHeight
     ) {
         VectorDouble circleCenter = circleBody.position();
         VectorDouble rectangleCenter = rectangleBody.position();
@@ -171,8 +733,8 @@ public final class CollisionDetection {
         VectorDouble relative = circleCenter.sub(rectangleCenter);
         VectorDouble localCircle = rotate(relative, -rectangleBody.orientation());
 
-        double clampedX = Math.max(-rectangle.halfWidth(), Math.min(rectangle.halfWidth(), localCircle.x()));
-        double clampedY = Math.max(-rectangle.halfHeight(), Math.min(rectangle.halfHeight(), localCircle.y()));
+        double clampedX = Math.max(-halfWidth, Math.min(halfWidth, localCircle.x()));
+        double clampedY = Math.max(-halfHeight, Math.min(halfHeight, localCircle.y()));
 
         VectorDouble closestLocal = new VectorDouble(clampedX, clampedY);
         VectorDouble closestWorld = rotate(closestLocal, rectangleBody.orientation()).add(rectangleCenter);
@@ -203,7 +765,7 @@ public final class CollisionDetection {
         }
 
         double penetration = circle.radius() - Math.sqrt(distanceSquared);
-        return Optional.of(new Collision(circleIndex, rectangleIndex, normal, penetration, closestWorld));
+        return Optional.of(new Collision(circleIndex, rectangleIndex, normal.negate(), penetration, closestWorld));
     }
 
     private static Optional<Collision> detectLineCircle(
@@ -236,22 +798,23 @@ public final class CollisionDetection {
             Body lineBody,
             Body rectangleBody,
             LineSegment line,
-            RectangleDimensions rectangle
+            double halfWidth,
+            double halfHeight
     ) {
         VectorDouble start = lineBody.rotatePoint(line.start()).add(lineBody.position());
         VectorDouble end = lineBody.rotatePoint(line.end()).add(lineBody.position());
 
-        VectorDouble[] rectangleVertices = rectangleBody.rectangleVertices(rectangle.halfWidth(), rectangle.halfHeight());
+        VectorDouble[] rectangleVertices = rectangleBody.rectangleVertices(halfWidth, halfHeight);
         List<LineSegment> edges = rectangleEdges(rectangleVertices);
 
-        if (isPointInsideOrientedRectangle(start, rectangleBody, rectangle)) {
-            VectorDouble normal = outwardNormal(rectangleBody, rectangle, start);
-            double penetration = penetrationDepth(rectangleBody, rectangle, start);
+        if (isPointInsideOrientedRectangle(start, rectangleBody, halfWidth, halfHeight)) {
+            VectorDouble normal = outwardNormal(rectangleBody, halfWidth, halfHeight, start);
+            double penetration = penetrationDepth(rectangleBody, halfWidth, halfHeight, start);
             return Optional.of(new Collision(lineIndex, rectangleIndex, normal, penetration, start));
         }
-        if (isPointInsideOrientedRectangle(end, rectangleBody, rectangle)) {
-            VectorDouble normal = outwardNormal(rectangleBody, rectangle, end);
-            double penetration = penetrationDepth(rectangleBody, rectangle, end);
+        if (isPointInsideOrientedRectangle(end, rectangleBody, halfWidth, halfHeight)) {
+            VectorDouble normal = outwardNormal(rectangleBody, halfWidth, halfHeight, end);
+            double penetration = penetrationDepth(rectangleBody, halfWidth, halfHeight, end);
             return Optional.of(new Collision(lineIndex, rectangleIndex, normal, penetration, end));
         }
 
@@ -266,12 +829,12 @@ public final class CollisionDetection {
         }
 
         VectorDouble contact = intersection.get();
-        VectorDouble normal = outwardNormal(rectangleBody, rectangle, contact);
+        VectorDouble normal = outwardNormal(rectangleBody, halfWidth, halfHeight, contact);
         double penetration = 0.0;
         return Optional.of(new Collision(lineIndex, rectangleIndex, normal, penetration, contact));
     }
 
-    private static VectorDouble outwardNormal(Body rectangleBody, RectangleDimensions rectangle, VectorDouble contactPoint) {
+    private static VectorDouble outwardNormal(Body rectangleBody, double halfWidth, double halfHeight, VectorDouble contactPoint) {
         VectorDouble localPoint = rotate(contactPoint.sub(rectangleBody.position()), -rectangleBody.orientation());
         double absX = Math.abs(localPoint.x());
         double absY = Math.abs(localPoint.y());
@@ -286,10 +849,10 @@ public final class CollisionDetection {
         return rotate(localNormal, rectangleBody.orientation());
     }
 
-    private static double penetrationDepth(Body rectangleBody, RectangleDimensions rectangle, VectorDouble point) {
+    private static double penetrationDepth(Body rectangleBody, double halfWidth, double halfHeight, VectorDouble point) {
         VectorDouble localPoint = rotate(point.sub(rectangleBody.position()), -rectangleBody.orientation());
-        double remainingX = rectangle.halfWidth() - Math.abs(localPoint.x());
-        double remainingY = rectangle.halfHeight() - Math.abs(localPoint.y());
+        double remainingX = halfWidth - Math.abs(localPoint.x());
+        double remainingY = halfHeight - Math.abs(localPoint.y());
         return Math.min(remainingX, remainingY);
     }
 
@@ -316,9 +879,9 @@ public final class CollisionDetection {
         return Optional.empty();
     }
 
-    private static boolean isPointInsideOrientedRectangle(VectorDouble point, Body body, RectangleDimensions rectangle) {
+    private static boolean isPointInsideOrientedRectangle(VectorDouble point, Body body, double halfWidth, double halfHeight) {
         VectorDouble local = rotate(point.sub(body.position()), -body.orientation());
-        return Math.abs(local.x()) <= rectangle.halfWidth() && Math.abs(local.y()) <= rectangle.halfHeight();
+        return Math.abs(local.x()) <= halfWidth && Math.abs(local.y()) <= halfHeight;
     }
 
     private static VectorDouble closestPointOnSegment(VectorDouble start, VectorDouble end, VectorDouble point) {
@@ -371,7 +934,10 @@ public final class CollisionDetection {
         }
     }
 
-    private record RectangleDimensions(double halfWidth, double halfHeight) {
+    private record Hull(VectorDouble[] vertices, VectorDouble[] normals) {
+    }
+
+    private record FaceSeparation(int face, double separation) {
     }
 
     private static Collision flipNormal(Collision collision, int firstIndex, int secondIndex) {
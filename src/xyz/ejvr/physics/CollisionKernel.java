@@ -0,0 +1,13 @@
+package xyz.ejvr.physics;
+
+import java.util.Optional;
+
+/**
+ * Narrow phase test for one ordered pair of shape kinds. The returned collision's normal points from the first body
+ * towards the second.
+ */
+@FunctionalInterface
+public interface CollisionKernel {
+
+    Optional<Collision> detect(int firstIndex, int secondIndex, Body first, Body second);
+}
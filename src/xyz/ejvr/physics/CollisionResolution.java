@@ -1,11 +1,6 @@
 package xyz.ejvr.physics;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 public final class CollisionResolution {
 
@@ -13,28 +8,23 @@ public final class CollisionResolution {
     }
 
     public static List<Body> resolve(List<Body> bodies, List<Collision> collisions) {
-        Map<Integer, Body> resolvedBodies = bodiesStream(bodies);
-
-        collisions.forEach(collision -> applyImpulse(collision, resolvedBodies));
-
-        return resolvedBodies.entrySet().stream()
-                .sorted(Comparator.comparingInt(Map.Entry::getKey))
-                .map(Map.Entry::getValue)
-                .toList();
+        Body[] resolvedBodies = bodies.toArray(Body[]::new);
+        resolveInPlace(resolvedBodies, collisions);
+        return List.of(resolvedBodies);
     }
 
-    private static Map<Integer, Body> bodiesStream(List<Body> bodies) {
-        return IntStream.range(0, bodies.size())
-                .boxed()
-                .collect(Collectors.toMap(Function.identity(), bodies::get));
+    static void resolveInPlace(Body[] bodies, List<Collision> collisions) {
+        collisions.forEach(collision -> applyImpulse(collision, bodies));
     }
 
-    private static void applyImpulse(Collision collision, Map<Integer, Body> bodies) {
-        Body first = bodies.get(collision.firstIndex());
-        Body second = bodies.get(collision.secondIndex());
+    private static void applyImpulse(Collision collision, Body[] bodies) {
+        Body first = bodies[collision.firstIndex()];
+        Body second = bodies[collision.secondIndex()];
 
         double inverseMassA = first.inverseMass();
         double inverseMassB = second.inverseMass();
+        double inverseInertiaA = first.inverseInertia();
+        double inverseInertiaB = second.inverseInertia();
 
         double inverseMassSum = inverseMassA + inverseMassB;
         if (inverseMassSum == 0) {
@@ -57,8 +47,8 @@ public final class CollisionResolution {
         double restitution = Math.min(first.restitution(), second.restitution());
         double impulseScalar = -(1 + restitution) * velocityAlongNormal;
 
-        double angularComponentA = Math.pow(radiusA.crossProduct2D(collision.normal()), 2) * first.inverseInertia();
-        double angularComponentB = Math.pow(radiusB.crossProduct2D(collision.normal()), 2) * second.inverseInertia();
+        double angularComponentA = Math.pow(radiusA.crossProduct2D(collision.normal()), 2) * inverseInertiaA;
+        double angularComponentB = Math.pow(radiusB.crossProduct2D(collision.normal()), 2) * inverseInertiaB;
         double denominator = inverseMassSum + angularComponentA + angularComponentB;
         impulseScalar /= denominator;
 
@@ -67,8 +57,9 @@ public final class CollisionResolution {
         VectorDouble firstVelocity = first.velocity().sub(impulse.scale(inverseMassA));
         VectorDouble secondVelocity = second.velocity().add(impulse.scale(inverseMassB));
 
-        double firstAngularVelocity = first.angularVelocity() - radiusA.crossProduct2D(impulse) * first.inverseInertia();
-        double secondAngularVelocity = second.angularVelocity() + radiusB.crossProduct2D(impulse) * second.inverseInertia();
+        // crossProduct2D is r.y * j.x - r.x * j.y, the negated 2D cross product, hence the signs below.
+        double firstAngularVelocity = first.angularVelocity() + radiusA.crossProduct2D(impulse) * inverseInertiaA;
+        double secondAngularVelocity = second.angularVelocity() - radiusB.crossProduct2D(impulse) * inverseInertiaB;
 
         Body updatedFirst = first.withVelocity(firstVelocity).withAngularVelocity(firstAngularVelocity);
         Body updatedSecond = second.withVelocity(secondVelocity).withAngularVelocity(secondAngularVelocity);
@@ -77,8 +68,8 @@ public final class CollisionResolution {
         updatedFirst = updatedFirst.withPosition(updatedFirst.position().sub(correction.scale(inverseMassA)));
         updatedSecond = updatedSecond.withPosition(updatedSecond.position().add(correction.scale(inverseMassB)));
 
-        bodies.put(collision.firstIndex(), updatedFirst);
-        bodies.put(collision.secondIndex(), updatedSecond);
+        bodies[collision.firstIndex()] = updatedFirst;
+        bodies[collision.secondIndex()] = updatedSecond;
     }
 
     private static VectorDouble tangentialVelocity(double angularVelocity, VectorDouble radius) {
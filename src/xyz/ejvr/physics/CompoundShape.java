@@ -0,0 +1,182 @@
+package xyz.ejvr.physics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * Rigid shape made of child shapes, each placed by a local offset and rotation. Children are recentred on the
+ * combined centroid (uniform density, weighted by child area), so a body's position is its centre of mass;
+ * {@link #centroid()} keeps the offset of that centroid in the original child coordinates.
+ * <p>
+ * The combined unit inertia, the children's local bounds, the local bounds of the whole compound and a static AABB
+ * tree over the children are computed at construction. The broad phase sees one box per compound; the narrow phase
+ * queries the tree with the other body's bounds and only tests the children it overlaps.
+ */
+public final class CompoundShape implements Shape {
+
+    public record Child(Shape shape, VectorDouble offset, double rotation) {
+
+        public Child {
+            Objects.requireNonNull(shape, "Compound child shape cannot be null");
+            Objects.requireNonNull(offset, "Compound child offset cannot be null");
+            if (shape instanceof CompoundShape) {
+                throw new IllegalArgumentException("Compound shapes cannot be nested");
+            }
+            if (shape instanceof Chain) {
+                throw new IllegalArgumentException("Chains cannot be compound children");
+            }
+        }
+    }
+
+    private final List<Child> children;
+    private final VectorDouble centroid;
+    private final double area;
+    private final double unitInertia;
+    private final double boundingRadius;
+    private final AabbTree tree;
+
+    public CompoundShape(List<Child> children) {
+        this(recentre(children), centroidOf(children));
+    }
+
+    private CompoundShape(List<Child> centred, VectorDouble centroid) {
+        if (centred.isEmpty()) {
+            throw new IllegalArgumentException("CompoundShape needs at least one child");
+        }
+        this.children = List.copyOf(centred);
+        this.centroid = centroid;
+
+        double totalArea = 0;
+        double inertia = 0;
+        double radius = 0;
+        Aabb[] childBounds = new Aabb[children.size()];
+        for (int i = 0; i < children.size(); i++) {
+            Child child = children.get(i);
+            double childArea = child.shape().area();
+            totalArea += childArea;
+            inertia += childArea * (child.shape().unitInertia() + child.offset().radiusSquared());
+            radius = Math.max(radius, child.offset().radius() + child.shape().boundingRadius());
+            childBounds[i] = childBody(child, new VectorDouble(0, 0), 0).aabb();
+        }
+        if (!(totalArea > 0)) {
+            throw new IllegalArgumentException("CompoundShape children must have a positive total area");
+        }
+        this.area = totalArea;
+        this.unitInertia = inertia / totalArea;
+        this.boundingRadius = radius;
+        this.tree = new AabbTree(childBounds);
+    }
+
+    /**
+     * Rebuilds a compound from children that are already centred and the centroid they were recentred from, so
+     * decoding an encoded compound yields an equal one.
+     */
+    static CompoundShape centred(List<Child> children, VectorDouble centroid) {
+        return new CompoundShape(children, centroid);
+    }
+
+    public List<Child> children() {
+        return children;
+    }
+
+    public VectorDouble centroid() {
+        return centroid;
+    }
+
+    /**
+     * Returns the moment of inertia about the centroid for a mass of one.
+     */
+    @Override
+    public double unitInertia() {
+        return unitInertia;
+    }
+
+    /**
+     * Returns the bounds of all children in the compound's local frame.
+     */
+    public Aabb localBounds() {
+        return tree.bounds();
+    }
+
+    @Override
+    public double area() {
+        return area;
+    }
+
+    @Override
+    public double boundingRadius() {
+        return boundingRadius;
+    }
+
+    /**
+     * Reports the index of every child whose local bounds overlap {@code bounds}, given in the local frame.
+     */
+    void query(Aabb bounds, IntConsumer visitor) {
+        tree.query(bounds, visitor);
+    }
+
+    /**
+     * Returns a stand-in body for child {@code index} of a compound body, placed and oriented in world space.
+     */
+    Body childBody(int index, Body compound) {
+        return childBody(children.get(index), compound.position(), compound.orientation());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CompoundShape compound
+                && children.equals(compound.children)
+                && centroid.equals(compound.centroid);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * children.hashCode() + centroid.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CompoundShape[children=" + children + ", centroid=" + centroid + "]";
+    }
+
+    private static Body childBody(Child child, VectorDouble position, double orientation) {
+        VectorDouble offset = VectorDouble.rotatePoint(0, 0, orientation, child.offset());
+        return new Body(
+                child.shape(),
+                position.add(offset),
+                new VectorDouble(0, 0),
+                new VectorDouble(0, 0),
+                orientation + child.rotation(),
+                0.0,
+                0.0,
+                1,
+                0,
+                0,
+                true
+        );
+    }
+
+    private static VectorDouble centroidOf(List<Child> children) {
+        double totalArea = 0;
+        double x = 0;
+        double y = 0;
+        for (Child child : children) {
+            double childArea = child.shape().area();
+            totalArea += childArea;
+            x += child.offset().x() * childArea;
+            y += child.offset().y() * childArea;
+        }
+        return totalArea > 0 ? new VectorDouble(x / totalArea, y / totalArea) : new VectorDouble(0, 0);
+    }
+
+    private static List<Child> recentre(List<Child> children) {
+        VectorDouble centroid = centroidOf(children);
+        List<Child> centred = new ArrayList<>(children.size());
+        for (Child child : children) {
+            centred.add(new Child(child.shape(), child.offset().sub(centroid), child.rotation()));
+        }
+        return centred;
+    }
+}
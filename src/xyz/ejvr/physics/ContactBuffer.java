@@ -0,0 +1,57 @@
+package xyz.ejvr.physics;
+
+import java.util.Arrays;
+
+final class ContactBuffer {
+
+    int count;
+    int[] first;
+    int[] second;
+    double[] normalX;
+    double[] normalY;
+    double[] penetration;
+    double[] contactX;
+    double[] contactY;
+
+    ContactBuffer(int capacity) {
+        int initial = Math.max(4, capacity);
+        first = new int[initial];
+        second = new int[initial];
+        normalX = new double[initial];
+        normalY = new double[initial];
+        penetration = new double[initial];
+        contactX = new double[initial];
+        contactY = new double[initial];
+    }
+
+    void add(Collision collision) {
+        add(collision.firstIndex(), collision.secondIndex(), collision.normal().x(), collision.normal().y(),
+                collision.penetration(), collision.contactPoint().x(), collision.contactPoint().y());
+    }
+
+    void add(int firstIndex, int secondIndex, double nx, double ny, double depth, double cx, double cy) {
+        if (count == first.length) {
+            int capacity = count * 2;
+            first = Arrays.copyOf(first, capacity);
+            second = Arrays.copyOf(second, capacity);
+            normalX = Arrays.copyOf(normalX, capacity);
+            normalY = Arrays.copyOf(normalY, capacity);
+            penetration = Arrays.copyOf(penetration, capacity);
+            contactX = Arrays.copyOf(contactX, capacity);
+            contactY = Arrays.copyOf(contactY, capacity);
+        }
+        first[count] = firstIndex;
+        second[count] = secondIndex;
+        normalX[count] = nx;
+        normalY[count] = ny;
+        penetration[count] = depth;
+        contactX[count] = cx;
+        contactY[count] = cy;
+        count++;
+    }
+
+    Collision collision(int index) {
+        return new Collision(first[index], second[index], new VectorDouble(normalX[index], normalY[index]),
+                penetration[index], new VectorDouble(contactX[index], contactY[index]));
+    }
+}
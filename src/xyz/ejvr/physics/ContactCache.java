@@ -0,0 +1,171 @@
+package xyz.ejvr.physics;
+
+import java.util.Arrays;
+
+/**
+ * Remembers, per pair of body indices, the SAT axis that decided the last test of two rectangles: the separating axis
+ * when they were apart, the axis of least overlap when they touched. The next test projects onto that axis first and
+ * stops there when it separates. Bodies in a pile move little between steps, so a pair that was apart is usually still
+ * apart along the same axis, and a resting pair that drifts apart usually does so along its contact normal.
+ * <p>
+ * The cache is only a hint: when the remembered axis does not separate, its projections are reused by the full test,
+ * so results are identical with or without it. Keys are body indices, so one cache belongs to one world and should be dropped
+ * when bodies are inserted or removed. Not thread-safe; pass it to one stepping thread at a time.
+ */
+public final class ContactCache {
+
+    private static final long EMPTY = -1L;
+    private static final int MIN_CAPACITY = 64;
+
+    private final boolean coherent;
+    private long[] keys;
+    private byte[] axes;
+    private int[] stamps;
+    private int size;
+    private int evictionThreshold = MIN_CAPACITY / 2;
+    private int step;
+    private long projections;
+    private long cachedSeparations;
+
+    private ContactCache(boolean coherent) {
+        this.coherent = coherent;
+        allocate(MIN_CAPACITY);
+    }
+
+    public static ContactCache create() {
+        return new ContactCache(true);
+    }
+
+    /**
+     * Returns a cache that counts projections but never reuses an axis, for measuring what the cache saves.
+     */
+    public static ContactCache countingOnly() {
+        return new ContactCache(false);
+    }
+
+    /**
+     * Number of SAT projections (one rectangle onto one axis) performed since the last {@link #resetCounters()}.
+     */
+    public long projections() {
+        return projections;
+    }
+
+    /**
+     * Number of pair tests that ended on the remembered axis since the last {@link #resetCounters()}.
+     */
+    public long cachedSeparations() {
+        return cachedSeparations;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void resetCounters() {
+        projections = 0;
+        cachedSeparations = 0;
+    }
+
+    /**
+     * Starts a new step. Once the cache holds twice as many pairs as survived the last eviction, pairs that were not
+     * tested during the previous step are evicted.
+     */
+    void beginStep() {
+        step++;
+        if (size > evictionThreshold) {
+            evictStale();
+            evictionThreshold = Math.max(MIN_CAPACITY / 2, size * 2);
+        }
+    }
+
+    void countProjections(int count) {
+        projections += count;
+    }
+
+    void countCachedSeparation() {
+        cachedSeparations++;
+    }
+
+    /**
+     * Returns the remembered axis of the pair, or -1 when there is none.
+     */
+    int axis(long pair) {
+        if (!coherent) {
+            return -1;
+        }
+        int slot = find(pair);
+        if (keys[slot] == EMPTY) {
+            return -1;
+        }
+        stamps[slot] = step;
+        return axes[slot];
+    }
+
+    void remember(long pair, int axis) {
+        if (!coherent) {
+            return;
+        }
+        int slot = find(pair);
+        if (keys[slot] == EMPTY) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                resize(keys.length * 2);
+                slot = find(pair);
+            }
+            keys[slot] = pair;
+            size++;
+        }
+        axes[slot] = (byte) axis;
+        stamps[slot] = step;
+    }
+
+    private int find(long pair) {
+        int mask = keys.length - 1;
+        int slot = Long.hashCode(pair * 0x9E3779B97F4A7C15L) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != pair) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void evictStale() {
+        int live = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY && step - stamps[i] <= 1) {
+                live++;
+            }
+        }
+        int capacity = MIN_CAPACITY;
+        while (live * 2 > capacity) {
+            capacity *= 2;
+        }
+        rebuild(capacity, step - 1);
+    }
+
+    private void resize(int capacity) {
+        rebuild(capacity, Integer.MIN_VALUE);
+    }
+
+    private void rebuild(int capacity, int oldestStamp) {
+        long[] oldKeys = keys;
+        byte[] oldAxes = axes;
+        int[] oldStamps = stamps;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY && oldStamps[i] >= oldestStamp) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                axes[slot] = oldAxes[i];
+                stamps[slot] = oldStamps[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        axes = new byte[capacity];
+        stamps = new int[capacity];
+        size = 0;
+    }
+}
@@ -0,0 +1,182 @@
+package xyz.ejvr.physics;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Convex polygon with up to {@value #MAX_VERTICES} vertices. The vertices are stored counter-clockwise relative to
+ * the polygon's centroid, so a body's position is its centre of mass; {@link #centroid()} keeps the offset of the
+ * centroid in the coordinates the polygon was built from. Edge normals, area, bounding radius and the moment of
+ * inertia per unit mass are computed once at construction.
+ */
+public final class ConvexPolygon implements Shape {
+
+    public static final int MAX_VERTICES = 16;
+
+    private final VectorDouble[] vertices;
+    private final VectorDouble[] normals;
+    private final VectorDouble centroid;
+    private final double area;
+    private final double boundingRadius;
+    private final double unitInertia;
+
+    public ConvexPolygon(List<VectorDouble> vertices) {
+        this(counterClockwise(vertices.toArray(VectorDouble[]::new)));
+    }
+
+    private ConvexPolygon(VectorDouble[] ordered) {
+        this(recentre(ordered, centroidOf(ordered)), centroidOf(ordered));
+    }
+
+    private ConvexPolygon(VectorDouble[] centred, VectorDouble centroid) {
+        int count = centred.length;
+        double twiceArea = 0;
+        double inertiaSum = 0;
+        double radiusSquared = 0;
+        VectorDouble[] edgeNormals = new VectorDouble[count];
+        for (int i = 0; i < count; i++) {
+            VectorDouble a = centred[i];
+            VectorDouble b = centred[(i + 1) % count];
+            double cross = cross(a, b);
+            if (cross(b.sub(a), centred[(i + 2) % count].sub(b)) <= 0) {
+                throw new IllegalArgumentException("ConvexPolygon vertices must be strictly convex");
+            }
+            twiceArea += cross;
+            inertiaSum += cross * (a.dotProduct(a) + a.dotProduct(b) + b.dotProduct(b));
+            radiusSquared = Math.max(radiusSquared, a.radiusSquared());
+            VectorDouble edge = b.sub(a);
+            edgeNormals[i] = new VectorDouble(edge.y(), -edge.x()).normalize();
+        }
+        this.vertices = centred;
+        this.normals = edgeNormals;
+        this.centroid = centroid;
+        this.area = twiceArea / 2;
+        this.boundingRadius = Math.sqrt(radiusSquared);
+        this.unitInertia = inertiaSum / (6 * twiceArea);
+    }
+
+    /**
+     * Rebuilds a polygon from vertices that are already counter-clockwise around the origin and the centroid they were
+     * recentred from, so decoding an encoded polygon yields an equal one.
+     */
+    static ConvexPolygon centred(VectorDouble[] vertices, VectorDouble centroid) {
+        checkCount(vertices.length);
+        return new ConvexPolygon(vertices.clone(), centroid);
+    }
+
+    public int vertexCount() {
+        return vertices.length;
+    }
+
+    /**
+     * Returns vertex {@code index} relative to the centroid.
+     */
+    public VectorDouble vertex(int index) {
+        return vertices[index];
+    }
+
+    /**
+     * Returns the outward unit normal of the edge from vertex {@code index} to the next vertex.
+     */
+    public VectorDouble normal(int index) {
+        return normals[index];
+    }
+
+    public List<VectorDouble> vertices() {
+        return List.of(vertices);
+    }
+
+    public VectorDouble centroid() {
+        return centroid;
+    }
+
+    /**
+     * Returns the moment of inertia about the centroid for a mass of one.
+     */
+    @Override
+    public double unitInertia() {
+        return unitInertia;
+    }
+
+    @Override
+    public double area() {
+        return area;
+    }
+
+    @Override
+    public double boundingRadius() {
+        return boundingRadius;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ConvexPolygon polygon
+                && Arrays.equals(vertices, polygon.vertices)
+                && centroid.equals(polygon.centroid);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(vertices) + centroid.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ConvexPolygon[vertices=" + Arrays.toString(vertices) + ", centroid=" + centroid + "]";
+    }
+
+    private static VectorDouble[] counterClockwise(VectorDouble[] vertices) {
+        checkCount(vertices.length);
+        double twiceArea = 0;
+        for (int i = 0; i < vertices.length; i++) {
+            twiceArea += cross(vertices[i], vertices[(i + 1) % vertices.length]);
+        }
+        if (twiceArea == 0) {
+            throw new IllegalArgumentException("ConvexPolygon must have a positive area");
+        }
+        if (twiceArea < 0) {
+            VectorDouble[] reversed = new VectorDouble[vertices.length];
+            for (int i = 0; i < vertices.length; i++) {
+                reversed[i] = vertices[vertices.length - 1 - i];
+            }
+            return reversed;
+        }
+        return vertices;
+    }
+
+    private static void checkCount(int count) {
+        if (count < 3 || count > MAX_VERTICES) {
+            throw new IllegalArgumentException("ConvexPolygon needs between 3 and " + MAX_VERTICES + " vertices");
+        }
+    }
+
+    private static VectorDouble centroidOf(VectorDouble[] vertices) {
+        double twiceArea = 0;
+        double x = 0;
+        double y = 0;
+        for (int i = 0; i < vertices.length; i++) {
+            VectorDouble a = vertices[i];
+            VectorDouble b = vertices[(i + 1) % vertices.length];
+            double cross = cross(a, b);
+            twiceArea += cross;
+            x += (a.x() + b.x()) * cross;
+            y += (a.y() + b.y()) * cross;
+        }
+        return new VectorDouble(x / (3 * twiceArea), y / (3 * twiceArea));
+    }
+
+    private static VectorDouble[] recentre(VectorDouble[] vertices, VectorDouble centroid) {
+        VectorDouble[] centred = new VectorDouble[vertices.length];
+        for (int i = 0; i < vertices.length; i++) {
+            centred[i] = vertices[i].sub(centroid);
+        }
+        return centred;
+    }
+
+    /**
+     * Standard 2D cross product; {@link VectorDouble#crossProduct2D} uses the opposite sign.
+     */
+    private static double cross(VectorDouble a, VectorDouble b) {
+        return a.x() * b.y() - a.y() * b.x();
+    }
+}
@@ -0,0 +1,14 @@
+package xyz.ejvr.physics;
+
+/**
+ * Carries encoded {@link WorldDelta} payloads from a simulation to its viewers.
+ */
+public interface DeltaTransport {
+
+    void send(byte[] payload);
+
+    /**
+     * Returns the next received payload, or {@code null} if none is waiting.
+     */
+    byte[] poll();
+}
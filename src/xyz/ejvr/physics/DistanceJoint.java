@@ -0,0 +1,59 @@
+package xyz.ejvr.physics;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps the two anchors {@code length} apart. The bodies may rotate freely about their anchors; with a low
+ * {@link JointSoftness#frequency()} the joint is a damped spring.
+ */
+public record DistanceJoint(
+        int firstIndex,
+        int secondIndex,
+        VectorDouble firstAnchor,
+        VectorDouble secondAnchor,
+        double length,
+        JointSoftness softness,
+        boolean collideConnected,
+        JointReaction reaction
+) implements Joint {
+
+    public DistanceJoint {
+        if (firstIndex < 0 || secondIndex < 0 || firstIndex == secondIndex) {
+            throw new IllegalArgumentException("Joint indices must refer to distinct bodies");
+        }
+        Objects.requireNonNull(firstAnchor, "Joint anchor cannot be null");
+        Objects.requireNonNull(secondAnchor, "Joint anchor cannot be null");
+        Objects.requireNonNull(softness, "Joint softness cannot be null");
+        Objects.requireNonNull(reaction, "Joint reaction cannot be null");
+        if (!(length >= 0) || Double.isInfinite(length)) {
+            throw new IllegalArgumentException("Distance joint length must be non-negative and finite");
+        }
+    }
+
+    public DistanceJoint(int firstIndex, int secondIndex, VectorDouble firstAnchor, VectorDouble secondAnchor, double length, JointSoftness softness) {
+        this(firstIndex, secondIndex, firstAnchor, secondAnchor, length, softness, false);
+    }
+
+    public DistanceJoint(int firstIndex, int secondIndex, VectorDouble firstAnchor, VectorDouble secondAnchor, double length, JointSoftness softness, boolean collideConnected) {
+        this(firstIndex, secondIndex, firstAnchor, secondAnchor, length, softness, collideConnected, JointReaction.NONE);
+    }
+
+    @Override
+    public DistanceJoint withReaction(JointReaction reaction) {
+        return new DistanceJoint(firstIndex, secondIndex, firstAnchor, secondAnchor, length, softness, collideConnected, reaction);
+    }
+
+    /**
+     * Joins the world points {@code firstPoint} and {@code secondPoint}, keeping their current distance.
+     */
+    public static DistanceJoint between(List<Body> bodies, int firstIndex, int secondIndex, VectorDouble firstPoint,
+                                        VectorDouble secondPoint, JointSoftness softness) {
+        return new DistanceJoint(firstIndex, secondIndex, localAnchor(bodies.get(firstIndex), firstPoint),
+                localAnchor(bodies.get(secondIndex), secondPoint), firstPoint.distanceBetween(secondPoint), softness);
+    }
+
+    static VectorDouble localAnchor(Body body, VectorDouble point) {
+        return point.sub(body.position()).rotateAboutOrigin(-body.orientation());
+    }
+}
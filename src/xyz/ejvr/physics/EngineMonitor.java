@@ -0,0 +1,190 @@
+package xyz.ejvr.physics;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide step statistics and tuning, published as a platform MXBean under {@link #OBJECT_NAME} by
+ * {@link #publish()}. Nothing is recorded until then: an unpublished monitor costs each step one volatile read.
+ * Once published, {@link PhysicsEngine} and {@link VectorizedPhysicsEngine} steps record their duration into a
+ * {@link LatencyHistogram} and their body, narrow-phase pair and collision counts into {@link LongAdder}s, so worlds
+ * stepped on many threads do not contend. Collision detection called on its own records nothing.
+ */
+public final class EngineMonitor implements EngineMonitorMXBean {
+
+    public static final String OBJECT_NAME = "xyz.ejvr.physics:type=PhysicsEngine";
+
+    static final long NOT_RECORDING = Long.MIN_VALUE;
+
+    private static final EngineMonitor INSTANCE = new EngineMonitor();
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static volatile boolean recording;
+
+    private final LatencyHistogram stepTimes = new LatencyHistogram();
+    private final LongAdder pairs = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+    private volatile int bodyCount;
+    private volatile long resetNanos = System.nanoTime();
+
+    private EngineMonitor() {
+    }
+
+    public static EngineMonitor instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the monitor with the platform MBean server, if it is not registered yet, and starts recording.
+     */
+    public static synchronized ObjectName publish() {
+        ObjectName name = objectName();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (!server.isRegistered(name)) {
+            try {
+                server.registerMBean(INSTANCE, name);
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot register " + name, e);
+            }
+            INSTANCE.reset();
+        }
+        recording = true;
+        return name;
+    }
+
+    /**
+     * Stops recording and removes the monitor from the platform MBean server. Tuning attributes keep their values.
+     */
+    public static synchronized void unpublish() {
+        recording = false;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName());
+        } catch (InstanceNotFoundException e) {
+            // Not published.
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister " + OBJECT_NAME, e);
+        }
+    }
+
+    public static boolean isRecording() {
+        return recording;
+    }
+
+    static long stepStarted() {
+        return recording ? System.nanoTime() : NOT_RECORDING;
+    }
+
+    static void stepFinished(long startNanos, int bodies, int candidatePairs, int stepCollisions) {
+        if (startNanos == NOT_RECORDING) {
+            return;
+        }
+        INSTANCE.stepTimes.record(System.nanoTime() - startNanos);
+        INSTANCE.pairs.add(candidatePairs);
+        INSTANCE.collisions.add(stepCollisions);
+        INSTANCE.bodyCount = bodies;
+    }
+
+    @Override
+    public long getStepCount() {
+        return stepTimes.count();
+    }
+
+    @Override
+    public double getStepsPerSecond() {
+        double seconds = (System.nanoTime() - resetNanos) / 1e9;
+        return seconds > 0 ? stepTimes.count() / seconds : 0;
+    }
+
+    @Override
+    public double getMeanStepMillis() {
+        return stepTimes.mean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP99StepMillis() {
+        return stepTimes.valueAtQuantile(0.99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxStepMillis() {
+        return stepTimes.max() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public int getBodyCount() {
+        return bodyCount;
+    }
+
+    @Override
+    public double getPairsPerStep() {
+        long steps = stepTimes.count();
+        return steps == 0 ? 0 : (double) pairs.sum() / steps;
+    }
+
+    @Override
+    public double getCollisionsPerStep() {
+        long steps = stepTimes.count();
+        return steps == 0 ? 0 : (double) collisions.sum() / steps;
+    }
+
+    @Override
+    public int getParallelism() {
+        return EngineTuning.parallelism();
+    }
+
+    @Override
+    public void setParallelism(int threads) {
+        EngineTuning.setParallelism(threads);
+    }
+
+    @Override
+    public int getForceParallelThreshold() {
+        return EngineTuning.forceParallelThreshold();
+    }
+
+    @Override
+    public void setForceParallelThreshold(int bodies) {
+        EngineTuning.setForceParallelThreshold(bodies);
+    }
+
+    @Override
+    public int getForceChunkSize() {
+        return EngineTuning.forceChunkSize();
+    }
+
+    @Override
+    public void setForceChunkSize(int bodies) {
+        EngineTuning.setForceChunkSize(bodies);
+    }
+
+    @Override
+    public boolean isBatchedBroadPhase() {
+        return EngineTuning.batchedBroadPhase();
+    }
+
+    @Override
+    public void setBatchedBroadPhase(boolean batched) {
+        EngineTuning.setBatchedBroadPhase(batched);
+    }
+
+    @Override
+    public void reset() {
+        stepTimes.reset();
+        pairs.reset();
+        collisions.reset();
+        bodyCount = 0;
+        resetNanos = System.nanoTime();
+    }
+
+    private static ObjectName objectName() {
+        try {
+            return new ObjectName(OBJECT_NAME);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
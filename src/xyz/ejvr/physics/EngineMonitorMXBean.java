@@ -0,0 +1,59 @@
+package xyz.ejvr.physics;
+
+/**
+ * Management interface of {@link EngineMonitor}. Statistics cover the steps since the monitor was published or last
+ * {@link #reset() reset}; the writable attributes tune the engine for the whole process and never change results.
+ * {@link RegionSimulation} and {@link PartitionNode} step their regions and strips through the engine, so each region
+ * pass or strip step counts as one step of the bodies it covered, proxies and ghosts included.
+ */
+public interface EngineMonitorMXBean {
+
+    long getStepCount();
+
+    double getStepsPerSecond();
+
+    double getMeanStepMillis();
+
+    double getP99StepMillis();
+
+    double getMaxStepMillis();
+
+    /**
+     * Number of bodies in the most recently completed step, which for a region pass or strip step is the size of
+     * that subset rather than of the whole world.
+     */
+    int getBodyCount();
+
+    /**
+     * Mean number of pairs handed from the broad phase to the narrow phase per step. The pairwise broad phase hands over
+     * every pair with overlapping bounding boxes; the {@link #isBatchedBroadPhase() batched} one drops circle pairs
+     * that do not touch first, so switching it on lowers this figure for worlds with circles.
+     */
+    double getPairsPerStep();
+
+    double getCollisionsPerStep();
+
+    /**
+     * Threads that parallel force evaluation runs on; zero means the common fork-join pool.
+     */
+    int getParallelism();
+
+    void setParallelism(int threads);
+
+    int getForceParallelThreshold();
+
+    void setForceParallelThreshold(int bodies);
+
+    int getForceChunkSize();
+
+    void setForceChunkSize(int bodies);
+
+    /**
+     * Whether circle pairs are found in batches by {@link CollisionDetection#detectAllBatched(java.util.List)}.
+     */
+    boolean isBatchedBroadPhase();
+
+    void setBatchedBroadPhase(boolean batched);
+
+    void reset();
+}
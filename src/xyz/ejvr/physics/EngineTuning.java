@@ -0,0 +1,112 @@
+package xyz.ejvr.physics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Process-wide engine parameters that may change while worlds are being stepped, usually through
+ * {@link EngineMonitor}. None of them changes results: force field chunks each own their bodies, and the batched
+ * broad phase finds the same collisions in the same order as the pairwise one. A step reads each parameter once.
+ */
+final class EngineTuning {
+
+    /**
+     * Mutual gravity sums the tree for chunks of this many bodies, in parallel once there are
+     * {@value #DEFAULT_FORCE_PARALLEL_THRESHOLD} movable bodies.
+     */
+    static final int DEFAULT_FORCE_CHUNK_SIZE = 1024;
+    static final int DEFAULT_FORCE_PARALLEL_THRESHOLD = 4096;
+    private static final int MAX_PARALLELISM = 0x7fff;
+
+    private static volatile int forceChunkSize = DEFAULT_FORCE_CHUNK_SIZE;
+    private static volatile int forceParallelThreshold = DEFAULT_FORCE_PARALLEL_THRESHOLD;
+    private static volatile boolean batchedBroadPhase;
+    private static volatile ForkJoinPool pool;
+
+    private EngineTuning() {
+    }
+
+    static int forceChunkSize() {
+        return forceChunkSize;
+    }
+
+    static void setForceChunkSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Force chunk size must be positive");
+        }
+        forceChunkSize = size;
+    }
+
+    static int forceParallelThreshold() {
+        return forceParallelThreshold;
+    }
+
+    static void setForceParallelThreshold(int bodies) {
+        if (bodies < 0) {
+            throw new IllegalArgumentException("Force parallel threshold must be non-negative");
+        }
+        forceParallelThreshold = bodies;
+    }
+
+    static boolean batchedBroadPhase() {
+        return batchedBroadPhase;
+    }
+
+    static void setBatchedBroadPhase(boolean batched) {
+        batchedBroadPhase = batched;
+    }
+
+    /**
+     * Number of threads that parallel force evaluation runs on; zero means the common fork-join pool.
+     */
+    static int parallelism() {
+        ForkJoinPool current = pool;
+        return current == null ? 0 : current.getParallelism();
+    }
+
+    /**
+     * Moves parallel work to a new pool of {@code threads} threads, or back to the common pool for zero. The previous
+     * pool finishes the work it already accepted.
+     */
+    static synchronized void setParallelism(int threads) {
+        if (threads < 0 || threads > MAX_PARALLELISM) {
+            throw new IllegalArgumentException("Parallelism must be between 0 and " + MAX_PARALLELISM);
+        }
+        ForkJoinPool previous = pool;
+        if (threads == parallelism()) {
+            return;
+        }
+        pool = threads == 0 ? null : new ForkJoinPool(threads);
+        if (previous != null) {
+            previous.shutdown();
+        }
+    }
+
+    /**
+     * Runs {@code work}, which may use parallel streams, so that those streams execute on the configured pool.
+     */
+    static void runParallel(Runnable work) {
+        while (true) {
+            ForkJoinPool current = pool;
+            if (current == null) {
+                work.run();
+                return;
+            }
+            try {
+                current.submit(work).join();
+                return;
+            } catch (RejectedExecutionException e) {
+                if (current == pool) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    static synchronized void reset() {
+        forceChunkSize = DEFAULT_FORCE_CHUNK_SIZE;
+        forceParallelThreshold = DEFAULT_FORCE_PARALLEL_THRESHOLD;
+        batchedBroadPhase = false;
+        setParallelism(0);
+    }
+}
@@ -0,0 +1,418 @@
+package xyz.ejvr.physics;
+
+import java.util.Arrays;
+
+/**
+ * Opt-in single-precision variant of {@link PhysicsEngine}. Mirrors its pipeline (integration, boundary resolution,
+ * AABB broad phase, circle/rectangle narrow phase and impulse resolution) on the float columns of a
+ * {@link FloatWorld}, halving the memory traffic of a step. The broad phase sweeps bodies sorted by their minimum x,
+ * and contacts are resolved in the same pair order as the double engine.
+ */
+public final class FloatPhysicsEngine {
+
+    private FloatPhysicsEngine() {
+    }
+
+    public static void step(FloatWorld world, float deltaTime) {
+        integrate(world, deltaTime);
+        applyBoundaries(world);
+        Contacts contacts = detectAll(world);
+        for (int i = 0; i < contacts.count; i++) {
+            applyImpulse(world, contacts, i);
+        }
+    }
+
+    static void integrate(FloatWorld world, float deltaTime) {
+        for (int i = 0; i < world.size; i++) {
+            if (!world.movable[i]) {
+                continue;
+            }
+            float dampingFactor = Math.max(0.0f, 1.0f - world.drag[i] * deltaTime);
+            float velocityX = (world.velocityX[i] + world.accelerationX[i] * deltaTime) * dampingFactor;
+            float velocityY = (world.velocityY[i] + world.accelerationY[i] * deltaTime) * dampingFactor;
+            float angularVelocity = (world.angularVelocity[i] + world.angularAcceleration[i] * deltaTime) * dampingFactor;
+
+            world.velocityX[i] = velocityX;
+            world.velocityY[i] = velocityY;
+            world.angularVelocity[i] = angularVelocity;
+            world.positionX[i] += velocityX * deltaTime;
+            world.positionY[i] += velocityY * deltaTime;
+            world.orientation[i] += angularVelocity * deltaTime;
+        }
+    }
+
+    static void applyBoundaries(FloatWorld world) {
+        float[] limits = world.boundaryLimits;
+        for (int i = 0; i < world.size; i++) {
+            if (!world.movable[i]) {
+                continue;
+            }
+            float extentX = extentX(world, i);
+            float extentY = extentY(world, i);
+            float x = world.positionX[i];
+            float y = world.positionY[i];
+            float vx = world.velocityX[i];
+            float vy = world.velocityY[i];
+            float restitution = world.restitution[i];
+
+            for (int b = 0; b < limits.length; b += 4) {
+                if (x - extentX < limits[b]) {
+                    x = limits[b] + extentX;
+                    vx = Math.abs(vx) * restitution;
+                } else if (x + extentX > limits[b + 2]) {
+                    x = limits[b + 2] - extentX;
+                    vx = -Math.abs(vx) * restitution;
+                }
+                if (y - extentY < limits[b + 1]) {
+                    y = limits[b + 1] + extentY;
+                    vy = Math.abs(vy) * restitution;
+                } else if (y + extentY > limits[b + 3]) {
+                    y = limits[b + 3] - extentY;
+                    vy = -Math.abs(vy) * restitution;
+                }
+            }
+
+            world.positionX[i] = x;
+            world.positionY[i] = y;
+            world.velocityX[i] = vx;
+            world.velocityY[i] = vy;
+        }
+    }
+
+    private static float extentX(FloatWorld world, int index) {
+        if (world.kind[index] == FloatWorld.CIRCLE) {
+            return world.halfWidth[index];
+        }
+        float cosine = Math.abs((float) Math.cos(world.orientation[index]));
+        float sine = Math.abs((float) Math.sin(world.orientation[index]));
+        return cosine * world.halfWidth[index] + sine * world.halfHeight[index];
+    }
+
+    private static float extentY(FloatWorld world, int index) {
+        if (world.kind[index] == FloatWorld.CIRCLE) {
+            return world.halfWidth[index];
+        }
+        float cosine = Math.abs((float) Math.cos(world.orientation[index]));
+        float sine = Math.abs((float) Math.sin(world.orientation[index]));
+        return sine * world.halfWidth[index] + cosine * world.halfHeight[index];
+    }
+
+    static Contacts detectAll(FloatWorld world) {
+        int size = world.size;
+        float[] minX = new float[size];
+        float[] minY = new float[size];
+        float[] maxX = new float[size];
+        float[] maxY = new float[size];
+        long[] order = new long[size];
+        for (int i = 0; i < size; i++) {
+            float extentX = extentX(world, i);
+            float extentY = extentY(world, i);
+            minX[i] = world.positionX[i] - extentX;
+            maxX[i] = world.positionX[i] + extentX;
+            minY[i] = world.positionY[i] - extentY;
+            maxY[i] = world.positionY[i] + extentY;
+            order[i] = ((long) sortableBits(minX[i]) << 32) | i;
+        }
+        Arrays.sort(order);
+
+        long[] pairs = new long[Math.max(16, size)];
+        int pairCount = 0;
+        for (int a = 0; a < size; a++) {
+            int first = (int) order[a];
+            for (int b = a + 1; b < size; b++) {
+                int second = (int) order[b];
+                if (minX[second] > maxX[first]) {
+                    break;
+                }
+                if (maxY[first] >= minY[second] && minY[first] <= maxY[second]) {
+                    if (pairCount == pairs.length) {
+                        pairs = Arrays.copyOf(pairs, pairs.length * 2);
+                    }
+                    pairs[pairCount++] = ((long) Math.min(first, second) << 32) | Math.max(first, second);
+                }
+            }
+        }
+        Arrays.sort(pairs, 0, pairCount);
+
+        Contacts contacts = new Contacts(pairCount);
+        for (int p = 0; p < pairCount; p++) {
+            detect(world, (int) (pairs[p] >>> 32), (int) pairs[p], contacts);
+        }
+        return contacts;
+    }
+
+    private static int sortableBits(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    static void detect(FloatWorld world, int first, int second, Contacts contacts) {
+        boolean firstCircle = world.kind[first] == FloatWorld.CIRCLE;
+        boolean secondCircle = world.kind[second] == FloatWorld.CIRCLE;
+        if (firstCircle && secondCircle) {
+            detectCircleCircle(world, first, second, contacts);
+        } else if (firstCircle) {
+            detectCircleRectangle(world, first, second, contacts, false);
+        } else if (secondCircle) {
+            detectCircleRectangle(world, second, first, contacts, true);
+        } else {
+            detectOrientedRectangles(world, first, second, contacts);
+        }
+    }
+
+    private static void detectCircleCircle(FloatWorld world, int first, int second, Contacts contacts) {
+        float deltaX = world.positionX[second] - world.positionX[first];
+        float deltaY = world.positionY[second] - world.positionY[first];
+        float distanceSquared = deltaX * deltaX + deltaY * deltaY;
+        float radiusSum = world.halfWidth[first] + world.halfWidth[second];
+        if (distanceSquared >= radiusSum * radiusSum) {
+            return;
+        }
+
+        float distance = (float) Math.sqrt(distanceSquared);
+        float normalX = 1;
+        float normalY = 0;
+        if (distance != 0) {
+            float inverseDistance = 1 / distance;
+            normalX = deltaX * inverseDistance;
+            normalY = deltaY * inverseDistance;
+        }
+        float penetration = radiusSum - distance;
+        float contactOffset = world.halfWidth[first] - penetration / 2;
+        contacts.add(first, second, normalX, normalY, penetration,
+                world.positionX[first] + normalX * contactOffset,
+                world.positionY[first] + normalY * contactOffset);
+    }
+
+    private static void detectCircleRectangle(FloatWorld world, int circle, int rectangle, Contacts contacts, boolean flipped) {
+        float angle = world.orientation[rectangle];
+        float cosine = (float) Math.cos(angle);
+        float sine = (float) Math.sin(angle);
+        float halfWidth = world.halfWidth[rectangle];
+        float halfHeight = world.halfHeight[rectangle];
+
+        float relativeX = world.positionX[circle] - world.positionX[rectangle];
+        float relativeY = world.positionY[circle] - world.positionY[rectangle];
+        float localX = relativeX * cosine + relativeY * sine;
+        float localY = -relativeX * sine + relativeY * cosine;
+
+        float clampedX = Math.max(-halfWidth, Math.min(halfWidth, localX));
+        float clampedY = Math.max(-halfHeight, Math.min(halfHeight, localY));
+        float closestX = clampedX * cosine - clampedY * sine + world.positionX[rectangle];
+        float closestY = clampedX * sine + clampedY * cosine + world.positionY[rectangle];
+
+        float deltaX = world.positionX[circle] - closestX;
+        float deltaY = world.positionY[circle] - closestY;
+        float distanceSquared = deltaX * deltaX + deltaY * deltaY;
+        float radius = world.halfWidth[circle];
+        if (distanceSquared > radius * radius) {
+            return;
+        }
+
+        float normalX;
+        float normalY;
+        if (distanceSquared == 0) {
+            float localNormalX = 0;
+            float localNormalY = 0;
+            if (Math.abs(localX) > Math.abs(localY)) {
+                localNormalX = Math.signum(localX);
+            } else {
+                localNormalY = Math.signum(localY);
+            }
+            if (localNormalX == 0 && localNormalY == 0) {
+                localNormalX = 1;
+            }
+            normalX = localNormalX * cosine - localNormalY * sine;
+            normalY = localNormalX * sine + localNormalY * cosine;
+        } else {
+            float inverseDistance = 1 / (float) Math.sqrt(distanceSquared);
+            normalX = deltaX * inverseDistance;
+            normalY = deltaY * inverseDistance;
+        }
+
+        float penetration = radius - (float) Math.sqrt(distanceSquared);
+        if (flipped) {
+            contacts.add(rectangle, circle, normalX, normalY, penetration, closestX, closestY);
+        } else {
+            contacts.add(circle, rectangle, -normalX, -normalY, penetration, closestX, closestY);
+        }
+    }
+
+    private static void detectOrientedRectangles(FloatWorld world, int first, int second, Contacts contacts) {
+        float[] firstVertices = vertices(world, first);
+        float[] secondVertices = vertices(world, second);
+        float firstCosine = (float) Math.cos(world.orientation[first]);
+        float firstSine = (float) Math.sin(world.orientation[first]);
+        float secondCosine = (float) Math.cos(world.orientation[second]);
+        float secondSine = (float) Math.sin(world.orientation[second]);
+        float[] axes = {firstCosine, firstSine, -firstSine, firstCosine, secondCosine, secondSine, -secondSine, secondCosine};
+
+        float minimumOverlap = Float.POSITIVE_INFINITY;
+        int collisionAxis = -1;
+        for (int axis = 0; axis < axes.length; axis += 2) {
+            float overlap = overlap(firstVertices, secondVertices, axes[axis], axes[axis + 1], null);
+            if (overlap <= 0) {
+                return;
+            }
+            if (overlap < minimumOverlap) {
+                minimumOverlap = overlap;
+                collisionAxis = axis;
+            }
+        }
+
+        float axisLength = (float) Math.sqrt(axes[collisionAxis] * axes[collisionAxis] + axes[collisionAxis + 1] * axes[collisionAxis + 1]);
+        float baseNormalX = axes[collisionAxis] / axisLength;
+        float baseNormalY = axes[collisionAxis + 1] / axisLength;
+        float normalX = baseNormalX;
+        float normalY = baseNormalY;
+        float deltaX = world.positionX[second] - world.positionX[first];
+        float deltaY = world.positionY[second] - world.positionY[first];
+        if (deltaX * normalX + deltaY * normalY < 0) {
+            normalX = -normalX;
+            normalY = -normalY;
+        }
+
+        float[] range = new float[2];
+        overlap(firstVertices, secondVertices, baseNormalX, baseNormalY, range);
+        float contactNormalProjection = (range[0] + range[1]) * 0.5f;
+        overlap(firstVertices, secondVertices, -baseNormalY, baseNormalX, range);
+        float contactTangentProjection = (range[0] + range[1]) * 0.5f;
+
+        contacts.add(first, second, normalX, normalY, minimumOverlap,
+                baseNormalX * contactNormalProjection - baseNormalY * contactTangentProjection,
+                baseNormalY * contactNormalProjection + baseNormalX * contactTangentProjection);
+    }
+
+    private static float[] vertices(FloatWorld world, int index) {
+        float cosine = (float) Math.cos(world.orientation[index]);
+        float sine = (float) Math.sin(world.orientation[index]);
+        float halfWidth = world.halfWidth[index];
+        float halfHeight = world.halfHeight[index];
+        float x = world.positionX[index];
+        float y = world.positionY[index];
+        float[] vertices = new float[8];
+        float[] localX = {-halfWidth, halfWidth, halfWidth, -halfWidth};
+        float[] localY = {-halfHeight, -halfHeight, halfHeight, halfHeight};
+        for (int i = 0; i < 4; i++) {
+            vertices[i * 2] = localX[i] * cosine - localY[i] * sine + x;
+            vertices[i * 2 + 1] = localX[i] * sine + localY[i] * cosine + y;
+        }
+        return vertices;
+    }
+
+    private static float overlap(float[] firstVertices, float[] secondVertices, float axisX, float axisY, float[] range) {
+        float firstMin = Float.POSITIVE_INFINITY;
+        float firstMax = Float.NEGATIVE_INFINITY;
+        float secondMin = Float.POSITIVE_INFINITY;
+        float secondMax = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < 8; i += 2) {
+            float firstProjection = firstVertices[i] * axisX + firstVertices[i + 1] * axisY;
+            float secondProjection = secondVertices[i] * axisX + secondVertices[i + 1] * axisY;
+            firstMin = Math.min(firstMin, firstProjection);
+            firstMax = Math.max(firstMax, firstProjection);
+            secondMin = Math.min(secondMin, secondProjection);
+            secondMax = Math.max(secondMax, secondProjection);
+        }
+        float overlapMin = Math.max(firstMin, secondMin);
+        float overlapMax = Math.min(firstMax, secondMax);
+        if (range != null) {
+            range[0] = overlapMin;
+            range[1] = overlapMax;
+        }
+        return overlapMax - overlapMin;
+    }
+
+    private static void applyImpulse(FloatWorld world, Contacts contacts, int contact) {
+        int first = contacts.first[contact];
+        int second = contacts.second[contact];
+        float inverseMassA = world.inverseMass[first];
+        float inverseMassB = world.inverseMass[second];
+        float inverseMassSum = inverseMassA + inverseMassB;
+        if (inverseMassSum == 0) {
+            return;
+        }
+
+        float normalX = contacts.normalX[contact];
+        float normalY = contacts.normalY[contact];
+        float radiusAX = contacts.contactX[contact] - world.positionX[first];
+        float radiusAY = contacts.contactY[contact] - world.positionY[first];
+        float radiusBX = contacts.contactX[contact] - world.positionX[second];
+        float radiusBY = contacts.contactY[contact] - world.positionY[second];
+        float angularVelocityA = world.angularVelocity[first];
+        float angularVelocityB = world.angularVelocity[second];
+
+        float relativeX = world.velocityX[second] - angularVelocityB * radiusBY - (world.velocityX[first] - angularVelocityA * radiusAY);
+        float relativeY = world.velocityY[second] + angularVelocityB * radiusBX - (world.velocityY[first] + angularVelocityA * radiusAX);
+        float velocityAlongNormal = relativeX * normalX + relativeY * normalY;
+        if (velocityAlongNormal > 0) {
+            return;
+        }
+
+        float restitution = Math.min(world.restitution[first], world.restitution[second]);
+        float radiusACrossNormal = radiusAY * normalX - radiusAX * normalY;
+        float radiusBCrossNormal = radiusBY * normalX - radiusBX * normalY;
+        float denominator = inverseMassSum
+                + radiusACrossNormal * radiusACrossNormal * world.inverseInertia[first]
+                + radiusBCrossNormal * radiusBCrossNormal * world.inverseInertia[second];
+        float impulseScalar = -(1 + restitution) * velocityAlongNormal / denominator;
+        float impulseX = normalX * impulseScalar;
+        float impulseY = normalY * impulseScalar;
+
+        world.velocityX[first] -= impulseX * inverseMassA;
+        world.velocityY[first] -= impulseY * inverseMassA;
+        world.velocityX[second] += impulseX * inverseMassB;
+        world.velocityY[second] += impulseY * inverseMassB;
+        world.angularVelocity[first] = angularVelocityA + (radiusAY * impulseX - radiusAX * impulseY) * world.inverseInertia[first];
+        world.angularVelocity[second] = angularVelocityB - (radiusBY * impulseX - radiusBX * impulseY) * world.inverseInertia[second];
+
+        float correction = contacts.penetration[contact] / inverseMassSum;
+        world.positionX[first] -= normalX * correction * inverseMassA;
+        world.positionY[first] -= normalY * correction * inverseMassA;
+        world.positionX[second] += normalX * correction * inverseMassB;
+        world.positionY[second] += normalY * correction * inverseMassB;
+    }
+
+    static final class Contacts {
+
+        int count;
+        int[] first;
+        int[] second;
+        float[] normalX;
+        float[] normalY;
+        float[] penetration;
+        float[] contactX;
+        float[] contactY;
+
+        Contacts(int capacity) {
+            int initial = Math.max(4, capacity);
+            first = new int[initial];
+            second = new int[initial];
+            normalX = new float[initial];
+            normalY = new float[initial];
+            penetration = new float[initial];
+            contactX = new float[initial];
+            contactY = new float[initial];
+        }
+
+        void add(int firstIndex, int secondIndex, float nx, float ny, float depth, float cx, float cy) {
+            if (count == first.length) {
+                int capacity = count * 2;
+                first = Arrays.copyOf(first, capacity);
+                second = Arrays.copyOf(second, capacity);
+                normalX = Arrays.copyOf(normalX, capacity);
+                normalY = Arrays.copyOf(normalY, capacity);
+                penetration = Arrays.copyOf(penetration, capacity);
+                contactX = Arrays.copyOf(contactX, capacity);
+                contactY = Arrays.copyOf(contactY, capacity);
+            }
+            first[count] = firstIndex;
+            second[count] = secondIndex;
+            normalX[count] = nx;
+            normalY[count] = ny;
+            penetration[count] = depth;
+            contactX[count] = cx;
+            contactY[count] = cy;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package xyz.ejvr.physics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-precision, column-oriented simulation state for {@link FloatPhysicsEngine}. Unlike {@link World} it is
+ * mutable: stepping advances it in place. Supports circles and (axis-aligned or rotated) rectangles.
+ */
+public final class FloatWorld {
+
+    static final byte CIRCLE = 0;
+    static final byte RECTANGLE = 1;
+
+    final int size;
+    final Shape[] shapes;
+    final byte[] kind;
+    final float[] halfWidth;
+    final float[] halfHeight;
+    final float[] positionX;
+    final float[] positionY;
+    final float[] velocityX;
+    final float[] velocityY;
+    final float[] accelerationX;
+    final float[] accelerationY;
+    final float[] orientation;
+    final float[] angularVelocity;
+    final float[] angularAcceleration;
+    final float[] mass;
+    final float[] inverseMass;
+    final float[] inverseInertia;
+    final float[] restitution;
+    final float[] drag;
+    final boolean[] movable;
+    final List<Boundary> boundaries;
+    final float[] boundaryLimits;
+
+    private FloatWorld(int size, List<Boundary> boundaries) {
+        this.size = size;
+        this.shapes = new Shape[size];
+        this.kind = new byte[size];
+        this.halfWidth = new float[size];
+        this.halfHeight = new float[size];
+        this.positionX = new float[size];
+        this.positionY = new float[size];
+        this.velocityX = new float[size];
+        this.velocityY = new float[size];
+        this.accelerationX = new float[size];
+        this.accelerationY = new float[size];
+        this.orientation = new float[size];
+        this.angularVelocity = new float[size];
+        this.angularAcceleration = new float[size];
+        this.mass = new float[size];
+        this.inverseMass = new float[size];
+        this.inverseInertia = new float[size];
+        this.restitution = new float[size];
+        this.drag = new float[size];
+        this.movable = new boolean[size];
+        this.boundaries = List.copyOf(boundaries);
+        this.boundaryLimits = new float[boundaries.size() * 4];
+        for (int i = 0; i < boundaries.size(); i++) {
+            Boundary boundary = boundaries.get(i);
+            boundaryLimits[i * 4] = (float) boundary.minX();
+            boundaryLimits[i * 4 + 1] = (float) boundary.minY();
+            boundaryLimits[i * 4 + 2] = (float) boundary.maxX();
+            boundaryLimits[i * 4 + 3] = (float) boundary.maxY();
+        }
+    }
+
+    public static FloatWorld of(World world) {
+        List<Body> bodies = world.bodies();
+        if (!world.tileMaps().isEmpty()) {
+            throw new IllegalArgumentException("Float simulation does not support tile maps");
+        }
+        if (!world.joints().isEmpty()) {
+            throw new IllegalArgumentException("Float simulation does not support joints");
+        }
+        if (!world.forceFields().isEmpty()) {
+            throw new IllegalArgumentException("Float simulation does not support force fields");
+        }
+        if (!world.particleSystems().isEmpty()) {
+            throw new IllegalArgumentException("Float simulation does not support particle systems");
+        }
+        FloatWorld floatWorld = new FloatWorld(bodies.size(), world.boundaries());
+        for (int i = 0; i < floatWorld.size; i++) {
+            Body body = bodies.get(i);
+            switch (body.shape()) {
+                case Circle circle -> {
+                    floatWorld.kind[i] = CIRCLE;
+                    floatWorld.halfWidth[i] = (float) circle.radius();
+                    floatWorld.halfHeight[i] = (float) circle.radius();
+                }
+                case AxisAlignedRectangle rectangle -> {
+                    floatWorld.kind[i] = RECTANGLE;
+                    floatWorld.halfWidth[i] = (float) rectangle.halfWidth();
+                    floatWorld.halfHeight[i] = (float) rectangle.halfHeight();
+                }
+                case RotatedRectangle rectangle -> {
+                    floatWorld.kind[i] = RECTANGLE;
+                    floatWorld.halfWidth[i] = (float) rectangle.halfWidth();
+                    floatWorld.halfHeight[i] = (float) rectangle.halfHeight();
+                }
+                case LineSegment line -> throw new IllegalArgumentException("Float simulation does not support line segments");
+                case ConvexPolygon polygon -> throw new IllegalArgumentException("Float simulation does not support convex polygons");
+                case CompoundShape compound -> throw new IllegalArgumentException("Float simulation does not support compound shapes");
+                case Chain chain -> throw new IllegalArgumentException("Float simulation does not support chains");
+            }
+            floatWorld.shapes[i] = body.shape();
+            floatWorld.positionX[i] = (float) body.position().x();
+            floatWorld.positionY[i] = (float) body.position().y();
+            floatWorld.velocityX[i] = (float) body.velocity().x();
+            floatWorld.velocityY[i] = (float) body.velocity().y();
+            floatWorld.accelerationX[i] = (float) body.acceleration().x();
+            floatWorld.accelerationY[i] = (float) body.acceleration().y();
+            floatWorld.orientation[i] = (float) body.orientation();
+            floatWorld.angularVelocity[i] = (float) body.angularVelocity();
+            floatWorld.angularAcceleration[i] = (float) body.angularAcceleration();
+            floatWorld.mass[i] = (float) body.mass();
+            floatWorld.inverseMass[i] = (float) body.inverseMass();
+            floatWorld.inverseInertia[i] = (float) body.inverseInertia();
+            floatWorld.restitution[i] = (float) body.restitution();
+            floatWorld.drag[i] = (float) body.drag();
+            floatWorld.movable[i] = !body.immovable();
+        }
+        return floatWorld;
+    }
+
+    public World toWorld() {
+        List<Body> bodies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            bodies.add(new Body(
+                    shapes[i],
+                    new VectorDouble(positionX[i], positionY[i]),
+                    new VectorDouble(velocityX[i], velocityY[i]),
+                    new VectorDouble(accelerationX[i], accelerationY[i]),
+                    orientation[i],
+                    angularVelocity[i],
+                    angularAcceleration[i],
+                    mass[i],
+                    restitution[i],
+                    drag[i],
+                    !movable[i]
+            ));
+        }
+        return new World(bodies, boundaries);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public float positionX(int index) {
+        return positionX[index];
+    }
+
+    public float positionY(int index) {
+        return positionY[index];
+    }
+
+    public float velocityX(int index) {
+        return velocityX[index];
+    }
+
+    public float velocityY(int index) {
+        return velocityY[index];
+    }
+
+    public float orientation(int index) {
+        return orientation[index];
+    }
+}
@@ -0,0 +1,9 @@
+package xyz.ejvr.physics;
+
+/**
+ * Long-range acceleration a {@link World} applies to its movable bodies at the start of every step. Field
+ * accelerations are added to each body's own {@link Body#acceleration()} while it is integrated and are not stored in
+ * the body, so fields can be added to or removed from a world between steps.
+ */
+public sealed interface ForceField permits UniformGravity, PointAttractor, MutualGravity {
+}
@@ -0,0 +1,124 @@
+package xyz.ejvr.physics;
+
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Acceleration of every body for one step: its own {@link Body#acceleration()} plus that of the world's
+ * {@link ForceField}s, evaluated at the positions the step starts from. {@link #NONE} stands for a world without
+ * fields, where every body keeps its own acceleration.
+ */
+final class ForceFields {
+
+    static final ForceFields NONE = new ForceFields(null, null);
+
+    private final double[] accelerationX;
+    private final double[] accelerationY;
+
+    private ForceFields(double[] accelerationX, double[] accelerationY) {
+        this.accelerationX = accelerationX;
+        this.accelerationY = accelerationY;
+    }
+
+    static ForceFields evaluate(List<ForceField> fields, List<Body> bodies) {
+        if (fields.isEmpty()) {
+            return NONE;
+        }
+        double[] accelerationX = new double[bodies.size()];
+        double[] accelerationY = new double[bodies.size()];
+        for (int i = 0; i < accelerationX.length; i++) {
+            accelerationX[i] = bodies.get(i).acceleration().x();
+            accelerationY[i] = bodies.get(i).acceleration().y();
+        }
+        for (ForceField field : fields) {
+            switch (field) {
+                case UniformGravity gravity -> addUniform(gravity, bodies, accelerationX, accelerationY);
+                case PointAttractor attractor -> addAttractor(attractor, bodies, accelerationX, accelerationY);
+                case MutualGravity gravity -> addMutual(gravity, bodies, accelerationX, accelerationY);
+            }
+        }
+        return new ForceFields(accelerationX, accelerationY);
+    }
+
+    boolean isEmpty() {
+        return accelerationX == null;
+    }
+
+    VectorDouble acceleration(int index, Body body) {
+        return accelerationX == null ? body.acceleration() : new VectorDouble(accelerationX[index], accelerationY[index]);
+    }
+
+    /**
+     * Copies the total accelerations over the columns' own ones.
+     */
+    void copyInto(BodyColumns columns) {
+        if (accelerationX != null) {
+            System.arraycopy(accelerationX, 0, columns.accelerationX, 0, columns.size);
+            System.arraycopy(accelerationY, 0, columns.accelerationY, 0, columns.size);
+        }
+    }
+
+    private static void addUniform(UniformGravity gravity, List<Body> bodies, double[] accelerationX, double[] accelerationY) {
+        double gravityX = gravity.acceleration().x();
+        double gravityY = gravity.acceleration().y();
+        for (int i = 0; i < accelerationX.length; i++) {
+            if (!bodies.get(i).immovable()) {
+                accelerationX[i] += gravityX;
+                accelerationY[i] += gravityY;
+            }
+        }
+    }
+
+    private static void addAttractor(PointAttractor attractor, List<Body> bodies, double[] accelerationX, double[] accelerationY) {
+        double softeningSquared = attractor.softening() * attractor.softening();
+        for (int i = 0; i < accelerationX.length; i++) {
+            Body body = bodies.get(i);
+            if (body.immovable()) {
+                continue;
+            }
+            double deltaX = attractor.position().x() - body.position().x();
+            double deltaY = attractor.position().y() - body.position().y();
+            double distanceSquared = deltaX * deltaX + deltaY * deltaY + softeningSquared;
+            if (distanceSquared > 0) {
+                double factor = attractor.strength() / (distanceSquared * Math.sqrt(distanceSquared));
+                accelerationX[i] += factor * deltaX;
+                accelerationY[i] += factor * deltaY;
+            }
+        }
+    }
+
+    private static void addMutual(MutualGravity gravity, List<Body> bodies, double[] accelerationX, double[] accelerationY) {
+        int[] movable = IntStream.range(0, bodies.size()).filter(i -> !bodies.get(i).immovable()).toArray();
+        if (movable.length < 2) {
+            return;
+        }
+        double[] x = new double[movable.length];
+        double[] y = new double[movable.length];
+        double[] mass = new double[movable.length];
+        for (int k = 0; k < movable.length; k++) {
+            Body body = bodies.get(movable[k]);
+            x[k] = body.position().x();
+            y[k] = body.position().y();
+            mass[k] = body.mass();
+        }
+        BarnesHutTree tree = new BarnesHutTree(x, y, mass);
+        int chunkSize = EngineTuning.forceChunkSize();
+        int chunks = (movable.length + chunkSize - 1) / chunkSize;
+        // Every body is written by exactly one chunk, and its sum does not depend on how chunks are scheduled.
+        IntConsumer sumChunk = chunk -> {
+            int[] stack = new int[BarnesHutTree.stackSize()];
+            double[] result = new double[2];
+            for (int k = chunk * chunkSize; k < Math.min(movable.length, (chunk + 1) * chunkSize); k++) {
+                tree.accelerationAt(x[k], y[k], k, gravity.openingAngle(), gravity.softening(), stack, result);
+                accelerationX[movable[k]] += gravity.gravitationalConstant() * result[0];
+                accelerationY[movable[k]] += gravity.gravitationalConstant() * result[1];
+            }
+        };
+        if (movable.length >= EngineTuning.forceParallelThreshold()) {
+            EngineTuning.runParallel(() -> IntStream.range(0, chunks).parallel().forEach(sumChunk));
+        } else {
+            IntStream.range(0, chunks).forEach(sumChunk);
+        }
+    }
+}
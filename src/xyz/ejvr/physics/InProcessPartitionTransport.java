@@ -0,0 +1,57 @@
+package xyz.ejvr.physics;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.IntStream;
+
+/**
+ * {@link PartitionTransport} for partitions running in the same JVM, backed by one queue per direction.
+ */
+public final class InProcessPartitionTransport implements PartitionTransport {
+
+    private final int self;
+    private final BlockingQueue<byte[]>[][] queues;
+
+    private InProcessPartitionTransport(int self, BlockingQueue<byte[]>[][] queues) {
+        this.self = self;
+        this.queues = queues;
+    }
+
+    /**
+     * Returns connected endpoints, one per partition, indexed by partition.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static List<PartitionTransport> connect(int partitions) {
+        BlockingQueue<byte[]>[][] queues = new BlockingQueue[partitions][partitions];
+        for (int source = 0; source < partitions; source++) {
+            for (int target = 0; target < partitions; target++) {
+                queues[source][target] = new LinkedBlockingQueue<>();
+            }
+        }
+        return IntStream.range(0, partitions)
+                .mapToObj(index -> (PartitionTransport) new InProcessPartitionTransport(index, queues))
+                .toList();
+    }
+
+    @Override
+    public void send(int target, byte[] message) {
+        queues[self][target].add(message.clone());
+    }
+
+    @Override
+    public byte[] receive(int source) throws IOException {
+        try {
+            return queues[source][self].take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for partition " + source);
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,35 @@
+package xyz.ejvr.physics;
+
+/**
+ * Constraint between two bodies of a {@link World}, which refers to them by index. Anchors are given in the local
+ * frame of their body (relative to its position, before its orientation is applied).
+ * <p>
+ * Joints are solved after contacts in every {@link PhysicsEngine} step, together with the contacts of jointed bodies.
+ * Their {@link JointSoftness} makes them damped springs, whose error decays at the spring's own rate whatever the time
+ * step, or rigid, in which case drift is moved out of the bodies' positions without adding momentum.
+ */
+public sealed interface Joint permits DistanceJoint, RevoluteJoint, PrismaticJoint, WeldJoint {
+
+    int firstIndex();
+
+    int secondIndex();
+
+    VectorDouble firstAnchor();
+
+    VectorDouble secondAnchor();
+
+    JointSoftness softness();
+
+    /**
+     * Whether the two bodies still collide with each other. Jointed bodies usually overlap around their anchors, so
+     * this is normally {@code false}.
+     */
+    boolean collideConnected();
+
+    /**
+     * Impulse applied during the last step; {@link JointReaction#NONE} for a joint that has not been stepped.
+     */
+    JointReaction reaction();
+
+    Joint withReaction(JointReaction reaction);
+}
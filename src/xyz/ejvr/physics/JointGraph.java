@@ -0,0 +1,109 @@
+package xyz.ejvr.physics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The joints of each body in compressed sparse row form: the joints touching body {@code b} are
+ * {@code entries[offsets[b]]} to {@code entries[offsets[b + 1] - 1]}, as indices into {@link #joints()}. Built in
+ * linear time per step; a body without joints costs one offset.
+ */
+final class JointGraph {
+
+    static final JointGraph EMPTY = new JointGraph(List.of(), new int[1], new int[0]);
+
+    private final List<Joint> joints;
+    private final int[] offsets;
+    private final int[] entries;
+
+    private JointGraph(List<Joint> joints, int[] offsets, int[] entries) {
+        this.joints = joints;
+        this.offsets = offsets;
+        this.entries = entries;
+    }
+
+    static JointGraph of(World world) {
+        return of(world.bodies().size(), world.joints());
+    }
+
+    static JointGraph of(int bodyCount, List<Joint> joints) {
+        if (joints.isEmpty()) {
+            return EMPTY;
+        }
+        int[] offsets = new int[bodyCount + 1];
+        for (Joint joint : joints) {
+            offsets[joint.firstIndex() + 1]++;
+            offsets[joint.secondIndex() + 1]++;
+        }
+        for (int body = 0; body < bodyCount; body++) {
+            offsets[body + 1] += offsets[body];
+        }
+        int[] cursor = offsets.clone();
+        int[] entries = new int[joints.size() * 2];
+        for (int i = 0; i < joints.size(); i++) {
+            Joint joint = joints.get(i);
+            entries[cursor[joint.firstIndex()]++] = i;
+            entries[cursor[joint.secondIndex()]++] = i;
+        }
+        return new JointGraph(joints, offsets, entries);
+    }
+
+    /**
+     * Same adjacency over {@code updated}, which must hold the same joints in the same order (for example with new
+     * reactions).
+     */
+    JointGraph withJoints(List<Joint> updated) {
+        return joints.isEmpty() ? this : new JointGraph(updated, offsets, entries);
+    }
+
+    boolean isEmpty() {
+        return joints.isEmpty();
+    }
+
+    List<Joint> joints() {
+        return joints;
+    }
+
+    /**
+     * Number of joints touching {@code body}. Only valid on a non-empty graph.
+     */
+    int degree(int body) {
+        return offsets[body + 1] - offsets[body];
+    }
+
+    /**
+     * Whether a joint between the two bodies turns off their collisions. Scans the joints of the body with fewer.
+     */
+    boolean suppressesCollision(int first, int second) {
+        int body = degree(first) <= degree(second) ? first : second;
+        int other = body == first ? second : first;
+        for (int k = offsets[body]; k < offsets[body + 1]; k++) {
+            Joint joint = joints.get(entries[k]);
+            if (!joint.collideConnected() && (joint.firstIndex() == other || joint.secondIndex() == other)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drops the collisions between bodies joined by a joint that does not collide its bodies. Returns
+     * {@code collisions} itself when nothing is dropped.
+     */
+    List<Collision> withoutConnectedPairs(List<Collision> collisions) {
+        if (joints.isEmpty()) {
+            return collisions;
+        }
+        List<Collision> kept = null;
+        for (int i = 0; i < collisions.size(); i++) {
+            Collision collision = collisions.get(i);
+            boolean suppressed = suppressesCollision(collision.firstIndex(), collision.secondIndex());
+            if (suppressed && kept == null) {
+                kept = new ArrayList<>(collisions.subList(0, i));
+            } else if (!suppressed && kept != null) {
+                kept.add(collision);
+            }
+        }
+        return kept == null ? collisions : kept;
+    }
+}
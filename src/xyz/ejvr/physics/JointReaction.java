@@ -0,0 +1,17 @@
+package xyz.ejvr.physics;
+
+import java.util.Objects;
+
+/**
+ * Impulse a joint applied during the last step: {@code impulse} pushes the second body (the first body receives the
+ * opposite) and {@code angularImpulse} turns it. Divided by the step length it is the joint's reaction force and
+ * torque. The solver starts the next step from it, which is what lets a long chain carry its own weight.
+ */
+public record JointReaction(VectorDouble impulse, double angularImpulse) {
+
+    public static final JointReaction NONE = new JointReaction(new VectorDouble(0, 0), 0);
+
+    public JointReaction {
+        Objects.requireNonNull(impulse, "Joint impulse cannot be null");
+    }
+}
@@ -0,0 +1,25 @@
+package xyz.ejvr.physics;
+
+/**
+ * How a joint responds to position error. A finite {@code frequency} makes the joint a damped spring of that many
+ * hertz with the given damping ratio, whatever the body masses and the time step, and stays stable for any
+ * frequency. {@link #RIGID} (infinite frequency) makes it a hard constraint: the solver removes drift as a position
+ * correction, without feeding velocity into the bodies.
+ */
+public record JointSoftness(double frequency, double dampingRatio) {
+
+    public static final JointSoftness RIGID = new JointSoftness(Double.POSITIVE_INFINITY, 0);
+
+    public JointSoftness {
+        if (!(frequency > 0)) {
+            throw new IllegalArgumentException("Joint frequency must be positive");
+        }
+        if (!(dampingRatio >= 0) || Double.isInfinite(dampingRatio)) {
+            throw new IllegalArgumentException("Joint damping ratio must be non-negative and finite");
+        }
+    }
+
+    public boolean rigid() {
+        return frequency == Double.POSITIVE_INFINITY;
+    }
+}
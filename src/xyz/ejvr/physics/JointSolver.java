@@ -0,0 +1,539 @@
+package xyz.ejvr.physics;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sequential impulse solver for {@link Joint}s. Every joint becomes one to three scalar velocity rows (a direction for
+ * each body's linear velocity, a lever for each angular velocity) built once per step from the current poses; the two
+ * rows of a shared point are solved together as a 2x2 block. Rows start from the impulse of the joint's
+ * {@link JointReaction} from the previous step (warm starting), so the tension of a hanging chain is carried over
+ * instead of being rebuilt from zero every step.
+ * <p>
+ * A step integrates before it resolves, so the rows are solved on the velocity the next step will move the bodies
+ * with (see {@link #nextVelocity(Body, int)}); otherwise the next step's gravity would open every joint again. Springs
+ * feed their position error back as a velocity bias with the "soft step" coefficients of {@link #soften}, which keeps
+ * them stable at any frequency and step length. Rigid joints only stop the bodies from drifting further apart; the
+ * drift they already have is removed afterwards by moving the bodies directly (nonlinear Gauss-Seidel), re-evaluating
+ * the anchors after every correction so that large errors do not spin links, and never turning a correction into
+ * momentum.
+ * <p>
+ * Contacts touching a jointed body take part in the velocity iterations as rows whose accumulated impulse cannot pull,
+ * so joints do not drag bodies back into what they rest on. Those contacts were already resolved by
+ * {@link CollisionResolution}, including restitution and position correction, so their rows carry no bias. Rows are
+ * swept alternately forwards and backwards, which carries corrections along chains in both directions.
+ */
+final class JointSolver {
+
+    static final int ITERATIONS = 64;
+    static final int POSITION_ITERATIONS = 32;
+
+    /**
+     * Largest drift one position iteration removes from a rigid joint, in metres and radians.
+     */
+    static final double MAX_LINEAR_CORRECTION = 0.2;
+    static final double MAX_ANGULAR_CORRECTION = Math.toRadians(8);
+
+    private static final double MIN_DISTANCE = 1e-9;
+
+    private final Body[] bodies;
+    private final ForceFields fields;
+    private final double deltaTime;
+    private final int[] slots;
+    private final int[] slotBodies;
+    private final double[] velocityX;
+    private final double[] velocityY;
+    private final double[] angularVelocity;
+    private final double[] inverseMass;
+    private final double[] inverseInertia;
+    private final double[] positionX;
+    private final double[] positionY;
+    private final double[] orientation;
+    private int slotCount;
+
+    private final int[] first;
+    private final int[] second;
+    private final double[] normalX;
+    private final double[] normalY;
+    private final double[] firstLever;
+    private final double[] secondLever;
+    private final double[] effectiveMass;
+    private final double[] coupling;
+    private final double[] bias;
+    private final double[] massScale;
+    private final double[] impulseScale;
+    private final boolean[] unilateral;
+    private final boolean[] rigid;
+    private final boolean[] angular;
+    private final boolean[] block;
+    private final double[] impulse;
+    private final int[] jointRows;
+    private int rowCount;
+
+    private double biasRate;
+    private double rowMassScale;
+    private double rowImpulseScale;
+    private boolean rowRigid;
+    private JointReaction warmStart;
+
+    private JointSolver(Body[] bodies, ForceFields fields, double deltaTime, int jointCount, int rowCapacity) {
+        this.bodies = bodies;
+        this.fields = fields;
+        this.deltaTime = deltaTime;
+        this.slots = new int[bodies.length];
+        Arrays.fill(slots, -1);
+        int slotCapacity = Math.min(bodies.length, rowCapacity * 2);
+        this.slotBodies = new int[slotCapacity];
+        this.velocityX = new double[slotCapacity];
+        this.velocityY = new double[slotCapacity];
+        this.angularVelocity = new double[slotCapacity];
+        this.inverseMass = new double[slotCapacity];
+        this.inverseInertia = new double[slotCapacity];
+        this.positionX = new double[slotCapacity];
+        this.positionY = new double[slotCapacity];
+        this.orientation = new double[slotCapacity];
+
+        this.first = new int[rowCapacity];
+        this.second = new int[rowCapacity];
+        this.normalX = new double[rowCapacity];
+        this.normalY = new double[rowCapacity];
+        this.firstLever = new double[rowCapacity];
+        this.secondLever = new double[rowCapacity];
+        this.effectiveMass = new double[rowCapacity];
+        this.coupling = new double[rowCapacity];
+        this.bias = new double[rowCapacity];
+        this.massScale = new double[rowCapacity];
+        this.impulseScale = new double[rowCapacity];
+        this.unilateral = new boolean[rowCapacity];
+        this.rigid = new boolean[rowCapacity];
+        this.angular = new boolean[rowCapacity];
+        this.block = new boolean[rowCapacity];
+        this.impulse = new double[rowCapacity];
+        this.jointRows = new int[jointCount + 1];
+    }
+
+    /**
+     * Solves the joints of {@code graph} in place on {@code bodies} and returns the joints with the reactions of this
+     * step. {@code fields} are the accelerations the bodies were integrated with, which the next step is assumed to
+     * repeat.
+     */
+    static List<Joint> solveInPlace(Body[] bodies, JointGraph graph, ForceFields fields, List<Collision> collisions, double deltaTime) {
+        if (graph.isEmpty()) {
+            return graph.joints();
+        }
+        int rowCapacity = 0;
+        for (Joint joint : graph.joints()) {
+            rowCapacity += rows(joint);
+        }
+        for (Collision collision : collisions) {
+            if (jointed(graph, collision)) {
+                rowCapacity++;
+            }
+        }
+        List<Joint> joints = graph.joints();
+        JointSolver solver = new JointSolver(bodies, fields, deltaTime, joints.size(), rowCapacity);
+        for (int i = 0; i < joints.size(); i++) {
+            solver.jointRows[i] = solver.rowCount;
+            solver.addJoint(joints.get(i));
+        }
+        solver.jointRows[joints.size()] = solver.rowCount;
+        for (Collision collision : collisions) {
+            if (jointed(graph, collision)) {
+                solver.addContact(collision);
+            }
+        }
+        solver.applyWarmStart();
+        solver.solveVelocities();
+        solver.solvePositions(joints);
+        solver.store();
+        return solver.reactions(joints);
+    }
+
+    private static int rows(Joint joint) {
+        return switch (joint) {
+            case DistanceJoint distance -> 1;
+            case RevoluteJoint revolute -> 2;
+            case PrismaticJoint prismatic -> 2;
+            case WeldJoint weld -> 3;
+        };
+    }
+
+    private static boolean jointed(JointGraph graph, Collision collision) {
+        return graph.degree(collision.firstIndex()) > 0 || graph.degree(collision.secondIndex()) > 0;
+    }
+
+    private void addJoint(Joint joint) {
+        soften(joint.softness());
+        warmStart = joint.reaction();
+        Body firstBody = bodies[joint.firstIndex()];
+        Body secondBody = bodies[joint.secondIndex()];
+        int a = slot(joint.firstIndex());
+        int b = slot(joint.secondIndex());
+        VectorDouble firstArm = joint.firstAnchor().rotateAboutOrigin(firstBody.orientation());
+        VectorDouble secondArm = joint.secondAnchor().rotateAboutOrigin(secondBody.orientation());
+        VectorDouble separation = separation(firstBody, firstArm, secondBody, secondArm);
+        switch (joint) {
+            case DistanceJoint distance -> {
+                double length = separation.radius();
+                VectorDouble direction = length > MIN_DISTANCE ? separation.scale(1.0 / length) : new VectorDouble(1, 0);
+                addLinearRow(a, b, direction, firstArm, secondArm, length - distance.length());
+            }
+            case RevoluteJoint revolute -> addPointRows(a, b, firstArm, secondArm, separation);
+            case PrismaticJoint prismatic -> {
+                VectorDouble perpendicular = perpendicular(prismatic.axis().rotateAboutOrigin(firstBody.orientation()));
+                // The axis turns with the first body, so its lever reaches the second anchor rather than its own.
+                addLinearRow(a, b, perpendicular, firstArm.add(separation), secondArm, separation.dotProduct(perpendicular));
+                addAngularRow(a, b, secondBody.orientation() - firstBody.orientation() - prismatic.referenceAngle());
+            }
+            case WeldJoint weld -> {
+                addAngularRow(a, b, secondBody.orientation() - firstBody.orientation() - weld.referenceAngle());
+                addPointRows(a, b, firstArm, secondArm, separation);
+            }
+        }
+    }
+
+    private void addContact(Collision collision) {
+        biasRate = 0;
+        rowMassScale = 1;
+        rowImpulseScale = 0;
+        rowRigid = false;
+        warmStart = JointReaction.NONE;
+        Body firstBody = bodies[collision.firstIndex()];
+        Body secondBody = bodies[collision.secondIndex()];
+        addLinearRow(slot(collision.firstIndex()), slot(collision.secondIndex()), collision.normal(),
+                collision.contactPoint().sub(firstBody.position()), collision.contactPoint().sub(secondBody.position()), 0);
+        unilateral[rowCount - 1] = true;
+    }
+
+    /**
+     * Sets the coefficients of the soft step for the rows added next: with angular frequency w, damping ratio z and
+     * step h, the bias rate is w / (2z + hw) and the mass and impulse scales split 1 between the spring and the
+     * impulse already applied. Rigid rows get no bias; {@link #solvePositions(List)} removes their drift.
+     */
+    private void soften(JointSoftness softness) {
+        rowRigid = softness.rigid();
+        if (rowRigid) {
+            biasRate = 0;
+            rowMassScale = 1;
+            rowImpulseScale = 0;
+            return;
+        }
+        double omega = 2 * Math.PI * softness.frequency();
+        double a1 = 2 * softness.dampingRatio() + deltaTime * omega;
+        double a2 = deltaTime * omega * a1;
+        double a3 = 1 / (1 + a2);
+        biasRate = omega / a1;
+        rowMassScale = a2 * a3;
+        rowImpulseScale = a3;
+    }
+
+    /**
+     * Adds the x and y rows of a shared point as one 2x2 block. Both rows turn the same two bodies, so solving them one
+     * after the other undoes part of each correction and converges slowly on thin links.
+     */
+    private void addPointRows(int a, int b, VectorDouble firstArm, VectorDouble secondArm, VectorDouble separation) {
+        int row = rowCount;
+        addLinearRow(a, b, new VectorDouble(1, 0), firstArm, secondArm, separation.x());
+        addLinearRow(a, b, new VectorDouble(0, 1), firstArm, secondArm, separation.y());
+        double linear = inverseMass[a] + inverseMass[b];
+        double k11 = linear + inverseInertia[a] * firstLever[row] * firstLever[row]
+                + inverseInertia[b] * secondLever[row] * secondLever[row];
+        double k22 = linear + inverseInertia[a] * firstLever[row + 1] * firstLever[row + 1]
+                + inverseInertia[b] * secondLever[row + 1] * secondLever[row + 1];
+        double k12 = inverseInertia[a] * firstLever[row] * firstLever[row + 1]
+                + inverseInertia[b] * secondLever[row] * secondLever[row + 1];
+        double determinant = k11 * k22 - k12 * k12;
+        if (determinant > 0) {
+            block[row] = true;
+            effectiveMass[row] = k22 / determinant;
+            effectiveMass[row + 1] = k11 / determinant;
+            coupling[row] = -k12 / determinant;
+        }
+    }
+
+    private void addLinearRow(int a, int b, VectorDouble direction, VectorDouble firstArm, VectorDouble secondArm, double error) {
+        int row = rowCount++;
+        first[row] = a;
+        second[row] = b;
+        normalX[row] = direction.x();
+        normalY[row] = direction.y();
+        firstLever[row] = -cross(firstArm, direction);
+        secondLever[row] = cross(secondArm, direction);
+        impulse[row] = warmStart.impulse().dotProduct(direction);
+        double mass = inverseMass[a] + inverseMass[b]
+                + inverseInertia[a] * firstLever[row] * firstLever[row]
+                + inverseInertia[b] * secondLever[row] * secondLever[row];
+        finishRow(row, mass, error);
+    }
+
+    private void addAngularRow(int a, int b, double error) {
+        int row = rowCount++;
+        first[row] = a;
+        second[row] = b;
+        firstLever[row] = -1;
+        secondLever[row] = 1;
+        angular[row] = true;
+        impulse[row] = warmStart.angularImpulse();
+        finishRow(row, inverseInertia[a] + inverseInertia[b], error);
+    }
+
+    private void finishRow(int row, double inverseEffectiveMass, double error) {
+        effectiveMass[row] = inverseEffectiveMass > 0 ? 1 / inverseEffectiveMass : 0;
+        bias[row] = biasRate * error;
+        massScale[row] = rowMassScale;
+        impulseScale[row] = rowImpulseScale;
+        rigid[row] = rowRigid;
+    }
+
+    private void applyWarmStart() {
+        for (int row = 0; row < rowCount; row++) {
+            applyImpulse(row, impulse[row]);
+        }
+    }
+
+    private void solveVelocities() {
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            boolean forward = iteration % 2 == 0;
+            for (int i = 0; i < rowCount; i++) {
+                int row = forward ? i : rowCount - 1 - i;
+                if (row > 0 && block[row - 1]) {
+                    continue;
+                }
+                if (block[row]) {
+                    solveBlock(row);
+                    continue;
+                }
+                double lambda = -effectiveMass[row] * massScale[row] * (relativeVelocity(row) + bias[row])
+                        - impulseScale[row] * impulse[row];
+                if (unilateral[row]) {
+                    lambda = Math.max(impulse[row] + lambda, 0) - impulse[row];
+                }
+                impulse[row] += lambda;
+                applyImpulse(row, lambda);
+            }
+        }
+    }
+
+    private void solveBlock(int row) {
+        double firstError = relativeVelocity(row) + bias[row];
+        double secondError = relativeVelocity(row + 1) + bias[row + 1];
+        double firstLambda = -massScale[row] * (effectiveMass[row] * firstError + coupling[row] * secondError)
+                - impulseScale[row] * impulse[row];
+        double secondLambda = -massScale[row] * (coupling[row] * firstError + effectiveMass[row + 1] * secondError)
+                - impulseScale[row] * impulse[row + 1];
+        impulse[row] += firstLambda;
+        impulse[row + 1] += secondLambda;
+        applyImpulse(row, firstLambda);
+        applyImpulse(row + 1, secondLambda);
+    }
+
+    private double relativeVelocity(int row) {
+        int a = first[row];
+        int b = second[row];
+        return normalX[row] * (velocityX[b] - velocityX[a]) + normalY[row] * (velocityY[b] - velocityY[a])
+                + firstLever[row] * angularVelocity[a] + secondLever[row] * angularVelocity[b];
+    }
+
+    private void applyImpulse(int row, double lambda) {
+        int a = first[row];
+        int b = second[row];
+        velocityX[a] -= inverseMass[a] * normalX[row] * lambda;
+        velocityY[a] -= inverseMass[a] * normalY[row] * lambda;
+        angularVelocity[a] += inverseInertia[a] * firstLever[row] * lambda;
+        velocityX[b] += inverseMass[b] * normalX[row] * lambda;
+        velocityY[b] += inverseMass[b] * normalY[row] * lambda;
+        angularVelocity[b] += inverseInertia[b] * secondLever[row] * lambda;
+    }
+
+    /**
+     * Moves the bodies of rigid joints until their anchors meet again, sweeping the joints alternately forwards and
+     * backwards and recomputing every error and lever from the poses corrected so far.
+     */
+    private void solvePositions(List<Joint> joints) {
+        for (int iteration = 0; iteration < POSITION_ITERATIONS; iteration++) {
+            boolean forward = iteration % 2 == 0;
+            for (int i = 0; i < joints.size(); i++) {
+                Joint joint = joints.get(forward ? i : joints.size() - 1 - i);
+                if (joint.softness().rigid()) {
+                    correct(joint);
+                }
+            }
+        }
+    }
+
+    private void correct(Joint joint) {
+        int a = slots[joint.firstIndex()];
+        int b = slots[joint.secondIndex()];
+        switch (joint) {
+            case DistanceJoint distance -> {
+                VectorDouble firstArm = arm(a, joint.firstAnchor());
+                VectorDouble secondArm = arm(b, joint.secondAnchor());
+                VectorDouble separation = separation(a, firstArm, b, secondArm);
+                double length = separation.radius();
+                if (length > MIN_DISTANCE) {
+                    correctLinear(a, b, separation.scale(1.0 / length), firstArm, secondArm, length - distance.length());
+                }
+            }
+            case RevoluteJoint revolute -> correctPoint(a, b, joint);
+            case PrismaticJoint prismatic -> {
+                correctAngle(a, b, prismatic.referenceAngle());
+                VectorDouble firstArm = arm(a, joint.firstAnchor());
+                VectorDouble secondArm = arm(b, joint.secondAnchor());
+                VectorDouble separation = separation(a, firstArm, b, secondArm);
+                VectorDouble perpendicular = perpendicular(arm(a, prismatic.axis()));
+                correctLinear(a, b, perpendicular, firstArm.add(separation), secondArm, separation.dotProduct(perpendicular));
+            }
+            case WeldJoint weld -> {
+                correctAngle(a, b, weld.referenceAngle());
+                correctPoint(a, b, joint);
+            }
+        }
+    }
+
+    private void correctLinear(int a, int b, VectorDouble direction, VectorDouble firstArm, VectorDouble secondArm, double error) {
+        double firstTurn = -cross(firstArm, direction);
+        double secondTurn = cross(secondArm, direction);
+        double mass = inverseMass[a] + inverseMass[b]
+                + inverseInertia[a] * firstTurn * firstTurn + inverseInertia[b] * secondTurn * secondTurn;
+        if (mass > 0) {
+            double lambda = -Math.clamp(error, -MAX_LINEAR_CORRECTION, MAX_LINEAR_CORRECTION) / mass;
+            move(a, b, direction.x() * lambda, direction.y() * lambda, firstTurn * lambda, secondTurn * lambda);
+        }
+    }
+
+    private void correctPoint(int a, int b, Joint joint) {
+        VectorDouble firstArm = arm(a, joint.firstAnchor());
+        VectorDouble secondArm = arm(b, joint.secondAnchor());
+        VectorDouble separation = separation(a, firstArm, b, secondArm);
+        double length = separation.radius();
+        if (length <= MIN_DISTANCE) {
+            return;
+        }
+        if (length > MAX_LINEAR_CORRECTION) {
+            separation = separation.scale(MAX_LINEAR_CORRECTION / length);
+        }
+        double linear = inverseMass[a] + inverseMass[b];
+        double k11 = linear + inverseInertia[a] * firstArm.y() * firstArm.y() + inverseInertia[b] * secondArm.y() * secondArm.y();
+        double k22 = linear + inverseInertia[a] * firstArm.x() * firstArm.x() + inverseInertia[b] * secondArm.x() * secondArm.x();
+        double k12 = -inverseInertia[a] * firstArm.x() * firstArm.y() - inverseInertia[b] * secondArm.x() * secondArm.y();
+        double determinant = k11 * k22 - k12 * k12;
+        if (determinant <= 0) {
+            return;
+        }
+        double lambdaX = -(k22 * separation.x() - k12 * separation.y()) / determinant;
+        double lambdaY = -(k11 * separation.y() - k12 * separation.x()) / determinant;
+        move(a, b, lambdaX, lambdaY, -cross(firstArm, new VectorDouble(lambdaX, lambdaY)), cross(secondArm, new VectorDouble(lambdaX, lambdaY)));
+    }
+
+    private void correctAngle(int a, int b, double referenceAngle) {
+        double mass = inverseInertia[a] + inverseInertia[b];
+        if (mass > 0) {
+            double error = orientation[b] - orientation[a] - referenceAngle;
+            double lambda = -Math.clamp(error, -MAX_ANGULAR_CORRECTION, MAX_ANGULAR_CORRECTION) / mass;
+            move(a, b, 0, 0, -lambda, lambda);
+        }
+    }
+
+    /**
+     * Applies a position impulse: {@code (x, y)} pushes the second body and the first body the opposite way, and the
+     * turns are the torques it exerts on each body.
+     */
+    private void move(int a, int b, double x, double y, double firstTurn, double secondTurn) {
+        positionX[a] -= inverseMass[a] * x;
+        positionY[a] -= inverseMass[a] * y;
+        orientation[a] += inverseInertia[a] * firstTurn;
+        positionX[b] += inverseMass[b] * x;
+        positionY[b] += inverseMass[b] * y;
+        orientation[b] += inverseInertia[b] * secondTurn;
+    }
+
+    private VectorDouble arm(int slot, VectorDouble local) {
+        return local.rotateAboutOrigin(orientation[slot]);
+    }
+
+    private VectorDouble separation(int a, VectorDouble firstArm, int b, VectorDouble secondArm) {
+        return new VectorDouble(positionX[b] + secondArm.x() - positionX[a] - firstArm.x(),
+                positionY[b] + secondArm.y() - positionY[a] - firstArm.y());
+    }
+
+    private int slot(int bodyIndex) {
+        int slot = slots[bodyIndex];
+        if (slot < 0) {
+            Body body = bodies[bodyIndex];
+            slot = slotCount++;
+            slots[bodyIndex] = slot;
+            slotBodies[slot] = bodyIndex;
+            VectorDouble velocity = nextVelocity(body, bodyIndex);
+            velocityX[slot] = velocity.x();
+            velocityY[slot] = velocity.y();
+            angularVelocity[slot] = nextAngularVelocity(body);
+            inverseMass[slot] = body.inverseMass();
+            inverseInertia[slot] = body.inverseInertia();
+            positionX[slot] = body.position().x();
+            positionY[slot] = body.position().y();
+            orientation[slot] = body.orientation();
+        }
+        return slot;
+    }
+
+    private void store() {
+        for (int slot = 0; slot < slotCount; slot++) {
+            Body body = bodies[slotBodies[slot]];
+            VectorDouble velocity = nextVelocity(body, slotBodies[slot]);
+            double angular = nextAngularVelocity(body);
+            if (positionX[slot] != body.position().x() || positionY[slot] != body.position().y()
+                    || orientation[slot] != body.orientation() || velocityX[slot] != velocity.x()
+                    || velocityY[slot] != velocity.y() || angularVelocity[slot] != angular) {
+                bodies[slotBodies[slot]] = body.withKinematics(
+                        new VectorDouble(positionX[slot], positionY[slot]),
+                        new VectorDouble(velocityX[slot] - (velocity.x() - body.velocity().x()), velocityY[slot] - (velocity.y() - body.velocity().y())),
+                        orientation[slot],
+                        angularVelocity[slot] - (angular - body.angularVelocity()));
+            }
+        }
+    }
+
+    /**
+     * The velocity the next step will move {@code body} with. A step integrates before it resolves, so solving the
+     * current velocity would let the next step's acceleration open every joint again before the bodies move; the
+     * solver works on this velocity and stores the result minus the acceleration.
+     */
+    private VectorDouble nextVelocity(Body body, int bodyIndex) {
+        return body.immovable() ? body.velocity() : body.velocity().add(fields.acceleration(bodyIndex, body).scale(deltaTime));
+    }
+
+    private double nextAngularVelocity(Body body) {
+        return body.immovable() ? body.angularVelocity() : body.angularVelocity() + body.angularAcceleration() * deltaTime;
+    }
+
+    private List<Joint> reactions(List<Joint> joints) {
+        Joint[] updated = new Joint[joints.size()];
+        for (int i = 0; i < updated.length; i++) {
+            double impulseX = 0;
+            double impulseY = 0;
+            double angularImpulse = 0;
+            for (int row = jointRows[i]; row < jointRows[i + 1]; row++) {
+                if (angular[row]) {
+                    angularImpulse += impulse[row];
+                } else {
+                    impulseX += normalX[row] * impulse[row];
+                    impulseY += normalY[row] * impulse[row];
+                }
+            }
+            updated[i] = joints.get(i).withReaction(new JointReaction(new VectorDouble(impulseX, impulseY), angularImpulse));
+        }
+        return List.of(updated);
+    }
+
+    private static VectorDouble separation(Body firstBody, VectorDouble firstArm, Body secondBody, VectorDouble secondArm) {
+        return secondBody.position().add(secondArm).sub(firstBody.position().add(firstArm));
+    }
+
+    private static VectorDouble perpendicular(VectorDouble axis) {
+        return new VectorDouble(-axis.y(), axis.x());
+    }
+
+    private static double cross(VectorDouble a, VectorDouble b) {
+        return a.x() * b.y() - a.y() * b.x();
+    }
+}
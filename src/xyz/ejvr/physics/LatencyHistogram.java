@@ -0,0 +1,90 @@
+package xyz.ejvr.physics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative durations in nanoseconds with HDR-style buckets: values below
+ * 2<sup>{@value #SUB_BUCKET_BITS}</sup> have a bucket each, and every further power of two is split into
+ * 2<sup>{@value #SUB_BUCKET_BITS} - 1</sup> equal buckets, so a recorded value is known to within 1/64 of itself
+ * from one nanosecond to centuries. Recording is one atomic increment and one adder update.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int HALF_SUB_BUCKETS = 1 << (SUB_BUCKET_BITS - 1);
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 2) * HALF_SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucket(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    double mean() {
+        long samples = count.sum();
+        return samples == 0 ? 0 : (double) sum.sum() / samples;
+    }
+
+    long max() {
+        return max.get();
+    }
+
+    /**
+     * Returns the largest value that falls into the same bucket as the sample at {@code quantile} (between 0 and 1), or
+     * zero when nothing was recorded.
+     */
+    long valueAtQuantile(double quantile) {
+        long samples = count.sum();
+        if (samples == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * samples));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(highestValue(bucket), max());
+            }
+        }
+        return max();
+    }
+
+    void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts.set(bucket, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    static int bucket(long value) {
+        if (value < 2L * HALF_SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << (SUB_BUCKET_BITS - 1)) + (int) (value >>> shift);
+    }
+
+    static long highestValue(int bucket) {
+        if (bucket < 2 * HALF_SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >>> (SUB_BUCKET_BITS - 1)) - 1;
+        long top = (bucket & (HALF_SUB_BUCKETS - 1)) + HALF_SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+}
@@ -33,4 +33,9 @@ public record LineSegment(VectorDouble start, VectorDouble end) implements Shape
     public double boundingRadius() {
         return Math.max(start.radius(), end.radius());
     }
+
+    @Override
+    public double unitInertia() {
+        return direction().radiusSquared() / 12.0;
+    }
 }
@@ -0,0 +1,29 @@
+package xyz.ejvr.physics;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process {@link DeltaTransport} that hands payloads from sender to receiver through a queue.
+ */
+public final class LoopbackDeltaTransport implements DeltaTransport {
+
+    private final Queue<byte[]> payloads = new ConcurrentLinkedQueue<>();
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    @Override
+    public void send(byte[] payload) {
+        bytesSent.addAndGet(payload.length);
+        payloads.add(payload.clone());
+    }
+
+    @Override
+    public byte[] poll() {
+        return payloads.poll();
+    }
+
+    public long bytesSent() {
+        return bytesSent.get();
+    }
+}
@@ -0,0 +1,29 @@
+package xyz.ejvr.physics;
+
+/**
+ * Inverse-square attraction between every pair of movable bodies, proportional to their masses. Immovable bodies
+ * neither attract nor are attracted; use a {@link PointAttractor} for a fixed mass. Forces are approximated with a Barnes-Hut quadtree: a cell of the tree whose size is less than
+ * {@code openingAngle} times its distance from a body acts on it as one mass at its centre of mass. An opening angle
+ * of 0 sums every pair exactly; 0.5 is a common trade-off, and larger angles are faster and coarser.
+ * {@code softening} keeps close encounters finite.
+ */
+public record MutualGravity(double gravitationalConstant, double softening, double openingAngle) implements ForceField {
+
+    public static final double DEFAULT_OPENING_ANGLE = 0.5;
+
+    public MutualGravity {
+        if (!Double.isFinite(gravitationalConstant)) {
+            throw new IllegalArgumentException("Gravitational constant must be finite");
+        }
+        if (!(softening >= 0) || Double.isInfinite(softening)) {
+            throw new IllegalArgumentException("Gravity softening must be non-negative and finite");
+        }
+        if (!(openingAngle >= 0) || Double.isInfinite(openingAngle)) {
+            throw new IllegalArgumentException("Opening angle must be non-negative and finite");
+        }
+    }
+
+    public MutualGravity(double gravitationalConstant, double softening) {
+        this(gravitationalConstant, softening, DEFAULT_OPENING_ANGLE);
+    }
+}
@@ -0,0 +1,234 @@
+package xyz.ejvr.physics;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body storage outside the Java heap. Every body occupies a fixed {@link #STRIDE} of bytes in a direct buffer, and
+ * shapes are deduplicated into a shared table referenced by index, so the heap cost of a world does not grow with
+ * its body count. Advanced in place by {@link OffHeapPhysicsEngine}.
+ */
+public final class OffHeapBodyStore {
+
+    public static final int STRIDE = 128;
+    public static final int MAX_CAPACITY = Integer.MAX_VALUE / STRIDE;
+
+    static final int POSITION_X = 0;
+    static final int POSITION_Y = 8;
+    static final int VELOCITY_X = 16;
+    static final int VELOCITY_Y = 24;
+    static final int ACCELERATION_X = 32;
+    static final int ACCELERATION_Y = 40;
+    static final int ORIENTATION = 48;
+    static final int ANGULAR_VELOCITY = 56;
+    static final int ANGULAR_ACCELERATION = 64;
+    static final int MASS = 72;
+    static final int INVERSE_MASS = 80;
+    static final int INVERSE_INERTIA = 88;
+    static final int RESTITUTION = 96;
+    static final int DRAG = 104;
+    static final int SHAPE_INDEX = 112;
+    static final int FLAGS = 116;
+
+    static final int IMMOVABLE_FLAG = 1;
+    static final int CIRCLE_FLAG = 2;
+
+    private static final int BOUNDS_STRIDE = 32;
+
+    final ByteBuffer data;
+    final ByteBuffer bounds;
+    private final int capacity;
+    private final List<Boundary> boundaries;
+    private final List<Shape> shapes = new ArrayList<>();
+    private final Map<Shape, Integer> shapeIndices = new HashMap<>();
+    private double[] shapeRadii = new double[4];
+    private int size;
+
+    public OffHeapBodyStore(int capacity, List<Boundary> boundaries) {
+        if (capacity < 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 0 and " + MAX_CAPACITY);
+        }
+        this.capacity = capacity;
+        this.boundaries = List.copyOf(boundaries);
+        this.data = ByteBuffer.allocateDirect(capacity * STRIDE).order(ByteOrder.nativeOrder());
+        this.bounds = ByteBuffer.allocateDirect(capacity * BOUNDS_STRIDE).order(ByteOrder.nativeOrder());
+    }
+
+    public static OffHeapBodyStore of(World world) {
+        if (!world.tileMaps().isEmpty()) {
+            throw new IllegalArgumentException("Off-heap simulation does not support tile maps");
+        }
+        if (!world.joints().isEmpty()) {
+            throw new IllegalArgumentException("Off-heap simulation does not support joints");
+        }
+        if (!world.forceFields().isEmpty()) {
+            throw new IllegalArgumentException("Off-heap simulation does not support force fields");
+        }
+        if (!world.particleSystems().isEmpty()) {
+            throw new IllegalArgumentException("Off-heap simulation does not support particle systems");
+        }
+        OffHeapBodyStore store = new OffHeapBodyStore(world.bodies().size(), world.boundaries());
+        world.bodies().forEach(store::add);
+        return store;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public List<Boundary> boundaries() {
+        return boundaries;
+    }
+
+    public List<Shape> shapes() {
+        return List.copyOf(shapes);
+    }
+
+    public int add(Body body) {
+        if (size == capacity) {
+            throw new IllegalStateException("OffHeapBodyStore is full");
+        }
+        write(size, body);
+        return size++;
+    }
+
+    public void set(int index, Body body) {
+        checkIndex(index);
+        write(index, body);
+    }
+
+    private void write(int index, Body body) {
+        int offset = index * STRIDE;
+        int shapeIndex = shapeIndices.computeIfAbsent(body.shape(), shape -> {
+            if (shapes.size() == shapeRadii.length) {
+                shapeRadii = Arrays.copyOf(shapeRadii, shapeRadii.length * 2);
+            }
+            shapeRadii[shapes.size()] = shape instanceof Circle circle ? circle.radius() : 0.0;
+            shapes.add(shape);
+            return shapes.size() - 1;
+        });
+        int flags = (body.immovable() ? IMMOVABLE_FLAG : 0) | (body.shape() instanceof Circle ? CIRCLE_FLAG : 0);
+
+        data.putDouble(offset + POSITION_X, body.position().x());
+        data.putDouble(offset + POSITION_Y, body.position().y());
+        data.putDouble(offset + VELOCITY_X, body.velocity().x());
+        data.putDouble(offset + VELOCITY_Y, body.velocity().y());
+        data.putDouble(offset + ACCELERATION_X, body.acceleration().x());
+        data.putDouble(offset + ACCELERATION_Y, body.acceleration().y());
+        data.putDouble(offset + ORIENTATION, body.orientation());
+        data.putDouble(offset + ANGULAR_VELOCITY, body.angularVelocity());
+        data.putDouble(offset + ANGULAR_ACCELERATION, body.angularAcceleration());
+        data.putDouble(offset + MASS, body.mass());
+        data.putDouble(offset + INVERSE_MASS, body.inverseMass());
+        data.putDouble(offset + INVERSE_INERTIA, body.inverseInertia());
+        data.putDouble(offset + RESTITUTION, body.restitution());
+        data.putDouble(offset + DRAG, body.drag());
+        data.putInt(offset + SHAPE_INDEX, shapeIndex);
+        data.putInt(offset + FLAGS, flags);
+    }
+
+    public Body body(int index) {
+        checkIndex(index);
+        int offset = index * STRIDE;
+        return new Body(
+                shapes.get(data.getInt(offset + SHAPE_INDEX)),
+                new VectorDouble(data.getDouble(offset + POSITION_X), data.getDouble(offset + POSITION_Y)),
+                new VectorDouble(data.getDouble(offset + VELOCITY_X), data.getDouble(offset + VELOCITY_Y)),
+                new VectorDouble(data.getDouble(offset + ACCELERATION_X), data.getDouble(offset + ACCELERATION_Y)),
+                data.getDouble(offset + ORIENTATION),
+                data.getDouble(offset + ANGULAR_VELOCITY),
+                data.getDouble(offset + ANGULAR_ACCELERATION),
+                data.getDouble(offset + MASS),
+                data.getDouble(offset + RESTITUTION),
+                data.getDouble(offset + DRAG),
+                (data.getInt(offset + FLAGS) & IMMOVABLE_FLAG) != 0
+        );
+    }
+
+    public World toWorld() {
+        List<Body> bodies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            bodies.add(body(i));
+        }
+        return new World(bodies, boundaries);
+    }
+
+    public double positionX(int index) {
+        checkIndex(index);
+        return data.getDouble(index * STRIDE + POSITION_X);
+    }
+
+    public double positionY(int index) {
+        checkIndex(index);
+        return data.getDouble(index * STRIDE + POSITION_Y);
+    }
+
+    public double velocityX(int index) {
+        checkIndex(index);
+        return data.getDouble(index * STRIDE + VELOCITY_X);
+    }
+
+    public double velocityY(int index) {
+        checkIndex(index);
+        return data.getDouble(index * STRIDE + VELOCITY_Y);
+    }
+
+    void setLinearKinematics(int index, VectorDouble position, VectorDouble velocity) {
+        int offset = index * STRIDE;
+        data.putDouble(offset + POSITION_X, position.x());
+        data.putDouble(offset + POSITION_Y, position.y());
+        data.putDouble(offset + VELOCITY_X, velocity.x());
+        data.putDouble(offset + VELOCITY_Y, velocity.y());
+    }
+
+    double radius(int index) {
+        return shapeRadii[data.getInt(index * STRIDE + SHAPE_INDEX)];
+    }
+
+    boolean isCircle(int index) {
+        return (data.getInt(index * STRIDE + FLAGS) & CIRCLE_FLAG) != 0;
+    }
+
+    boolean isImmovable(int index) {
+        return (data.getInt(index * STRIDE + FLAGS) & IMMOVABLE_FLAG) != 0;
+    }
+
+    void setBounds(int index, double minX, double minY, double maxX, double maxY) {
+        int offset = index * BOUNDS_STRIDE;
+        bounds.putDouble(offset, minX);
+        bounds.putDouble(offset + 8, minY);
+        bounds.putDouble(offset + 16, maxX);
+        bounds.putDouble(offset + 24, maxY);
+    }
+
+    double minX(int index) {
+        return bounds.getDouble(index * BOUNDS_STRIDE);
+    }
+
+    double minY(int index) {
+        return bounds.getDouble(index * BOUNDS_STRIDE + 8);
+    }
+
+    double maxX(int index) {
+        return bounds.getDouble(index * BOUNDS_STRIDE + 16);
+    }
+
+    double maxY(int index) {
+        return bounds.getDouble(index * BOUNDS_STRIDE + 24);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+}
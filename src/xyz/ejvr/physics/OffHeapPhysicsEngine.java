@@ -0,0 +1,262 @@
+package xyz.ejvr.physics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static xyz.ejvr.physics.OffHeapBodyStore.ACCELERATION_X;
+import static xyz.ejvr.physics.OffHeapBodyStore.ACCELERATION_Y;
+import static xyz.ejvr.physics.OffHeapBodyStore.ANGULAR_ACCELERATION;
+import static xyz.ejvr.physics.OffHeapBodyStore.ANGULAR_VELOCITY;
+import static xyz.ejvr.physics.OffHeapBodyStore.DRAG;
+import static xyz.ejvr.physics.OffHeapBodyStore.INVERSE_INERTIA;
+import static xyz.ejvr.physics.OffHeapBodyStore.INVERSE_MASS;
+import static xyz.ejvr.physics.OffHeapBodyStore.ORIENTATION;
+import static xyz.ejvr.physics.OffHeapBodyStore.POSITION_X;
+import static xyz.ejvr.physics.OffHeapBodyStore.POSITION_Y;
+import static xyz.ejvr.physics.OffHeapBodyStore.RESTITUTION;
+import static xyz.ejvr.physics.OffHeapBodyStore.STRIDE;
+import static xyz.ejvr.physics.OffHeapBodyStore.VELOCITY_X;
+import static xyz.ejvr.physics.OffHeapBodyStore.VELOCITY_Y;
+
+/**
+ * Steps an {@link OffHeapBodyStore} in place. Integration, the broad phase (a sort and sweep on minimum x), the
+ * circle-circle narrow phase and impulse resolution read and write the store directly; only bodies of other shapes
+ * are materialized as {@link Body} records for boundary resolution and narrow-phase tests. Contacts are resolved in
+ * the same pair order as {@link PhysicsEngine#step(World, double)}.
+ */
+public final class OffHeapPhysicsEngine {
+
+    private OffHeapPhysicsEngine() {
+    }
+
+    public static void step(OffHeapBodyStore store, double deltaTime) {
+        integrate(store, deltaTime);
+        applyBoundaries(store);
+        ContactBuffer contacts = detectAll(store);
+        for (int i = 0; i < contacts.count; i++) {
+            applyImpulse(store.data, contacts, i);
+        }
+    }
+
+    static void integrate(OffHeapBodyStore store, double deltaTime) {
+        ByteBuffer data = store.data;
+        for (int i = 0; i < store.size(); i++) {
+            if (store.isImmovable(i)) {
+                continue;
+            }
+            int offset = i * STRIDE;
+            double dampingFactor = Math.max(0.0, 1.0 - data.getDouble(offset + DRAG) * deltaTime);
+            double velocityX = (data.getDouble(offset + VELOCITY_X) + data.getDouble(offset + ACCELERATION_X) * deltaTime) * dampingFactor;
+            double velocityY = (data.getDouble(offset + VELOCITY_Y) + data.getDouble(offset + ACCELERATION_Y) * deltaTime) * dampingFactor;
+            double angularVelocity = (data.getDouble(offset + ANGULAR_VELOCITY) + data.getDouble(offset + ANGULAR_ACCELERATION) * deltaTime) * dampingFactor;
+
+            data.putDouble(offset + VELOCITY_X, velocityX);
+            data.putDouble(offset + VELOCITY_Y, velocityY);
+            data.putDouble(offset + ANGULAR_VELOCITY, angularVelocity);
+            data.putDouble(offset + POSITION_X, data.getDouble(offset + POSITION_X) + velocityX * deltaTime);
+            data.putDouble(offset + POSITION_Y, data.getDouble(offset + POSITION_Y) + velocityY * deltaTime);
+            data.putDouble(offset + ORIENTATION, data.getDouble(offset + ORIENTATION) + angularVelocity * deltaTime);
+        }
+    }
+
+    static void applyBoundaries(OffHeapBodyStore store) {
+        if (store.boundaries().isEmpty()) {
+            return;
+        }
+        ByteBuffer data = store.data;
+        for (int i = 0; i < store.size(); i++) {
+            if (store.isImmovable(i)) {
+                continue;
+            }
+            if (!store.isCircle(i)) {
+                Body bounded = PhysicsEngine.applyBoundaries(store.body(i), store.boundaries());
+                store.setLinearKinematics(i, bounded.position(), bounded.velocity());
+                continue;
+            }
+            int offset = i * STRIDE;
+            double x = data.getDouble(offset + POSITION_X);
+            double y = data.getDouble(offset + POSITION_Y);
+            double vx = data.getDouble(offset + VELOCITY_X);
+            double vy = data.getDouble(offset + VELOCITY_Y);
+            double restitution = data.getDouble(offset + RESTITUTION);
+            double radius = store.radius(i);
+
+            for (Boundary boundary : store.boundaries()) {
+                if (x - radius < boundary.minX()) {
+                    x = boundary.minX() + radius;
+                    vx = Math.abs(vx) * restitution;
+                } else if (x + radius > boundary.maxX()) {
+                    x = boundary.maxX() - radius;
+                    vx = -Math.abs(vx) * restitution;
+                }
+
+                if (y - radius < boundary.minY()) {
+                    y = boundary.minY() + radius;
+                    vy = Math.abs(vy) * restitution;
+                } else if (y + radius > boundary.maxY()) {
+                    y = boundary.maxY() - radius;
+                    vy = -Math.abs(vy) * restitution;
+                }
+            }
+
+            data.putDouble(offset + POSITION_X, x);
+            data.putDouble(offset + POSITION_Y, y);
+            data.putDouble(offset + VELOCITY_X, vx);
+            data.putDouble(offset + VELOCITY_Y, vy);
+        }
+    }
+
+    static ContactBuffer detectAll(OffHeapBodyStore store) {
+        ByteBuffer data = store.data;
+        int size = store.size();
+        long[] order = new long[size];
+        for (int i = 0; i < size; i++) {
+            if (store.isCircle(i)) {
+                double x = data.getDouble(i * STRIDE + POSITION_X);
+                double y = data.getDouble(i * STRIDE + POSITION_Y);
+                double radius = store.radius(i);
+                store.setBounds(i, x - radius, y - radius, x + radius, y + radius);
+            } else {
+                Aabb aabb = store.body(i).aabb();
+                store.setBounds(i, aabb.minX(), aabb.minY(), aabb.maxX(), aabb.maxY());
+            }
+            order[i] = ((long) sortKey(store.minX(i)) << 32) | i;
+        }
+        Arrays.parallelSort(order);
+
+        long[] pairs = new long[Math.max(16, size)];
+        int pairCount = 0;
+        for (int a = 0; a < size; a++) {
+            int first = (int) order[a];
+            double firstMinX = store.minX(first);
+            double firstMaxX = store.maxX(first);
+            double firstMinY = store.minY(first);
+            double firstMaxY = store.maxY(first);
+            for (int b = a + 1; b < size; b++) {
+                if (keyValue((int) (order[b] >>> 32)) > firstMaxX) {
+                    break;
+                }
+                int second = (int) order[b];
+                if (firstMaxX >= store.minX(second) && firstMinX <= store.maxX(second)
+                        && firstMaxY >= store.minY(second) && firstMinY <= store.maxY(second)) {
+                    if (pairCount == pairs.length) {
+                        pairs = Arrays.copyOf(pairs, pairs.length * 2);
+                    }
+                    pairs[pairCount++] = ((long) Math.min(first, second) << 32) | Math.max(first, second);
+                }
+            }
+        }
+        Arrays.parallelSort(pairs, 0, pairCount);
+
+        ContactBuffer contacts = new ContactBuffer(pairCount);
+        for (int p = 0; p < pairCount; p++) {
+            int first = (int) (pairs[p] >>> 32);
+            int second = (int) pairs[p];
+            if (store.isCircle(first) && store.isCircle(second)) {
+                detectCircleCircle(store, first, second, contacts);
+            } else {
+                CollisionDetection.detect(first, second, store.body(first), store.body(second)).ifPresent(contacts::add);
+            }
+        }
+        return contacts;
+    }
+
+    private static int sortKey(double value) {
+        float key = (float) value;
+        if (key > value) {
+            key = Math.nextDown(key);
+        }
+        int bits = Float.floatToRawIntBits(key);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    private static float keyValue(int sortKey) {
+        return Float.intBitsToFloat(sortKey ^ ((sortKey >> 31) & 0x7fffffff));
+    }
+
+    private static void detectCircleCircle(OffHeapBodyStore store, int first, int second, ContactBuffer contacts) {
+        ByteBuffer data = store.data;
+        double firstX = data.getDouble(first * STRIDE + POSITION_X);
+        double firstY = data.getDouble(first * STRIDE + POSITION_Y);
+        double deltaX = data.getDouble(second * STRIDE + POSITION_X) - firstX;
+        double deltaY = data.getDouble(second * STRIDE + POSITION_Y) - firstY;
+        double distanceSquared = deltaX * deltaX + deltaY * deltaY;
+        double firstRadius = store.radius(first);
+        double radiusSum = firstRadius + store.radius(second);
+        if (distanceSquared >= radiusSum * radiusSum) {
+            return;
+        }
+
+        double distance = Math.sqrt(distanceSquared);
+        double normalX = 1;
+        double normalY = 0;
+        if (distance != 0) {
+            double inverseDistance = 1 / distance;
+            normalX = deltaX * inverseDistance;
+            normalY = deltaY * inverseDistance;
+        }
+        double penetration = radiusSum - distance;
+        double contactOffset = firstRadius - penetration / 2;
+        contacts.add(first, second, normalX, normalY, penetration, firstX + normalX * contactOffset, firstY + normalY * contactOffset);
+    }
+
+    static void applyImpulse(ByteBuffer data, ContactBuffer contacts, int contact) {
+        int first = contacts.first[contact] * STRIDE;
+        int second = contacts.second[contact] * STRIDE;
+        double inverseMassA = data.getDouble(first + INVERSE_MASS);
+        double inverseMassB = data.getDouble(second + INVERSE_MASS);
+        double inverseMassSum = inverseMassA + inverseMassB;
+        if (inverseMassSum == 0) {
+            return;
+        }
+
+        double normalX = contacts.normalX[contact];
+        double normalY = contacts.normalY[contact];
+        double positionAX = data.getDouble(first + POSITION_X);
+        double positionAY = data.getDouble(first + POSITION_Y);
+        double positionBX = data.getDouble(second + POSITION_X);
+        double positionBY = data.getDouble(second + POSITION_Y);
+        double radiusAX = contacts.contactX[contact] - positionAX;
+        double radiusAY = contacts.contactY[contact] - positionAY;
+        double radiusBX = contacts.contactX[contact] - positionBX;
+        double radiusBY = contacts.contactY[contact] - positionBY;
+        double velocityAX = data.getDouble(first + VELOCITY_X);
+        double velocityAY = data.getDouble(first + VELOCITY_Y);
+        double velocityBX = data.getDouble(second + VELOCITY_X);
+        double velocityBY = data.getDouble(second + VELOCITY_Y);
+        double angularVelocityA = data.getDouble(first + ANGULAR_VELOCITY);
+        double angularVelocityB = data.getDouble(second + ANGULAR_VELOCITY);
+        double inverseInertiaA = data.getDouble(first + INVERSE_INERTIA);
+        double inverseInertiaB = data.getDouble(second + INVERSE_INERTIA);
+
+        double relativeX = (velocityBX + -angularVelocityB * radiusBY) - (velocityAX + -angularVelocityA * radiusAY);
+        double relativeY = (velocityBY + angularVelocityB * radiusBX) - (velocityAY + angularVelocityA * radiusAX);
+        double velocityAlongNormal = relativeX * normalX + relativeY * normalY;
+        if (velocityAlongNormal > 0) {
+            return;
+        }
+
+        double restitution = Math.min(data.getDouble(first + RESTITUTION), data.getDouble(second + RESTITUTION));
+        double impulseScalar = -(1 + restitution) * velocityAlongNormal;
+        double angularComponentA = Math.pow(radiusAY * normalX - radiusAX * normalY, 2) * inverseInertiaA;
+        double angularComponentB = Math.pow(radiusBY * normalX - radiusBX * normalY, 2) * inverseInertiaB;
+        impulseScalar /= inverseMassSum + angularComponentA + angularComponentB;
+
+        double impulseX = normalX * impulseScalar;
+        double impulseY = normalY * impulseScalar;
+        data.putDouble(first + VELOCITY_X, velocityAX - impulseX * inverseMassA);
+        data.putDouble(first + VELOCITY_Y, velocityAY - impulseY * inverseMassA);
+        data.putDouble(second + VELOCITY_X, velocityBX + impulseX * inverseMassB);
+        data.putDouble(second + VELOCITY_Y, velocityBY + impulseY * inverseMassB);
+        data.putDouble(first + ANGULAR_VELOCITY, angularVelocityA + (radiusAY * impulseX - radiusAX * impulseY) * inverseInertiaA);
+        data.putDouble(second + ANGULAR_VELOCITY, angularVelocityB - (radiusBY * impulseX - radiusBX * impulseY) * inverseInertiaB);
+
+        double correction = contacts.penetration[contact] / inverseMassSum;
+        double correctionX = normalX * correction;
+        double correctionY = normalY * correction;
+        data.putDouble(first + POSITION_X, positionAX - correctionX * inverseMassA);
+        data.putDouble(first + POSITION_Y, positionAY - correctionY * inverseMassA);
+        data.putDouble(second + POSITION_X, positionBX + correctionX * inverseMassB);
+        data.putDouble(second + POSITION_Y, positionBY + correctionY * inverseMassB);
+    }
+}
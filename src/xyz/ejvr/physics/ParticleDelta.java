@@ -0,0 +1,28 @@
+package xyz.ejvr.physics;
+
+public record ParticleDelta(int system, int index, int positionX, int positionY, int velocityX, int velocityY) {
+
+    public ParticleDelta {
+        if (system < 0 || index < 0) {
+            throw new IllegalArgumentException("ParticleDelta system and index must be non-negative");
+        }
+    }
+
+    public static ParticleDelta of(int system, int index, ParticleSystem particles, Quantization quantization) {
+        return new ParticleDelta(
+                system,
+                index,
+                quantization.position(particles.positionX[index]),
+                quantization.position(particles.positionY[index]),
+                quantization.velocity(particles.velocityX[index]),
+                quantization.velocity(particles.velocityY[index])
+        );
+    }
+
+    boolean sameState(ParticleDelta other) {
+        return positionX == other.positionX
+                && positionY == other.positionY
+                && velocityX == other.velocityX
+                && velocityY == other.velocityY;
+    }
+}
@@ -0,0 +1,82 @@
+package xyz.ejvr.physics;
+
+/**
+ * Uniform grid over the particles of one {@link ParticleSystem}, rebuilt every step by a counting sort: the particles
+ * of cell {@code c} are {@code order[cellStart[c]]} to {@code order[cellStart[c + 1] - 1]}, in index order. Cells are
+ * at least one particle diameter wide, so touching particles lie in the same or adjacent cells. The grid only covers
+ * the particles' bounds, and its cells are widened when the particles are spread so thinly that there would be more
+ * than {@value #CELLS_PER_PARTICLE} cells per particle.
+ */
+final class ParticleGrid {
+
+    private static final int CELLS_PER_PARTICLE = 4;
+
+    final double originX;
+    final double originY;
+    final double cellSize;
+    final int width;
+    final int height;
+    final int[] cellStart;
+    final int[] order;
+
+    ParticleGrid(double[] x, double[] y, double minCellSize) {
+        int count = x.length;
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        if (count == 0) {
+            minX = minY = maxX = maxY = 0;
+        }
+        long maxCells = Math.max(16L, (long) count * CELLS_PER_PARTICLE);
+        double size = minCellSize;
+        while (cells(maxX - minX, size) * cells(maxY - minY, size) > maxCells) {
+            size *= 2;
+        }
+        this.originX = minX;
+        this.originY = minY;
+        this.cellSize = size;
+        this.width = (int) cells(maxX - minX, size);
+        this.height = (int) cells(maxY - minY, size);
+        this.cellStart = new int[width * height + 1];
+        this.order = new int[count];
+
+        int[] cell = new int[count];
+        for (int i = 0; i < count; i++) {
+            cell[i] = cellY(y[i]) * width + cellX(x[i]);
+            cellStart[cell[i] + 1]++;
+        }
+        for (int c = 0; c < width * height; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] next = new int[width * height];
+        System.arraycopy(cellStart, 0, next, 0, next.length);
+        for (int i = 0; i < count; i++) {
+            order[next[cell[i]]++] = i;
+        }
+    }
+
+    /**
+     * Returns the column of {@code x}, clamped to the grid.
+     */
+    int cellX(double x) {
+        return Math.max(0, Math.min(width - 1, (int) ((x - originX) / cellSize)));
+    }
+
+    /**
+     * Returns the row of {@code y}, clamped to the grid.
+     */
+    int cellY(double y) {
+        return Math.max(0, Math.min(height - 1, (int) ((y - originY) / cellSize)));
+    }
+
+    private static long cells(double extent, double size) {
+        return (long) (extent / size) + 1;
+    }
+}
@@ -0,0 +1,364 @@
+package xyz.ejvr.physics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Rotation-free circular particles of one radius, mass, restitution and drag, stored as packed position and velocity
+ * arrays instead of {@link Body} records. Each step integrates every particle with the system's acceleration, clamps it
+ * to the world's boundaries, then sweeps over the contacts between neighbouring particles found through a
+ * {@link ParticleGrid}, clamping again after each sweep, and finally resolves contacts between particles and the
+ * world's bodies, which receive the reaction impulses.
+ * <p>
+ * Particles of different systems do not collide with each other, and particles ignore tile maps, joints and force
+ * fields. Like {@link World}, a particle system is immutable: stepping returns a new one.
+ */
+public final class ParticleSystem {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+
+    /**
+     * Sweeps over the particle contacts per step. Position corrections travel a few particles per sweep, so deep piles
+     * still settle slightly compressed.
+     */
+    private static final int ITERATIONS = 4;
+
+    private final double radius;
+    private final double mass;
+    private final double restitution;
+    private final double drag;
+    private final VectorDouble acceleration;
+    final double[] positionX;
+    final double[] positionY;
+    final double[] velocityX;
+    final double[] velocityY;
+
+    /**
+     * Creates a system whose particle {@code i} is at {@code (positionX[i], positionY[i])} and moves with
+     * {@code (velocityX[i], velocityY[i])}; the arrays are copied.
+     */
+    public ParticleSystem(double radius, double mass, double restitution, double drag, VectorDouble acceleration,
+                          double[] positionX, double[] positionY, double[] velocityX, double[] velocityY) {
+        this(radius, mass, restitution, drag, acceleration, positionX.clone(), positionY.clone(), velocityX.clone(),
+                velocityY.clone(), true);
+    }
+
+    private ParticleSystem(double radius, double mass, double restitution, double drag, VectorDouble acceleration,
+                           double[] positionX, double[] positionY, double[] velocityX, double[] velocityY, boolean validate) {
+        if (validate) {
+            Objects.requireNonNull(acceleration, "Particle acceleration cannot be null");
+            if (!(radius > 0) || Double.isInfinite(radius)) {
+                throw new IllegalArgumentException("Particle radius must be positive and finite");
+            }
+            if (!(mass > 0) || Double.isInfinite(mass)) {
+                throw new IllegalArgumentException("Particle mass must be positive and finite");
+            }
+            if (restitution < 0 || restitution > 1) {
+                throw new IllegalArgumentException("Restitution must be between 0 and 1");
+            }
+            if (drag < 0) {
+                throw new IllegalArgumentException("Drag must be non-negative");
+            }
+            int count = positionX.length;
+            if (positionY.length != count || velocityX.length != count || velocityY.length != count) {
+                throw new IllegalArgumentException("Particle position and velocity arrays must have the same length");
+            }
+        }
+        this.radius = radius;
+        this.mass = mass;
+        this.restitution = restitution;
+        this.drag = drag;
+        this.acceleration = acceleration;
+        this.positionX = positionX;
+        this.positionY = positionY;
+        this.velocityX = velocityX;
+        this.velocityY = velocityY;
+    }
+
+    /**
+     * Creates a system of particles at rest at {@code positions}.
+     */
+    public static ParticleSystem atRest(double radius, double mass, double restitution, double drag, VectorDouble acceleration,
+                                        List<VectorDouble> positions) {
+        double[] x = new double[positions.size()];
+        double[] y = new double[positions.size()];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = positions.get(i).x();
+            y[i] = positions.get(i).y();
+        }
+        return new ParticleSystem(radius, mass, restitution, drag, acceleration, x, y, new double[x.length],
+                new double[x.length], true);
+    }
+
+    public int size() {
+        return positionX.length;
+    }
+
+    public double radius() {
+        return radius;
+    }
+
+    public double mass() {
+        return mass;
+    }
+
+    public double restitution() {
+        return restitution;
+    }
+
+    public double drag() {
+        return drag;
+    }
+
+    public VectorDouble acceleration() {
+        return acceleration;
+    }
+
+    public VectorDouble position(int index) {
+        return new VectorDouble(positionX[index], positionY[index]);
+    }
+
+    public VectorDouble velocity(int index) {
+        return new VectorDouble(velocityX[index], velocityY[index]);
+    }
+
+    /**
+     * Returns a system with this one's parameters and the given particle state; the arrays are used as they are.
+     */
+    ParticleSystem withState(double[] x, double[] y, double[] vx, double[] vy) {
+        return new ParticleSystem(radius, mass, restitution, drag, acceleration, x, y, vx, vy, false);
+    }
+
+    static List<ParticleSystem> step(List<ParticleSystem> systems, Body[] bodies, List<Boundary> boundaries, double deltaTime) {
+        List<ParticleSystem> stepped = new ArrayList<>(systems.size());
+        for (ParticleSystem system : systems) {
+            stepped.add(system.step(bodies, boundaries, deltaTime));
+        }
+        return stepped;
+    }
+
+    /**
+     * Returns this system advanced by {@code deltaTime}. Contact impulses from the particles are applied to
+     * {@code bodies} in place.
+     */
+    ParticleSystem step(Body[] bodies, List<Boundary> boundaries, double deltaTime) {
+        int count = size();
+        double[] x = new double[count];
+        double[] y = new double[count];
+        double[] vx = new double[count];
+        double[] vy = new double[count];
+        double dampingFactor = Math.max(0.0, 1.0 - drag * deltaTime);
+        double accelerationX = acceleration.x() * deltaTime;
+        double accelerationY = acceleration.y() * deltaTime;
+        for (int i = 0; i < count; i++) {
+            vx[i] = (velocityX[i] + accelerationX) * dampingFactor;
+            vy[i] = (velocityY[i] + accelerationY) * dampingFactor;
+            x[i] = positionX[i] + vx[i] * deltaTime;
+            y[i] = positionY[i] + vy[i] * deltaTime;
+        }
+        for (Boundary boundary : boundaries) {
+            clamp(boundary, x, y, vx, vy);
+        }
+        if (count > 0) {
+            ParticleGrid grid = new ParticleGrid(x, y, 2 * radius);
+            double[] unsolvedX = x.clone();
+            double[] unsolvedY = y.clone();
+            for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+                collideParticles(grid, x, y, vx, vy);
+                for (Boundary boundary : boundaries) {
+                    clamp(boundary, x, y, vx, vy);
+                }
+            }
+            stopAgainstCorrections(unsolvedX, unsolvedY, x, y, vx, vy);
+            collideBodies(grid, bodies, x, y, vx, vy);
+        }
+        return new ParticleSystem(radius, mass, restitution, drag, acceleration, x, y, vx, vy, false);
+    }
+
+    /**
+     * Removes the part of each particle's velocity that opposes its net position correction. Impulses only reach a few
+     * particles per sweep, so without this a pile keeps the velocity gravity gave it while corrections hold it up, and
+     * sinks into itself.
+     */
+    private static void stopAgainstCorrections(double[] beforeX, double[] beforeY, double[] x, double[] y, double[] vx, double[] vy) {
+        for (int i = 0; i < x.length; i++) {
+            double correctionX = x[i] - beforeX[i];
+            double correctionY = y[i] - beforeY[i];
+            double along = vx[i] * correctionX + vy[i] * correctionY;
+            if (along < 0) {
+                double scale = along / (correctionX * correctionX + correctionY * correctionY);
+                vx[i] -= scale * correctionX;
+                vy[i] -= scale * correctionY;
+            }
+        }
+    }
+
+    private void clamp(Boundary boundary, double[] x, double[] y, double[] vx, double[] vy) {
+        double minX = boundary.minX() + radius;
+        double maxX = boundary.maxX() - radius;
+        double minY = boundary.minY() + radius;
+        double maxY = boundary.maxY() - radius;
+        for (int i = 0; i < x.length; i++) {
+            if (x[i] < minX) {
+                x[i] = minX;
+                vx[i] = Math.abs(vx[i]) * restitution;
+            } else if (x[i] > maxX) {
+                x[i] = maxX;
+                vx[i] = -Math.abs(vx[i]) * restitution;
+            }
+            if (y[i] < minY) {
+                y[i] = minY;
+                vy[i] = Math.abs(vy[i]) * restitution;
+            } else if (y[i] > maxY) {
+                y[i] = maxY;
+                vy[i] = -Math.abs(vy[i]) * restitution;
+            }
+        }
+    }
+
+    /**
+     * Visits every pair of particles in the same or adjacent cells once: the rest of a particle's own cell, then the
+     * cells to its right and the three cells above it.
+     */
+    private void collideParticles(ParticleGrid grid, double[] x, double[] y, double[] vx, double[] vy) {
+        int[] cellStart = grid.cellStart;
+        int[] order = grid.order;
+        int width = grid.width;
+        int height = grid.height;
+        for (int cellY = 0; cellY < height; cellY++) {
+            for (int cellX = 0; cellX < width; cellX++) {
+                int cell = cellY * width + cellX;
+                for (int slot = cellStart[cell]; slot < cellStart[cell + 1]; slot++) {
+                    int i = order[slot];
+                    for (int other = slot + 1; other < cellStart[cell + 1]; other++) {
+                        collide(i, order[other], x, y, vx, vy);
+                    }
+                    if (cellX + 1 < width) {
+                        collideWithCell(i, cell + 1, grid, x, y, vx, vy);
+                    }
+                    if (cellY + 1 < height) {
+                        int above = cell + width;
+                        if (cellX > 0) {
+                            collideWithCell(i, above - 1, grid, x, y, vx, vy);
+                        }
+                        collideWithCell(i, above, grid, x, y, vx, vy);
+                        if (cellX + 1 < width) {
+                            collideWithCell(i, above + 1, grid, x, y, vx, vy);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void collideWithCell(int i, int cell, ParticleGrid grid, double[] x, double[] y, double[] vx, double[] vy) {
+        for (int slot = grid.cellStart[cell]; slot < grid.cellStart[cell + 1]; slot++) {
+            collide(i, grid.order[slot], x, y, vx, vy);
+        }
+    }
+
+    /**
+     * Separates two overlapping particles equally along the line between their centres and, if they approach,
+     * exchanges the equal-mass restitution impulse.
+     */
+    private void collide(int i, int j, double[] x, double[] y, double[] vx, double[] vy) {
+        double deltaX = x[j] - x[i];
+        double deltaY = y[j] - y[i];
+        double distanceSquared = deltaX * deltaX + deltaY * deltaY;
+        double diameter = 2 * radius;
+        if (distanceSquared >= diameter * diameter) {
+            return;
+        }
+        double distance = Math.sqrt(distanceSquared);
+        double normalX = distance == 0 ? 1 : deltaX / distance;
+        double normalY = distance == 0 ? 0 : deltaY / distance;
+
+        double velocityAlongNormal = (vx[j] - vx[i]) * normalX + (vy[j] - vy[i]) * normalY;
+        if (velocityAlongNormal < 0) {
+            double change = -(1 + restitution) * velocityAlongNormal / 2;
+            vx[i] -= change * normalX;
+            vy[i] -= change * normalY;
+            vx[j] += change * normalX;
+            vy[j] += change * normalY;
+        }
+
+        double correction = (diameter - distance) / 2;
+        x[i] -= correction * normalX;
+        y[i] -= correction * normalY;
+        x[j] += correction * normalX;
+        y[j] += correction * normalY;
+    }
+
+    /**
+     * Tests each body against the particles in the grid cells its bounds overlap, through the regular circle kernels,
+     * and resolves each contact as a two-body collision.
+     */
+    private void collideBodies(ParticleGrid grid, Body[] bodies, double[] x, double[] y, double[] vx, double[] vy) {
+        Circle circle = new Circle(radius);
+        Body[] pair = new Body[2];
+        double gridMaxX = grid.originX + grid.width * grid.cellSize;
+        double gridMaxY = grid.originY + grid.height * grid.cellSize;
+        for (int b = 0; b < bodies.length; b++) {
+            Aabb bounds = bodies[b].aabb();
+            double minX = bounds.minX() - radius;
+            double minY = bounds.minY() - radius;
+            double maxX = bounds.maxX() + radius;
+            double maxY = bounds.maxY() + radius;
+            if (maxX < grid.originX || maxY < grid.originY || minX > gridMaxX || minY > gridMaxY) {
+                continue;
+            }
+            for (int cellY = grid.cellY(minY); cellY <= grid.cellY(maxY); cellY++) {
+                for (int cellX = grid.cellX(minX); cellX <= grid.cellX(maxX); cellX++) {
+                    int cell = cellY * grid.width + cellX;
+                    for (int slot = grid.cellStart[cell]; slot < grid.cellStart[cell + 1]; slot++) {
+                        int i = grid.order[slot];
+                        if (x[i] < minX || x[i] > maxX || y[i] < minY || y[i] > maxY) {
+                            continue;
+                        }
+                        Body particle = new Body(circle, new VectorDouble(x[i], y[i]), new VectorDouble(vx[i], vy[i]), ZERO,
+                                0, 0, 0, mass, restitution, 0, false);
+                        Collision collision = CollisionDetection.detect(0, 1, bodies[b], particle).orElse(null);
+                        if (collision == null) {
+                            continue;
+                        }
+                        pair[0] = bodies[b];
+                        pair[1] = particle;
+                        CollisionResolution.resolveInPlace(pair, List.of(collision));
+                        bodies[b] = pair[0];
+                        x[i] = pair[1].position().x();
+                        y[i] = pair[1].position().y();
+                        vx[i] = pair[1].velocity().x();
+                        vy[i] = pair[1].velocity().y();
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ParticleSystem system
+                && radius == system.radius
+                && mass == system.mass
+                && restitution == system.restitution
+                && drag == system.drag
+                && acceleration.equals(system.acceleration)
+                && Arrays.equals(positionX, system.positionX)
+                && Arrays.equals(positionY, system.positionY)
+                && Arrays.equals(velocityX, system.velocityX)
+                && Arrays.equals(velocityY, system.velocityY);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(radius, mass, restitution, drag, acceleration, Arrays.hashCode(positionX), Arrays.hashCode(positionY),
+                Arrays.hashCode(velocityX), Arrays.hashCode(velocityY));
+    }
+
+    @Override
+    public String toString() {
+        return "ParticleSystem[" + size() + " particles, radius=" + radius + ", mass=" + mass + "]";
+    }
+}
@@ -0,0 +1,33 @@
+package xyz.ejvr.physics;
+
+/**
+ * Splits the plane into vertical strips of equal width starting at {@code originX}. The first and last strip extend
+ * to infinity so every body has an owner. Bodies within {@code ghostMargin} of a shared edge are mirrored to the
+ * neighbouring partition.
+ */
+public record PartitionLayout(double originX, double stripWidth, int partitions, double ghostMargin) {
+
+    public PartitionLayout {
+        if (!(stripWidth > 0)) {
+            throw new IllegalArgumentException("Strip width must be positive");
+        }
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Layout needs at least one partition");
+        }
+        if (ghostMargin < 0) {
+            throw new IllegalArgumentException("Ghost margin cannot be negative");
+        }
+    }
+
+    public int partitionOf(double x) {
+        int strip = (int) Math.floor((x - originX) / stripWidth);
+        return Math.max(0, Math.min(partitions - 1, strip));
+    }
+
+    /**
+     * Returns the x coordinate of the edge between partition {@code index} and {@code index + 1}.
+     */
+    public double edgeAfter(int index) {
+        return originX + (index + 1) * stripWidth;
+    }
+}
@@ -0,0 +1,206 @@
+package xyz.ejvr.physics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Engine instance owning one strip of a {@link PartitionLayout}. Bodies are identified by a global id (their index in
+ * the initial world) that survives migration.
+ * <p>
+ * Each step sends the owned bodies near a shared edge to the neighbour as ghosts, steps the owned bodies together with
+ * the ghosts received from the neighbours, keeps only the owned results and finally hands bodies that crossed an edge
+ * to the neighbour on that side. Ghosts take part in the local step as ordinary bodies, ordered with the owned bodies
+ * by id. A contact across an edge is resolved identically on both sides only when every other contact of the bodies
+ * involved also lies within the ghost margin; a ghost touching a body that its owner sees but the neighbour does not is
+ * pushed differently on each side, and the owner's result wins. A body moving further than one strip in a step is
+ * forwarded one neighbour per step.
+ */
+public final class PartitionNode {
+
+    private static final int BODY_BYTES = Long.BYTES + 12 * Double.BYTES + 1;
+
+    private final int index;
+    private final PartitionLayout layout;
+    private final World statics;
+    private final PartitionTransport transport;
+    private final TreeMap<Long, Body> owned = new TreeMap<>();
+    private int lastGhostCount;
+    private int lastMigrationCount;
+
+    public PartitionNode(int index, PartitionLayout layout, World world, PartitionTransport transport) {
+        if (index < 0 || index >= layout.partitions()) {
+            throw new IllegalArgumentException("Partition index out of range: " + index);
+        }
+        if (!world.joints().isEmpty()) {
+            throw new IllegalArgumentException("Partitioned simulation does not support joints");
+        }
+        if (!world.forceFields().isEmpty()) {
+            throw new IllegalArgumentException("Partitioned simulation does not support force fields");
+        }
+        if (!world.particleSystems().isEmpty()) {
+            throw new IllegalArgumentException("Partitioned simulation does not support particle systems");
+        }
+        this.index = index;
+        this.layout = layout;
+        this.statics = world.withBodies(List.of());
+        this.transport = transport;
+        for (int id = 0; id < world.bodies().size(); id++) {
+            Body body = world.bodies().get(id);
+            if (layout.partitionOf(body.position().x()) == index) {
+                owned.put((long) id, body);
+            }
+        }
+    }
+
+    public int index() {
+        return index;
+    }
+
+    /**
+     * Returns the owned bodies keyed by global id.
+     */
+    public Map<Long, Body> bodies() {
+        return Map.copyOf(owned);
+    }
+
+    public World world() {
+        return statics.withBodies(new ArrayList<>(owned.values()));
+    }
+
+    public int lastGhostCount() {
+        return lastGhostCount;
+    }
+
+    public int lastMigrationCount() {
+        return lastMigrationCount;
+    }
+
+    public void step(double deltaTime) throws IOException {
+        TreeMap<Long, Body> local = new TreeMap<>(owned);
+        int ghosts = 0;
+        if (index > 0) {
+            double edge = layout.edgeAfter(index - 1);
+            transport.send(index - 1, encode(select(body -> body.aabb().minX() < edge + layout.ghostMargin())));
+        }
+        if (index < layout.partitions() - 1) {
+            double edge = layout.edgeAfter(index);
+            transport.send(index + 1, encode(select(body -> body.aabb().maxX() > edge - layout.ghostMargin())));
+        }
+        for (int neighbour : neighbours()) {
+            Map<Long, Body> received = decode(transport.receive(neighbour));
+            ghosts += received.size();
+            local.putAll(received);
+        }
+        lastGhostCount = ghosts;
+
+        List<Body> stepped = PhysicsEngine.step(statics.withBodies(new ArrayList<>(local.values())), deltaTime).bodies();
+        int position = 0;
+        for (Long id : local.keySet()) {
+            Body body = stepped.get(position++);
+            if (owned.containsKey(id)) {
+                owned.put(id, body);
+            }
+        }
+
+        Map<Long, Body> toLower = new TreeMap<>();
+        Map<Long, Body> toUpper = new TreeMap<>();
+        owned.entrySet().removeIf(entry -> {
+            int target = layout.partitionOf(entry.getValue().position().x());
+            if (target < index) {
+                toLower.put(entry.getKey(), entry.getValue());
+                return true;
+            }
+            if (target > index) {
+                toUpper.put(entry.getKey(), entry.getValue());
+                return true;
+            }
+            return false;
+        });
+        lastMigrationCount = toLower.size() + toUpper.size();
+        if (index > 0) {
+            transport.send(index - 1, encode(toLower));
+        }
+        if (index < layout.partitions() - 1) {
+            transport.send(index + 1, encode(toUpper));
+        }
+        for (int neighbour : neighbours()) {
+            owned.putAll(decode(transport.receive(neighbour)));
+        }
+    }
+
+    private int[] neighbours() {
+        if (layout.partitions() == 1) {
+            return new int[0];
+        }
+        if (index == 0) {
+            return new int[]{1};
+        }
+        if (index == layout.partitions() - 1) {
+            return new int[]{index - 1};
+        }
+        return new int[]{index - 1, index + 1};
+    }
+
+    private Map<Long, Body> select(Predicate<Body> nearEdge) {
+        Map<Long, Body> selected = new TreeMap<>();
+        owned.forEach((id, body) -> {
+            if (nearEdge.test(body)) {
+                selected.put(id, body);
+            }
+        });
+        return selected;
+    }
+
+    private static byte[] encode(Map<Long, Body> bodies) {
+        int size = Integer.BYTES;
+        for (Body body : bodies.values()) {
+            size += BODY_BYTES + ShapeCodec.encodedSize(body.shape());
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(bodies.size());
+        bodies.forEach((id, body) -> {
+            buffer.putLong(id);
+            ShapeCodec.write(buffer, body.shape());
+            ShapeCodec.writeVector(buffer, body.position());
+            ShapeCodec.writeVector(buffer, body.velocity());
+            ShapeCodec.writeVector(buffer, body.acceleration());
+            buffer.putDouble(body.orientation());
+            buffer.putDouble(body.angularVelocity());
+            buffer.putDouble(body.angularAcceleration());
+            buffer.putDouble(body.mass());
+            buffer.putDouble(body.restitution());
+            buffer.putDouble(body.drag());
+            buffer.put((byte) (body.immovable() ? 1 : 0));
+        });
+        return buffer.array();
+    }
+
+    private static Map<Long, Body> decode(byte[] message) {
+        ByteBuffer buffer = ByteBuffer.wrap(message).order(ByteOrder.LITTLE_ENDIAN);
+        int count = buffer.getInt();
+        Map<Long, Body> bodies = new TreeMap<>();
+        for (int i = 0; i < count; i++) {
+            long id = buffer.getLong();
+            bodies.put(id, new Body(
+                    ShapeCodec.read(buffer),
+                    ShapeCodec.readVector(buffer),
+                    ShapeCodec.readVector(buffer),
+                    ShapeCodec.readVector(buffer),
+                    buffer.getDouble(),
+                    buffer.getDouble(),
+                    buffer.getDouble(),
+                    buffer.getDouble(),
+                    buffer.getDouble(),
+                    buffer.getDouble(),
+                    buffer.get() != 0
+            ));
+        }
+        return bodies;
+    }
+}
@@ -0,0 +1,18 @@
+package xyz.ejvr.physics;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * One partition's endpoint for exchanging messages with the other partitions of a {@link PartitionLayout}. Messages
+ * between two endpoints arrive in the order they were sent.
+ */
+public interface PartitionTransport extends Closeable {
+
+    void send(int target, byte[] message) throws IOException;
+
+    /**
+     * Blocks until the next message from {@code source} arrives.
+     */
+    byte[] receive(int source) throws IOException;
+}
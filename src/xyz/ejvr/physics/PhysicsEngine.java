@@ -1,6 +1,8 @@
 package xyz.ejvr.physics;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 public final class PhysicsEngine {
 
@@ -8,24 +10,151 @@ public final class PhysicsEngine {
     }
 
     public static World step(World world, double deltaTime) {
-        List<Body> integratedBodies = world.bodies()
-                .stream()
-                .map(body -> body.integrate(deltaTime))
-                .toList();
+        Pipeline pipeline = new Pipeline(world, null);
+        pipeline.step(deltaTime);
+        return pipeline.world();
+    }
 
-        List<Body> boundedBodies = integratedBodies.stream()
-                .map(body -> applyBoundaries(body, world.boundaries()))
-                .toList();
+    /**
+     * Same as {@link #step(World, double)}, but rectangle pairs first try the separating axis that {@code cache}
+     * remembers from earlier steps. Pass the same cache to every step of one world.
+     */
+    public static World step(World world, double deltaTime, ContactCache cache) {
+        Objects.requireNonNull(cache, "Contact cache cannot be null");
+        Pipeline pipeline = new Pipeline(world, cache);
+        pipeline.step(deltaTime);
+        return pipeline.world();
+    }
 
-        List<Collision> collisions = CollisionDetection.detectAll(boundedBodies);
-        List<Body> resolvedBodies = CollisionResolution.resolve(boundedBodies, collisions);
+    public static StepResult step(StepResult previous, double deltaTime) {
+        Pipeline pipeline = new Pipeline(previous.world(), null);
+        List<Collision> collisions = pipeline.step(deltaTime);
+        return previous.next(pipeline.world(), collisions);
+    }
 
-        return new World(resolvedBodies, world.boundaries());
+    /**
+     * Advances {@code world} by {@code steps} steps of {@code deltaTime}. Equivalent to calling
+     * {@link #step(World, double)} repeatedly, but the intermediate states live in one reused {@link Pipeline} and
+     * only the final world is materialized.
+     */
+    public static World stepN(World world, double deltaTime, int steps) {
+        return stepN(world, deltaTime, steps, steps, (step, sample) -> {
+        });
     }
 
-    private static Body applyBoundaries(Body body, List<Boundary> boundaries) {
-        return boundaries.stream()
-                .reduce(body, PhysicsEngine::resolveBoundaryCollision, (first, second) -> second);
+    /**
+     * Like {@link #stepN(World, double, int)}, additionally materializing the world every {@code sampleInterval}
+     * steps and passing it to {@code observer} together with the number of steps taken so far.
+     */
+    public static World stepN(World world, double deltaTime, int steps, int sampleInterval, StepObserver observer) {
+        if (steps < 0) {
+            throw new IllegalArgumentException("Step count must be non-negative");
+        }
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("Sample interval must be positive");
+        }
+        Pipeline pipeline = new Pipeline(world, null);
+        World result = world;
+
+        for (int step = 1; step <= steps; step++) {
+            pipeline.step(deltaTime);
+            if (step == steps || step % sampleInterval == 0) {
+                result = pipeline.world();
+                if (step % sampleInterval == 0) {
+                    observer.onSample(step, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The one step pipeline behind every entry point, run over a mutable copy of a world's bodies, joint reactions
+     * and particle systems: integrate and bound the bodies, detect collisions, resolve contacts, then joints
+     * together with the contacts of jointed bodies, then tile maps, and finally step the particle systems against
+     * the resolved bodies. Bodies nothing touched keep their instance. {@code cache} may be null.
+     */
+    static final class Pipeline {
+
+        private final World world;
+        private final ContactCache cache;
+        private final Body[] bodies;
+        private final List<Body> bodyView;
+        private JointGraph joints;
+        private List<ParticleSystem> particles;
+
+        Pipeline(World world, ContactCache cache) {
+            this.world = world;
+            this.cache = cache;
+            this.bodies = world.bodies().toArray(Body[]::new);
+            this.bodyView = Arrays.asList(bodies);
+            this.joints = JointGraph.of(world);
+            this.particles = world.particleSystems();
+        }
+
+        /**
+         * Advances the bodies by one step and returns the collisions resolved on the way.
+         */
+        List<Collision> step(double deltaTime) {
+            long started = EngineMonitor.stepStarted();
+            ForceFields fields = ForceFields.evaluate(world.forceFields(), bodyView);
+            for (int i = 0; i < bodies.length; i++) {
+                bodies[i] = applyBoundaries(integrate(bodies[i], i, fields, deltaTime), world.boundaries());
+            }
+            return collide(started, fields, deltaTime, false);
+        }
+
+        /**
+         * The bodies of the current step, which a caller that integrates them itself writes into before
+         * {@link #collide}.
+         */
+        Body[] bodies() {
+            return bodies;
+        }
+
+        /**
+         * Finishes a step whose bodies are already integrated and bounded, finding circle pairs through
+         * {@link CollisionDetection#detectAllBatched(List)} when {@code batched} is set.
+         */
+        List<Collision> collide(long started, ForceFields fields, double deltaTime, boolean batched) {
+            CollisionDetection.Detection detection = detect(batched);
+            List<Collision> collisions = joints.withoutConnectedPairs(detection.collisions());
+            CollisionResolution.resolveInPlace(bodies, collisions);
+            if (!joints.isEmpty()) {
+                joints = joints.withJoints(JointSolver.solveInPlace(bodies, joints, fields, collisions, deltaTime));
+            }
+            TileMap.resolveInPlace(bodies, world.tileMaps());
+            particles = ParticleSystem.step(particles, bodies, world.boundaries(), deltaTime);
+            EngineMonitor.stepFinished(started, bodies.length, detection.candidatePairs(), collisions.size());
+            return collisions;
+        }
+
+        World world() {
+            return new World(List.of(bodies), world.boundaries(), world.tileMaps(), joints.joints(), world.forceFields(), particles);
+        }
+
+        private CollisionDetection.Detection detect(boolean batched) {
+            if (batched) {
+                return CollisionDetection.findAllBatched(bodyView);
+            }
+            if (cache == null) {
+                return CollisionDetection.findAll(bodyView);
+            }
+            cache.beginStep();
+            return CollisionDetection.findAll(bodyView, cache);
+        }
+    }
+
+    private static Body integrate(Body body, int index, ForceFields fields, double deltaTime) {
+        return fields.isEmpty() ? body.integrate(deltaTime) : body.integrate(deltaTime, fields.acceleration(index, body));
+    }
+
+    static Body applyBoundaries(Body body, List<Boundary> boundaries) {
+        Body bounded = body;
+        for (Boundary boundary : boundaries) {
+            bounded = resolveBoundaryCollision(bounded, boundary);
+        }
+        return bounded;
     }
 
     private static Body resolveBoundaryCollision(Body body, Boundary boundary) {
@@ -37,6 +166,9 @@ public final class PhysicsEngine {
             case AxisAlignedRectangle rectangle -> resolveRectangleBoundary(body, boundary);
             case RotatedRectangle rectangle -> resolveRectangleBoundary(body, boundary);
             case LineSegment line -> resolveLineBoundary(body, boundary, line);
+            case ConvexPolygon polygon -> resolveRectangleBoundary(body, boundary);
+            case CompoundShape compound -> resolveRectangleBoundary(body, boundary);
+            case Chain chain -> resolveRectangleBoundary(body, boundary);
         };
     }
 
@@ -64,7 +196,7 @@ public final class PhysicsEngine {
             vy = -Math.abs(vy) * restitution;
         }
 
-        return body.withLinearKinematics(new VectorDouble(x, y), new VectorDouble(vx, vy));
+        return withBoundedKinematics(body, x, y, vx, vy);
     }
 
     private static Body resolveRectangleBoundary(Body body, Boundary boundary) {
@@ -95,7 +227,7 @@ public final class PhysicsEngine {
             vy = -Math.abs(vy) * restitution;
         }
 
-        return body.withLinearKinematics(new VectorDouble(x, y), new VectorDouble(vx, vy));
+        return withBoundedKinematics(body, x, y, vx, vy);
     }
 
     private static Body resolveLineBoundary(Body body, Boundary boundary, LineSegment line) {
@@ -133,6 +265,13 @@ public final class PhysicsEngine {
             vy = -Math.abs(vy) * restitution;
         }
 
+        return withBoundedKinematics(body, x, y, vx, vy);
+    }
+
+    private static Body withBoundedKinematics(Body body, double x, double y, double vx, double vy) {
+        if (x == body.position().x() && y == body.position().y() && vx == body.velocity().x() && vy == body.velocity().y()) {
+            return body;
+        }
         return body.withLinearKinematics(new VectorDouble(x, y), new VectorDouble(vx, vy));
     }
 }
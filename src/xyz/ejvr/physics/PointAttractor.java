@@ -0,0 +1,22 @@
+package xyz.ejvr.physics;
+
+import java.util.Objects;
+
+/**
+ * Inverse-square attraction towards a fixed point: a body at distance {@code r} is accelerated by
+ * {@code strength / (r^2 + softening^2)} towards {@code position}, so {@code strength} is the attracting mass times
+ * the gravitational constant. A negative strength repels. {@code softening} keeps the acceleration finite near the
+ * point.
+ */
+public record PointAttractor(VectorDouble position, double strength, double softening) implements ForceField {
+
+    public PointAttractor {
+        Objects.requireNonNull(position, "Attractor position cannot be null");
+        if (!Double.isFinite(strength)) {
+            throw new IllegalArgumentException("Attractor strength must be finite");
+        }
+        if (!(softening >= 0) || Double.isInfinite(softening)) {
+            throw new IllegalArgumentException("Attractor softening must be non-negative and finite");
+        }
+    }
+}
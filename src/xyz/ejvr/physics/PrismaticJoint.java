@@ -0,0 +1,63 @@
+package xyz.ejvr.physics;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lets the second anchor slide along {@code axis} through the first anchor, and keeps the relative orientation of the
+ * bodies at {@code referenceAngle}. The axis is in the first body's frame and turns with it; it is stored normalized.
+ */
+public record PrismaticJoint(
+        int firstIndex,
+        int secondIndex,
+        VectorDouble firstAnchor,
+        VectorDouble secondAnchor,
+        VectorDouble axis,
+        double referenceAngle,
+        JointSoftness softness,
+        boolean collideConnected,
+        JointReaction reaction
+) implements Joint {
+
+    public PrismaticJoint {
+        if (firstIndex < 0 || secondIndex < 0 || firstIndex == secondIndex) {
+            throw new IllegalArgumentException("Joint indices must refer to distinct bodies");
+        }
+        Objects.requireNonNull(firstAnchor, "Joint anchor cannot be null");
+        Objects.requireNonNull(secondAnchor, "Joint anchor cannot be null");
+        Objects.requireNonNull(axis, "Prismatic joint axis cannot be null");
+        Objects.requireNonNull(softness, "Joint softness cannot be null");
+        Objects.requireNonNull(reaction, "Joint reaction cannot be null");
+        if (!(axis.radiusSquared() > 0) || Double.isInfinite(axis.radiusSquared())) {
+            throw new IllegalArgumentException("Prismatic joint axis must be a non-zero finite vector");
+        }
+        axis = axis.scale(1.0 / axis.radius());
+    }
+
+    public PrismaticJoint(int firstIndex, int secondIndex, VectorDouble firstAnchor, VectorDouble secondAnchor, VectorDouble axis,
+                          double referenceAngle, JointSoftness softness) {
+        this(firstIndex, secondIndex, firstAnchor, secondAnchor, axis, referenceAngle, softness, false);
+    }
+
+    public PrismaticJoint(int firstIndex, int secondIndex, VectorDouble firstAnchor, VectorDouble secondAnchor, VectorDouble axis,
+                          double referenceAngle, JointSoftness softness, boolean collideConnected) {
+        this(firstIndex, secondIndex, firstAnchor, secondAnchor, axis, referenceAngle, softness, collideConnected, JointReaction.NONE);
+    }
+
+    @Override
+    public PrismaticJoint withReaction(JointReaction reaction) {
+        return new PrismaticJoint(firstIndex, secondIndex, firstAnchor, secondAnchor, axis, referenceAngle, softness, collideConnected, reaction);
+    }
+
+    /**
+     * Slides the second body along the world direction {@code axis} through the world point {@code anchor}, keeping the
+     * bodies' current relative orientation.
+     */
+    public static PrismaticJoint along(List<Body> bodies, int firstIndex, int secondIndex, VectorDouble anchor, VectorDouble axis,
+                                       JointSoftness softness) {
+        Body first = bodies.get(firstIndex);
+        Body second = bodies.get(secondIndex);
+        return new PrismaticJoint(firstIndex, secondIndex, DistanceJoint.localAnchor(first, anchor), DistanceJoint.localAnchor(second, anchor),
+                axis.rotateAboutOrigin(-first.orientation()), second.orientation() - first.orientation(), softness);
+    }
+}
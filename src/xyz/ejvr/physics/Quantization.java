@@ -0,0 +1,33 @@
+package xyz.ejvr.physics;
+
+public record Quantization(double positionStep, double velocityStep, double angleStep) {
+
+    public static final Quantization DEFAULT = new Quantization(1.0 / 1024.0, 1.0 / 256.0, 2 * Math.PI / 65536.0);
+
+    public Quantization {
+        if (!(positionStep > 0) || !(velocityStep > 0) || !(angleStep > 0)) {
+            throw new IllegalArgumentException("Quantization steps must be positive");
+        }
+    }
+
+    public int position(double value) {
+        return quantize(value, positionStep);
+    }
+
+    public int velocity(double value) {
+        return quantize(value, velocityStep);
+    }
+
+    public int angle(double value) {
+        double wrapped = value - 2 * Math.PI * Math.floor((value + Math.PI) / (2 * Math.PI));
+        return quantize(wrapped, angleStep);
+    }
+
+    private static int quantize(double value, double step) {
+        long quantized = Math.round(value / step);
+        if (quantized > Integer.MAX_VALUE || quantized < Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("Value " + value + " is out of range for quantization step " + step);
+        }
+        return (int) quantized;
+    }
+}
@@ -0,0 +1,7 @@
+package xyz.ejvr.physics;
+
+public enum RegionActivity {
+    ACTIVE,
+    HALO,
+    FROZEN
+}
@@ -0,0 +1,16 @@
+package xyz.ejvr.physics;
+
+public record RegionSettings(double regionSize, double activeRadius, double haloRadius, int haloInterval) {
+
+    public RegionSettings {
+        if (!(regionSize > 0)) {
+            throw new IllegalArgumentException("Region size must be positive");
+        }
+        if (activeRadius < 0 || haloRadius < activeRadius) {
+            throw new IllegalArgumentException("Radii must satisfy 0 <= activeRadius <= haloRadius");
+        }
+        if (haloInterval < 1) {
+            throw new IllegalArgumentException("Halo interval must be at least one tick");
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package xyz.ejvr.physics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Level-of-detail simulation for worlds much larger than the area anyone is looking at. The plane is split into
+ * square regions; regions within {@link RegionSettings#activeRadius()} of a registered observer are stepped every
+ * tick, regions within {@link RegionSettings#haloRadius()} every {@link RegionSettings#haloInterval()} ticks, and
+ * all other regions are frozen. Each region remembers the time its bodies were last simulated to; a halo pass steps
+ * it by the time since then, and time spent frozen is skipped rather than owed. Only regions near observers are
+ * visited, so the cost of a tick follows the observed area rather than the world size.
+ * <p>
+ * Bodies in neighbouring regions that are not stepped in a pass take part in it as immovable proxies. A stepped body
+ * that touches the proxy of a movable body wakes that body's region, which is then stepped in the same pass, so
+ * contacts across region edges exchange momentum; only immovable bodies, and bodies already stepped earlier in the
+ * tick, stay proxies for a contact. Stepped bodies are re-bucketed afterwards, which migrates them
+ * between regions. When every body is active a tick produces the same world as {@link PhysicsEngine#step}.
+ */
+public final class RegionSimulation {
+
+    private final RegionSettings settings;
+    private final World statics;
+    private final List<Body> bodies;
+    private final long[] bodyRegion;
+    private final Map<Long, Region> regions = new HashMap<>();
+    private final Map<Integer, VectorDouble> observers = new HashMap<>();
+    private int nextObserverId;
+    private long ticks;
+    private double time;
+    private int lastSteppedBodies;
+
+    public RegionSimulation(World world, RegionSettings settings) {
+        if (!world.joints().isEmpty()) {
+            throw new IllegalArgumentException("Region simulation does not support joints");
+        }
+        if (!world.forceFields().isEmpty()) {
+            throw new IllegalArgumentException("Region simulation does not support force fields");
+        }
+        if (!world.particleSystems().isEmpty()) {
+            throw new IllegalArgumentException("Region simulation does not support particle systems");
+        }
+        this.settings = settings;
+        this.statics = world.withBodies(List.of());
+        this.bodies = new ArrayList<>(world.bodies());
+        this.bodyRegion = new long[bodies.size()];
+        for (int i = 0; i < bodies.size(); i++) {
+            bodyRegion[i] = regionKey(bodies.get(i).position());
+            regions.computeIfAbsent(bodyRegion[i], key -> new Region(0, 0)).add(i);
+        }
+    }
+
+    public int addObserver(VectorDouble position) {
+        int id = nextObserverId++;
+        observers.put(id, position);
+        return id;
+    }
+
+    public void moveObserver(int id, VectorDouble position) {
+        if (observers.replace(id, position) == null) {
+            throw new IllegalArgumentException("Unknown observer: " + id);
+        }
+    }
+
+    public void removeObserver(int id) {
+        observers.remove(id);
+    }
+
+    public RegionActivity activity(VectorDouble point) {
+        return activity(regionKey(point));
+    }
+
+    public World world() {
+        return statics.withBodies(bodies);
+    }
+
+    public Body body(int index) {
+        return bodies.get(index);
+    }
+
+    public long ticks() {
+        return ticks;
+    }
+
+    public int lastSteppedBodies() {
+        return lastSteppedBodies;
+    }
+
+    public void step(double deltaTime) {
+        ticks++;
+        double previousTime = time;
+        time += deltaTime;
+        Map<Long, RegionActivity> nearby = nearbyRegions();
+
+        Set<Long> active = new HashSet<>();
+        Set<Long> halo = new HashSet<>();
+        nearby.forEach((key, activity) -> {
+            Region region = regions.get(key);
+            if (region != null) {
+                region.observe(ticks, previousTime);
+            }
+            if (activity == RegionActivity.ACTIVE) {
+                active.add(key);
+            } else if (activity == RegionActivity.HALO) {
+                halo.add(key);
+            }
+        });
+
+        Set<Long> settled = new HashSet<>();
+        lastSteppedBodies = stepRegions(active, settled, deltaTime);
+        if (ticks % settings.haloInterval() == 0) {
+            lastSteppedBodies += stepHalo(halo, settled);
+        }
+    }
+
+    /**
+     * Steps halo regions that were not already stepped this tick, one pass per distinct simulated time so every
+     * region advances by exactly the time it is behind.
+     */
+    private int stepHalo(Set<Long> halo, Set<Long> settled) {
+        Map<Double, Set<Long>> bySimulatedTime = new TreeMap<>();
+        for (long key : halo) {
+            Region region = regions.get(key);
+            if (region != null && !settled.contains(key)) {
+                bySimulatedTime.computeIfAbsent(region.simulatedTime, simulatedTime -> new HashSet<>()).add(key);
+            }
+        }
+        int stepped = 0;
+        for (Map.Entry<Double, Set<Long>> group : bySimulatedTime.entrySet()) {
+            Set<Long> keys = group.getValue();
+            keys.removeAll(settled);
+            double behind = time - group.getKey();
+            if (!keys.isEmpty() && behind > 0) {
+                stepped += stepRegions(keys, settled, behind);
+            }
+        }
+        return stepped;
+    }
+
+    /**
+     * Steps the bodies of {@code stepped} together with their unstepped neighbours as immovable proxies. When a
+     * stepped body touches the proxy of a movable body, that body's region is added to {@code stepped} and the pass
+     * is repeated from the same state, so momentum is exchanged across the edge instead of reflected off it. A woken
+     * region is stepped by the pass's {@code deltaTime} whatever it was behind. Regions in {@code settled} were already
+     * stepped this tick and are never woken; the regions stepped here are added to it and marked as simulated to the
+     * current time.
+     */
+    private int stepRegions(Set<Long> stepped, Set<Long> settled, double deltaTime) {
+        while (true) {
+            int[] members = members(stepped);
+            if (members.length == 0) {
+                return 0;
+            }
+            int[] proxies = members(neighbours(stepped));
+
+            List<Body> subset = new ArrayList<>(members.length + proxies.length);
+            for (int index : members) {
+                subset.add(bodies.get(index));
+            }
+            for (int index : proxies) {
+                subset.add(bodies.get(index).withImmovable(true));
+            }
+
+            PhysicsEngine.Pipeline pipeline = new PhysicsEngine.Pipeline(statics.withBodies(subset), null);
+            List<Collision> collisions = pipeline.step(deltaTime);
+            Set<Long> woken = new HashSet<>();
+            for (Collision collision : collisions) {
+                wakeProxy(collision.firstIndex(), collision.secondIndex(), members.length, proxies, woken);
+                wakeProxy(collision.secondIndex(), collision.firstIndex(), members.length, proxies, woken);
+            }
+            woken.removeAll(settled);
+            if (woken.isEmpty()) {
+                for (long key : stepped) {
+                    Region region = regions.get(key);
+                    if (region != null) {
+                        region.simulatedTime = time;
+                    }
+                }
+                settled.addAll(stepped);
+                commit(members, pipeline.bodies());
+                return members.length;
+            }
+            stepped.addAll(woken);
+        }
+    }
+
+    private void wakeProxy(int proxy, int other, int memberCount, int[] proxies, Set<Long> woken) {
+        if (proxy >= memberCount && other < memberCount) {
+            int index = proxies[proxy - memberCount];
+            if (!bodies.get(index).immovable()) {
+                woken.add(bodyRegion[index]);
+            }
+        }
+    }
+
+    private void commit(int[] members, Body[] result) {
+        for (int i = 0; i < members.length; i++) {
+            int index = members[i];
+            Body body = result[i];
+            bodies.set(index, body);
+            long key = regionKey(body.position());
+            if (key != bodyRegion[index]) {
+                Region old = regions.get(bodyRegion[index]);
+                old.remove(index);
+                if (old.size == 0) {
+                    regions.remove(bodyRegion[index]);
+                }
+                regions.computeIfAbsent(key, newKey -> new Region(time, ticks)).add(index);
+                bodyRegion[index] = key;
+            }
+        }
+    }
+
+    private int[] members(Set<Long> keys) {
+        return keys.stream()
+                .map(regions::get)
+                .filter(region -> region != null)
+                .flatMapToInt(region -> Arrays.stream(region.members, 0, region.size))
+                .sorted()
+                .toArray();
+    }
+
+    private static Set<Long> neighbours(Set<Long> stepped) {
+        Set<Long> neighbours = new HashSet<>();
+        for (long key : stepped) {
+            int x = regionX(key);
+            int y = regionY(key);
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    long neighbour = regionKey(x + dx, y + dy);
+                    if (!stepped.contains(neighbour)) {
+                        neighbours.add(neighbour);
+                    }
+                }
+            }
+        }
+        return neighbours;
+    }
+
+    private Map<Long, RegionActivity> nearbyRegions() {
+        Map<Long, RegionActivity> nearby = new HashMap<>();
+        int reach = (int) Math.ceil(settings.haloRadius() / settings.regionSize());
+        for (VectorDouble observer : observers.values()) {
+            int centerX = (int) Math.floor(observer.x() / settings.regionSize());
+            int centerY = (int) Math.floor(observer.y() / settings.regionSize());
+            for (int x = centerX - reach; x <= centerX + reach; x++) {
+                for (int y = centerY - reach; y <= centerY + reach; y++) {
+                    RegionActivity activity = activity(observer, x, y);
+                    if (activity != RegionActivity.FROZEN) {
+                        nearby.merge(regionKey(x, y), activity, (first, second) -> first.compareTo(second) <= 0 ? first : second);
+                    }
+                }
+            }
+        }
+        return nearby;
+    }
+
+    private RegionActivity activity(long key) {
+        RegionActivity best = RegionActivity.FROZEN;
+        for (VectorDouble observer : observers.values()) {
+            RegionActivity activity = activity(observer, regionX(key), regionY(key));
+            if (activity.compareTo(best) < 0) {
+                best = activity;
+            }
+        }
+        return best;
+    }
+
+    private RegionActivity activity(VectorDouble observer, int x, int y) {
+        double size = settings.regionSize();
+        double closestX = Math.max(x * size, Math.min((x + 1) * size, observer.x()));
+        double closestY = Math.max(y * size, Math.min((y + 1) * size, observer.y()));
+        double distance = Math.hypot(observer.x() - closestX, observer.y() - closestY);
+        if (distance <= settings.activeRadius()) {
+            return RegionActivity.ACTIVE;
+        }
+        if (distance <= settings.haloRadius()) {
+            return RegionActivity.HALO;
+        }
+        return RegionActivity.FROZEN;
+    }
+
+    private long regionKey(VectorDouble position) {
+        return regionKey((int) Math.floor(position.x() / settings.regionSize()), (int) Math.floor(position.y() / settings.regionSize()));
+    }
+
+    private static long regionKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private static int regionX(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int regionY(long key) {
+        return (int) key;
+    }
+
+    private static final class Region {
+
+        private int[] members = new int[4];
+        private int size;
+        private double simulatedTime;
+        private long observedTick;
+
+        private Region(double simulatedTime, long observedTick) {
+            this.simulatedTime = simulatedTime;
+            this.observedTick = observedTick;
+        }
+
+        /** Skips the time the region spent frozen if it was not near an observer on the previous tick. */
+        private void observe(long tick, double previousTime) {
+            if (observedTick < tick - 1) {
+                simulatedTime = previousTime;
+            }
+            observedTick = tick;
+        }
+
+        private void add(int index) {
+            if (size == members.length) {
+                members = Arrays.copyOf(members, size * 2);
+            }
+            members[size++] = index;
+        }
+
+        private void remove(int index) {
+            for (int i = 0; i < size; i++) {
+                if (members[i] == index) {
+                    members[i] = members[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package xyz.ejvr.physics;
+
+public final class ReplayDesyncException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long step;
+    private final long expectedHash;
+    private final long actualHash;
+
+    public ReplayDesyncException(long step, long expectedHash, long actualHash) {
+        super("Replay desynchronized at step %d: expected state hash %016x but was %016x".formatted(step, expectedHash, actualHash));
+        this.step = step;
+        this.expectedHash = expectedHash;
+        this.actualHash = actualHash;
+    }
+
+    public long step() {
+        return step;
+    }
+
+    public long expectedHash() {
+        return expectedHash;
+    }
+
+    public long actualHash() {
+        return actualHash;
+    }
+}
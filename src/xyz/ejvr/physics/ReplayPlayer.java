@@ -0,0 +1,125 @@
+package xyz.ejvr.physics;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Replays a log written by {@link ReplayRecorder}: applies the recorded body edits, re-runs
+ * {@link PhysicsEngine#step(World, double)} and compares the {@link StateHash} of every produced world with the
+ * recorded one, throwing {@link ReplayDesyncException} on the first mismatch.
+ */
+public final class ReplayPlayer implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final DataInputStream input;
+    private final World initialWorld;
+    private StepResult current;
+    private long steps;
+    private boolean finished;
+
+    private ReplayPlayer(InputStream source) throws IOException {
+        DataInputStream header = new DataInputStream(source);
+        if (header.readInt() != ReplayRecorder.MAGIC) {
+            throw new IOException("Not a replay log");
+        }
+        int version = header.readInt();
+        if (version != ReplayRecorder.VERSION) {
+            throw new IOException("Unsupported replay log version: " + version);
+        }
+        boolean compressed = (header.readInt() & ReplayRecorder.COMPRESSED_FLAG) != 0;
+        InputStream body = compressed ? new InflaterInputStream(source) : source;
+        this.input = new DataInputStream(new BufferedInputStream(body, BUFFER_SIZE));
+        this.initialWorld = WorldSnapshot.decode(ByteBuffer.wrap(readBytes(input.readInt()))).toWorld();
+        this.current = StepResult.of(initialWorld);
+    }
+
+    public static ReplayPlayer open(Path path) throws IOException {
+        return new ReplayPlayer(Files.newInputStream(path));
+    }
+
+    public static ReplayPlayer open(InputStream source) throws IOException {
+        return new ReplayPlayer(source);
+    }
+
+    public World initialWorld() {
+        return initialWorld;
+    }
+
+    public World world() {
+        return current.world();
+    }
+
+    public long steps() {
+        return steps;
+    }
+
+    /**
+     * Replays the next recorded step. Returns {@code false} once the end of the log has been reached.
+     */
+    public boolean step() throws IOException {
+        if (finished) {
+            return false;
+        }
+        byte tag;
+        try {
+            tag = input.readByte();
+        } catch (EOFException truncated) {
+            finished = true;
+            return false;
+        }
+        if (tag == ReplayRecorder.END_TAG) {
+            finished = true;
+            return false;
+        }
+        if (tag != ReplayRecorder.STEP_TAG) {
+            throw new IOException("Corrupt replay log: unknown record tag " + tag);
+        }
+
+        double deltaTime = input.readDouble();
+        int editCount = input.readInt();
+        World edited = current.world();
+        for (int i = 0; i < editCount; i++) {
+            int index = input.readInt();
+            Body body = WorldSnapshot.decode(ByteBuffer.wrap(readBytes(input.readInt()))).body(0);
+            edited = edited.withBody(index, body);
+        }
+        long expectedHash = input.readLong();
+
+        current = PhysicsEngine.step(current.withWorld(edited), deltaTime);
+        steps++;
+        long actualHash = current.stateHash();
+        if (actualHash != expectedHash) {
+            throw new ReplayDesyncException(steps, expectedHash, actualHash);
+        }
+        return true;
+    }
+
+    /**
+     * Replays all remaining steps and returns the final world.
+     */
+    public World playToEnd() throws IOException {
+        while (step()) {
+            // keep stepping until the end record
+        }
+        return current.world();
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    private byte[] readBytes(int length) throws IOException {
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,128 @@
+package xyz.ejvr.physics;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Append-only recorder for deterministic replays. The log starts with a {@link WorldSnapshot} of the initial world,
+ * followed by one record per step holding its {@code deltaTime}, the external body edits made before it, and the
+ * {@link StateHash} of the world it produced. Records are buffered and can be deflated at the fastest compression
+ * level. Read back with {@link ReplayPlayer}.
+ * <p>
+ * Log layout: magic "JFPR", version and flags (3 x int, never compressed), then the optionally deflated body:
+ * snapshot length and bytes, a sequence of step records (tag {@code 1}, delta time, edit count, edits as body index
+ * plus a one-body snapshot, state hash), and an end tag {@code 0}.
+ */
+public final class ReplayRecorder implements AutoCloseable {
+
+    static final int MAGIC = 0x4A465052;
+    static final int VERSION = 1;
+    static final int COMPRESSED_FLAG = 1;
+    static final byte STEP_TAG = 1;
+    static final byte END_TAG = 0;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final DataOutputStream output;
+    private byte[] pendingEdits = new byte[0];
+    private int pendingEditCount;
+    private int pendingEditBytes;
+    private long steps;
+    private boolean closed;
+
+    private ReplayRecorder(OutputStream sink, World initial, boolean compressed) throws IOException {
+        DataOutputStream header = new DataOutputStream(sink);
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.writeInt(compressed ? COMPRESSED_FLAG : 0);
+        OutputStream body = compressed
+                ? new DeflaterOutputStream(sink, new Deflater(Deflater.BEST_SPEED), BUFFER_SIZE)
+                : sink;
+        this.output = new DataOutputStream(new BufferedOutputStream(body, BUFFER_SIZE));
+        writeSnapshot(initial);
+    }
+
+    public static ReplayRecorder open(Path path, World initial, boolean compressed) throws IOException {
+        return new ReplayRecorder(Files.newOutputStream(path), initial, compressed);
+    }
+
+    public static ReplayRecorder open(OutputStream sink, World initial, boolean compressed) throws IOException {
+        return new ReplayRecorder(sink, initial, compressed);
+    }
+
+    /**
+     * Records that game code replaced body {@code index} with {@code body} before the next step.
+     */
+    public void recordEdit(int index, Body body) {
+        ensureOpen();
+        ByteBuffer encoded = WorldSnapshot.encode(new World(List.of(body), List.of()));
+        int required = pendingEditBytes + 8 + encoded.remaining();
+        if (required > pendingEdits.length) {
+            pendingEdits = Arrays.copyOf(pendingEdits, Math.max(required, pendingEdits.length * 2));
+        }
+        ByteBuffer target = ByteBuffer.wrap(pendingEdits, pendingEditBytes, required - pendingEditBytes);
+        target.putInt(index);
+        target.putInt(encoded.remaining());
+        target.put(encoded);
+        pendingEditBytes = required;
+        pendingEditCount++;
+    }
+
+    /**
+     * Records a call to {@link PhysicsEngine#step(World, double)} and the world it produced.
+     */
+    public void recordStep(double deltaTime, World result) throws IOException {
+        recordStep(deltaTime, StateHash.of(result));
+    }
+
+    public void recordStep(double deltaTime, StepResult result) throws IOException {
+        recordStep(deltaTime, result.stateHash());
+    }
+
+    public void recordStep(double deltaTime, long stateHash) throws IOException {
+        ensureOpen();
+        output.writeByte(STEP_TAG);
+        output.writeDouble(deltaTime);
+        output.writeInt(pendingEditCount);
+        output.write(pendingEdits, 0, pendingEditBytes);
+        output.writeLong(stateHash);
+        pendingEditCount = 0;
+        pendingEditBytes = 0;
+        steps++;
+    }
+
+    public long steps() {
+        return steps;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        output.writeByte(END_TAG);
+        output.close();
+    }
+
+    private void writeSnapshot(World initial) throws IOException {
+        ByteBuffer snapshot = WorldSnapshot.encode(initial);
+        output.writeInt(snapshot.remaining());
+        output.write(snapshot.array(), snapshot.arrayOffset() + snapshot.position(), snapshot.remaining());
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("ReplayRecorder is closed");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package xyz.ejvr.physics;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Pins the two anchors together, leaving the bodies free to rotate about the shared point: a hinge, a ragdoll
+ * shoulder or one link of a chain.
+ */
+public record RevoluteJoint(
+        int firstIndex,
+        int secondIndex,
+        VectorDouble firstAnchor,
+        VectorDouble secondAnchor,
+        JointSoftness softness,
+        boolean collideConnected,
+        JointReaction reaction
+) implements Joint {
+
+    public RevoluteJoint {
+        if (firstIndex < 0 || secondIndex < 0 || firstIndex == secondIndex) {
+            throw new IllegalArgumentException("Joint indices must refer to distinct bodies");
+        }
+        Objects.requireNonNull(firstAnchor, "Joint anchor cannot be null");
+        Objects.requireNonNull(secondAnchor, "Joint anchor cannot be null");
+        Objects.requireNonNull(softness, "Joint softness cannot be null");
+        Objects.requireNonNull(reaction, "Joint reaction cannot be null");
+    }
+
+    public RevoluteJoint(int firstIndex, int secondIndex, VectorDouble firstAnchor, VectorDouble secondAnchor, JointSoftness softness) {
+        this(firstIndex, secondIndex, firstAnchor, secondAnchor, softness, false);
+    }
+
+    public RevoluteJoint(int firstIndex, int secondIndex, VectorDouble firstAnchor, VectorDouble secondAnchor, JointSoftness softness, boolean collideConnected) {
+        this(firstIndex, secondIndex, firstAnchor, secondAnchor, softness, collideConnected, JointReaction.NONE);
+    }
+
+    @Override
+    public RevoluteJoint withReaction(JointReaction reaction) {
+        return new RevoluteJoint(firstIndex, secondIndex, firstAnchor, secondAnchor, softness, collideConnected, reaction);
+    }
+
+    /**
+     * Pins the bodies together at the world point {@code anchor}.
+     */
+    public static RevoluteJoint at(List<Body> bodies, int firstIndex, int secondIndex, VectorDouble anchor, JointSoftness softness) {
+        return new RevoluteJoint(firstIndex, secondIndex, DistanceJoint.localAnchor(bodies.get(firstIndex), anchor),
+                DistanceJoint.localAnchor(bodies.get(secondIndex), anchor), softness);
+    }
+}
@@ -25,4 +25,9 @@ public record RotatedRectangle(double halfWidth, double halfHeight) implements S
     public double boundingRadius() {
         return Math.hypot(halfWidth, halfHeight);
     }
+
+    @Override
+    public double unitInertia() {
+        return (width() * width() + height() * height()) / 12.0;
+    }
 }
@@ -0,0 +1,41 @@
+package xyz.ejvr.physics;
+
+final class ScalarKernels {
+
+    private ScalarKernels() {
+    }
+
+    static void integrate(BodyColumns columns, double deltaTime, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!columns.movable[i]) {
+                continue;
+            }
+            double dampingFactor = Math.max(0.0, 1.0 - columns.drag[i] * deltaTime);
+            double velocityX = (columns.velocityX[i] + columns.accelerationX[i] * deltaTime) * dampingFactor;
+            double velocityY = (columns.velocityY[i] + columns.accelerationY[i] * deltaTime) * dampingFactor;
+            double angularVelocity = (columns.angularVelocity[i] + columns.angularAcceleration[i] * deltaTime) * dampingFactor;
+
+            columns.velocityX[i] = velocityX;
+            columns.velocityY[i] = velocityY;
+            columns.angularVelocity[i] = angularVelocity;
+            columns.positionX[i] += velocityX * deltaTime;
+            columns.positionY[i] += velocityY * deltaTime;
+            columns.orientation[i] += angularVelocity * deltaTime;
+        }
+    }
+
+    static int circleOverlaps(double[] x, double[] y, double[] radius, int index, int from, int to, int[] hits, int hitCount) {
+        double originX = x[index];
+        double originY = y[index];
+        double originRadius = radius[index];
+        for (int j = from; j < to; j++) {
+            double deltaX = x[j] - originX;
+            double deltaY = y[j] - originY;
+            double radiusSum = radius[j] + originRadius;
+            if (deltaX * deltaX + deltaY * deltaY < radiusSum * radiusSum) {
+                hits[hitCount++] = j;
+            }
+        }
+        return hitCount;
+    }
+}
@@ -1,8 +1,14 @@
 package xyz.ejvr.physics;
 
-public sealed interface Shape permits Circle, AxisAlignedRectangle, RotatedRectangle, LineSegment {
+public sealed interface Shape permits Circle, AxisAlignedRectangle, RotatedRectangle, LineSegment, ConvexPolygon, CompoundShape, Chain {
 
     double area();
 
     double boundingRadius();
+
+    /**
+     * Returns the moment of inertia about the shape's local origin for a mass of one, so a body's moment of inertia is
+     * its mass times this factor.
+     */
+    double unitInertia();
 }
@@ -0,0 +1,143 @@
+package xyz.ejvr.physics;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+final class ShapeCodec {
+
+    private static final byte CIRCLE = 1;
+    private static final byte AXIS_ALIGNED_RECTANGLE = 2;
+    private static final byte ROTATED_RECTANGLE = 3;
+    private static final byte LINE_SEGMENT = 4;
+    private static final byte CONVEX_POLYGON = 5;
+    private static final byte COMPOUND = 6;
+    private static final byte CHAIN = 7;
+
+    private ShapeCodec() {
+    }
+
+    static int encodedSize(Shape shape) {
+        return 1 + switch (shape) {
+            case Circle circle -> 8;
+            case AxisAlignedRectangle rectangle -> 16;
+            case RotatedRectangle rectangle -> 16;
+            case LineSegment line -> 32;
+            case ConvexPolygon polygon -> 4 + polygon.vertexCount() * 16 + 16;
+            case CompoundShape compound -> 4 + compound.children().stream()
+                    .mapToInt(child -> encodedSize(child.shape()) + 24)
+                    .sum() + 16;
+            case Chain chain -> 5 + chain.vertices().size() * 16;
+        };
+    }
+
+    static void write(ByteBuffer buffer, Shape shape) {
+        switch (shape) {
+            case Circle circle -> {
+                buffer.put(CIRCLE);
+                buffer.putDouble(circle.radius());
+            }
+            case AxisAlignedRectangle rectangle -> {
+                buffer.put(AXIS_ALIGNED_RECTANGLE);
+                buffer.putDouble(rectangle.halfWidth());
+                buffer.putDouble(rectangle.halfHeight());
+            }
+            case RotatedRectangle rectangle -> {
+                buffer.put(ROTATED_RECTANGLE);
+                buffer.putDouble(rectangle.halfWidth());
+                buffer.putDouble(rectangle.halfHeight());
+            }
+            case LineSegment line -> {
+                buffer.put(LINE_SEGMENT);
+                writeVector(buffer, line.start());
+                writeVector(buffer, line.end());
+            }
+            case ConvexPolygon polygon -> {
+                buffer.put(CONVEX_POLYGON);
+                buffer.putInt(polygon.vertexCount());
+                for (int i = 0; i < polygon.vertexCount(); i++) {
+                    writeVector(buffer, polygon.vertex(i));
+                }
+                writeVector(buffer, polygon.centroid());
+            }
+            case CompoundShape compound -> {
+                buffer.put(COMPOUND);
+                buffer.putInt(compound.children().size());
+                for (CompoundShape.Child child : compound.children()) {
+                    write(buffer, child.shape());
+                    writeVector(buffer, child.offset());
+                    buffer.putDouble(child.rotation());
+                }
+                writeVector(buffer, compound.centroid());
+            }
+            case Chain chain -> {
+                buffer.put(CHAIN);
+                buffer.putInt(chain.vertices().size());
+                buffer.put((byte) (chain.loop() ? 1 : 0));
+                for (VectorDouble vertex : chain.vertices()) {
+                    writeVector(buffer, vertex);
+                }
+            }
+        }
+    }
+
+    static Shape read(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        return switch (tag) {
+            case CIRCLE -> new Circle(buffer.getDouble());
+            case AXIS_ALIGNED_RECTANGLE -> new AxisAlignedRectangle(buffer.getDouble(), buffer.getDouble());
+            case ROTATED_RECTANGLE -> new RotatedRectangle(buffer.getDouble(), buffer.getDouble());
+            case LINE_SEGMENT -> new LineSegment(readVector(buffer), readVector(buffer));
+            case CONVEX_POLYGON -> readPolygon(buffer);
+            case COMPOUND -> readCompound(buffer);
+            case CHAIN -> readChain(buffer);
+            default -> throw new IllegalArgumentException("Unknown shape tag: " + tag);
+        };
+    }
+
+    private static ConvexPolygon readPolygon(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 3 || count > ConvexPolygon.MAX_VERTICES) {
+            throw new IllegalArgumentException("Invalid polygon vertex count: " + count);
+        }
+        VectorDouble[] vertices = new VectorDouble[count];
+        for (int i = 0; i < count; i++) {
+            vertices[i] = readVector(buffer);
+        }
+        return ConvexPolygon.centred(vertices, readVector(buffer));
+    }
+
+    private static CompoundShape readCompound(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 1 || count > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid compound child count: " + count);
+        }
+        List<CompoundShape.Child> children = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            children.add(new CompoundShape.Child(read(buffer), readVector(buffer), buffer.getDouble()));
+        }
+        return CompoundShape.centred(children, readVector(buffer));
+    }
+
+    private static Chain readChain(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        boolean loop = buffer.get() != 0;
+        if (count < 2 || count > buffer.remaining() / 16) {
+            throw new IllegalArgumentException("Invalid chain vertex count: " + count);
+        }
+        List<VectorDouble> vertices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            vertices.add(readVector(buffer));
+        }
+        return new Chain(vertices, loop);
+    }
+
+    static void writeVector(ByteBuffer buffer, VectorDouble vector) {
+        buffer.putDouble(vector.x());
+        buffer.putDouble(vector.y());
+    }
+
+    static VectorDouble readVector(ByteBuffer buffer) {
+        return new VectorDouble(buffer.getDouble(), buffer.getDouble());
+    }
+}
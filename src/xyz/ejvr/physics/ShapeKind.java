@@ -0,0 +1,45 @@
+package xyz.ejvr.physics;
+
+/**
+ * Small ordinal for each concrete {@link Shape} type, used to index the narrow phase dispatch table.
+ */
+public enum ShapeKind {
+    CIRCLE,
+    AXIS_ALIGNED_RECTANGLE,
+    ROTATED_RECTANGLE,
+    LINE_SEGMENT,
+    CONVEX_POLYGON,
+    COMPOUND,
+    CHAIN;
+
+    static final int COUNT = values().length;
+
+    /**
+     * Maps a shape to its kind. Every shape type is final, so each test is a single class comparison, which is cheaper
+     * on the per-pair path than a pattern switch or an interface call that sees all seven types.
+     */
+    public static ShapeKind of(Shape shape) {
+        if (shape instanceof Circle) {
+            return CIRCLE;
+        }
+        if (shape instanceof AxisAlignedRectangle) {
+            return AXIS_ALIGNED_RECTANGLE;
+        }
+        if (shape instanceof RotatedRectangle) {
+            return ROTATED_RECTANGLE;
+        }
+        if (shape instanceof LineSegment) {
+            return LINE_SEGMENT;
+        }
+        if (shape instanceof ConvexPolygon) {
+            return CONVEX_POLYGON;
+        }
+        if (shape instanceof CompoundShape) {
+            return COMPOUND;
+        }
+        if (shape instanceof Chain) {
+            return CHAIN;
+        }
+        throw new IllegalArgumentException("Unknown shape type: " + shape.getClass());
+    }
+}
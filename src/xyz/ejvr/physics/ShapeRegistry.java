@@ -0,0 +1,45 @@
+package xyz.ejvr.physics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns shapes, so that bodies built from equal shapes share one instance: a world of 100k bodies with a handful of
+ * distinct shapes then holds a handful of shape objects, and the data {@link ConvexPolygon}, {@link CompoundShape} and
+ * {@link Chain} compute at construction exists once per distinct shape. Thread-safe; the registry keeps every shape it
+ * has seen until it is dropped.
+ */
+public final class ShapeRegistry {
+
+    private final Map<Shape, Shape> shapes = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the registered shape equal to {@code shape}, registering {@code shape} itself if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public <S extends Shape> S intern(S shape) {
+        Objects.requireNonNull(shape, "Shape cannot be null");
+        // Equal shapes are always of the same class, so the registered instance has the caller's type.
+        return (S) shapes.computeIfAbsent(shape, key -> key);
+    }
+
+    /**
+     * Returns {@code bodies} with every shape replaced by its interned instance; bodies whose shape is already
+     * interned are kept as they are.
+     */
+    public List<Body> internShapes(List<Body> bodies) {
+        List<Body> interned = new ArrayList<>(bodies.size());
+        for (Body body : bodies) {
+            Shape shape = intern(body.shape());
+            interned.add(shape == body.shape() ? body : body.withShape(shape));
+        }
+        return interned;
+    }
+
+    public int size() {
+        return shapes.size();
+    }
+}
@@ -0,0 +1,74 @@
+package xyz.ejvr.physics;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+final class SimdKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private SimdKernels() {
+    }
+
+    static int laneCount() {
+        return SPECIES.length();
+    }
+
+    static void integrate(BodyColumns columns, double deltaTime) {
+        int bound = SPECIES.loopBound(columns.size);
+        DoubleVector one = DoubleVector.broadcast(SPECIES, 1.0);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Double> movable = VectorMask.fromArray(SPECIES, columns.movable, i);
+            if (!movable.anyTrue()) {
+                continue;
+            }
+            DoubleVector dampingFactor = one.sub(DoubleVector.fromArray(SPECIES, columns.drag, i).mul(deltaTime)).max(0.0);
+
+            DoubleVector velocityX = DoubleVector.fromArray(SPECIES, columns.velocityX, i)
+                    .add(DoubleVector.fromArray(SPECIES, columns.accelerationX, i).mul(deltaTime))
+                    .mul(dampingFactor);
+            DoubleVector velocityY = DoubleVector.fromArray(SPECIES, columns.velocityY, i)
+                    .add(DoubleVector.fromArray(SPECIES, columns.accelerationY, i).mul(deltaTime))
+                    .mul(dampingFactor);
+            DoubleVector angularVelocity = DoubleVector.fromArray(SPECIES, columns.angularVelocity, i)
+                    .add(DoubleVector.fromArray(SPECIES, columns.angularAcceleration, i).mul(deltaTime))
+                    .mul(dampingFactor);
+
+            DoubleVector positionX = DoubleVector.fromArray(SPECIES, columns.positionX, i).add(velocityX.mul(deltaTime));
+            DoubleVector positionY = DoubleVector.fromArray(SPECIES, columns.positionY, i).add(velocityY.mul(deltaTime));
+            DoubleVector orientation = DoubleVector.fromArray(SPECIES, columns.orientation, i).add(angularVelocity.mul(deltaTime));
+
+            velocityX.intoArray(columns.velocityX, i, movable);
+            velocityY.intoArray(columns.velocityY, i, movable);
+            angularVelocity.intoArray(columns.angularVelocity, i, movable);
+            positionX.intoArray(columns.positionX, i, movable);
+            positionY.intoArray(columns.positionY, i, movable);
+            orientation.intoArray(columns.orientation, i, movable);
+        }
+        ScalarKernels.integrate(columns, deltaTime, i, columns.size);
+    }
+
+    static int circleOverlaps(double[] x, double[] y, double[] radius, int index, int from, int to, int[] hits, int hitCount) {
+        DoubleVector originX = DoubleVector.broadcast(SPECIES, x[index]);
+        DoubleVector originY = DoubleVector.broadcast(SPECIES, y[index]);
+        DoubleVector originRadius = DoubleVector.broadcast(SPECIES, radius[index]);
+        int j = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; j < bound; j += SPECIES.length()) {
+            DoubleVector deltaX = DoubleVector.fromArray(SPECIES, x, j).sub(originX);
+            DoubleVector deltaY = DoubleVector.fromArray(SPECIES, y, j).sub(originY);
+            DoubleVector radiusSum = DoubleVector.fromArray(SPECIES, radius, j).add(originRadius);
+            VectorMask<Double> overlapping = deltaX.mul(deltaX).add(deltaY.mul(deltaY))
+                    .compare(VectorOperators.LT, radiusSum.mul(radiusSum));
+            long lanes = overlapping.toLong();
+            while (lanes != 0) {
+                hits[hitCount++] = j + Long.numberOfTrailingZeros(lanes);
+                lanes &= lanes - 1;
+            }
+        }
+        return ScalarKernels.circleOverlaps(x, y, radius, index, j, to, hits, hitCount);
+    }
+}
@@ -0,0 +1,82 @@
+package xyz.ejvr.physics;
+
+import java.util.List;
+
+/**
+ * Stable 64-bit hash of simulation state, independent of {@link Object#hashCode()}.
+ * <p>
+ * Each body is hashed from its index and the IEEE-754 bits ({@link Double#doubleToLongBits(double)}) of, in order,
+ * position x/y, velocity x/y, acceleration x/y, orientation, angular velocity, angular acceleration, mass,
+ * restitution and drag, followed by its immovable flag. Every value is folded in with {@code h = mix(h ^ bits)},
+ * starting from {@code h = mix(index * 0x9E3779B97F4A7C15)}, where {@code mix} is the MurmurHash3 64-bit finalizer.
+ * The body hash is {@code mix(sum ^ bodyCount)}, where {@code sum} is the wrapping sum of all body hashes. Each
+ * particle system is then folded into it in order: {@code h = mix(h ^ size)}, followed by position x/y and velocity
+ * x/y of every particle, so worlds without particles hash as their bodies do. Shapes and particle parameters are not
+ * part of the hash.
+ */
+public final class StateHash {
+
+    private static final long INDEX_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private StateHash() {
+    }
+
+    public static long of(World world) {
+        return withParticles(of(world.bodies()), world.particleSystems());
+    }
+
+    public static long of(List<Body> bodies) {
+        long sum = 0;
+        for (int i = 0; i < bodies.size(); i++) {
+            sum += bodyHash(i, bodies.get(i));
+        }
+        return combine(sum, bodies.size());
+    }
+
+    public static long bodyHash(int index, Body body) {
+        long hash = mix(index * INDEX_MULTIPLIER);
+        hash = fold(hash, body.position().x());
+        hash = fold(hash, body.position().y());
+        hash = fold(hash, body.velocity().x());
+        hash = fold(hash, body.velocity().y());
+        hash = fold(hash, body.acceleration().x());
+        hash = fold(hash, body.acceleration().y());
+        hash = fold(hash, body.orientation());
+        hash = fold(hash, body.angularVelocity());
+        hash = fold(hash, body.angularAcceleration());
+        hash = fold(hash, body.mass());
+        hash = fold(hash, body.restitution());
+        hash = fold(hash, body.drag());
+        return mix(hash ^ (body.immovable() ? 1 : 0));
+    }
+
+    static long combine(long sum, int bodyCount) {
+        return mix(sum ^ bodyCount);
+    }
+
+    static long withParticles(long hash, List<ParticleSystem> systems) {
+        for (ParticleSystem system : systems) {
+            hash = mix(hash ^ system.size());
+            for (int i = 0; i < system.size(); i++) {
+                hash = fold(hash, system.positionX[i]);
+                hash = fold(hash, system.positionY[i]);
+                hash = fold(hash, system.velocityX[i]);
+                hash = fold(hash, system.velocityY[i]);
+            }
+        }
+        return hash;
+    }
+
+    private static long fold(long hash, double value) {
+        return mix(hash ^ Double.doubleToLongBits(value));
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,7 @@
+package xyz.ejvr.physics;
+
+@FunctionalInterface
+public interface StepObserver {
+
+    void onSample(int step, World world);
+}
@@ -0,0 +1,86 @@
+package xyz.ejvr.physics;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Outcome of {@link PhysicsEngine#step(StepResult, double)}: the new world, the collisions resolved while producing
+ * it, and its {@link StateHash}. The hash is maintained incrementally: only bodies that are not the same instance as
+ * in the previous result are re-hashed, and their contributions are swapped in the running sum. Particle systems are
+ * hashed in full by {@link #stateHash()}.
+ */
+public final class StepResult {
+
+    private final World world;
+    private final List<Collision> collisions;
+    private final long[] bodyHashes;
+    private final long hashSum;
+    private final int rehashedBodies;
+
+    private StepResult(World world, List<Collision> collisions, long[] bodyHashes, long hashSum, int rehashedBodies) {
+        this.world = world;
+        this.collisions = collisions;
+        this.bodyHashes = bodyHashes;
+        this.hashSum = hashSum;
+        this.rehashedBodies = rehashedBodies;
+    }
+
+    public static StepResult of(World world) {
+        Objects.requireNonNull(world, "StepResult world cannot be null");
+        List<Body> bodies = world.bodies();
+        long[] bodyHashes = new long[bodies.size()];
+        long sum = 0;
+        for (int i = 0; i < bodyHashes.length; i++) {
+            bodyHashes[i] = StateHash.bodyHash(i, bodies.get(i));
+            sum += bodyHashes[i];
+        }
+        return new StepResult(world, List.of(), bodyHashes, sum, bodyHashes.length);
+    }
+
+    /**
+     * Returns a result for an edited copy of this world, for example after replacing bodies between steps. Only
+     * bodies that differ by instance from this result's world are re-hashed.
+     */
+    public StepResult withWorld(World edited) {
+        return next(edited, List.of());
+    }
+
+    StepResult next(World next, List<Collision> resolvedCollisions) {
+        Objects.requireNonNull(next, "StepResult world cannot be null");
+        List<Body> previousBodies = world.bodies();
+        List<Body> nextBodies = next.bodies();
+        if (previousBodies.size() != nextBodies.size()) {
+            StepResult full = of(next);
+            return new StepResult(next, resolvedCollisions, full.bodyHashes, full.hashSum, full.rehashedBodies);
+        }
+        long[] nextHashes = bodyHashes.clone();
+        long sum = hashSum;
+        int rehashed = 0;
+        for (int i = 0; i < nextHashes.length; i++) {
+            Body body = nextBodies.get(i);
+            if (body != previousBodies.get(i)) {
+                long hash = StateHash.bodyHash(i, body);
+                sum += hash - nextHashes[i];
+                nextHashes[i] = hash;
+                rehashed++;
+            }
+        }
+        return new StepResult(next, List.copyOf(resolvedCollisions), nextHashes, sum, rehashed);
+    }
+
+    public World world() {
+        return world;
+    }
+
+    public List<Collision> collisions() {
+        return collisions;
+    }
+
+    public long stateHash() {
+        return StateHash.withParticles(StateHash.combine(hashSum, bodyHashes.length), world.particleSystems());
+    }
+
+    public int rehashedBodies() {
+        return rehashedBodies;
+    }
+}
@@ -0,0 +1,191 @@
+package xyz.ejvr.physics;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * {@link PartitionTransport} over TCP, one socket per pair of partitions. Every endpoint listens on its own address,
+ * connects to all partitions with a lower index and accepts connections from all partitions with a higher index.
+ * Messages are length-prefixed; writes go through a per-peer virtual thread so two partitions sending large
+ * messages to each other at the same time cannot deadlock on full socket buffers.
+ */
+public final class TcpPartitionTransport implements PartitionTransport {
+
+    private static final long CONNECT_TIMEOUT_NANOS = 10_000_000_000L;
+
+    private final Socket[] sockets;
+    private final DataInputStream[] inputs;
+    private final DataOutputStream[] outputs;
+    private final ExecutorService[] writers;
+    private final Future<?>[] lastWrites;
+
+    private TcpPartitionTransport(int partitions) {
+        this.sockets = new Socket[partitions];
+        this.inputs = new DataInputStream[partitions];
+        this.outputs = new DataOutputStream[partitions];
+        this.writers = new ExecutorService[partitions];
+        this.lastWrites = new Future<?>[partitions];
+    }
+
+    /**
+     * Connects partition {@code self} to every other partition. {@code server} must already be bound to
+     * {@code addresses.get(self)}; the call blocks until all peers are connected, so the endpoints of one layout are
+     * opened concurrently (typically one per process).
+     */
+    public static TcpPartitionTransport open(int self, ServerSocket server, List<InetSocketAddress> addresses) throws IOException {
+        TcpPartitionTransport transport = new TcpPartitionTransport(addresses.size());
+        try {
+            for (int peer = 0; peer < self; peer++) {
+                Socket socket = connect(addresses.get(peer));
+                new DataOutputStream(socket.getOutputStream()).writeInt(self);
+                transport.attach(peer, socket);
+            }
+            for (int accepted = self + 1; accepted < addresses.size(); accepted++) {
+                Socket socket = server.accept();
+                int peer = new DataInputStream(socket.getInputStream()).readInt();
+                if (peer <= self || peer >= addresses.size() || transport.sockets[peer] != null) {
+                    socket.close();
+                    throw new IOException("Unexpected partition handshake from " + peer);
+                }
+                transport.attach(peer, socket);
+            }
+        } catch (IOException e) {
+            transport.close();
+            throw e;
+        } finally {
+            server.close();
+        }
+        return transport;
+    }
+
+    /**
+     * Opens a fully connected set of endpoints on ephemeral loopback ports, indexed by partition.
+     */
+    public static List<PartitionTransport> localCluster(int partitions) throws IOException {
+        List<ServerSocket> servers = new ArrayList<>(partitions);
+        List<InetSocketAddress> addresses = new ArrayList<>(partitions);
+        for (int index = 0; index < partitions; index++) {
+            ServerSocket server = new ServerSocket(0, partitions, InetAddress.getLoopbackAddress());
+            servers.add(server);
+            addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort()));
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<TcpPartitionTransport>> endpoints = new ArrayList<>(partitions);
+            for (int index = 0; index < partitions; index++) {
+                int self = index;
+                endpoints.add(executor.submit(() -> open(self, servers.get(self), addresses)));
+            }
+            List<PartitionTransport> transports = new ArrayList<>(partitions);
+            for (Future<TcpPartitionTransport> endpoint : endpoints) {
+                transports.add(endpoint.get());
+            }
+            return transports;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while connecting partitions", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+    }
+
+    @Override
+    public void send(int target, byte[] message) throws IOException {
+        checkLastWrite(target);
+        byte[] copy = message.clone();
+        DataOutputStream output = outputs[target];
+        lastWrites[target] = writers[target].submit(() -> {
+            try {
+                output.writeInt(copy.length);
+                output.write(copy);
+                output.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public byte[] receive(int source) throws IOException {
+        DataInputStream input = inputs[source];
+        byte[] message = new byte[input.readInt()];
+        input.readFully(message);
+        return message;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (int peer = 0; peer < sockets.length; peer++) {
+            if (writers[peer] != null) {
+                writers[peer].close();
+            }
+            if (sockets[peer] != null) {
+                try {
+                    sockets[peer].close();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void attach(int peer, Socket socket) throws IOException {
+        socket.setTcpNoDelay(true);
+        sockets[peer] = socket;
+        inputs[peer] = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        outputs[peer] = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        writers[peer] = Executors.newSingleThreadExecutor(Thread.ofVirtual().factory());
+    }
+
+    private void checkLastWrite(int target) throws IOException {
+        Future<?> previous = lastWrites[target];
+        if (previous == null || !previous.isDone()) {
+            return;
+        }
+        try {
+            previous.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sending to partition " + target, e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof UncheckedIOException io ? io.getCause() : new IOException(e.getCause());
+        }
+    }
+
+    private static Socket connect(InetSocketAddress address) throws IOException {
+        long deadline = System.nanoTime() + CONNECT_TIMEOUT_NANOS;
+        while (true) {
+            try {
+                return new Socket(address.getAddress(), address.getPort());
+            } catch (ConnectException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while connecting to " + address, interrupted);
+                }
+            }
+        }
+    }
+}
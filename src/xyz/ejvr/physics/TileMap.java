@@ -0,0 +1,217 @@
+package xyz.ejvr.physics;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Static grid of solid square cells, stored as one bit per cell. Cell {@code (x, y)} covers
+ * {@code [originX + x * cellSize, originX + (x + 1) * cellSize)} horizontally and likewise vertically.
+ * <p>
+ * A dynamic body is only tested against the cells its {@link Aabb} overlaps. Adjacent solid cells of a row are merged
+ * into one rectangle, so a body sliding along a floor does not catch on the seams between cells, and contacts whose
+ * normal would point into a neighbouring solid cell (an interior face) are discarded.
+ */
+public final class TileMap {
+
+    private final double originX;
+    private final double originY;
+    private final double cellSize;
+    private final int width;
+    private final int height;
+    private final long[] solid;
+
+    /**
+     * Creates a map from {@code solid}, where bit {@code y * width + x} marks cell {@code (x, y)} as solid.
+     */
+    public TileMap(double originX, double originY, double cellSize, int width, int height, BitSet solid) {
+        this(originX, originY, cellSize, width, height, Arrays.copyOf(solid.toLongArray(), words(width, height)));
+        if (solid.length() > (long) width * height) {
+            throw new IllegalArgumentException("Solid cells lie outside the tile map");
+        }
+    }
+
+    TileMap(double originX, double originY, double cellSize, int width, int height, long[] solid) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("Tile size must be positive");
+        }
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Tile map dimensions must be positive");
+        }
+        if (solid.length != words(width, height)) {
+            throw new IllegalArgumentException("Tile map cell data does not match its dimensions");
+        }
+        this.originX = originX;
+        this.originY = originY;
+        this.cellSize = cellSize;
+        this.width = width;
+        this.height = height;
+        this.solid = solid;
+    }
+
+    public double originX() {
+        return originX;
+    }
+
+    public double originY() {
+        return originY;
+    }
+
+    public double cellSize() {
+        return cellSize;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Returns whether cell {@code (x, y)} is solid; cells outside the map are empty.
+     */
+    public boolean isSolid(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return false;
+        }
+        int index = y * width + x;
+        return (solid[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public int cellX(double x) {
+        return (int) Math.floor((x - originX) / cellSize);
+    }
+
+    public int cellY(double y) {
+        return (int) Math.floor((y - originY) / cellSize);
+    }
+
+    public int solidCount() {
+        int count = 0;
+        for (long word : solid) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    long[] words() {
+        return solid;
+    }
+
+    /**
+     * Pushes {@code body} out of the solid cells it overlaps and applies the contact impulses, treating the map as
+     * immovable. Returns the same instance if there was no contact.
+     */
+    Body resolve(Body body) {
+        if (body.immovable()) {
+            return body;
+        }
+        Aabb bounds = body.aabb();
+        int fromX = Math.max(0, cellX(bounds.minX()));
+        int toX = Math.min(width - 1, cellX(bounds.maxX()));
+        int fromY = Math.max(0, cellY(bounds.minY()));
+        int toY = Math.min(height - 1, cellY(bounds.maxY()));
+        if (fromX > toX || fromY > toY) {
+            return body;
+        }
+
+        Body resolved = body;
+        Body[] pair = new Body[2];
+        for (int y = fromY; y <= toY; y++) {
+            int x = fromX;
+            while (x <= toX) {
+                if (!isSolid(x, y)) {
+                    x++;
+                    continue;
+                }
+                int runStart = x;
+                while (runStart > fromX - 1 && isSolid(runStart - 1, y)) {
+                    runStart--;
+                }
+                int runEnd = x;
+                while (runEnd < toX + 1 && isSolid(runEnd + 1, y)) {
+                    runEnd++;
+                }
+                x = runEnd + 1;
+
+                Body run = runBody(runStart, runEnd, y);
+                Collision collision = CollisionDetection.detect(0, 1, resolved, run).orElse(null);
+                if (collision == null || !exposed(collision, runStart, runEnd, y)) {
+                    continue;
+                }
+                pair[0] = resolved;
+                pair[1] = run;
+                CollisionResolution.resolveInPlace(pair, List.of(collision));
+                resolved = pair[0];
+            }
+        }
+        return resolved;
+    }
+
+    static List<Body> resolve(List<Body> bodies, List<TileMap> tileMaps) {
+        if (tileMaps.isEmpty()) {
+            return bodies;
+        }
+        Body[] resolved = bodies.toArray(Body[]::new);
+        resolveInPlace(resolved, tileMaps);
+        return List.of(resolved);
+    }
+
+    static void resolveInPlace(Body[] bodies, List<TileMap> tileMaps) {
+        for (TileMap tileMap : tileMaps) {
+            for (int i = 0; i < bodies.length; i++) {
+                bodies[i] = tileMap.resolve(bodies[i]);
+            }
+        }
+    }
+
+    /**
+     * A contact is kept only if the face it pushes the body out of borders an empty cell. Runs are maximal within
+     * one cell of the body's bounds, so a run end that is still solid lies beyond the body's reach.
+     */
+    private boolean exposed(Collision collision, int runStart, int runEnd, int row) {
+        double outwardX = -collision.normal().x();
+        double outwardY = -collision.normal().y();
+        if (Math.abs(outwardY) >= Math.abs(outwardX)) {
+            int column = Math.max(runStart, Math.min(runEnd, cellX(collision.contactPoint().x())));
+            return !isSolid(column, outwardY > 0 ? row + 1 : row - 1);
+        }
+        return !isSolid(outwardX > 0 ? runEnd + 1 : runStart - 1, row);
+    }
+
+    private Body runBody(int runStart, int runEnd, int row) {
+        double halfWidth = (runEnd - runStart + 1) * cellSize / 2;
+        double halfHeight = cellSize / 2;
+        VectorDouble center = new VectorDouble(originX + runStart * cellSize + halfWidth, originY + row * cellSize + halfHeight);
+        VectorDouble zero = new VectorDouble(0, 0);
+        return new Body(new AxisAlignedRectangle(halfWidth, halfHeight), center, zero, zero, 0.0, 0.0, 0.0, 1, 1, 0, true);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TileMap map
+                && originX == map.originX
+                && originY == map.originY
+                && cellSize == map.cellSize
+                && width == map.width
+                && height == map.height
+                && Arrays.equals(solid, map.solid);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(originX, originY, cellSize, width, height, Arrays.hashCode(solid));
+    }
+
+    @Override
+    public String toString() {
+        return "TileMap[" + width + "x" + height + ", cellSize=" + cellSize + ", solid=" + solidCount() + "]";
+    }
+
+    static int words(int width, int height) {
+        return (int) (((long) width * height + 63) >>> 6);
+    }
+}
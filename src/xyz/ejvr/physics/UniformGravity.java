@@ -0,0 +1,13 @@
+package xyz.ejvr.physics;
+
+import java.util.Objects;
+
+/**
+ * The same acceleration for every movable body, whatever its mass or position.
+ */
+public record UniformGravity(VectorDouble acceleration) implements ForceField {
+
+    public UniformGravity {
+        Objects.requireNonNull(acceleration, "Gravity acceleration cannot be null");
+    }
+}
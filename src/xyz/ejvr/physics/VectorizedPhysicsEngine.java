@@ -0,0 +1,31 @@
+package xyz.ejvr.physics;
+
+import java.util.List;
+
+/**
+ * Variant of {@link PhysicsEngine} that integrates bodies through {@link BodyColumns} and tests circle pairs in
+ * batches. Produces the same worlds as {@link PhysicsEngine#step(World, double)}; the speed-up depends on the
+ * Vector API being available (see {@link BatchKernels}).
+ */
+public final class VectorizedPhysicsEngine {
+
+    private VectorizedPhysicsEngine() {
+    }
+
+    public static World step(World world, double deltaTime) {
+        long started = EngineMonitor.stepStarted();
+        BodyColumns columns = BodyColumns.of(world.bodies());
+        ForceFields fields = ForceFields.evaluate(world.forceFields(), world.bodies());
+        fields.copyInto(columns);
+        BatchKernels.integrate(columns, deltaTime);
+        List<Body> integratedBodies = columns.toBodies(world.bodies());
+
+        PhysicsEngine.Pipeline pipeline = new PhysicsEngine.Pipeline(world, null);
+        Body[] bodies = pipeline.bodies();
+        for (int i = 0; i < bodies.length; i++) {
+            bodies[i] = PhysicsEngine.applyBoundaries(integratedBodies.get(i), world.boundaries());
+        }
+        pipeline.collide(started, fields, deltaTime, true);
+        return pipeline.world();
+    }
+}
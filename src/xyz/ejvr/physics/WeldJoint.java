@@ -0,0 +1,55 @@
+package xyz.ejvr.physics;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Pins the two anchors together and keeps the relative orientation of the bodies at {@code referenceAngle}, so the
+ * bodies move as one. A soft weld bends like a spring.
+ */
+public record WeldJoint(
+        int firstIndex,
+        int secondIndex,
+        VectorDouble firstAnchor,
+        VectorDouble secondAnchor,
+        double referenceAngle,
+        JointSoftness softness,
+        boolean collideConnected,
+        JointReaction reaction
+) implements Joint {
+
+    public WeldJoint {
+        if (firstIndex < 0 || secondIndex < 0 || firstIndex == secondIndex) {
+            throw new IllegalArgumentException("Joint indices must refer to distinct bodies");
+        }
+        Objects.requireNonNull(firstAnchor, "Joint anchor cannot be null");
+        Objects.requireNonNull(secondAnchor, "Joint anchor cannot be null");
+        Objects.requireNonNull(softness, "Joint softness cannot be null");
+        Objects.requireNonNull(reaction, "Joint reaction cannot be null");
+    }
+
+    public WeldJoint(int firstIndex, int secondIndex, VectorDouble firstAnchor, VectorDouble secondAnchor, double referenceAngle,
+                     JointSoftness softness) {
+        this(firstIndex, secondIndex, firstAnchor, secondAnchor, referenceAngle, softness, false);
+    }
+
+    public WeldJoint(int firstIndex, int secondIndex, VectorDouble firstAnchor, VectorDouble secondAnchor, double referenceAngle,
+                     JointSoftness softness, boolean collideConnected) {
+        this(firstIndex, secondIndex, firstAnchor, secondAnchor, referenceAngle, softness, collideConnected, JointReaction.NONE);
+    }
+
+    @Override
+    public WeldJoint withReaction(JointReaction reaction) {
+        return new WeldJoint(firstIndex, secondIndex, firstAnchor, secondAnchor, referenceAngle, softness, collideConnected, reaction);
+    }
+
+    /**
+     * Welds the bodies at the world point {@code anchor} in their current relative orientation.
+     */
+    public static WeldJoint at(List<Body> bodies, int firstIndex, int secondIndex, VectorDouble anchor, JointSoftness softness) {
+        Body first = bodies.get(firstIndex);
+        Body second = bodies.get(secondIndex);
+        return new WeldJoint(firstIndex, secondIndex, DistanceJoint.localAnchor(first, anchor), DistanceJoint.localAnchor(second, anchor),
+                second.orientation() - first.orientation(), softness);
+    }
+}
@@ -1,14 +1,77 @@
 package xyz.ejvr.physics;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
-public record World(List<Body> bodies, List<Boundary> boundaries) {
+public record World(List<Body> bodies, List<Boundary> boundaries, List<TileMap> tileMaps, List<Joint> joints,
+                    List<ForceField> forceFields, List<ParticleSystem> particleSystems) {
 
     public World {
         Objects.requireNonNull(bodies, "World bodies cannot be null");
         Objects.requireNonNull(boundaries, "World boundaries cannot be null");
+        Objects.requireNonNull(tileMaps, "World tile maps cannot be null");
+        Objects.requireNonNull(joints, "World joints cannot be null");
+        Objects.requireNonNull(forceFields, "World force fields cannot be null");
+        Objects.requireNonNull(particleSystems, "World particle systems cannot be null");
         bodies = List.copyOf(bodies);
         boundaries = List.copyOf(boundaries);
+        tileMaps = List.copyOf(tileMaps);
+        joints = List.copyOf(joints);
+        forceFields = List.copyOf(forceFields);
+        particleSystems = List.copyOf(particleSystems);
+        for (Joint joint : joints) {
+            if (Math.max(joint.firstIndex(), joint.secondIndex()) >= bodies.size()) {
+                throw new IllegalArgumentException("Joint refers to a body outside the world: " + joint);
+            }
+        }
+    }
+
+    public World(List<Body> bodies, List<Boundary> boundaries, List<TileMap> tileMaps, List<Joint> joints,
+                 List<ForceField> forceFields) {
+        this(bodies, boundaries, tileMaps, joints, forceFields, List.of());
+    }
+
+    public World(List<Body> bodies, List<Boundary> boundaries, List<TileMap> tileMaps, List<Joint> joints) {
+        this(bodies, boundaries, tileMaps, joints, List.of());
+    }
+
+    public World(List<Body> bodies, List<Boundary> boundaries, List<TileMap> tileMaps) {
+        this(bodies, boundaries, tileMaps, List.of());
+    }
+
+    public World(List<Body> bodies, List<Boundary> boundaries) {
+        this(bodies, boundaries, List.of());
+    }
+
+    public World withBody(int index, Body body) {
+        Objects.requireNonNull(body, "World body cannot be null");
+        List<Body> updated = new ArrayList<>(bodies);
+        updated.set(index, body);
+        return withBodies(updated);
+    }
+
+    /**
+     * Returns a world with {@code newBodies} and this world's boundaries, static geometry, joints, force fields and
+     * particle systems. Joints refer to bodies by index, so the new list must keep the jointed bodies at their indices.
+     */
+    public World withBodies(List<Body> newBodies) {
+        return new World(newBodies, boundaries, tileMaps, joints, forceFields, particleSystems);
+    }
+
+    public World withTileMaps(List<TileMap> newTileMaps) {
+        return new World(bodies, boundaries, newTileMaps, joints, forceFields, particleSystems);
+    }
+
+    public World withJoints(List<Joint> newJoints) {
+        return new World(bodies, boundaries, tileMaps, newJoints, forceFields, particleSystems);
+    }
+
+    public World withForceFields(List<ForceField> newForceFields) {
+        return new World(bodies, boundaries, tileMaps, joints, newForceFields, particleSystems);
+    }
+
+    public World withParticleSystems(List<ParticleSystem> newParticleSystems) {
+        return new World(bodies, boundaries, tileMaps, joints, forceFields, newParticleSystems);
     }
 }
@@ -0,0 +1,244 @@
+package xyz.ejvr.physics;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Quantized state changes between two worlds with the same bodies and particle systems. Only bodies whose quantized
+ * position, velocity or orientation changed, and particles whose quantized position or velocity changed, are listed.
+ * Bodies and particle systems that are the same instance in both worlds, which is what
+ * {@link PhysicsEngine#step(World, double)} returns for bodies it did not touch, are skipped without quantizing.
+ * <p>
+ * Binary layout: version byte, the three quantization steps as doubles, body count and change count as varints,
+ * then per change the gap to the previous changed index and the five quantized values as zigzag varints. The
+ * particle section follows: system count, each system's particle count, particle change count, then per change the
+ * system index, the gap to the previous changed particle of that system and the four quantized values.
+ */
+public record WorldDelta(int bodyCount, List<BodyDelta> changes, List<Integer> particleCounts,
+                         List<ParticleDelta> particleChanges, Quantization quantization) {
+
+    private static final byte VERSION = 1;
+
+    public WorldDelta {
+        Objects.requireNonNull(changes, "WorldDelta changes cannot be null");
+        Objects.requireNonNull(particleCounts, "WorldDelta particle counts cannot be null");
+        Objects.requireNonNull(particleChanges, "WorldDelta particle changes cannot be null");
+        Objects.requireNonNull(quantization, "WorldDelta quantization cannot be null");
+        changes = List.copyOf(changes);
+        particleCounts = List.copyOf(particleCounts);
+        particleChanges = List.copyOf(particleChanges);
+    }
+
+    public static WorldDelta between(World previous, World current, Quantization quantization) {
+        List<Body> before = previous.bodies();
+        List<Body> after = current.bodies();
+        if (before.size() != after.size()) {
+            throw new IllegalArgumentException("Worlds must contain the same number of bodies");
+        }
+        List<BodyDelta> changes = new ArrayList<>();
+        for (int i = 0; i < after.size(); i++) {
+            if (before.get(i) == after.get(i)) {
+                continue;
+            }
+            BodyDelta next = BodyDelta.of(i, after.get(i), quantization);
+            if (!next.sameState(BodyDelta.of(i, before.get(i), quantization))) {
+                changes.add(next);
+            }
+        }
+        List<ParticleSystem> systemsBefore = previous.particleSystems();
+        List<ParticleSystem> systemsAfter = current.particleSystems();
+        if (!particleCounts(systemsBefore).equals(particleCounts(systemsAfter))) {
+            throw new IllegalArgumentException("Worlds must contain the same number of particles in each system");
+        }
+        List<ParticleDelta> particleChanges = new ArrayList<>();
+        for (int s = 0; s < systemsAfter.size(); s++) {
+            ParticleSystem systemBefore = systemsBefore.get(s);
+            ParticleSystem systemAfter = systemsAfter.get(s);
+            if (systemBefore == systemAfter) {
+                continue;
+            }
+            for (int i = 0; i < systemAfter.size(); i++) {
+                ParticleDelta next = ParticleDelta.of(s, i, systemAfter, quantization);
+                if (!next.sameState(ParticleDelta.of(s, i, systemBefore, quantization))) {
+                    particleChanges.add(next);
+                }
+            }
+        }
+        return new WorldDelta(after.size(), changes, particleCounts(systemsAfter), particleChanges, quantization);
+    }
+
+    public static WorldDelta full(World world, Quantization quantization) {
+        List<BodyDelta> changes = new ArrayList<>(world.bodies().size());
+        for (int i = 0; i < world.bodies().size(); i++) {
+            changes.add(BodyDelta.of(i, world.bodies().get(i), quantization));
+        }
+        List<ParticleDelta> particleChanges = new ArrayList<>();
+        for (int s = 0; s < world.particleSystems().size(); s++) {
+            ParticleSystem system = world.particleSystems().get(s);
+            for (int i = 0; i < system.size(); i++) {
+                particleChanges.add(ParticleDelta.of(s, i, system, quantization));
+            }
+        }
+        return new WorldDelta(world.bodies().size(), changes, particleCounts(world.particleSystems()), particleChanges,
+                quantization);
+    }
+
+    public World applyTo(World world) {
+        if (world.bodies().size() != bodyCount) {
+            throw new IllegalArgumentException("World must contain " + bodyCount + " bodies");
+        }
+        if (!particleCounts(world.particleSystems()).equals(particleCounts)) {
+            throw new IllegalArgumentException("World must contain particle systems of sizes " + particleCounts);
+        }
+        List<Body> bodies = new ArrayList<>(world.bodies());
+        for (BodyDelta change : changes) {
+            bodies.set(change.index(), change.applyTo(bodies.get(change.index()), quantization));
+        }
+        World updated = world.withBodies(bodies);
+        if (particleChanges.isEmpty()) {
+            return updated;
+        }
+        List<ParticleSystem> systems = new ArrayList<>(world.particleSystems());
+        int next = 0;
+        while (next < particleChanges.size()) {
+            int s = particleChanges.get(next).system();
+            ParticleSystem system = systems.get(s);
+            double[] x = system.positionX.clone();
+            double[] y = system.positionY.clone();
+            double[] vx = system.velocityX.clone();
+            double[] vy = system.velocityY.clone();
+            for (; next < particleChanges.size() && particleChanges.get(next).system() == s; next++) {
+                ParticleDelta change = particleChanges.get(next);
+                x[change.index()] = change.positionX() * quantization.positionStep();
+                y[change.index()] = change.positionY() * quantization.positionStep();
+                vx[change.index()] = change.velocityX() * quantization.velocityStep();
+                vy[change.index()] = change.velocityY() * quantization.velocityStep();
+            }
+            systems.set(s, system.withState(x, y, vx, vy));
+        }
+        return updated.withParticleSystems(systems);
+    }
+
+    public byte[] encode() {
+        Writer writer = new Writer(40 + changes.size() * 12 + particleChanges.size() * 12);
+        writer.buffer.put(VERSION);
+        writer.buffer.putDouble(quantization.positionStep());
+        writer.buffer.putDouble(quantization.velocityStep());
+        writer.buffer.putDouble(quantization.angleStep());
+        writer.varint(bodyCount);
+        writer.varint(changes.size());
+        int previousIndex = -1;
+        for (BodyDelta change : changes) {
+            writer.varint(change.index() - previousIndex - 1);
+            writer.signed(change.positionX());
+            writer.signed(change.positionY());
+            writer.signed(change.velocityX());
+            writer.signed(change.velocityY());
+            writer.signed(change.orientation());
+            previousIndex = change.index();
+        }
+        writer.varint(particleCounts.size());
+        for (int count : particleCounts) {
+            writer.varint(count);
+        }
+        writer.varint(particleChanges.size());
+        int previousSystem = -1;
+        for (ParticleDelta change : particleChanges) {
+            if (change.system() != previousSystem) {
+                previousIndex = -1;
+                previousSystem = change.system();
+            }
+            writer.varint(change.system());
+            writer.varint(change.index() - previousIndex - 1);
+            writer.signed(change.positionX());
+            writer.signed(change.positionY());
+            writer.signed(change.velocityX());
+            writer.signed(change.velocityY());
+            previousIndex = change.index();
+        }
+        return Arrays.copyOf(writer.buffer.array(), writer.buffer.position());
+    }
+
+    public static WorldDelta decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported world delta version: " + version);
+        }
+        Quantization quantization = new Quantization(buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+        int bodyCount = readVarint(buffer);
+        int changeCount = readVarint(buffer);
+        List<BodyDelta> changes = new ArrayList<>(changeCount);
+        int index = -1;
+        for (int i = 0; i < changeCount; i++) {
+            index += readVarint(buffer) + 1;
+            changes.add(new BodyDelta(index, readSigned(buffer), readSigned(buffer), readSigned(buffer), readSigned(buffer), readSigned(buffer)));
+        }
+        int systemCount = readVarint(buffer);
+        List<Integer> particleCounts = new ArrayList<>(systemCount);
+        for (int i = 0; i < systemCount; i++) {
+            particleCounts.add(readVarint(buffer));
+        }
+        int particleChangeCount = readVarint(buffer);
+        List<ParticleDelta> particleChanges = new ArrayList<>(particleChangeCount);
+        int system = -1;
+        for (int i = 0; i < particleChangeCount; i++) {
+            int nextSystem = readVarint(buffer);
+            if (nextSystem != system) {
+                index = -1;
+                system = nextSystem;
+            }
+            index += readVarint(buffer) + 1;
+            particleChanges.add(new ParticleDelta(system, index, readSigned(buffer), readSigned(buffer), readSigned(buffer), readSigned(buffer)));
+        }
+        return new WorldDelta(bodyCount, changes, particleCounts, particleChanges, quantization);
+    }
+
+    private static List<Integer> particleCounts(List<ParticleSystem> systems) {
+        return systems.stream().map(ParticleSystem::size).toList();
+    }
+
+    private static int readVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte next = buffer.get();
+            value |= (next & 0x7F) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in world delta");
+    }
+
+    private static int readSigned(ByteBuffer buffer) {
+        int encoded = readVarint(buffer);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    private static final class Writer {
+
+        private ByteBuffer buffer;
+
+        private Writer(int capacity) {
+            this.buffer = ByteBuffer.allocate(capacity);
+        }
+
+        private void varint(int value) {
+            if (buffer.remaining() < 5) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+            }
+            while ((value & ~0x7F) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        private void signed(int value) {
+            varint((value << 1) ^ (value >> 31));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package xyz.ejvr.physics;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.UnaryOperator;
+
+/**
+ * A world owned by a {@link WorldRuntime}. Exposes the latest stepped state and per-world scheduling statistics;
+ * all accessors are safe to call from any thread.
+ */
+public final class WorldHandle {
+
+    private final long id;
+    private final long periodNanos;
+    private final double deltaTime;
+    private final Queue<UnaryOperator<World>> edits = new ConcurrentLinkedQueue<>();
+    private volatile StepResult latest;
+    private volatile long ticks;
+    private volatile long skippedTicks;
+    private volatile long lastLagNanos;
+    private volatile long maxLagNanos;
+    private volatile Throwable failure;
+    volatile boolean active = true;
+    long deadlineNanos;
+
+    WorldHandle(long id, World world, double tickRate, long startNanos) {
+        this.id = id;
+        this.periodNanos = Math.max(1, Math.round(1_000_000_000L / tickRate));
+        this.deltaTime = 1.0 / tickRate;
+        this.latest = StepResult.of(world);
+        this.deadlineNanos = startNanos;
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public World world() {
+        return latest.world();
+    }
+
+    public long stateHash() {
+        return latest.stateHash();
+    }
+
+    public long ticks() {
+        return ticks;
+    }
+
+    public long skippedTicks() {
+        return skippedTicks;
+    }
+
+    /**
+     * How late the most recent tick started relative to its deadline.
+     */
+    public Duration lastLag() {
+        return Duration.ofNanos(lastLagNanos);
+    }
+
+    public Duration maxLag() {
+        return Duration.ofNanos(maxLagNanos);
+    }
+
+    public boolean active() {
+        return active;
+    }
+
+    public Throwable failure() {
+        return failure;
+    }
+
+    /**
+     * Queues an edit that is applied to the world right before its next step.
+     */
+    public void edit(UnaryOperator<World> edit) {
+        edits.add(edit);
+    }
+
+    long periodNanos() {
+        return periodNanos;
+    }
+
+    void tick(long startNanos) {
+        long lag = Math.max(0, startNanos - deadlineNanos);
+        lastLagNanos = lag;
+        if (lag > maxLagNanos) {
+            maxLagNanos = lag;
+        }
+
+        StepResult current = latest;
+        if (!edits.isEmpty()) {
+            World edited = current.world();
+            UnaryOperator<World> edit;
+            while ((edit = edits.poll()) != null) {
+                edited = edit.apply(edited);
+            }
+            current = current.withWorld(edited);
+        }
+        latest = PhysicsEngine.step(current, deltaTime);
+        ticks++;
+    }
+
+    void skip(long count) {
+        skippedTicks += count;
+    }
+
+    void fail(Throwable cause) {
+        failure = cause;
+        active = false;
+    }
+}
@@ -0,0 +1,134 @@
+package xyz.ejvr.physics;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Steps many independent worlds, each at its own fixed tick rate. A single timer thread keeps the per-world
+ * deadlines in a priority queue and hands each due tick to a virtual thread, so thousands of worlds share the
+ * carrier threads without a hand-sized pool. Ticks of one world never overlap: a world only re-enters the timer queue
+ * once its current step has finished. A world that falls more than {@code maxBacklogTicks} behind drops the missed
+ * ticks instead of trying to catch up.
+ */
+public final class WorldRuntime implements AutoCloseable {
+
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Long, WorldHandle> worlds = new ConcurrentHashMap<>();
+    private final Queue<WorldHandle> pending = new ConcurrentLinkedQueue<>();
+    private final PriorityQueue<WorldHandle> deadlines = new PriorityQueue<>(Comparator.comparingLong(handle -> handle.deadlineNanos));
+    private final AtomicLong nextId = new AtomicLong();
+    private final int maxBacklogTicks;
+    private final Thread timer;
+    private volatile boolean closed;
+
+    public WorldRuntime() {
+        this(4);
+    }
+
+    public WorldRuntime(int maxBacklogTicks) {
+        if (maxBacklogTicks < 1) {
+            throw new IllegalArgumentException("Max backlog must be at least one tick");
+        }
+        this.maxBacklogTicks = maxBacklogTicks;
+        this.timer = Thread.ofPlatform().name("world-runtime-timer").daemon().start(this::runTimer);
+    }
+
+    public WorldHandle register(World world, double tickRate) {
+        if (!(tickRate > 0)) {
+            throw new IllegalArgumentException("Tick rate must be positive");
+        }
+        if (closed) {
+            throw new IllegalStateException("WorldRuntime is closed");
+        }
+        WorldHandle handle = new WorldHandle(nextId.getAndIncrement(), world, tickRate, System.nanoTime());
+        worlds.put(handle.id(), handle);
+        pending.add(handle);
+        return handle;
+    }
+
+    public void unregister(WorldHandle handle) {
+        handle.active = false;
+        worlds.remove(handle.id());
+    }
+
+    public Collection<WorldHandle> worlds() {
+        return List.copyOf(worlds.values());
+    }
+
+    public int worldCount() {
+        return worlds.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        worlds.values().forEach(handle -> handle.active = false);
+        LockSupport.unpark(timer);
+        // The timer may be dispatching a tick it picked before seeing closed, so it must stop before the workers do.
+        try {
+            timer.join();
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        workers.close();
+    }
+
+    private void runTimer() {
+        while (!closed) {
+            WorldHandle rescheduled;
+            while ((rescheduled = pending.poll()) != null) {
+                if (rescheduled.active) {
+                    deadlines.add(rescheduled);
+                }
+            }
+
+            long now = System.nanoTime();
+            WorldHandle due;
+            while ((due = deadlines.peek()) != null && due.deadlineNanos <= now) {
+                deadlines.poll();
+                if (due.active) {
+                    WorldHandle handle = due;
+                    workers.execute(() -> runTick(handle));
+                }
+            }
+
+            long wait = due == null ? MAX_PARK_NANOS : Math.min(MAX_PARK_NANOS, due.deadlineNanos - now);
+            LockSupport.parkNanos(this, wait);
+        }
+    }
+
+    private void runTick(WorldHandle handle) {
+        if (!handle.active || closed) {
+            return;
+        }
+        try {
+            handle.tick(System.nanoTime());
+        } catch (RuntimeException | Error failure) {
+            handle.fail(failure);
+            worlds.remove(handle.id());
+            return;
+        }
+
+        long period = handle.periodNanos();
+        handle.deadlineNanos += period;
+        long backlog = (System.nanoTime() - handle.deadlineNanos) / period;
+        if (backlog > maxBacklogTicks) {
+            handle.skip(backlog);
+            handle.deadlineNanos += backlog * period;
+        }
+        pending.add(handle);
+    }
+}
@@ -0,0 +1,487 @@
+package xyz.ejvr.physics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned binary encoding of a {@link World}. Files are written and read through memory-mapped
+ * {@link FileChannel}s. The layout is little-endian:
+ * <pre>
+ * header      magic "JFPW", version, shape count, boundary count, body count, tile map count (6 x int)
+ * shapes      one tag byte plus its parameters per distinct shape
+ * boundaries  minX, minY, maxX, maxY (4 x double) per boundary
+ * tile maps   originX, originY, cellSize (3 x double), width, height (2 x int), then the solid bits (long per 64 cells)
+ * joints      joint count (int), then per joint a tag byte, both body indices (2 x int), both anchors, frequency,
+ *             damping ratio and the last reaction (9 x double), a collide-connected byte and the kind's own parameters
+ * fields      force field count (int), then per field a tag byte and its parameters (2 to 4 x double)
+ * particles   particle system count (int), then per system radius, mass, restitution, drag, acceleration (6 x double),
+ *             the particle count (int) and the positionX, positionY, velocityX and velocityY arrays (double each)
+ * padding     zero bytes up to the next multiple of 8
+ * bodies      fixed {@value #BODY_STRIDE}-byte records: shape index, flags, then 12 doubles of state
+ * </pre>
+ * Reading parses only the header, shape table and boundaries; body records are accessed lazily from the mapped
+ * buffer, either field by field or as materialized {@link Body} records. Only files of the current {@link #VERSION}
+ * are read.
+ */
+public final class WorldSnapshot {
+
+    public static final int MAGIC = 0x4A465057;
+    public static final int VERSION = 1;
+    public static final int BODY_STRIDE = 104;
+
+    private static final int HEADER_SIZE = 24;
+    private static final int IMMOVABLE_FLAG = 1;
+
+    private static final byte DISTANCE_JOINT = 1;
+    private static final byte REVOLUTE_JOINT = 2;
+    private static final byte PRISMATIC_JOINT = 3;
+    private static final byte WELD_JOINT = 4;
+    private static final int JOINT_HEADER_SIZE = 1 + 2 * Integer.BYTES + 9 * Double.BYTES + 1;
+
+    private static final byte UNIFORM_GRAVITY = 1;
+    private static final byte POINT_ATTRACTOR = 2;
+    private static final byte MUTUAL_GRAVITY = 3;
+
+    private static final int POSITION_X = 8;
+    private static final int POSITION_Y = 16;
+    private static final int VELOCITY_X = 24;
+    private static final int VELOCITY_Y = 32;
+    private static final int ACCELERATION_X = 40;
+    private static final int ACCELERATION_Y = 48;
+    private static final int ORIENTATION = 56;
+    private static final int ANGULAR_VELOCITY = 64;
+    private static final int ANGULAR_ACCELERATION = 72;
+    private static final int MASS = 80;
+    private static final int RESTITUTION = 88;
+    private static final int DRAG = 96;
+
+    private final ByteBuffer buffer;
+    private final List<Shape> shapes;
+    private final List<Boundary> boundaries;
+    private final List<TileMap> tileMaps;
+    private final List<Joint> joints;
+    private final List<ForceField> forceFields;
+    private final List<ParticleSystem> particleSystems;
+    private final int bodyCount;
+    private final int bodiesOffset;
+
+    private WorldSnapshot(ByteBuffer buffer, List<Shape> shapes, List<Boundary> boundaries, List<TileMap> tileMaps, List<Joint> joints,
+                          List<ForceField> forceFields, List<ParticleSystem> particleSystems, int bodyCount, int bodiesOffset) {
+        this.buffer = buffer;
+        this.shapes = shapes;
+        this.boundaries = boundaries;
+        this.tileMaps = tileMaps;
+        this.joints = joints;
+        this.forceFields = forceFields;
+        this.particleSystems = particleSystems;
+        this.bodyCount = bodyCount;
+        this.bodiesOffset = bodiesOffset;
+    }
+
+    public static void write(World world, Path path) throws IOException {
+        Map<Shape, Integer> shapeIndices = shapeTable(world);
+        long size = encodedSize(world, shapeIndices);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("World is too large for a single snapshot file");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            encode(world, shapeIndices, mapped.order(ByteOrder.LITTLE_ENDIAN));
+            mapped.force();
+        }
+    }
+
+    public static WorldSnapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot file is too large to map: " + path);
+            }
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static ByteBuffer encode(World world) {
+        Map<Shape, Integer> shapeIndices = shapeTable(world);
+        long size = encodedSize(world, shapeIndices);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("World is too large for a single snapshot buffer");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        encode(world, shapeIndices, buffer);
+        return buffer.flip();
+    }
+
+    public static WorldSnapshot decode(ByteBuffer source) {
+        ByteBuffer buffer = source.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a world snapshot");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported world snapshot version: " + version);
+        }
+        int shapeCount = buffer.getInt();
+        int boundaryCount = buffer.getInt();
+        int bodyCount = buffer.getInt();
+        int tileMapCount = buffer.getInt();
+
+        List<Shape> shapes = new ArrayList<>(shapeCount);
+        for (int i = 0; i < shapeCount; i++) {
+            shapes.add(ShapeCodec.read(buffer));
+        }
+        List<Boundary> boundaries = new ArrayList<>(boundaryCount);
+        for (int i = 0; i < boundaryCount; i++) {
+            boundaries.add(new Boundary(buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble()));
+        }
+        List<TileMap> tileMaps = new ArrayList<>(tileMapCount);
+        for (int i = 0; i < tileMapCount; i++) {
+            double originX = buffer.getDouble();
+            double originY = buffer.getDouble();
+            double cellSize = buffer.getDouble();
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            long[] solid = new long[TileMap.words(width, height)];
+            buffer.asLongBuffer().get(solid);
+            buffer.position(buffer.position() + solid.length * Long.BYTES);
+            tileMaps.add(new TileMap(originX, originY, cellSize, width, height, solid));
+        }
+        int jointCount = buffer.getInt();
+        List<Joint> joints = new ArrayList<>(jointCount);
+        for (int i = 0; i < jointCount; i++) {
+            joints.add(readJoint(buffer));
+        }
+        int fieldCount = buffer.getInt();
+        List<ForceField> forceFields = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            forceFields.add(readForceField(buffer));
+        }
+        int systemCount = buffer.getInt();
+        List<ParticleSystem> particleSystems = new ArrayList<>(systemCount);
+        for (int i = 0; i < systemCount; i++) {
+            particleSystems.add(readParticleSystem(buffer));
+        }
+        int bodiesOffset = align(buffer.position());
+        if ((long) bodiesOffset + (long) bodyCount * BODY_STRIDE > buffer.limit()) {
+            throw new IllegalArgumentException("World snapshot is truncated");
+        }
+        return new WorldSnapshot(buffer, List.copyOf(shapes), List.copyOf(boundaries), List.copyOf(tileMaps), List.copyOf(joints),
+                List.copyOf(forceFields), List.copyOf(particleSystems), bodyCount, bodiesOffset);
+    }
+
+    public int bodyCount() {
+        return bodyCount;
+    }
+
+    public List<Shape> shapes() {
+        return shapes;
+    }
+
+    public List<Boundary> boundaries() {
+        return boundaries;
+    }
+
+    public List<TileMap> tileMaps() {
+        return tileMaps;
+    }
+
+    public List<Joint> joints() {
+        return joints;
+    }
+
+    public List<ForceField> forceFields() {
+        return forceFields;
+    }
+
+    public List<ParticleSystem> particleSystems() {
+        return particleSystems;
+    }
+
+    public Shape shape(int index) {
+        return shapes.get(buffer.getInt(offset(index)));
+    }
+
+    public double positionX(int index) {
+        return buffer.getDouble(offset(index) + POSITION_X);
+    }
+
+    public double positionY(int index) {
+        return buffer.getDouble(offset(index) + POSITION_Y);
+    }
+
+    public double velocityX(int index) {
+        return buffer.getDouble(offset(index) + VELOCITY_X);
+    }
+
+    public double velocityY(int index) {
+        return buffer.getDouble(offset(index) + VELOCITY_Y);
+    }
+
+    public double orientation(int index) {
+        return buffer.getDouble(offset(index) + ORIENTATION);
+    }
+
+    public boolean immovable(int index) {
+        return (buffer.getInt(offset(index) + 4) & IMMOVABLE_FLAG) != 0;
+    }
+
+    public Body body(int index) {
+        int offset = offset(index);
+        return new Body(
+                shapes.get(buffer.getInt(offset)),
+                new VectorDouble(buffer.getDouble(offset + POSITION_X), buffer.getDouble(offset + POSITION_Y)),
+                new VectorDouble(buffer.getDouble(offset + VELOCITY_X), buffer.getDouble(offset + VELOCITY_Y)),
+                new VectorDouble(buffer.getDouble(offset + ACCELERATION_X), buffer.getDouble(offset + ACCELERATION_Y)),
+                buffer.getDouble(offset + ORIENTATION),
+                buffer.getDouble(offset + ANGULAR_VELOCITY),
+                buffer.getDouble(offset + ANGULAR_ACCELERATION),
+                buffer.getDouble(offset + MASS),
+                buffer.getDouble(offset + RESTITUTION),
+                buffer.getDouble(offset + DRAG),
+                (buffer.getInt(offset + 4) & IMMOVABLE_FLAG) != 0
+        );
+    }
+
+    public World toWorld() {
+        List<Body> bodies = new ArrayList<>(bodyCount);
+        for (int i = 0; i < bodyCount; i++) {
+            bodies.add(body(i));
+        }
+        return new World(bodies, boundaries, tileMaps, joints, forceFields, particleSystems);
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= bodyCount) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return bodiesOffset + index * BODY_STRIDE;
+    }
+
+    private static Map<Shape, Integer> shapeTable(World world) {
+        Map<Shape, Integer> shapeIndices = new HashMap<>();
+        world.bodies().forEach(body -> shapeIndices.putIfAbsent(body.shape(), shapeIndices.size()));
+        return shapeIndices;
+    }
+
+    private static long encodedSize(World world, Map<Shape, Integer> shapeIndices) {
+        long size = HEADER_SIZE;
+        size += shapeIndices.keySet().stream().mapToLong(ShapeCodec::encodedSize).sum();
+        size += world.boundaries().size() * 32L;
+        for (TileMap tileMap : world.tileMaps()) {
+            size += 32L + (long) TileMap.words(tileMap.width(), tileMap.height()) * Long.BYTES;
+        }
+        size += Integer.BYTES;
+        for (Joint joint : world.joints()) {
+            size += JOINT_HEADER_SIZE + jointParametersSize(joint);
+        }
+        size += Integer.BYTES;
+        for (ForceField field : world.forceFields()) {
+            size += 1 + forceFieldParametersSize(field);
+        }
+        size += Integer.BYTES;
+        for (ParticleSystem system : world.particleSystems()) {
+            size += 6 * Double.BYTES + Integer.BYTES + 4 * system.size() * Double.BYTES;
+        }
+        return align(size) + (long) world.bodies().size() * BODY_STRIDE;
+    }
+
+    private static void encode(World world, Map<Shape, Integer> shapeIndices, ByteBuffer buffer) {
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(shapeIndices.size());
+        buffer.putInt(world.boundaries().size());
+        buffer.putInt(world.bodies().size());
+        buffer.putInt(world.tileMaps().size());
+
+        Shape[] shapes = new Shape[shapeIndices.size()];
+        shapeIndices.forEach((shape, index) -> shapes[index] = shape);
+        for (Shape shape : shapes) {
+            ShapeCodec.write(buffer, shape);
+        }
+        for (Boundary boundary : world.boundaries()) {
+            buffer.putDouble(boundary.minX());
+            buffer.putDouble(boundary.minY());
+            buffer.putDouble(boundary.maxX());
+            buffer.putDouble(boundary.maxY());
+        }
+        for (TileMap tileMap : world.tileMaps()) {
+            buffer.putDouble(tileMap.originX());
+            buffer.putDouble(tileMap.originY());
+            buffer.putDouble(tileMap.cellSize());
+            buffer.putInt(tileMap.width());
+            buffer.putInt(tileMap.height());
+            buffer.asLongBuffer().put(tileMap.words());
+            buffer.position(buffer.position() + tileMap.words().length * Long.BYTES);
+        }
+        buffer.putInt(world.joints().size());
+        for (Joint joint : world.joints()) {
+            writeJoint(buffer, joint);
+        }
+        buffer.putInt(world.forceFields().size());
+        for (ForceField field : world.forceFields()) {
+            writeForceField(buffer, field);
+        }
+        buffer.putInt(world.particleSystems().size());
+        for (ParticleSystem system : world.particleSystems()) {
+            writeParticleSystem(buffer, system);
+        }
+        while (buffer.position() % 8 != 0) {
+            buffer.put((byte) 0);
+        }
+        for (Body body : world.bodies()) {
+            buffer.putInt(shapeIndices.get(body.shape()));
+            buffer.putInt(body.immovable() ? IMMOVABLE_FLAG : 0);
+            ShapeCodec.writeVector(buffer, body.position());
+            ShapeCodec.writeVector(buffer, body.velocity());
+            ShapeCodec.writeVector(buffer, body.acceleration());
+            buffer.putDouble(body.orientation());
+            buffer.putDouble(body.angularVelocity());
+            buffer.putDouble(body.angularAcceleration());
+            buffer.putDouble(body.mass());
+            buffer.putDouble(body.restitution());
+            buffer.putDouble(body.drag());
+        }
+    }
+
+    private static int jointParametersSize(Joint joint) {
+        return switch (joint) {
+            case DistanceJoint distance -> Double.BYTES;
+            case RevoluteJoint revolute -> 0;
+            case PrismaticJoint prismatic -> 3 * Double.BYTES;
+            case WeldJoint weld -> Double.BYTES;
+        };
+    }
+
+    private static void writeJoint(ByteBuffer buffer, Joint joint) {
+        buffer.put(switch (joint) {
+            case DistanceJoint distance -> DISTANCE_JOINT;
+            case RevoluteJoint revolute -> REVOLUTE_JOINT;
+            case PrismaticJoint prismatic -> PRISMATIC_JOINT;
+            case WeldJoint weld -> WELD_JOINT;
+        });
+        buffer.putInt(joint.firstIndex());
+        buffer.putInt(joint.secondIndex());
+        ShapeCodec.writeVector(buffer, joint.firstAnchor());
+        ShapeCodec.writeVector(buffer, joint.secondAnchor());
+        buffer.putDouble(joint.softness().frequency());
+        buffer.putDouble(joint.softness().dampingRatio());
+        ShapeCodec.writeVector(buffer, joint.reaction().impulse());
+        buffer.putDouble(joint.reaction().angularImpulse());
+        buffer.put((byte) (joint.collideConnected() ? 1 : 0));
+        switch (joint) {
+            case DistanceJoint distance -> buffer.putDouble(distance.length());
+            case RevoluteJoint revolute -> {
+            }
+            case PrismaticJoint prismatic -> {
+                ShapeCodec.writeVector(buffer, prismatic.axis());
+                buffer.putDouble(prismatic.referenceAngle());
+            }
+            case WeldJoint weld -> buffer.putDouble(weld.referenceAngle());
+        }
+    }
+
+    private static Joint readJoint(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        int first = buffer.getInt();
+        int second = buffer.getInt();
+        VectorDouble firstAnchor = ShapeCodec.readVector(buffer);
+        VectorDouble secondAnchor = ShapeCodec.readVector(buffer);
+        JointSoftness softness = new JointSoftness(buffer.getDouble(), buffer.getDouble());
+        JointReaction reaction = new JointReaction(ShapeCodec.readVector(buffer), buffer.getDouble());
+        boolean collideConnected = buffer.get() != 0;
+        return switch (tag) {
+            case DISTANCE_JOINT -> new DistanceJoint(first, second, firstAnchor, secondAnchor, buffer.getDouble(), softness,
+                    collideConnected, reaction);
+            case REVOLUTE_JOINT -> new RevoluteJoint(first, second, firstAnchor, secondAnchor, softness, collideConnected, reaction);
+            case PRISMATIC_JOINT -> new PrismaticJoint(first, second, firstAnchor, secondAnchor, ShapeCodec.readVector(buffer),
+                    buffer.getDouble(), softness, collideConnected, reaction);
+            case WELD_JOINT -> new WeldJoint(first, second, firstAnchor, secondAnchor, buffer.getDouble(), softness, collideConnected,
+                    reaction);
+            default -> throw new IllegalArgumentException("Unknown joint tag: " + tag);
+        };
+    }
+
+    private static int forceFieldParametersSize(ForceField field) {
+        return switch (field) {
+            case UniformGravity gravity -> 2 * Double.BYTES;
+            case PointAttractor attractor -> 4 * Double.BYTES;
+            case MutualGravity gravity -> 3 * Double.BYTES;
+        };
+    }
+
+    private static void writeForceField(ByteBuffer buffer, ForceField field) {
+        switch (field) {
+            case UniformGravity gravity -> {
+                buffer.put(UNIFORM_GRAVITY);
+                ShapeCodec.writeVector(buffer, gravity.acceleration());
+            }
+            case PointAttractor attractor -> {
+                buffer.put(POINT_ATTRACTOR);
+                ShapeCodec.writeVector(buffer, attractor.position());
+                buffer.putDouble(attractor.strength());
+                buffer.putDouble(attractor.softening());
+            }
+            case MutualGravity gravity -> {
+                buffer.put(MUTUAL_GRAVITY);
+                buffer.putDouble(gravity.gravitationalConstant());
+                buffer.putDouble(gravity.softening());
+                buffer.putDouble(gravity.openingAngle());
+            }
+        }
+    }
+
+    private static ForceField readForceField(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        return switch (tag) {
+            case UNIFORM_GRAVITY -> new UniformGravity(ShapeCodec.readVector(buffer));
+            case POINT_ATTRACTOR -> new PointAttractor(ShapeCodec.readVector(buffer), buffer.getDouble(), buffer.getDouble());
+            case MUTUAL_GRAVITY -> new MutualGravity(buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+            default -> throw new IllegalArgumentException("Unknown force field tag: " + tag);
+        };
+    }
+
+    private static void writeParticleSystem(ByteBuffer buffer, ParticleSystem system) {
+        buffer.putDouble(system.radius());
+        buffer.putDouble(system.mass());
+        buffer.putDouble(system.restitution());
+        buffer.putDouble(system.drag());
+        ShapeCodec.writeVector(buffer, system.acceleration());
+        buffer.putInt(system.size());
+        for (double[] values : new double[][]{system.positionX, system.positionY, system.velocityX, system.velocityY}) {
+            buffer.asDoubleBuffer().put(values);
+            buffer.position(buffer.position() + values.length * Double.BYTES);
+        }
+    }
+
+    private static ParticleSystem readParticleSystem(ByteBuffer buffer) {
+        double radius = buffer.getDouble();
+        double mass = buffer.getDouble();
+        double restitution = buffer.getDouble();
+        double drag = buffer.getDouble();
+        VectorDouble acceleration = ShapeCodec.readVector(buffer);
+        int count = buffer.getInt();
+        double[][] values = new double[4][count];
+        for (double[] column : values) {
+            buffer.asDoubleBuffer().get(column);
+            buffer.position(buffer.position() + count * Double.BYTES);
+        }
+        return new ParticleSystem(radius, mass, restitution, drag, acceleration, values[0], values[1], values[2], values[3]);
+    }
+
+    private static int align(int position) {
+        return (position + 7) & ~7;
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+}
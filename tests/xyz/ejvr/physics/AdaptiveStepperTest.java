@@ -0,0 +1,129 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveStepperTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+    private static final double FRAME = 1.0 / 60.0;
+
+    @Test
+    void calmSceneTakesOneMaximumStepPerFrame() {
+        World world = new World(List.of(
+                new Body(new Circle(0.5), new VectorDouble(2, 2), new VectorDouble(0.5, 0), ZERO, 0, 0.2, 0, 1, 0.5, 0, false),
+                new Body(new RotatedRectangle(1, 0.5), new VectorDouble(6, 2), new VectorDouble(-0.3, 0.1), ZERO, 0, 0, 0, 2, 0.5, 0, false)),
+                List.of(new Boundary(0, 0, 10, 10)));
+        AdaptiveStepper stepper = new AdaptiveStepper(new AdaptiveStepSettings(1e-5, FRAME, 0.01));
+
+        World adaptive = world;
+        World fixed = world;
+        for (int frame = 0; frame < 60; frame++) {
+            adaptive = stepper.advance(adaptive, FRAME);
+            fixed = PhysicsEngine.step(fixed, FRAME);
+        }
+
+        AdaptiveStepper.Statistics statistics = stepper.statistics();
+        assertEquals(fixed, adaptive);
+        assertEquals(60, statistics.frames());
+        assertEquals(60, statistics.substeps());
+        assertEquals(0, statistics.speedLimitedSubsteps());
+        assertEquals(FRAME, statistics.largestStep());
+    }
+
+    @Test
+    void framesLongerThanMaximumStepAreSplitExactly() {
+        World world = new World(List.of(
+                new Body(new Circle(0.5), new VectorDouble(2, 2), new VectorDouble(1, 0), ZERO, 0, 0, 0, 1, 0.5, 0, false)), List.of());
+        AdaptiveStepper stepper = new AdaptiveStepper(new AdaptiveStepSettings(1e-3, 0.01, 0.01));
+
+        World stepped = stepper.advance(world, 0.035);
+
+        assertEquals(4, stepper.statistics().substeps());
+        assertEquals(0.035, stepper.statistics().simulatedTime(), 1e-15);
+        assertEquals(0.005, stepper.statistics().smallestStep(), 1e-15);
+        assertEquals(2.035, stepped.bodies().get(0).position().x(), 1e-12);
+    }
+
+    @Test
+    void fastProjectileDoesNotTunnelThroughThinWall() {
+        Body wall = new Body(new RotatedRectangle(0.05, 2), new VectorDouble(5, 0), ZERO, ZERO, 0, 0, 0, 1, 0, 0, true);
+        Body bullet = new Body(new Circle(0.05), new VectorDouble(0.3, 0), new VectorDouble(300, 0), ZERO, 0, 0, 0, 0.01, 0.5, 0, false);
+        World world = new World(List.of(wall, bullet), List.of());
+        AdaptiveStepper stepper = new AdaptiveStepper(new AdaptiveStepSettings(1e-5, FRAME, 0.01));
+
+        World adaptive = world;
+        World fixed = world;
+        for (int frame = 0; frame < 10; frame++) {
+            adaptive = stepper.advance(adaptive, FRAME);
+            fixed = PhysicsEngine.step(fixed, FRAME);
+        }
+
+        assertTrue(fixed.bodies().get(1).position().x() > 5, "a fixed frame-length step tunnels");
+        assertEquals(4.9, adaptive.bodies().get(1).position().x(), 1e-3, "the adaptive stepper stops the bullet at the wall");
+        AdaptiveStepper.Statistics statistics = stepper.statistics();
+        assertTrue(statistics.speedLimitedSubsteps() > 0);
+        assertTrue(statistics.smallestStep() <= 0.5 * 0.1 / 300 + 1e-15);
+        assertEquals(10 * FRAME, statistics.simulatedTime(), 1e-12);
+    }
+
+    @Test
+    void deepPenetrationShrinksTheNextStep() {
+        Body floor = new Body(new RotatedRectangle(5, 0.5), new VectorDouble(0, 0), ZERO, ZERO, 0, 0, 0, 1, 0, 0, true);
+        Body box = new Body(new RotatedRectangle(0.5, 0.5), new VectorDouble(0, 1.2), new VectorDouble(0, -4), new VectorDouble(0, -9.81),
+                0, 0, 0, 1, 0, 0, false);
+        AdaptiveStepSettings settings = new AdaptiveStepSettings(1e-4, FRAME, 1, 0.005, 1.5);
+        AdaptiveStepper stepper = new AdaptiveStepper(settings);
+
+        World world = new World(List.of(floor, box), List.of());
+        for (int frame = 0; frame < 5; frame++) {
+            world = stepper.advance(world, FRAME);
+        }
+
+        AdaptiveStepper.Statistics statistics = stepper.statistics();
+        assertTrue(statistics.penetrationLimitedSubsteps() > 0);
+        assertTrue(statistics.deepestPenetration() > settings.maxPenetration());
+        assertTrue(statistics.smallestStep() < FRAME);
+    }
+
+    @Test
+    void comparesAdaptiveWithWorstCaseFixedStep() {
+        Body wall = new Body(new RotatedRectangle(0.05, 4), new VectorDouble(20, 5), ZERO, ZERO, 0, 0, 0, 1, 0, 0, true);
+        Body bullet = new Body(new Circle(0.05), new VectorDouble(1, 5), new VectorDouble(200, 0), ZERO, 0, 0, 0, 0.01, 0.2, 2, false);
+        World world = new World(List.of(wall, bullet), List.of(new Boundary(0, 0, 40, 10)));
+        AdaptiveStepSettings settings = new AdaptiveStepSettings(1e-5, FRAME, 0.01);
+        AdaptiveStepper stepper = new AdaptiveStepper(settings);
+
+        double worstCase = settings.courantNumber() * 0.1 / 200;
+        int frames = 600;
+        World adaptive = world;
+        for (int frame = 0; frame < frames; frame++) {
+            adaptive = stepper.advance(adaptive, FRAME);
+        }
+        AdaptiveStepper.Statistics statistics = stepper.statistics();
+        long fixedSteps = Math.round(frames * FRAME / worstCase);
+
+        System.out.printf("Bullet then calm over %d frames -> adaptive: %d substeps (%.1f per frame, smallest %.2e s), "
+                        + "fixed worst-case step: %d steps%n", frames, statistics.substeps(), statistics.substepsPerFrame(),
+                statistics.smallestStep(), fixedSteps);
+
+        assertTrue(adaptive.bodies().get(1).position().x() < 20);
+        assertTrue(statistics.substeps() * 10 < fixedSteps);
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveStepSettings(0, FRAME, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveStepSettings(FRAME, 1e-3, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveStepSettings(1e-3, FRAME, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveStepSettings(1e-3, FRAME, 1.5, 0.01, 2));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveStepSettings(1e-3, FRAME, 0.5, 0.01, 1));
+        AdaptiveStepper stepper = new AdaptiveStepper(new AdaptiveStepSettings(1e-3, FRAME, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> stepper.advance(new World(List.of(), List.of()), 0));
+    }
+}
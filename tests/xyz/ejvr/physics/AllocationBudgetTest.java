@@ -0,0 +1,162 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Fails when the bytes allocated per body by one step, one {@link CollisionDetection#detectAll(List)} or one
+ * {@link CollisionResolution#resolve(List, List)} on a standard scene exceed their budget. Budgets default to about
+ * twice what the engine allocates today and can be overridden per run for every scene, for example
+ * {@code -Dxyz.ejvr.physics.allocation.step=1500}, or for one scene, as in
+ * {@code -Dxyz.ejvr.physics.allocation.pile.detect=2000}.
+ */
+class AllocationBudgetTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+    private static final VectorDouble GRAVITY = new VectorDouble(0, -9.81);
+    private static final double DT = 1.0 / 60.0;
+    private static final int WARMUP_RUNS = 100;
+    private static final int MEASURED_RUNS = 20;
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    @BeforeAll
+    static void requireAllocationCounters() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void movingCirclesStayWithinBudget() {
+        checkBudgets("circles", movingCircles(1000, new Random(42)), 1600, 1300, 64);
+    }
+
+    @Test
+    void restingPileStaysWithinBudget() {
+        checkBudgets("pile", restingPile(20, 25), 3600, 2700, 650);
+    }
+
+    @Test
+    void mixedShapesStayWithinBudget() {
+        checkBudgets("mixed", mixedShapes(600, new Random(7)), 2000, 1500, 64);
+    }
+
+    @Test
+    void chainTerrainWithCompoundsStaysWithinBudget() {
+        checkBudgets("terrain", terrain(400, new Random(11)), 14000, 11000, 1700);
+    }
+
+    private static void checkBudgets(String scene, World world, long stepBytes, long detectBytes, long resolveBytes) {
+        long stepBudget = budget(scene, "step", stepBytes);
+        long detectBudget = budget(scene, "detect", detectBytes);
+        long resolveBudget = budget(scene, "resolve", resolveBytes);
+        World settled = PhysicsEngine.stepN(world, DT, 30);
+        List<Body> bodies = settled.bodies();
+        List<Collision> collisions = CollisionDetection.detectAll(bodies);
+        int count = bodies.size();
+
+        double step = bytesPerRun(() -> PhysicsEngine.step(settled, DT)) / count;
+        double detect = bytesPerRun(() -> CollisionDetection.detectAll(bodies)) / count;
+        double resolve = bytesPerRun(() -> CollisionResolution.resolve(bodies, collisions)) / count;
+
+        System.out.printf("%s, %d bodies, %d contacts, bytes per body -> step: %.0f (budget %d), detectAll: %.0f (budget %d), "
+                + "resolve: %.0f (budget %d)%n", scene, count, collisions.size(), step, stepBudget, detect, detectBudget,
+                resolve, resolveBudget);
+
+        assertTrue(step <= stepBudget, scene + ": step allocates " + step + " bytes per body");
+        assertTrue(detect <= detectBudget, scene + ": detectAll allocates " + detect + " bytes per body");
+        assertTrue(resolve <= resolveBudget, scene + ": resolve allocates " + resolve + " bytes per body");
+    }
+
+    /**
+     * Returns the bytes this thread allocates per call of {@code run}, after enough calls for the JIT to settle.
+     */
+    private static double bytesPerRun(Supplier<?> run) {
+        long threadId = Thread.currentThread().threadId();
+        Object sink = null;
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            sink = run.get();
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            sink = run.get();
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        assertTrue(sink != null);
+        return (double) allocated / MEASURED_RUNS;
+    }
+
+    private static long budget(String scene, String operation, long defaultBytesPerBody) {
+        long shared = Long.getLong("xyz.ejvr.physics.allocation." + operation, defaultBytesPerBody);
+        return Long.getLong("xyz.ejvr.physics.allocation." + scene + "." + operation, shared);
+    }
+
+    private static World movingCircles(int count, Random random) {
+        Boundary boundary = new Boundary(0, 0, 400, 400);
+        List<Body> bodies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            VectorDouble position = new VectorDouble(10 + random.nextDouble() * 380, 10 + random.nextDouble() * 380);
+            VectorDouble velocity = new VectorDouble(random.nextDouble() * 40 - 20, random.nextDouble() * 40 - 20);
+            bodies.add(new Body(new Circle(2 + random.nextDouble() * 3), position, velocity, ZERO, 0, 0, 0, 1, 0.8, 0, false));
+        }
+        return new World(bodies, List.of(boundary));
+    }
+
+    private static World restingPile(int columns, int rows) {
+        List<Body> bodies = new ArrayList<>(columns * rows + 1);
+        bodies.add(new Body(new RotatedRectangle(columns + 1, 0.5), new VectorDouble(columns / 2.0, 0), ZERO, ZERO, 0, 0, 0, 1, 0, 0, true));
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                bodies.add(new Body(new RotatedRectangle(0.45, 0.45), new VectorDouble(column + (row % 2) * 0.5, 0.95 + row * 0.9),
+                        ZERO, GRAVITY, 0, 0, 0, 1, 0, 0, false));
+            }
+        }
+        return new World(bodies, List.of(new Boundary(-5, -1, columns + 5, rows * 2)));
+    }
+
+    private static World terrain(int count, Random random) {
+        List<VectorDouble> outline = new ArrayList<>();
+        for (int i = 0; i <= 200; i++) {
+            outline.add(new VectorDouble(i * 0.5, Math.sin(i * 0.3) * 0.8));
+        }
+        CompoundShape dumbbell = new CompoundShape(List.of(
+                new CompoundShape.Child(new Circle(0.3), new VectorDouble(-0.4, 0), 0),
+                new CompoundShape.Child(new RotatedRectangle(0.6, 0.15), new VectorDouble(0, 0), 0),
+                new CompoundShape.Child(new Circle(0.3), new VectorDouble(0.4, 0), 0)));
+        List<Body> bodies = new ArrayList<>(count + 1);
+        bodies.add(new Body(new Chain(outline, false), ZERO, ZERO, ZERO, 0, 0, 0, 1, 0, 0, true));
+        for (int i = 0; i < count; i++) {
+            Shape shape = i % 2 == 0 ? dumbbell : new Circle(0.3);
+            VectorDouble position = new VectorDouble(1 + random.nextDouble() * 98, 1.5 + random.nextDouble() * 3);
+            bodies.add(new Body(shape, position, ZERO, GRAVITY, random.nextDouble(), 0, 0, 1, 0.2, 0, false));
+        }
+        return new World(bodies, List.of(new Boundary(0, -2, 100, 40)));
+    }
+
+    private static World mixedShapes(int count, Random random) {
+        List<Shape> shapes = List.of(
+                new Circle(0.5),
+                new RotatedRectangle(0.6, 0.3),
+                new ConvexPolygon(List.of(new VectorDouble(-0.5, -0.4), new VectorDouble(0.5, -0.4), new VectorDouble(0, 0.6))),
+                new LineSegment(new VectorDouble(-0.6, 0), new VectorDouble(0.6, 0)));
+        List<Body> bodies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            VectorDouble position = new VectorDouble(1 + random.nextDouble() * 58, 1 + random.nextDouble() * 58);
+            VectorDouble velocity = new VectorDouble(random.nextDouble() * 4 - 2, random.nextDouble() * 4 - 2);
+            bodies.add(new Body(shapes.get(i % shapes.size()), position, velocity, GRAVITY, random.nextDouble(),
+                    random.nextDouble() - 0.5, 0, 1, 0.3, 0, false));
+        }
+        return new World(bodies, List.of(new Boundary(0, 0, 60, 60)));
+    }
+}
@@ -0,0 +1,65 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncStepperTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+
+    @Test
+    void producesSameWorldsAsSynchronousStepping() {
+        World world = world(50);
+        try (AsyncStepper stepper = new AsyncStepper(world, 4, AsyncStepper.Backpressure.BLOCK)) {
+            CompletableFuture<World> last = null;
+            for (int i = 0; i < 30; i++) {
+                last = stepper.requestStep(1.0 / 60.0);
+            }
+
+            World expected = PhysicsEngine.stepN(world, 1.0 / 60.0, 30);
+            assertEquals(expected, last.join());
+            assertSame(last.join(), stepper.front());
+            assertEquals(30, stepper.completedSteps());
+        }
+    }
+
+    @Test
+    void skipsRequestsWhenSimulationFallsBehind() {
+        try (AsyncStepper stepper = new AsyncStepper(world(800), 1, AsyncStepper.Backpressure.SKIP)) {
+            List<CompletableFuture<World>> futures = IntStream.range(0, 20)
+                    .mapToObj(i -> stepper.requestStep(1.0 / 60.0))
+                    .toList();
+            futures.forEach(CompletableFuture::join);
+
+            assertTrue(stepper.skippedRequests() > 0);
+            assertEquals(20, stepper.completedSteps() + stepper.skippedRequests());
+        }
+    }
+
+    @Test
+    void releasesSlotBeforeCompletingTheFuture() {
+        try (AsyncStepper stepper = new AsyncStepper(world(50), 1, AsyncStepper.Backpressure.SKIP)) {
+            CompletableFuture<World> chained = stepper.requestStep(1.0 / 60.0)
+                    .thenCompose(world -> stepper.requestStep(1.0 / 60.0));
+            chained.join();
+
+            assertEquals(0, stepper.skippedRequests());
+            assertEquals(2, stepper.completedSteps());
+        }
+    }
+
+    private static World world(int count) {
+        List<Body> bodies = IntStream.range(0, count)
+                .mapToObj(index -> new Body(new Circle(1), new VectorDouble(2 + index % 40 * 2.5, 2 + index / 40 * 2.5),
+                        new VectorDouble(index % 5, -index % 3), new VectorDouble(0, -9.81), 0.0, 0.0, 0.0, 1, 0.8, 0.0, false))
+                .toList();
+        return new World(bodies, List.of(new Boundary(0, 0, 120, 120)));
+    }
+}
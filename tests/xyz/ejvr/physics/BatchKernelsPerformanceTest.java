@@ -0,0 +1,129 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BatchKernelsPerformanceTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+    private static final int BODY_COUNT = 4000;
+    private static final int ROUNDS = 20;
+
+    @Test
+    void comparesScalarAndSimdIntegration() {
+        assumeTrue(BatchKernels.vectorized(), "Vector API module not available");
+        BodyColumns scalarColumns = BodyColumns.of(randomCircles(new Random(1)));
+        BodyColumns simdColumns = BodyColumns.of(randomCircles(new Random(1)));
+
+        double scalarMillis = bestOf(() -> {
+            long start = System.nanoTime();
+            for (int i = 0; i < 100; i++) {
+                ScalarKernels.integrate(scalarColumns, 1.0 / 120.0, 0, scalarColumns.size);
+            }
+            return System.nanoTime() - start;
+        });
+        double simdMillis = bestOf(() -> {
+            long start = System.nanoTime();
+            for (int i = 0; i < 100; i++) {
+                SimdKernels.integrate(simdColumns, 1.0 / 120.0);
+            }
+            return System.nanoTime() - start;
+        });
+
+        System.out.printf("Integration of %d bodies x100 (ms) -> scalar: %.3f, simd (%d lanes): %.3f%n",
+                BODY_COUNT, scalarMillis, SimdKernels.laneCount(), simdMillis);
+
+        assertEquals(scalarColumns.positionX[BODY_COUNT - 1], simdColumns.positionX[BODY_COUNT - 1]);
+        assertTrue(simdMillis > 0);
+    }
+
+    @Test
+    void comparesScalarAndSimdCircleTests() {
+        assumeTrue(BatchKernels.vectorized(), "Vector API module not available");
+        List<Body> bodies = randomCircles(new Random(2));
+        double[] x = bodies.stream().mapToDouble(body -> body.position().x()).toArray();
+        double[] y = bodies.stream().mapToDouble(body -> body.position().y()).toArray();
+        double[] radius = bodies.stream().mapToDouble(body -> ((Circle) body.shape()).radius()).toArray();
+        int[] hits = new int[BODY_COUNT];
+        long[] hitTotals = new long[2];
+
+        double scalarMillis = bestOf(() -> {
+            long start = System.nanoTime();
+            long total = 0;
+            for (int i = 0; i < BODY_COUNT; i++) {
+                total += ScalarKernels.circleOverlaps(x, y, radius, i, i + 1, BODY_COUNT, hits, 0);
+            }
+            hitTotals[0] = total;
+            return System.nanoTime() - start;
+        });
+        double simdMillis = bestOf(() -> {
+            long start = System.nanoTime();
+            long total = 0;
+            for (int i = 0; i < BODY_COUNT; i++) {
+                total += SimdKernels.circleOverlaps(x, y, radius, i, i + 1, BODY_COUNT, hits, 0);
+            }
+            hitTotals[1] = total;
+            return System.nanoTime() - start;
+        });
+
+        System.out.printf("Circle-circle tests over %d pairs (ms) -> scalar: %.3f, simd (%d lanes): %.3f%n",
+                (long) BODY_COUNT * (BODY_COUNT - 1) / 2, scalarMillis, SimdKernels.laneCount(), simdMillis);
+
+        assertEquals(hitTotals[0], hitTotals[1]);
+        assertTrue(simdMillis > 0);
+    }
+
+    @Test
+    void comparesScalarAndVectorizedEngineSteps() {
+        World world = new World(randomCircles(new Random(3)).subList(0, 1000), List.of(new Boundary(0, 0, 800, 800)));
+
+        double scalarMillis = bestOf(() -> {
+            long start = System.nanoTime();
+            PhysicsEngine.step(world, 1.0 / 120.0);
+            return System.nanoTime() - start;
+        });
+        double vectorizedMillis = bestOf(() -> {
+            long start = System.nanoTime();
+            VectorizedPhysicsEngine.step(world, 1.0 / 120.0);
+            return System.nanoTime() - start;
+        });
+
+        System.out.printf("1000-body step (ms) -> scalar engine: %.3f, vectorized engine: %.3f (simd: %s)%n",
+                scalarMillis, vectorizedMillis, BatchKernels.vectorized());
+
+        assertTrue(vectorizedMillis > 0);
+    }
+
+    private static double bestOf(LongSupplier run) {
+        return IntStream.range(0, ROUNDS)
+                .mapToLong(round -> run.getAsLong())
+                .min()
+                .orElseThrow() / 1_000_000.0;
+    }
+
+    private static List<Body> randomCircles(Random random) {
+        return IntStream.range(0, BODY_COUNT)
+                .mapToObj(index -> new Body(
+                        new Circle(3),
+                        new VectorDouble(random.nextDouble() * 800, random.nextDouble() * 800),
+                        new VectorDouble(random.nextDouble() * 100 - 50, random.nextDouble() * 100 - 50),
+                        new VectorDouble(0, -9.81),
+                        0.0,
+                        0.0,
+                        0.0,
+                        1,
+                        0.8,
+                        0.02,
+                        false
+                ))
+                .toList();
+    }
+}
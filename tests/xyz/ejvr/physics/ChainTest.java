@@ -0,0 +1,145 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChainTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+    private static final VectorDouble GRAVITY = new VectorDouble(0, -9.81);
+    private static final double DT = 1.0 / 60.0;
+
+    @Test
+    void exposesSegmentsAndNeighbours() {
+        Chain open = new Chain(List.of(new VectorDouble(0, 0), new VectorDouble(1, 0), new VectorDouble(2, 1)), false);
+        Chain loop = new Chain(List.of(new VectorDouble(0, 0), new VectorDouble(1, 0), new VectorDouble(0, 1)), true);
+
+        assertEquals(2, open.segmentCount());
+        assertEquals(Optional.empty(), open.previousVertex(0));
+        assertEquals(Optional.of(new VectorDouble(2, 1)), open.nextVertex(0));
+        assertEquals(Optional.empty(), open.nextVertex(1));
+        assertEquals(new Aabb(0, 0, 2, 1), open.localBounds());
+        assertEquals(1 + Math.sqrt(2), open.length(), 1e-12);
+
+        assertEquals(3, loop.segmentCount());
+        assertEquals(new LineSegment(new VectorDouble(0, 1), new VectorDouble(0, 0)), loop.segment(2));
+        assertEquals(Optional.of(new VectorDouble(0, 1)), loop.previousVertex(0));
+        assertEquals(Optional.of(new VectorDouble(1, 0)), loop.nextVertex(2));
+
+        assertThrows(IllegalArgumentException.class, () -> new Chain(List.of(new VectorDouble(0, 0)), false));
+        assertThrows(IllegalArgumentException.class, () -> new Chain(List.of(new VectorDouble(0, 0), new VectorDouble(1, 0)), true));
+        assertThrows(IllegalArgumentException.class, () -> new CompoundShape.Child(open, ZERO, 0.0));
+
+        World world = new World(List.of(terrain(open), terrain(loop)), List.of());
+        assertEquals(world, WorldSnapshot.decode(WorldSnapshot.encode(world)).toWorld());
+    }
+
+    @Test
+    void treeQueryCullsDistantSegments() {
+        Chain floor = flatFloor(200);
+        List<Integer> visited = new ArrayList<>();
+
+        floor.query(new Aabb(50.5, -1, 51.5, 1), visited::add);
+
+        assertEquals(List.of(50, 51), visited.stream().sorted().toList());
+    }
+
+    @Test
+    void flatJoinsReportFaceContactsOnly() {
+        Body floor = terrain(flatFloor(4));
+        Body box = body(new AxisAlignedRectangle(0.5, 0.5), new VectorDouble(1.49, 0.49));
+
+        Collision contact = CollisionDetection.detect(0, 1, floor, box).orElseThrow();
+        assertEquals(0, contact.normal().x(), 1e-12);
+        assertEquals(1, contact.normal().y(), 1e-12);
+        assertEquals(0.01, contact.penetration(), 1e-9);
+
+        Collision overJoin = CollisionDetection.detect(0, 1, body(new Circle(0.5), new VectorDouble(2, 0.4)), floor).orElseThrow();
+        assertEquals(0, overJoin.normal().x(), 1e-12);
+        assertEquals(-1, overJoin.normal().y(), 1e-12);
+        assertEquals(0.1, overJoin.penetration(), 1e-9);
+    }
+
+    @Test
+    void convexCornersKeepVertexContacts() {
+        Body ridge = terrain(new Chain(List.of(new VectorDouble(0, 0), new VectorDouble(1, 1), new VectorDouble(2, 0)), false));
+        Body circle = body(new Circle(0.5), new VectorDouble(1, 1.4));
+
+        Collision collision = CollisionDetection.detect(0, 1, ridge, circle).orElseThrow();
+
+        assertEquals(0, collision.normal().x(), 1e-9);
+        assertEquals(0.1, collision.penetration(), 1e-9);
+        assertTrue(CollisionDetection.detect(0, 1, ridge, body(new Circle(0.5), new VectorDouble(1, 1.6))).isEmpty());
+    }
+
+    @Test
+    void boxSlidesAcrossJoinsWithoutSnagging() {
+        Body box = new Body(new AxisAlignedRectangle(0.5, 0.5), new VectorDouble(2, 0.5), new VectorDouble(5, 0), GRAVITY, 0.0, 0.0, 0.0, 1, 0.0, 0.0, false);
+        World world = new World(List.of(box, terrain(flatFloor(64))), List.of());
+
+        World after = PhysicsEngine.stepN(world, DT, 120);
+
+        Body slid = after.bodies().get(0);
+        assertEquals(5, slid.velocity().x(), 1e-6);
+        assertEquals(12, slid.position().x(), 1e-6);
+        assertEquals(0.5, slid.position().y(), 0.02);
+    }
+
+    @Test
+    void comparesChainWithSegmentBodies() {
+        int segments = 2048;
+        Random random = new Random(11);
+        List<Body> dynamic = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            dynamic.add(new Body(new Circle(0.4), new VectorDouble(random.nextDouble() * segments, 0.4 + random.nextDouble()), ZERO, GRAVITY, 0.0, 0.0, 0.0, 1, 0.2, 0.0, false));
+        }
+        List<Body> withChain = new ArrayList<>(dynamic);
+        withChain.add(terrain(flatFloor(segments)));
+        List<Body> withSegmentBodies = new ArrayList<>(dynamic);
+        for (int x = 0; x < segments; x++) {
+            withSegmentBodies.add(terrain(new LineSegment(new VectorDouble(x, 0), new VectorDouble(x + 1, 0))));
+        }
+        World chainWorld = new World(withChain, List.of());
+        World segmentWorld = new World(withSegmentBodies, List.of());
+
+        double chainMillis = timeSteps(chainWorld);
+        double segmentMillis = timeSteps(segmentWorld);
+        System.out.printf("200 bodies on a %d-segment floor, ms per step -> chain: %.3f, segment bodies: %.3f%n", segments, chainMillis, segmentMillis);
+
+        World settled = PhysicsEngine.stepN(chainWorld, DT, 120);
+        for (int i = 0; i < dynamic.size(); i++) {
+            assertEquals(0.4, settled.bodies().get(i).position().y(), 0.05);
+        }
+    }
+
+    private static double timeSteps(World world) {
+        World current = PhysicsEngine.stepN(world, DT, 5);
+        long start = System.nanoTime();
+        PhysicsEngine.stepN(current, DT, 10);
+        return (System.nanoTime() - start) / 10 / 1_000_000.0;
+    }
+
+    private static Chain flatFloor(int segments) {
+        List<VectorDouble> vertices = new ArrayList<>();
+        for (int x = 0; x <= segments; x++) {
+            vertices.add(new VectorDouble(x, 0));
+        }
+        return new Chain(vertices, false);
+    }
+
+    private static Body terrain(Shape shape) {
+        return new Body(shape, ZERO, ZERO, ZERO, 0.0, 0.0, 0.0, 1, 0.2, 0.0, true);
+    }
+
+    private static Body body(Shape shape, VectorDouble position) {
+        return new Body(shape, position, ZERO, ZERO, 0.0, 0.0, 0.0, 1, 0.2, 0.0, false);
+    }
+}
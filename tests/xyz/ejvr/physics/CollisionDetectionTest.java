@@ -28,6 +28,20 @@ class CollisionDetectionTest {
         assertEquals(0.0, result.contactPoint().y(), 1e-9);
     }
 
+    @Test
+    void circleRectangleNormalPointsFromFirstToSecond() {
+        Body circle = new Body(new Circle(1), new VectorDouble(0, 1.5), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 1, 0, false);
+        Body floor = new Body(new AxisAlignedRectangle(4, 1), new VectorDouble(0, 0), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 1, 0, true);
+
+        Collision circleFirst = CollisionDetection.detect(0, 1, circle, floor).orElseThrow();
+        Collision floorFirst = CollisionDetection.detect(0, 1, floor, circle).orElseThrow();
+
+        assertEquals(0.5, circleFirst.penetration(), 1e-9);
+        assertEquals(-1.0, circleFirst.normal().y(), 1e-9);
+        assertEquals(0.5, floorFirst.penetration(), 1e-9);
+        assertEquals(1.0, floorFirst.normal().y(), 1e-9);
+    }
+
     @Test
     void detectsRectangleRectangleAlongMinorOverlap() {
         AxisAlignedRectangle rectangle = new AxisAlignedRectangle(1, 1);
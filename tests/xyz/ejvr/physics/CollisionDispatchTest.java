@@ -0,0 +1,97 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CollisionDispatchTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+    private static final int ROUNDS = 20;
+    private static final int REPEATS = 2000;
+
+    @Test
+    void registeredKernelsAreFlippedForTheReversePair() {
+        Body circle = body(new Circle(1), new VectorDouble(0, 0));
+        Body line = body(new LineSegment(new VectorDouble(5, -1), new VectorDouble(5, 1)), ZERO);
+        CollisionKernel circleLine = CollisionDetection.kernel(ShapeKind.CIRCLE, ShapeKind.LINE_SEGMENT);
+        assertTrue(circleLine.detect(0, 1, circle, line).isEmpty());
+
+        CollisionDetection.register(ShapeKind.CIRCLE, ShapeKind.LINE_SEGMENT, (firstIndex, secondIndex, first, second) ->
+                Optional.of(new Collision(firstIndex, secondIndex, new VectorDouble(1, 0), 0.25, first.position())));
+        try {
+            assertFalse(CollisionDetection.isBuiltIn(ShapeKind.LINE_SEGMENT, ShapeKind.CIRCLE));
+            Collision forward = CollisionDetection.detect(3, 7, circle, line).orElseThrow();
+            assertEquals(new Collision(3, 7, new VectorDouble(1, 0), 0.25, ZERO), forward);
+
+            Collision reverse = CollisionDetection.detect(7, 3, line, circle).orElseThrow();
+            assertEquals(7, reverse.firstIndex());
+            assertEquals(3, reverse.secondIndex());
+            assertEquals(-1, reverse.normal().x());
+            assertEquals(0.25, reverse.penetration());
+        } finally {
+            CollisionDetection.restoreDefaults();
+        }
+        assertTrue(CollisionDetection.isBuiltIn(ShapeKind.CIRCLE, ShapeKind.LINE_SEGMENT));
+        assertTrue(CollisionDetection.isBuiltIn(ShapeKind.LINE_SEGMENT, ShapeKind.CIRCLE));
+
+        Body touching = body(new LineSegment(new VectorDouble(0.5, -1), new VectorDouble(0.5, 1)), ZERO);
+        assertEquals(CollisionDetection.detect(0, 1, touching, circle),
+                CollisionDetection.kernel(ShapeKind.LINE_SEGMENT, ShapeKind.CIRCLE).detect(0, 1, touching, circle));
+        assertEquals(0.5, CollisionDetection.detect(0, 1, circle, touching).orElseThrow().penetration(), 1e-12);
+    }
+
+    @Test
+    void measuresDispatchOverheadPerPair() {
+        List<Body> shapes = List.of(
+                body(new Circle(0.5), new VectorDouble(0, 0)),
+                body(new AxisAlignedRectangle(0.5, 0.5), new VectorDouble(0.6, 0.1)),
+                body(new RotatedRectangle(0.5, 0.5), new VectorDouble(0.3, 0.7)),
+                body(new LineSegment(new VectorDouble(-1, 0), new VectorDouble(1, 0.2)), new VectorDouble(0.2, 0.3)),
+                body(new ConvexPolygon(List.of(new VectorDouble(0, -0.5), new VectorDouble(0.5, 0), new VectorDouble(0.2, 0.5), new VectorDouble(-0.3, 0.4))), new VectorDouble(-0.4, 0.2))
+        );
+        List<Body[]> mixed = new ArrayList<>();
+        for (Body first : shapes) {
+            for (Body second : shapes) {
+                mixed.add(new Body[]{first, second});
+            }
+        }
+        Body[] lines = {shapes.get(3), shapes.get(3)};
+        List<Body[]> unsupported = IntStream.range(0, mixed.size()).mapToObj(index -> lines).toList();
+
+        double mixedNanos = nanosPerPair(mixed);
+        double unsupportedNanos = nanosPerPair(unsupported);
+        System.out.printf("Narrow phase dispatch (ns per pair) -> mixed shape pairs: %.1f, line-line pairs without a kernel: %.1f%n",
+                mixedNanos, unsupportedNanos);
+
+        assertTrue(mixedNanos > 0);
+    }
+
+    private static double nanosPerPair(List<Body[]> pairs) {
+        List<Collision> collisions = new ArrayList<>(pairs.size());
+        LongSupplier run = () -> {
+            long start = System.nanoTime();
+            for (int repeat = 0; repeat < REPEATS; repeat++) {
+                collisions.clear();
+                for (Body[] pair : pairs) {
+                    CollisionDetection.detect(0, 1, pair[0], pair[1]).ifPresent(collisions::add);
+                }
+            }
+            return System.nanoTime() - start;
+        };
+        long best = IntStream.range(0, ROUNDS).mapToLong(round -> run.getAsLong()).min().orElseThrow();
+        return (double) best / REPEATS / pairs.size();
+    }
+
+    private static Body body(Shape shape, VectorDouble position) {
+        return new Body(shape, position, ZERO, ZERO, 0.3, 0.0, 0.0, 1, 0.5, 0, false);
+    }
+}
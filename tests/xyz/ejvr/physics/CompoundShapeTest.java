@@ -0,0 +1,105 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompoundShapeTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+    private static final CompoundShape DUMBBELL = new CompoundShape(List.of(
+            new CompoundShape.Child(new Circle(1), new VectorDouble(2, 5), 0.0),
+            new CompoundShape.Child(new Circle(1), new VectorDouble(6, 5), 0.0),
+            new CompoundShape.Child(new AxisAlignedRectangle(2, 0.25), new VectorDouble(4, 5), 0.0)
+    ));
+
+    @Test
+    void combinesMassPropertiesAroundCentroid() {
+        assertEquals(new VectorDouble(4, 5), DUMBBELL.centroid());
+        assertEquals(new VectorDouble(-2, 0), DUMBBELL.children().get(0).offset());
+        assertEquals(2 * Math.PI + 2, DUMBBELL.area(), 1e-12);
+
+        double circleInertia = Math.PI * (0.5 + 4);
+        double barInertia = 2 * (16 + 0.25) / 12.0;
+        assertEquals((2 * circleInertia + barInertia) / (2 * Math.PI + 2), DUMBBELL.unitInertia(), 1e-12);
+        assertEquals(new Aabb(-3, -1, 3, 1), DUMBBELL.localBounds());
+
+        Body body = body(DUMBBELL, new VectorDouble(10, 10), Math.PI / 2);
+        Aabb bounds = body.aabb();
+        assertEquals(9, bounds.minX(), 1e-12);
+        assertEquals(13, bounds.maxY(), 1e-12);
+        assertEquals(1 / (2 * DUMBBELL.unitInertia()), new Body(DUMBBELL, ZERO, ZERO, ZERO, 0.0, 0.0, 0.0, 2, 1, 0, false).inverseInertia(), 1e-12);
+    }
+
+    @Test
+    void treeQueryCullsDistantChildren() {
+        List<CompoundShape.Child> children = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            children.add(new CompoundShape.Child(new Circle(0.5), new VectorDouble(i, 0), 0.0));
+        }
+        CompoundShape row = new CompoundShape(children);
+        List<Integer> visited = new ArrayList<>();
+
+        row.query(new Aabb(-31.6, -1, -30.4, 1), visited::add);
+
+        assertEquals(List.of(0, 1), visited.stream().sorted().toList());
+    }
+
+    @Test
+    void detectsContactWithTheTouchedChild() {
+        Body compound = body(DUMBBELL, ZERO, 0.0);
+        Body circle = body(new Circle(1), new VectorDouble(2, 1.5), 0.0);
+
+        Collision collision = CollisionDetection.detect(0, 1, compound, circle).orElseThrow();
+
+        assertEquals(0.5, collision.penetration(), 1e-9);
+        assertEquals(new VectorDouble(0, 1), collision.normal());
+        assertTrue(CollisionDetection.detect(0, 1, compound, body(new Circle(1), new VectorDouble(0, 2.2), 0.0)).isEmpty());
+
+        Collision flipped = CollisionDetection.detect(0, 1, circle, compound).orElseThrow();
+        assertEquals(0.5, flipped.penetration(), 1e-9);
+    }
+
+    @Test
+    void compoundsCollideWithEachOther() {
+        Body first = body(DUMBBELL, ZERO, 0.0);
+        Body second = body(DUMBBELL, new VectorDouble(2.75, 0), Math.PI / 2);
+
+        Collision collision = CollisionDetection.detect(0, 1, first, second).orElseThrow();
+
+        assertEquals(1.0, collision.normal().x(), 1e-9);
+        assertEquals(0.5, collision.penetration(), 1e-9);
+    }
+
+    @Test
+    void compoundBodyComesToRestOnFloor() {
+        Body falling = new Body(DUMBBELL, new VectorDouble(0, 5), ZERO, new VectorDouble(0, -9.81), 0.2, 0.0, 0.0, 1, 0.2, 0.5, false);
+        Body floor = new Body(new AxisAlignedRectangle(10, 1), ZERO, ZERO, ZERO, 0.0, 0.0, 0.0, 1, 0.2, 0.0, true);
+        World world = new World(List.of(falling, floor), List.of());
+
+        for (int step = 0; step < 400; step++) {
+            world = PhysicsEngine.step(world, 1.0 / 60.0);
+        }
+
+        assertEquals(1.0, world.bodies().get(0).aabb().minY(), 0.2);
+    }
+
+    @Test
+    void rejectsNestingAndRoundTripsThroughSnapshots() {
+        assertThrows(IllegalArgumentException.class, () -> new CompoundShape.Child(DUMBBELL, ZERO, 0.0));
+
+        World world = new World(List.of(body(DUMBBELL, new VectorDouble(1, 2), 0.5)), List.of());
+        World decoded = WorldSnapshot.decode(WorldSnapshot.encode(world)).toWorld();
+        assertEquals(world, decoded);
+        assertEquals(DUMBBELL.centroid(), ((CompoundShape) decoded.bodies().getFirst().shape()).centroid());
+    }
+
+    private static Body body(Shape shape, VectorDouble position, double orientation) {
+        return new Body(shape, position, ZERO, ZERO, orientation, 0.0, 0.0, 1, 1, 0, false);
+    }
+}
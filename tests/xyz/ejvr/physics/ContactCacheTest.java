@@ -0,0 +1,112 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContactCacheTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+    private static final double DT = 1.0 / 60.0;
+
+    @Test
+    void remembersAxesPerPair() {
+        ContactCache cache = ContactCache.create();
+        for (long pair = 0; pair < 1000; pair++) {
+            cache.remember(pair, (int) (pair % 4));
+        }
+        cache.remember(7, 0);
+
+        assertEquals(1000, cache.size());
+        assertEquals(0, cache.axis(7));
+        for (long pair = 8; pair < 1000; pair++) {
+            assertEquals((int) (pair % 4), cache.axis(pair));
+        }
+        assertEquals(-1, cache.axis(1000));
+
+        ContactCache counting = ContactCache.countingOnly();
+        counting.remember(1, 3);
+        assertEquals(-1, counting.axis(1));
+    }
+
+    @Test
+    void evictsPairsNotTestedDuringThePreviousStep() {
+        ContactCache cache = ContactCache.create();
+        for (long pair = 0; pair < 1200; pair++) {
+            cache.remember(pair, 1);
+        }
+        cache.beginStep();
+        assertEquals(1200, cache.size());
+        for (long pair = 5000; pair < 6300; pair++) {
+            cache.remember(pair, 2);
+        }
+
+        cache.beginStep();
+
+        assertEquals(1300, cache.size());
+        assertEquals(-1, cache.axis(1));
+        assertEquals(2, cache.axis(5000));
+    }
+
+    @Test
+    void cachedStepsMatchUncachedSteps() {
+        World uncached = rectanglePile(150, new Random(5));
+        World cached = uncached;
+        ContactCache cache = ContactCache.create();
+
+        for (int step = 0; step < 200; step++) {
+            uncached = PhysicsEngine.step(uncached, DT);
+            cached = PhysicsEngine.step(cached, DT, cache);
+        }
+
+        assertEquals(uncached, cached);
+        assertTrue(cache.cachedSeparations() > 0);
+    }
+
+    @Test
+    void comparesProjectionsInRotatedRectanglePile() {
+        World settled = rectanglePile(400, new Random(9));
+        for (int step = 0; step < 240; step++) {
+            settled = PhysicsEngine.step(settled, DT);
+        }
+        int steps = 120;
+
+        ContactCache counting = ContactCache.countingOnly();
+        ContactCache coherent = ContactCache.create();
+        double countingMillis = timeSteps(settled, counting, steps);
+        double coherentMillis = timeSteps(settled, coherent, steps);
+
+        double countingPerStep = (double) counting.projections() / steps;
+        double coherentPerStep = (double) coherent.projections() / steps;
+        System.out.printf("400 rotated rectangles in a pile, SAT projections per step -> without cache: %.0f, with cache: %.0f "
+                        + "(%d cached separations); ms per step: %.3f vs %.3f%n",
+                countingPerStep, coherentPerStep, coherent.cachedSeparations(), countingMillis, coherentMillis);
+
+        assertTrue(coherentPerStep < countingPerStep);
+    }
+
+    private static double timeSteps(World world, ContactCache cache, int steps) {
+        World current = world;
+        long start = System.nanoTime();
+        for (int step = 0; step < steps; step++) {
+            current = PhysicsEngine.step(current, DT, cache);
+        }
+        return (System.nanoTime() - start) / (double) steps / 1_000_000.0;
+    }
+
+    private static World rectanglePile(int count, Random random) {
+        List<Body> bodies = new ArrayList<>();
+        int columns = (int) Math.sqrt(count);
+        for (int i = 0; i < count; i++) {
+            VectorDouble position = new VectorDouble(5 + (i % columns) * 1.5 + random.nextDouble() * 0.2, 2 + (i / columns) * 1.5);
+            bodies.add(new Body(new RotatedRectangle(0.6, 0.35), position, ZERO, new VectorDouble(0, -9.81),
+                    random.nextDouble() * Math.PI, 0.0, 0.0, 1, 0.1, 0.05, false));
+        }
+        return new World(bodies, List.of(new Boundary(0, 0, 10 + columns * 1.5, 200)));
+    }
+}
@@ -0,0 +1,131 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConvexPolygonTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+    private static final ConvexPolygon SQUARE = new ConvexPolygon(List.of(
+            new VectorDouble(2, 2), new VectorDouble(4, 2), new VectorDouble(4, 4), new VectorDouble(2, 4)
+    ));
+
+    @Test
+    void precomputesMassPropertiesAroundCentroid() {
+        assertEquals(new VectorDouble(3, 3), SQUARE.centroid());
+        assertEquals(new VectorDouble(-1, -1), SQUARE.vertex(0));
+        assertEquals(4, SQUARE.area(), 1e-12);
+        assertEquals(Math.sqrt(2), SQUARE.boundingRadius(), 1e-12);
+        assertEquals((4 + 4) / 12.0, SQUARE.unitInertia(), 1e-12);
+        assertEquals(new VectorDouble(0, -1), SQUARE.normal(0));
+
+        Body polygon = body(SQUARE, ZERO, 0.3);
+        Body rectangle = body(new RotatedRectangle(1, 1), ZERO, 0.3);
+        assertEquals(rectangle.inverseInertia(), polygon.inverseInertia(), 1e-12);
+        assertEquals(rectangle.aabb().minX(), polygon.aabb().minX(), 1e-12);
+        assertEquals(rectangle.aabb().maxY(), polygon.aabb().maxY(), 1e-12);
+    }
+
+    @Test
+    void acceptsClockwiseAndRejectsConcaveOutlines() {
+        ConvexPolygon clockwise = new ConvexPolygon(List.of(
+                new VectorDouble(2, 4), new VectorDouble(4, 4), new VectorDouble(4, 2), new VectorDouble(2, 2)
+        ));
+        assertEquals(4, clockwise.area(), 1e-12);
+
+        assertThrows(IllegalArgumentException.class, () -> new ConvexPolygon(List.of(
+                new VectorDouble(0, 0), new VectorDouble(4, 0), new VectorDouble(1, 1), new VectorDouble(0, 4)
+        )));
+        assertThrows(IllegalArgumentException.class, () -> new ConvexPolygon(List.of(new VectorDouble(0, 0), new VectorDouble(1, 0))));
+    }
+
+    @Test
+    void polygonAgainstRectangleUsesClippedIncidentEdge() {
+        Body polygon = body(SQUARE, ZERO, 0.0);
+        Body rectangle = body(new AxisAlignedRectangle(1, 1), new VectorDouble(1.5, 0.25), 0.0);
+
+        Collision collision = CollisionDetection.detect(0, 1, polygon, rectangle).orElseThrow();
+
+        assertEquals(0.5, collision.penetration(), 1e-9);
+        assertEquals(new VectorDouble(1, 0), collision.normal());
+        assertEquals(0.5, collision.contactPoint().x(), 1e-9);
+        assertEquals(0.125, collision.contactPoint().y(), 1e-9);
+
+        Collision flipped = CollisionDetection.detect(0, 1, rectangle, polygon).orElseThrow();
+        assertEquals(new VectorDouble(-1, 0), flipped.normal());
+        assertEquals(0.5, flipped.penetration(), 1e-9);
+    }
+
+    @Test
+    void separatedPolygonsDoNotCollide() {
+        Body first = body(SQUARE, ZERO, 0.0);
+        Body second = body(SQUARE, new VectorDouble(2.5, 0), Math.PI / 4);
+
+        assertTrue(CollisionDetection.detect(0, 1, first, second).isEmpty());
+        assertTrue(CollisionDetection.detect(0, 1, first, body(SQUARE, new VectorDouble(2.3, 0), Math.PI / 4)).isPresent());
+    }
+
+    @Test
+    void polygonAgainstCircleAndLine() {
+        Body polygon = body(SQUARE, ZERO, 0.0);
+
+        Collision circle = CollisionDetection.detect(0, 1, polygon, body(new Circle(0.5), new VectorDouble(0, 1.25), 0.0)).orElseThrow();
+        assertEquals(new VectorDouble(0, 1), circle.normal());
+        assertEquals(0.25, circle.penetration(), 1e-9);
+
+        Collision corner = CollisionDetection.detect(0, 1, body(new Circle(0.5), new VectorDouble(1.25, 1.25), 0.0), polygon).orElseThrow();
+        assertEquals(-Math.sqrt(0.5), corner.normal().x(), 1e-9);
+        assertEquals(new VectorDouble(1, 1), corner.contactPoint());
+
+        Body line = body(new LineSegment(new VectorDouble(-5, 0), new VectorDouble(5, 0)), new VectorDouble(0, -0.9), 0.0);
+        Optional<Collision> lineCollision = CollisionDetection.detect(0, 1, line, polygon);
+        assertTrue(lineCollision.isPresent());
+        assertEquals(0.1, lineCollision.get().penetration(), 1e-9);
+        assertEquals(1.0, Math.abs(lineCollision.get().normal().y()), 1e-9);
+    }
+
+    @Test
+    void polygonComesToRestOnFloor() {
+        ConvexPolygon triangle = new ConvexPolygon(List.of(new VectorDouble(-1, 0), new VectorDouble(1, 0), new VectorDouble(0, 1.5)));
+        Body falling = new Body(triangle, new VectorDouble(0, 5), ZERO, new VectorDouble(0, -9.81), 0.0, 0.0, 0.0, 1, 0.2, 0.5, false);
+        Body floor = new Body(new AxisAlignedRectangle(10, 1), new VectorDouble(0, 0), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 0.2, 0.0, true);
+        World world = new World(List.of(falling, floor), List.of());
+
+        for (int step = 0; step < 300; step++) {
+            world = PhysicsEngine.step(world, 1.0 / 60.0);
+        }
+
+        Body rested = world.bodies().get(0);
+        assertEquals(1.0, rested.aabb().minY(), 0.1);
+    }
+
+    @Test
+    void snapshotRoundTripsPolygons() {
+        World world = new World(List.of(body(SQUARE, new VectorDouble(1, 2), 0.5)), List.of());
+
+        assertEquals(world, WorldSnapshot.decode(WorldSnapshot.encode(world)).toWorld());
+    }
+
+    @Test
+    void equalityIncludesCentroid() {
+        ConvexPolygon moved = new ConvexPolygon(List.of(
+                new VectorDouble(0, 0), new VectorDouble(2, 0), new VectorDouble(2, 2), new VectorDouble(0, 2)));
+        ConvexPolygon same = new ConvexPolygon(List.of(
+                new VectorDouble(2, 2), new VectorDouble(4, 2), new VectorDouble(4, 4), new VectorDouble(2, 4)));
+
+        assertNotEquals(SQUARE, moved);
+        assertEquals(SQUARE, same);
+        assertEquals(SQUARE.hashCode(), same.hashCode());
+    }
+
+    private static Body body(Shape shape, VectorDouble position, double orientation) {
+        return new Body(shape, position, ZERO, ZERO, orientation, 0.0, 0.0, 1, 1, 0, false);
+    }
+}
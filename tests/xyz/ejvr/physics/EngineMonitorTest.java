@@ -0,0 +1,174 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.Attribute;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EngineMonitorTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+    private static final double DT = 1.0 / 60.0;
+
+    @AfterEach
+    void unpublish() {
+        EngineMonitor.unpublish();
+        EngineTuning.reset();
+    }
+
+    @Test
+    void recordsNothingUntilPublished() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertFalse(server.isRegistered(new ObjectName(EngineMonitor.OBJECT_NAME)));
+
+        PhysicsEngine.step(stack(), DT);
+        EngineMonitor.publish();
+
+        assertTrue(server.isRegistered(new ObjectName(EngineMonitor.OBJECT_NAME)));
+        assertEquals(0L, server.getAttribute(new ObjectName(EngineMonitor.OBJECT_NAME), "StepCount"));
+    }
+
+    @Test
+    void publishedMonitorReportsSteps() throws Exception {
+        ObjectName name = EngineMonitor.publish();
+        World world = stack();
+        int stepCount = 20;
+        World stepped = world;
+        for (int step = 0; step < stepCount - 5; step++) {
+            stepped = PhysicsEngine.step(stepped, DT);
+        }
+        PhysicsEngine.stepN(stepped, DT, 5);
+
+        EngineMonitorMXBean monitor = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(), name, EngineMonitorMXBean.class);
+        assertEquals(stepCount, monitor.getStepCount());
+        assertEquals(world.bodies().size(), monitor.getBodyCount());
+        assertTrue(monitor.getPairsPerStep() >= monitor.getCollisionsPerStep());
+        assertTrue(monitor.getCollisionsPerStep() > 0);
+        assertTrue(monitor.getMeanStepMillis() > 0);
+        assertTrue(monitor.getP99StepMillis() <= monitor.getMaxStepMillis());
+        assertTrue(monitor.getStepsPerSecond() > 0);
+
+        monitor.reset();
+        assertEquals(0, monitor.getStepCount());
+        assertEquals(0, monitor.getPairsPerStep());
+    }
+
+    @Test
+    void pairsAreCountedOncePerStep() {
+        World world = circles(300, new Random(6));
+        EngineMonitor.publish();
+        PhysicsEngine.step(world, DT);
+        double pairsPerStep = EngineMonitor.instance().getPairsPerStep();
+
+        CollisionDetection.detectAll(world.bodies());
+        CollisionDetection.detectAllBatched(world.bodies());
+        assertEquals(1, EngineMonitor.instance().getStepCount());
+        assertEquals(pairsPerStep, EngineMonitor.instance().getPairsPerStep());
+
+        VectorizedPhysicsEngine.step(world, DT);
+        assertEquals(2, EngineMonitor.instance().getStepCount());
+        assertTrue(EngineMonitor.instance().getPairsPerStep() > 0);
+        assertTrue(EngineMonitor.instance().getPairsPerStep() <= pairsPerStep, "the batched broad phase hands over no more pairs");
+    }
+
+    @Test
+    void tuningAttributesLeaveResultsUnchanged() throws Exception {
+        World circles = circles(400, new Random(3));
+        World gravity = new World(circles(5000, new Random(4)).bodies(), List.of()).withForceFields(List.of(new MutualGravity(1, 0.1)));
+        World expectedCircles = PhysicsEngine.stepN(circles, DT, 5);
+        World expectedGravity = PhysicsEngine.step(gravity, DT);
+
+        ObjectName name = EngineMonitor.publish();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.setAttribute(name, new Attribute("BatchedBroadPhase", true));
+        server.setAttribute(name, new Attribute("Parallelism", 2));
+        server.setAttribute(name, new Attribute("ForceChunkSize", 300));
+        server.setAttribute(name, new Attribute("ForceParallelThreshold", 0));
+
+        assertTrue(EngineTuning.batchedBroadPhase());
+        assertEquals(2, server.getAttribute(name, "Parallelism"));
+        assertEquals(expectedCircles, PhysicsEngine.stepN(circles, DT, 5));
+        assertEquals(expectedGravity, PhysicsEngine.step(gravity, DT));
+        assertTrue(EngineMonitor.instance().getPairsPerStep() > 0, "the batched broad phase counts pairs too");
+    }
+
+    @Test
+    void histogramQuantilesStayWithinBucketResolution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        assertEquals(100_000, histogram.count());
+        assertEquals(50_000_500, histogram.mean(), 1e-6);
+        assertEquals(100_000_000, histogram.max());
+        assertEquals(99_000_000, histogram.valueAtQuantile(0.99), 99_000_000 / 64.0);
+        assertEquals(50_000_000, histogram.valueAtQuantile(0.5), 50_000_000 / 64.0);
+        for (long value : new long[]{0, 1, 127, 128, 129, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucket(value);
+            assertTrue(LatencyHistogram.highestValue(bucket) >= value);
+            assertTrue(bucket == 0 || LatencyHistogram.highestValue(bucket - 1) < value);
+        }
+    }
+
+    @Test
+    void measuresRecordingOverhead() {
+        World world = circles(600, new Random(5));
+        PhysicsEngine.stepN(world, DT, 20);
+
+        int steps = 60;
+        long start = System.nanoTime();
+        PhysicsEngine.stepN(world, DT, steps);
+        double silentMillis = (System.nanoTime() - start) / 1_000_000.0 / steps;
+        EngineMonitor.publish();
+        start = System.nanoTime();
+        PhysicsEngine.stepN(world, DT, steps);
+        double recordingMillis = (System.nanoTime() - start) / 1_000_000.0 / steps;
+
+        System.out.printf("%d circles, ms per step -> unpublished: %.3f, recording: %.3f (monitor p99 %.3f ms)%n",
+                world.bodies().size(), silentMillis, recordingMillis, EngineMonitor.instance().getP99StepMillis());
+
+        assertEquals(steps, EngineMonitor.instance().getStepCount());
+    }
+
+    @Test
+    void rejectsInvalidTuning() {
+        EngineMonitor monitor = EngineMonitor.instance();
+        assertThrows(IllegalArgumentException.class, () -> monitor.setForceChunkSize(0));
+        assertThrows(IllegalArgumentException.class, () -> monitor.setForceParallelThreshold(-1));
+        assertThrows(IllegalArgumentException.class, () -> monitor.setParallelism(-2));
+        assertEquals(EngineTuning.DEFAULT_FORCE_CHUNK_SIZE, monitor.getForceChunkSize());
+    }
+
+    private static World stack() {
+        List<Body> bodies = new ArrayList<>();
+        bodies.add(new Body(new RotatedRectangle(10, 0.5), new VectorDouble(0, 0), ZERO, ZERO, 0, 0, 0, 1, 0, 0, true));
+        for (int i = 0; i < 6; i++) {
+            bodies.add(new Body(new RotatedRectangle(0.5, 0.5), new VectorDouble(0, 0.99 + i * 0.99), ZERO, new VectorDouble(0, -9.81),
+                    0, 0, 0, 1, 0, 0, false));
+        }
+        return new World(bodies, List.of());
+    }
+
+    private static World circles(int count, Random random) {
+        List<Body> bodies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            VectorDouble position = new VectorDouble(random.nextDouble() * 40, random.nextDouble() * 40);
+            VectorDouble velocity = new VectorDouble(random.nextDouble() - 0.5, random.nextDouble() - 0.5);
+            bodies.add(new Body(new Circle(0.5), position, velocity, ZERO, 0, 0, 0, 1, 0.5, 0, false));
+        }
+        return new World(bodies, List.of(new Boundary(0, 0, 40, 40)));
+    }
+}
@@ -0,0 +1,126 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FloatPhysicsEngineTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+    private static final Boundary BOUNDARY = new Boundary(0, 0, 400, 400);
+
+    @Test
+    void ballisticMotionStaysCloseToDoubleEngine() {
+        Random random = new Random(11);
+        List<Body> bodies = IntStream.range(0, 50)
+                .mapToObj(index -> new Body(
+                        new Circle(1),
+                        new VectorDouble(20 + index * 7, 20 + random.nextDouble() * 360),
+                        new VectorDouble(0, random.nextDouble() * 60 - 30),
+                        new VectorDouble(0, -9.81),
+                        0.0,
+                        0.5,
+                        0.0,
+                        1,
+                        0.9,
+                        0.01,
+                        false
+                ))
+                .toList();
+
+        double drift = maximumPositionDrift(new World(bodies, List.of(BOUNDARY)), 600);
+
+        assertTrue(drift < 1e-2, "Float engine drifted " + drift + " from double engine");
+    }
+
+    @Test
+    void collidingCirclesAndRectanglesStayCloseToDoubleEngine() {
+        Random random = new Random(12);
+        List<Body> bodies = IntStream.range(0, 120)
+                .mapToObj(index -> new Body(
+                        index % 3 == 0 ? new RotatedRectangle(3, 2) : new Circle(3),
+                        new VectorDouble(10 + (index % 12) * 32 + random.nextDouble(), 10 + (index / 12) * 38 + random.nextDouble()),
+                        new VectorDouble(random.nextDouble() * 40 - 20, random.nextDouble() * 40 - 20),
+                        ZERO,
+                        random.nextDouble(),
+                        0.0,
+                        0.0,
+                        1,
+                        0.8,
+                        0.0,
+                        false
+                ))
+                .toList();
+
+        double drift = maximumPositionDrift(new World(bodies, List.of(BOUNDARY)), 60);
+
+        assertTrue(drift < 1e-2, "Float engine drifted " + drift + " from double engine");
+    }
+
+    @Test
+    void resolvesHeadOnCollisionLikeDoubleEngine() {
+        Body first = new Body(new Circle(1), new VectorDouble(0, 0), new VectorDouble(1, 0), ZERO, 0.0, 0.0, 0.0, 1, 1, 0.0, false);
+        Body second = new Body(new Circle(1), new VectorDouble(1.5, 0), new VectorDouble(-1, 0), ZERO, 0.0, 0.0, 0.0, 1, 1, 0.0, false);
+        FloatWorld world = FloatWorld.of(new World(List.of(first, second), List.of()));
+
+        FloatPhysicsEngine.step(world, 0.0f);
+
+        assertEquals(-1.0f, world.velocityX(0), 1e-6f);
+        assertEquals(1.0f, world.velocityX(1), 1e-6f);
+        assertEquals(-0.25f, world.positionX(0), 1e-6f);
+        assertEquals(1.75f, world.positionX(1), 1e-6f);
+    }
+
+    @Test
+    void circleRestsOnRectangleFloor() {
+        Body ball = new Body(new Circle(1), new VectorDouble(0, 5), ZERO, new VectorDouble(0, -9.81), 0.0, 0.0, 0.0, 1, 0.3, 0.0, false);
+        Body floor = new Body(new AxisAlignedRectangle(10, 1), new VectorDouble(0, 0), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 0.3, 0.0, true);
+        FloatWorld world = FloatWorld.of(new World(List.of(ball, floor), List.of()));
+
+        for (int step = 0; step < 300; step++) {
+            FloatPhysicsEngine.step(world, 1.0f / 60.0f);
+        }
+
+        assertEquals(2.0f, world.positionY(0), 0.05f);
+    }
+
+    @Test
+    void offCentreHitSpinsPlankWithoutAddingEnergy() {
+        World initial = ImpactScenes.offCentreHit();
+        FloatWorld world = FloatWorld.of(initial);
+
+        FloatPhysicsEngine.step(world, 1.0f / 60.0f);
+
+        World hit = world.toWorld();
+        assertTrue(hit.bodies().getFirst().angularVelocity() < 0, "a hit on the right end from above should turn the plank clockwise");
+        assertTrue(ImpactScenes.kineticEnergy(hit) <= ImpactScenes.kineticEnergy(initial));
+    }
+
+    @Test
+    void rejectsLineSegments() {
+        Body line = new Body(new LineSegment(new VectorDouble(-1, 0), new VectorDouble(1, 0)), ZERO, ZERO, ZERO, 0.0, 0.0, 0.0, 1, 1, 0, true);
+
+        assertThrows(IllegalArgumentException.class, () -> FloatWorld.of(new World(List.of(line), List.of())));
+    }
+
+    private static double maximumPositionDrift(World initial, int steps) {
+        World reference = initial;
+        FloatWorld floatWorld = FloatWorld.of(initial);
+        double drift = 0;
+        for (int step = 0; step < steps; step++) {
+            reference = PhysicsEngine.step(reference, 1.0 / 60.0);
+            FloatPhysicsEngine.step(floatWorld, 1.0f / 60.0f);
+            for (int i = 0; i < floatWorld.size(); i++) {
+                VectorDouble expected = reference.bodies().get(i).position();
+                drift = Math.max(drift, Math.hypot(expected.x() - floatWorld.positionX(i), expected.y() - floatWorld.positionY(i)));
+            }
+        }
+        return drift;
+    }
+}
@@ -0,0 +1,182 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ForceFieldTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+    private static final double DT = 1.0 / 60.0;
+
+    @Test
+    void uniformGravityAcceleratesOnlyMovableBodies() {
+        World world = new World(List.of(
+                body(new VectorDouble(0, 0), 1, false),
+                body(new VectorDouble(5, 0), 1, true)), List.of())
+                .withForceFields(List.of(new UniformGravity(new VectorDouble(0, -9.81))));
+
+        World stepped = PhysicsEngine.step(world, DT);
+
+        assertEquals(-9.81 * DT, stepped.bodies().get(0).velocity().y(), 1e-12);
+        assertEquals(ZERO, stepped.bodies().get(0).acceleration(), "field acceleration is not stored in the body");
+        assertEquals(world.bodies().get(1), stepped.bodies().get(1));
+        assertEquals(world.forceFields(), stepped.forceFields());
+    }
+
+    @Test
+    void pointAttractorPullsWithInverseSquare() {
+        List<Body> bodies = List.of(body(new VectorDouble(3, 0), 1, false), body(new VectorDouble(0, -2), 1, false));
+        ForceFields fields = ForceFields.evaluate(List.of(new PointAttractor(ZERO, 18, 0)), bodies);
+
+        assertEquals(new VectorDouble(-2, 0), fields.acceleration(0, bodies.get(0)));
+        assertEquals(new VectorDouble(0, 4.5), fields.acceleration(1, bodies.get(1)));
+
+        ForceFields repelling = ForceFields.evaluate(List.of(new PointAttractor(ZERO, -18, 0)), bodies);
+        assertEquals(new VectorDouble(2, 0), repelling.acceleration(0, bodies.get(0)));
+    }
+
+    @Test
+    void barnesHutWithZeroOpeningAngleMatchesDirectSum() {
+        List<Body> bodies = cluster(600, new Random(3));
+        ForceFields exact = ForceFields.evaluate(List.of(new MutualGravity(2, 0.01, 0)), bodies);
+        double[][] direct = directSum(bodies, 2, 0.01);
+
+        for (int i = 0; i < bodies.size(); i++) {
+            VectorDouble acceleration = exact.acceleration(i, bodies.get(i));
+            double scale = Math.hypot(direct[0][i], direct[1][i]);
+            assertEquals(direct[0][i], acceleration.x(), 1e-9 * scale);
+            assertEquals(direct[1][i], acceleration.y(), 1e-9 * scale);
+        }
+    }
+
+    @Test
+    void barnesHutApproximationStaysClose() {
+        List<Body> bodies = cluster(4000, new Random(11));
+        ForceFields approximate = ForceFields.evaluate(List.of(new MutualGravity(1, 0.01)), bodies);
+        double[][] direct = directSum(bodies, 1, 0.01);
+
+        double totalError = 0;
+        for (int i = 0; i < bodies.size(); i++) {
+            VectorDouble acceleration = approximate.acceleration(i, bodies.get(i));
+            totalError += Math.hypot(acceleration.x() - direct[0][i], acceleration.y() - direct[1][i])
+                    / Math.hypot(direct[0][i], direct[1][i]);
+        }
+        double meanError = totalError / bodies.size();
+
+        assertTrue(meanError < 0.01, "mean relative error " + meanError);
+    }
+
+    @Test
+    void comparesBarnesHutWithDirectSum() {
+        List<Body> bodies = cluster(16_000, new Random(7));
+        List<ForceField> gravity = List.of(new MutualGravity(1, 0.01));
+        ForceFields.evaluate(gravity, bodies);
+        directSum(bodies.subList(0, 2000), 1, 0.01);
+
+        long start = System.nanoTime();
+        double[][] direct = directSum(bodies, 1, 0.01);
+        double directMillis = (System.nanoTime() - start) / 1_000_000.0;
+        start = System.nanoTime();
+        ForceFields approximate = ForceFields.evaluate(gravity, bodies);
+        double treeMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        System.out.printf("Mutual gravity, %d bodies -> direct sum %.1f ms, Barnes-Hut (opening angle %.1f) %.1f ms on %d cores%n",
+                bodies.size(), directMillis, MutualGravity.DEFAULT_OPENING_ANGLE, treeMillis, Runtime.getRuntime().availableProcessors());
+
+        double totalError = 0;
+        for (int i = 0; i < bodies.size(); i++) {
+            VectorDouble acceleration = approximate.acceleration(i, bodies.get(i));
+            totalError += Math.hypot(acceleration.x() - direct[0][i], acceleration.y() - direct[1][i])
+                    / Math.hypot(direct[0][i], direct[1][i]);
+        }
+        double meanError = totalError / bodies.size();
+        assertTrue(meanError < 0.02, "mean relative error " + meanError);
+    }
+
+    @Test
+    void mutualGravityConservesMomentumOfPair() {
+        World world = new World(List.of(
+                body(new VectorDouble(-1, 0), 1, false),
+                body(new VectorDouble(2, 0), 3, false)), List.of())
+                .withForceFields(List.of(new MutualGravity(9, 0)));
+
+        World stepped = PhysicsEngine.step(world, DT);
+        Body light = stepped.bodies().get(0);
+        Body heavy = stepped.bodies().get(1);
+
+        assertEquals(3 * DT, light.velocity().x(), 1e-12);
+        assertEquals(0, light.mass() * light.velocity().x() + heavy.mass() * heavy.velocity().x(), 1e-12);
+    }
+
+    @Test
+    void forceFieldsSurviveSnapshotsAndMatchAcrossEngines() {
+        List<Body> bodies = new ArrayList<>(cluster(40, new Random(5)));
+        bodies.add(body(new VectorDouble(0, -30), 1, true));
+        World world = new World(bodies, List.of(new Boundary(-50, -50, 50, 50))).withForceFields(List.of(
+                new UniformGravity(new VectorDouble(0, -1)),
+                new PointAttractor(new VectorDouble(10, 10), 5, 0.5),
+                new MutualGravity(0.5, 0.1, 0.3)));
+
+        assertEquals(world, WorldSnapshot.decode(WorldSnapshot.encode(world)).toWorld());
+
+        World scalar = world;
+        World vectorized = world;
+        for (int step = 0; step < 30; step++) {
+            scalar = PhysicsEngine.step(scalar, DT);
+            vectorized = VectorizedPhysicsEngine.step(vectorized, DT);
+        }
+        assertEquals(scalar, vectorized);
+        assertEquals(scalar, PhysicsEngine.stepN(world, DT, 30));
+    }
+
+    @Test
+    void rejectsInvalidFields() {
+        assertThrows(IllegalArgumentException.class, () -> new PointAttractor(ZERO, Double.NaN, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PointAttractor(ZERO, 1, -1));
+        assertThrows(IllegalArgumentException.class, () -> new MutualGravity(1, 0, -0.5));
+        assertThrows(IllegalArgumentException.class, () -> new MutualGravity(Double.POSITIVE_INFINITY, 0));
+        assertThrows(NullPointerException.class, () -> new UniformGravity(null));
+        World world = new World(List.of(), List.of()).withForceFields(List.of(new MutualGravity(1, 0)));
+        assertThrows(IllegalArgumentException.class, () -> FloatWorld.of(world));
+    }
+
+    private static double[][] directSum(List<Body> bodies, double gravitationalConstant, double softening) {
+        double[][] acceleration = new double[2][bodies.size()];
+        for (int i = 0; i < bodies.size(); i++) {
+            VectorDouble position = bodies.get(i).position();
+            for (int j = 0; j < bodies.size(); j++) {
+                if (i == j) {
+                    continue;
+                }
+                double deltaX = bodies.get(j).position().x() - position.x();
+                double deltaY = bodies.get(j).position().y() - position.y();
+                double distanceSquared = deltaX * deltaX + deltaY * deltaY + softening * softening;
+                double factor = gravitationalConstant * bodies.get(j).mass() / (distanceSquared * Math.sqrt(distanceSquared));
+                acceleration[0][i] += factor * deltaX;
+                acceleration[1][i] += factor * deltaY;
+            }
+        }
+        return acceleration;
+    }
+
+    private static List<Body> cluster(int count, Random random) {
+        List<Body> bodies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double radius = 20 * Math.sqrt(random.nextDouble());
+            double angle = random.nextDouble() * 2 * Math.PI;
+            bodies.add(body(new VectorDouble(radius * Math.cos(angle), radius * Math.sin(angle)), 0.5 + random.nextDouble(), false));
+        }
+        return bodies;
+    }
+
+    private static Body body(VectorDouble position, double mass, boolean immovable) {
+        return new Body(new Circle(0.1), position, ZERO, ZERO, 0, 0, 0, mass, 0, 0, immovable);
+    }
+}
@@ -0,0 +1,38 @@
+package xyz.ejvr.physics;
+
+import java.util.List;
+
+/**
+ * Scenes and measurements shared by the tests that check contact resolution in each engine.
+ */
+final class ImpactScenes {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+
+    private ImpactScenes() {
+    }
+
+    /**
+     * A free plank at rest and a ball about to strike its right end from above, so the hit must turn the plank
+     * clockwise.
+     */
+    static World offCentreHit() {
+        Body plank = new Body(new RotatedRectangle(2, 0.25), new VectorDouble(0, 0), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 0.5, 0.0, false);
+        Body ball = new Body(new Circle(0.5), new VectorDouble(1.5, 0.8), new VectorDouble(0, -4), ZERO, 0.0, 0.0, 0.0, 1, 0.5, 0.0, false);
+        return new World(List.of(plank, ball), List.of());
+    }
+
+    static double kineticEnergy(World world) {
+        double energy = 0;
+        for (Body body : world.bodies()) {
+            energy += kineticEnergy(body);
+        }
+        return energy;
+    }
+
+    static double kineticEnergy(Body body) {
+        double inverseInertia = body.inverseInertia();
+        double rotational = inverseInertia == 0 ? 0 : body.angularVelocity() * body.angularVelocity() / inverseInertia;
+        return 0.5 * (body.mass() * body.velocity().radiusSquared() + rotational);
+    }
+}
@@ -0,0 +1,198 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JointTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+    private static final VectorDouble GRAVITY = new VectorDouble(0, -9.81);
+    private static final double DT = 1.0 / 60.0;
+    private static final Boundary LARGE = new Boundary(-10_000, -10_000, 10_000, 10_000);
+
+    @Test
+    void longChainHangsWithoutExploding() {
+        int links = 1000;
+        double linkLength = 0.25;
+        List<Body> bodies = new ArrayList<>();
+        List<Joint> joints = new ArrayList<>();
+        bodies.add(body(new Circle(0.1), new VectorDouble(0, 0), ZERO, true));
+        for (int i = 0; i < links; i++) {
+            bodies.add(new Body(new RotatedRectangle(linkLength, 0.05), new VectorDouble(0, -(i + 0.5) * linkLength), ZERO, GRAVITY,
+                    Math.PI / 2, 0, 0, 1, 0, 0, false));
+            joints.add(RevoluteJoint.at(bodies, i, i + 1, new VectorDouble(0, -i * linkLength), JointSoftness.RIGID));
+        }
+        World world = new World(bodies, List.of(LARGE)).withJoints(joints);
+
+        int steps = 600;
+        long start = System.nanoTime();
+        for (int step = 0; step < steps; step++) {
+            world = PhysicsEngine.step(world, DT);
+        }
+        double millisPerStep = (System.nanoTime() - start) / (double) steps / 1_000_000.0;
+
+        double worstGap = 0;
+        double fastest = 0;
+        for (Joint joint : joints) {
+            worstGap = Math.max(worstGap, anchorGap(world, joint));
+        }
+        for (Body body : world.bodies()) {
+            assertTrue(Double.isFinite(body.position().x()) && Double.isFinite(body.position().y()));
+            fastest = Math.max(fastest, body.velocity().radius());
+        }
+        Body end = world.bodies().get(links);
+        System.out.printf("%d-link revolute chain after %d steps at 60 Hz -> worst anchor gap %.4f, end depth %.1f of %.1f, "
+                + "fastest link %.2f m/s, %.3f ms per step%n", links, steps, worstGap, -end.position().y(), links * linkLength, fastest, millisPerStep);
+
+        assertTrue(worstGap < linkLength, "links must stay connected");
+        assertTrue(-end.position().y() < links * linkLength * 1.5, "chain must not stretch without bound");
+        assertTrue(fastest < 50, "chain must not gain energy");
+    }
+
+    @Test
+    void distanceJointKeepsPendulumLength() {
+        List<Body> bodies = List.of(
+                body(new Circle(0.1), new VectorDouble(0, 10), ZERO, true),
+                body(new Circle(0.2), new VectorDouble(3, 10), GRAVITY, false));
+        DistanceJoint rope = DistanceJoint.between(bodies, 0, 1, new VectorDouble(0, 10), new VectorDouble(3, 10), JointSoftness.RIGID);
+        World world = new World(bodies, List.of(LARGE)).withJoints(List.of(rope));
+        assertEquals(3, rope.length(), 1e-12);
+
+        double lowest = 10;
+        for (int step = 0; step < 300; step++) {
+            world = PhysicsEngine.step(world, DT);
+            Body bob = world.bodies().get(1);
+            lowest = Math.min(lowest, bob.position().y());
+            assertEquals(3, bob.position().distanceBetween(new VectorDouble(0, 10)), 0.05);
+        }
+        assertEquals(7, lowest, 0.05);
+    }
+
+    @Test
+    void softDistanceJointActsAsDampedSpring() {
+        List<Body> bodies = List.of(
+                body(new Circle(0.1), new VectorDouble(0, 0), ZERO, true),
+                body(new Circle(0.2), new VectorDouble(0, -1), GRAVITY, false));
+        World world = new World(bodies, List.of(LARGE))
+                .withJoints(List.of(new DistanceJoint(0, 1, ZERO, ZERO, 1, new JointSoftness(1, 0.5))));
+
+        double lowest = 0;
+        for (int step = 0; step < 600; step++) {
+            world = PhysicsEngine.step(world, DT);
+            lowest = Math.min(lowest, world.bodies().get(1).position().y());
+        }
+        double rest = world.bodies().get(1).position().y();
+
+        assertTrue(lowest < rest - 0.01, "spring overshoots before settling");
+        // A 1 Hz spring on a unit mass has stiffness (2 pi)^2, so gravity stretches it by g / (2 pi)^2.
+        assertEquals(-1 - 9.81 / Math.pow(2 * Math.PI, 2), rest, 0.02);
+    }
+
+    @Test
+    void weldJointHoldsRelativePose() {
+        List<Body> bodies = List.of(
+                body(new RotatedRectangle(1, 1), new VectorDouble(0, 0), ZERO, true),
+                body(new RotatedRectangle(2, 0.2), new VectorDouble(1.5, 0), GRAVITY, false));
+        World world = new World(bodies, List.of(LARGE))
+                .withJoints(List.of(WeldJoint.at(bodies, 0, 1, new VectorDouble(0.5, 0), JointSoftness.RIGID)));
+
+        for (int step = 0; step < 300; step++) {
+            world = PhysicsEngine.step(world, DT);
+        }
+        Body beam = world.bodies().get(1);
+
+        assertEquals(1.5, beam.position().x(), 0.01);
+        assertEquals(0, beam.position().y(), 0.02);
+        assertEquals(0, beam.orientation(), 0.02);
+    }
+
+    @Test
+    void prismaticJointSlidesAlongItsAxisOnly() {
+        List<Body> bodies = List.of(
+                body(new RotatedRectangle(0.5, 0.5), new VectorDouble(0, 0), ZERO, true),
+                new Body(new RotatedRectangle(0.5, 0.5), new VectorDouble(2, 2), new VectorDouble(1, 0), GRAVITY,
+                        0, 0, 0, 1, 0, 0, false));
+        World world = new World(bodies, List.of(LARGE)).withJoints(List.of(
+                PrismaticJoint.along(bodies, 0, 1, new VectorDouble(2, 2), new VectorDouble(1, 1), JointSoftness.RIGID)));
+
+        for (int step = 0; step < 120; step++) {
+            world = PhysicsEngine.step(world, DT);
+            Body slider = world.bodies().get(1);
+            assertEquals(slider.position().x(), slider.position().y(), 0.02);
+            assertEquals(0, slider.orientation(), 0.01);
+        }
+        assertTrue(world.bodies().get(1).position().x() < 0, "gravity pulls the slider down the diagonal");
+    }
+
+    @Test
+    void jointedBodiesOnlyCollideWhenAllowed() {
+        List<Body> bodies = List.of(
+                body(new Circle(0.5), new VectorDouble(0, 0), ZERO, false),
+                body(new Circle(0.5), new VectorDouble(0.6, 0), ZERO, false));
+        World world = new World(bodies, List.of(LARGE));
+        VectorDouble pivot = new VectorDouble(0.3, 0);
+        RevoluteJoint joint = RevoluteJoint.at(bodies, 0, 1, pivot, JointSoftness.RIGID);
+
+        StepResult apart = PhysicsEngine.step(StepResult.of(world.withJoints(List.of(joint))), DT);
+        StepResult touching = PhysicsEngine.step(StepResult.of(world.withJoints(List.of(
+                new RevoluteJoint(0, 1, joint.firstAnchor(), joint.secondAnchor(), JointSoftness.RIGID, true)))), DT);
+
+        assertTrue(apart.collisions().isEmpty());
+        assertEquals(apart.world().bodies(), bodies);
+        assertEquals(1, touching.collisions().size());
+    }
+
+    @Test
+    void jointsSurviveSnapshotsAndStepping() {
+        List<Body> bodies = List.of(
+                body(new Circle(0.5), new VectorDouble(0, 0), ZERO, true),
+                body(new Circle(0.5), new VectorDouble(2, 0), GRAVITY, false),
+                body(new Circle(0.5), new VectorDouble(4, 0), GRAVITY, false));
+        List<Joint> joints = List.of(
+                new DistanceJoint(0, 1, ZERO, ZERO, 2, new JointSoftness(4, 0.7), true),
+                new PrismaticJoint(1, 2, new VectorDouble(0.1, 0), ZERO, new VectorDouble(0, 3), 0.25, JointSoftness.RIGID),
+                new WeldJoint(0, 2, ZERO, new VectorDouble(-4, 0), 0, JointSoftness.RIGID));
+        World world = new World(bodies, List.of(LARGE)).withJoints(joints);
+
+        World decoded = WorldSnapshot.decode(WorldSnapshot.encode(world)).toWorld();
+
+        assertEquals(world, decoded);
+        assertEquals(new VectorDouble(0, 1), ((PrismaticJoint) decoded.joints().get(1)).axis());
+
+        World stepped = PhysicsEngine.step(PhysicsEngine.step(world, DT), DT);
+        assertEquals(stepped, WorldSnapshot.decode(WorldSnapshot.encode(stepped)).toWorld());
+        assertEquals(stepped, PhysicsEngine.stepN(world, DT, 2));
+        for (int i = 0; i < joints.size(); i++) {
+            assertEquals(joints.get(i), stepped.joints().get(i).withReaction(JointReaction.NONE));
+        }
+    }
+
+    @Test
+    void rejectsJointsOutsideTheWorld() {
+        List<Body> bodies = List.of(body(new Circle(1), ZERO, ZERO, false));
+        World world = new World(bodies, List.of());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> world.withJoints(List.of(new RevoluteJoint(0, 1, ZERO, ZERO, JointSoftness.RIGID))));
+        assertThrows(IllegalArgumentException.class, () -> new RevoluteJoint(0, 0, ZERO, ZERO, JointSoftness.RIGID));
+        assertThrows(IllegalArgumentException.class, () -> new JointSoftness(0, 1));
+    }
+
+    private static double anchorGap(World world, Joint joint) {
+        Body first = world.bodies().get(joint.firstIndex());
+        Body second = world.bodies().get(joint.secondIndex());
+        VectorDouble firstPoint = first.position().add(joint.firstAnchor().rotateAboutOrigin(first.orientation()));
+        VectorDouble secondPoint = second.position().add(joint.secondAnchor().rotateAboutOrigin(second.orientation()));
+        return firstPoint.distanceBetween(secondPoint);
+    }
+
+    private static Body body(Shape shape, VectorDouble position, VectorDouble acceleration, boolean immovable) {
+        return new Body(shape, position, ZERO, acceleration, 0, 0, 0, 1, 0, 0, immovable);
+    }
+}
@@ -0,0 +1,104 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapPhysicsEngineTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+
+    @Test
+    void matchesPhysicsEngineForMixedWorld() {
+        Random random = new Random(5);
+        List<Body> bodies = IntStream.range(0, 200)
+                .mapToObj(index -> new Body(
+                        switch (index % 4) {
+                            case 0 -> new AxisAlignedRectangle(2, 1);
+                            case 1 -> new RotatedRectangle(1.5, 1);
+                            default -> new Circle(1 + index % 3);
+                        },
+                        new VectorDouble(5 + random.nextDouble() * 190, 5 + random.nextDouble() * 190),
+                        new VectorDouble(random.nextDouble() * 40 - 20, random.nextDouble() * 40 - 20),
+                        new VectorDouble(0, -9.81),
+                        random.nextDouble(),
+                        random.nextDouble() - 0.5,
+                        0.0,
+                        1 + random.nextDouble(),
+                        0.7,
+                        0.01,
+                        index % 17 == 0
+                ))
+                .toList();
+        World world = new World(bodies, List.of(new Boundary(0, 0, 200, 200)));
+        OffHeapBodyStore store = OffHeapBodyStore.of(world);
+
+        for (int step = 0; step < 60; step++) {
+            world = PhysicsEngine.step(world, 1.0 / 60.0);
+            OffHeapPhysicsEngine.step(store, 1.0 / 60.0);
+        }
+
+        assertEquals(world, store.toWorld());
+    }
+
+    @Test
+    void circleRestsOnRectangleFloor() {
+        Body ball = new Body(new Circle(1), new VectorDouble(0, 5), ZERO, new VectorDouble(0, -9.81), 0.0, 0.0, 0.0, 1, 0.3, 0.0, false);
+        Body floor = new Body(new AxisAlignedRectangle(10, 1), new VectorDouble(0, 0), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 0.3, 0.0, true);
+        OffHeapBodyStore store = OffHeapBodyStore.of(new World(List.of(ball, floor), List.of()));
+
+        for (int step = 0; step < 300; step++) {
+            OffHeapPhysicsEngine.step(store, 1.0 / 60.0);
+        }
+
+        assertEquals(2.0, store.positionY(0), 0.05);
+    }
+
+    @Test
+    void offCentreHitSpinsPlankWithoutAddingEnergy() {
+        World initial = ImpactScenes.offCentreHit();
+        OffHeapBodyStore store = OffHeapBodyStore.of(initial);
+
+        OffHeapPhysicsEngine.step(store, 1.0 / 60.0);
+
+        World hit = store.toWorld();
+        assertTrue(hit.bodies().getFirst().angularVelocity() < 0, "a hit on the right end from above should turn the plank clockwise");
+        assertTrue(ImpactScenes.kineticEnergy(hit) <= ImpactScenes.kineticEnergy(initial));
+    }
+
+    @Test
+    void deduplicatesShapesAcrossBodies() {
+        Circle shape = new Circle(1);
+        OffHeapBodyStore store = new OffHeapBodyStore(1000, List.of());
+        IntStream.range(0, 1000).forEach(index ->
+                store.add(new Body(new Circle(1), new VectorDouble(index, 0), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 1, 0, false)));
+
+        assertEquals(List.of(shape), store.shapes());
+        assertEquals(999.0, store.positionX(999));
+    }
+
+    @Test
+    void rejectsBodiesBeyondCapacity() {
+        OffHeapBodyStore store = new OffHeapBodyStore(1, List.of());
+        Body body = new Body(new Circle(1), ZERO, ZERO, ZERO, 0.0, 0.0, 0.0, 1, 1, 0, false);
+        store.add(body);
+
+        assertThrows(IllegalStateException.class, () -> store.add(body));
+    }
+
+    @Test
+    void setRejectsSlotsBeyondSize() {
+        OffHeapBodyStore store = new OffHeapBodyStore(4, List.of());
+        Body body = new Body(new Circle(1), ZERO, ZERO, ZERO, 0.0, 0.0, 0.0, 1, 1, 0, false);
+        store.add(body);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> store.set(1, body));
+        assertEquals(1, store.size());
+    }
+}
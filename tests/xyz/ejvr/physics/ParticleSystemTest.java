@@ -0,0 +1,175 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParticleSystemTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+    private static final VectorDouble GRAVITY = new VectorDouble(0, -9.81);
+    private static final double DT = 1.0 / 60.0;
+
+    @Test
+    void particlesFallAndRestOnTheBoundary() {
+        ParticleSystem particles = ParticleSystem.atRest(0.1, 1, 0, 0, GRAVITY, List.of(new VectorDouble(2, 5)));
+        World world = new World(List.of(), List.of(new Boundary(0, 0, 10, 10))).withParticleSystems(List.of(particles));
+
+        World stepped = PhysicsEngine.step(world, DT);
+        assertEquals(-9.81 * DT, stepped.particleSystems().get(0).velocity(0).y(), 1e-12);
+        for (int step = 0; step < 120; step++) {
+            stepped = PhysicsEngine.step(stepped, DT);
+        }
+
+        assertEquals(new VectorDouble(2, 0.1), stepped.particleSystems().get(0).position(0));
+    }
+
+    @Test
+    void elasticParticlesExchangeVelocities() {
+        ParticleSystem particles = new ParticleSystem(0.5, 2, 1, 0, ZERO,
+                new double[]{0, 0.9}, new double[]{0, 0}, new double[]{1, -1}, new double[]{0, 0});
+        World world = new World(List.of(), List.of()).withParticleSystems(List.of(particles));
+
+        ParticleSystem stepped = PhysicsEngine.step(world, 0.01).particleSystems().get(0);
+
+        assertEquals(-1, stepped.velocity(0).x(), 1e-12);
+        assertEquals(1, stepped.velocity(1).x(), 1e-12);
+        assertEquals(1, stepped.position(1).x() - stepped.position(0).x(), 1e-12);
+    }
+
+    @Test
+    void pileSettlesWithoutDeepOverlap() {
+        World world = new World(List.of(), List.of(new Boundary(0, 0, 20, 40)))
+                .withParticleSystems(List.of(ParticleSystem.atRest(0.1, 1, 0.1, 0.5, GRAVITY, lattice(2000, 0.25, new Random(2)))));
+        for (int step = 0; step < 300; step++) {
+            world = PhysicsEngine.step(world, DT);
+        }
+        ParticleSystem settled = world.particleSystems().get(0);
+
+        double deepest = 0;
+        for (int i = 0; i < settled.size(); i++) {
+            VectorDouble position = settled.position(i);
+            assertTrue(position.x() >= 0.1 && position.x() <= 19.9 && position.y() >= 0.1 && position.y() <= 39.9);
+            for (int j = i + 1; j < settled.size(); j++) {
+                deepest = Math.max(deepest, 0.2 - position.distanceBetween(settled.position(j)));
+            }
+        }
+        assertTrue(deepest < 0.1, "deepest overlap " + deepest);
+    }
+
+    @Test
+    void particlesCollideWithBodies() {
+        Body floor = new Body(new RotatedRectangle(8, 1), new VectorDouble(5, 2), ZERO, ZERO, 0, 0, 0, 1, 0, 0, true);
+        Body ball = new Body(new Circle(1), new VectorDouble(5, 8), ZERO, ZERO, 0, 0, 0, 4, 0, 0, false);
+        ParticleSystem particles = new ParticleSystem(0.1, 1, 0, 0, GRAVITY,
+                new double[]{5, 3.5}, new double[]{6.85, 4}, new double[]{0, 0}, new double[]{10, 0});
+        World world = new World(List.of(floor, ball), List.of()).withParticleSystems(List.of(particles));
+
+        World stepped = PhysicsEngine.step(world, DT);
+        Body struck = stepped.bodies().get(1);
+        ParticleSystem bounced = stepped.particleSystems().get(0);
+        double momentumBefore = 10 - 9.81 * DT;
+        assertEquals(momentumBefore, struck.mass() * struck.velocity().y() + bounced.velocity(0).y(), 1e-9);
+        assertTrue(struck.velocity().y() > 0, "particle pushes the ball");
+
+        for (int step = 0; step < 120; step++) {
+            stepped = PhysicsEngine.step(stepped, DT);
+        }
+        VectorDouble resting = stepped.particleSystems().get(0).position(1);
+        assertEquals(3.5, resting.x(), 1e-9);
+        assertEquals(3.1, resting.y(), 0.01);
+        assertEquals(floor, stepped.bodies().get(0));
+    }
+
+    @Test
+    void particleSystemsSurviveSnapshotsAndMatchAcrossEngines() {
+        List<Body> bodies = List.of(new Body(new RotatedRectangle(2, 2), new VectorDouble(5, 1), ZERO, GRAVITY, 0, 0, 0, 2, 0.2, 0, false));
+        World world = new World(bodies, List.of(new Boundary(0, 0, 10, 10))).withParticleSystems(List.of(
+                ParticleSystem.atRest(0.1, 0.5, 0.3, 0.1, GRAVITY, lattice(300, 0.3, new Random(4))),
+                ParticleSystem.atRest(0.05, 0.2, 0.8, 0, new VectorDouble(1, -2), lattice(50, 0.2, new Random(6)))));
+
+        assertEquals(world, WorldSnapshot.decode(WorldSnapshot.encode(world)).toWorld());
+
+        World scalar = world;
+        World vectorized = world;
+        for (int step = 0; step < 30; step++) {
+            scalar = PhysicsEngine.step(scalar, DT);
+            vectorized = VectorizedPhysicsEngine.step(vectorized, DT);
+        }
+        assertEquals(scalar, vectorized);
+        assertEquals(scalar, PhysicsEngine.stepN(world, DT, 30));
+        assertEquals(scalar, WorldSnapshot.decode(WorldSnapshot.encode(scalar)).toWorld());
+    }
+
+    @Test
+    void comparesParticlesWithCircleBodies() {
+        int count = 4000;
+        List<VectorDouble> positions = lattice(count, 0.3, new Random(8));
+        Boundary box = new Boundary(0, 0, 40, 40);
+        World particles = new World(List.of(), List.of(box))
+                .withParticleSystems(List.of(ParticleSystem.atRest(0.1, 1, 0.2, 0, GRAVITY, positions)));
+        List<Body> circles = new ArrayList<>(count);
+        for (VectorDouble position : positions) {
+            circles.add(new Body(new Circle(0.1), position, ZERO, GRAVITY, 0, 0, 0, 1, 0.2, 0, false));
+        }
+        World bodies = new World(circles, List.of(box));
+        particles = PhysicsEngine.stepN(particles, DT, 30);
+        bodies = PhysicsEngine.stepN(bodies, DT, 30);
+
+        int steps = 60;
+        long start = System.nanoTime();
+        particles = PhysicsEngine.stepN(particles, DT, steps);
+        double particleMillis = (System.nanoTime() - start) / (double) steps / 1_000_000.0;
+        start = System.nanoTime();
+        bodies = PhysicsEngine.stepN(bodies, DT, steps);
+        double bodyMillis = (System.nanoTime() - start) / (double) steps / 1_000_000.0;
+
+        int large = 20_000;
+        World many = new World(List.of(), List.of(new Boundary(0, 0, 300, 300))).withParticleSystems(List.of(
+                ParticleSystem.atRest(0.1, 1, 0.2, 0, GRAVITY, lattice(large, 0.3, new Random(9)))));
+        many = PhysicsEngine.stepN(many, DT, 5);
+        start = System.nanoTime();
+        PhysicsEngine.stepN(many, DT, 10);
+        double largeMillis = (System.nanoTime() - start) / 10.0 / 1_000_000.0;
+
+        System.out.printf("%d circles, ms per step -> particle system: %.3f, circle bodies: %.3f; %d particles: %.1f ms per step "
+                + "(%.1f million particle updates per second)%n", count, particleMillis, bodyMillis, large, largeMillis, large / largeMillis / 1000);
+
+        ParticleSystem settled = particles.particleSystems().getFirst();
+        double startHeight = 0;
+        double settledHeight = 0;
+        for (int i = 0; i < count; i++) {
+            VectorDouble position = settled.position(i);
+            assertTrue(position.x() >= 0.1 && position.x() <= 39.9 && position.y() >= 0.1, "particle " + i + " left the box");
+            startHeight += positions.get(i).y() / count;
+            settledHeight += position.y() / count;
+        }
+        assertTrue(settledHeight < startHeight, "the particles should have fallen into a pile");
+    }
+
+    @Test
+    void rejectsInvalidParticleSystems() {
+        assertThrows(IllegalArgumentException.class, () -> ParticleSystem.atRest(0, 1, 0, 0, ZERO, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> ParticleSystem.atRest(1, -1, 0, 0, ZERO, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> ParticleSystem.atRest(1, 1, 2, 0, ZERO, List.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParticleSystem(1, 1, 0, 0, ZERO, new double[2], new double[2], new double[1], new double[2]));
+        World world = new World(List.of(), List.of()).withParticleSystems(List.of(ParticleSystem.atRest(1, 1, 0, 0, ZERO, List.of(ZERO))));
+        assertThrows(IllegalArgumentException.class, () -> FloatWorld.of(world));
+    }
+
+    private static List<VectorDouble> lattice(int count, double spacing, Random random) {
+        int columns = (int) Math.ceil(Math.sqrt(count));
+        List<VectorDouble> positions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            positions.add(new VectorDouble(1 + (i % columns) * spacing + random.nextDouble() * 0.01, 1 + (i / columns) * spacing));
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,107 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartitionNodeTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+    private static final double DT = 1.0 / 60.0;
+    private static final PartitionLayout LAYOUT = new PartitionLayout(0, 50, 2, 5);
+
+    @Test
+    void inProcessPartitionsMatchSingleEngine() throws Exception {
+        assertMatchesSingleEngine(InProcessPartitionTransport.connect(LAYOUT.partitions()));
+    }
+
+    @Test
+    void tcpPartitionsMatchSingleEngine() throws Exception {
+        List<PartitionTransport> transports = TcpPartitionTransport.localCluster(LAYOUT.partitions());
+        try {
+            assertMatchesSingleEngine(transports);
+        } finally {
+            for (PartitionTransport transport : transports) {
+                transport.close();
+            }
+        }
+    }
+
+    @Test
+    void ownershipMigratesAcrossEdges() throws Exception {
+        List<PartitionNode> nodes = nodes(world(), InProcessPartitionTransport.connect(LAYOUT.partitions()));
+        assertTrue(nodes.get(0).bodies().containsKey(2L));
+
+        run(nodes, 60);
+
+        assertTrue(nodes.get(1).bodies().containsKey(2L));
+        assertEquals(3, nodes.get(0).bodies().size() + nodes.get(1).bodies().size());
+    }
+
+    private static void assertMatchesSingleEngine(List<PartitionTransport> transports) throws Exception {
+        World world = world();
+        List<PartitionNode> nodes = nodes(world, transports);
+
+        int ghosts = 0;
+        for (int step = 0; step < 90; step++) {
+            world = PhysicsEngine.step(world, DT);
+            run(nodes, 1);
+            ghosts += nodes.get(0).lastGhostCount() + nodes.get(1).lastGhostCount();
+        }
+
+        Map<Long, Body> merged = new HashMap<>();
+        nodes.forEach(node -> merged.putAll(node.bodies()));
+        assertEquals(world.bodies().size(), merged.size());
+        for (int id = 0; id < world.bodies().size(); id++) {
+            assertEquals(world.bodies().get(id), merged.get((long) id), "body " + id);
+        }
+        assertTrue(ghosts > 0);
+        assertTrue(world.bodies().get(0).velocity().x() < 0, "bodies should have collided across the edge");
+    }
+
+    private static List<PartitionNode> nodes(World world, List<PartitionTransport> transports) {
+        List<PartitionNode> nodes = new ArrayList<>();
+        for (int index = 0; index < LAYOUT.partitions(); index++) {
+            nodes.add(new PartitionNode(index, LAYOUT, world, transports.get(index)));
+        }
+        return nodes;
+    }
+
+    private static void run(List<PartitionNode> nodes, int steps) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (PartitionNode node : nodes) {
+                futures.add(executor.submit(() -> {
+                    for (int step = 0; step < steps; step++) {
+                        node.step(DT);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private static World world() {
+        return new World(List.of(
+                body(new VectorDouble(45, 50), new VectorDouble(5, 0)),
+                body(new VectorDouble(55, 50), new VectorDouble(-5, 0)),
+                body(new VectorDouble(40, 20), new VectorDouble(30, 0))
+        ), List.of(new Boundary(0, 0, 100, 100)));
+    }
+
+    private static Body body(VectorDouble position, VectorDouble velocity) {
+        return new Body(new Circle(1), position, velocity, ZERO, 0.0, 0.0, 0.0, 1, 1.0, 0.0, false);
+    }
+}
@@ -2,6 +2,7 @@ package xyz.ejvr.physics;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -192,4 +193,74 @@ class PhysicsEngineTest {
         assertTrue(Math.abs(resolvedFirst.angularVelocity()) > 0.0);
         assertTrue(Math.abs(resolvedSecond.angularVelocity()) > 0.0);
     }
+
+    @Test
+    void stepNMatchesRepeatedSteps() {
+        Boundary boundary = new Boundary(0, 0, 20, 20);
+        World world = new World(List.of(
+                new Body(new Circle(1), new VectorDouble(5, 5), new VectorDouble(4, 1), new VectorDouble(0, -9.81), 0.0, 0.0, 0.0, 1, 0.8, 0.0, false),
+                new Body(new AxisAlignedRectangle(1, 1), new VectorDouble(10, 5), new VectorDouble(-3, 2), ZERO, 0.0, 0.5, 0.0, 1, 0.8, 0.0, false),
+                new Body(new Circle(1), new VectorDouble(15, 5), new VectorDouble(-2, 0), ZERO, 0.0, 0.0, 0.0, 1, 0.8, 0.0, false)
+        ), List.of(boundary));
+
+        World expected = world;
+        for (int i = 0; i < 200; i++) {
+            expected = PhysicsEngine.step(expected, 1.0 / 60.0);
+        }
+
+        assertEquals(expected, PhysicsEngine.stepN(world, 1.0 / 60.0, 200));
+    }
+
+    @Test
+    void stepNSamplesAtRequestedInterval() {
+        Body body = new Body(new Circle(1), new VectorDouble(0, 0), new VectorDouble(1, 0), ZERO, 0.0, 0.0, 0.0, 1, 1, 0.0, false);
+        List<Integer> sampledSteps = new ArrayList<>();
+        List<Double> sampledPositions = new ArrayList<>();
+
+        World result = PhysicsEngine.stepN(new World(List.of(body), List.of()), 0.5, 10, 4, (step, sample) -> {
+            sampledSteps.add(step);
+            sampledPositions.add(sample.bodies().getFirst().position().x());
+        });
+
+        assertEquals(List.of(4, 8), sampledSteps);
+        assertEquals(List.of(2.0, 4.0), sampledPositions);
+        assertEquals(5.0, result.bodies().getFirst().position().x(), 1e-9);
+    }
+
+    @Test
+    void circleRestsOnRectangleFloor() {
+        Body ball = new Body(new Circle(1), new VectorDouble(0, 5), ZERO, new VectorDouble(0, -9.81), 0.0, 0.0, 0.0, 1, 0.3, 0.0, false);
+        Body floor = new Body(new AxisAlignedRectangle(10, 1), new VectorDouble(0, 0), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 0.3, 0.0, true);
+
+        World world = PhysicsEngine.stepN(new World(List.of(ball, floor), List.of()), 1.0 / 60.0, 300);
+
+        assertEquals(2.0, world.bodies().getFirst().position().y(), 0.05);
+    }
+
+    @Test
+    void offCentreImpactTurnsBodyFlat() {
+        ConvexPolygon outline = new ConvexPolygon(List.of(
+                new VectorDouble(-2, -0.25), new VectorDouble(2, -0.25), new VectorDouble(2, 0.25), new VectorDouble(-2, 0.25)
+        ));
+        Body plank = new Body(outline, new VectorDouble(0, 3), new VectorDouble(0, -4), ZERO, 0.3, 0.0, 0.0, 1, 0.5, 0.0, false);
+        Body floor = new Body(new AxisAlignedRectangle(10, 1), new VectorDouble(0, 0), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 0.5, 0.0, true);
+        World world = new World(List.of(plank, floor), List.of());
+
+        for (int step = 0; step < 120 && world.bodies().getFirst().angularVelocity() == 0; step++) {
+            world = PhysicsEngine.step(world, 1.0 / 60.0);
+        }
+
+        assertTrue(world.bodies().getFirst().angularVelocity() < 0, "lower end hits first, so the plank should turn clockwise");
+        assertTrue(ImpactScenes.kineticEnergy(world.bodies().getFirst()) <= ImpactScenes.kineticEnergy(plank));
+    }
+
+    @Test
+    void offCentreHitSpinsPlankWithoutAddingEnergy() {
+        World initial = ImpactScenes.offCentreHit();
+
+        World hit = PhysicsEngine.step(initial, 1.0 / 60.0);
+
+        assertTrue(hit.bodies().getFirst().angularVelocity() < 0, "a hit on the right end from above should turn the plank clockwise");
+        assertTrue(ImpactScenes.kineticEnergy(hit) <= ImpactScenes.kineticEnergy(initial));
+    }
 }
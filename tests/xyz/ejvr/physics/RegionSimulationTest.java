@@ -0,0 +1,166 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegionSimulationTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+    private static final double DT = 1.0 / 60.0;
+
+    @Test
+    void fullyActiveSimulationMatchesPhysicsEngine() {
+        World world = pile();
+        RegionSimulation simulation = new RegionSimulation(world, new RegionSettings(25, 200, 200, 4));
+        simulation.addObserver(new VectorDouble(50, 50));
+
+        for (int step = 0; step < 120; step++) {
+            world = PhysicsEngine.step(world, DT);
+            simulation.step(DT);
+        }
+
+        assertEquals(world, simulation.world());
+    }
+
+    @Test
+    void frozenRegionsDoNotMove() {
+        World world = new World(List.of(
+                body(new VectorDouble(5, 5), new VectorDouble(1, 0)),
+                body(new VectorDouble(5_000, 5), new VectorDouble(1, 0))
+        ), List.of());
+        RegionSimulation simulation = new RegionSimulation(world, new RegionSettings(10, 20, 40, 4));
+        simulation.addObserver(new VectorDouble(0, 0));
+
+        for (int step = 0; step < 8; step++) {
+            simulation.step(DT);
+        }
+
+        assertTrue(simulation.body(0).position().x() > 5);
+        assertEquals(5_000, simulation.body(1).position().x());
+        assertEquals(1, simulation.lastSteppedBodies());
+        assertEquals(RegionActivity.FROZEN, simulation.activity(new VectorDouble(5_000, 5)));
+    }
+
+    @Test
+    void haloRegionsCatchUpOnHaloTicks() {
+        World world = new World(List.of(body(new VectorDouble(35, 5), new VectorDouble(6, 0))), List.of());
+        RegionSimulation simulation = new RegionSimulation(world, new RegionSettings(10, 10, 40, 4));
+        simulation.addObserver(new VectorDouble(5, 5));
+        assertEquals(RegionActivity.HALO, simulation.activity(new VectorDouble(35, 5)));
+
+        for (int step = 0; step < 3; step++) {
+            simulation.step(DT);
+        }
+        assertEquals(35, simulation.body(0).position().x());
+
+        simulation.step(DT);
+        assertEquals(35 + 6 * 4 * DT, simulation.body(0).position().x(), 1e-9);
+    }
+
+    @Test
+    void activeRegionTurningHaloOnlyCatchesUpTheTimeSinceItsLastStep() {
+        World world = new World(List.of(body(new VectorDouble(5, 5), new VectorDouble(6, 0))), List.of());
+        RegionSimulation simulation = new RegionSimulation(world, new RegionSettings(10, 10, 40, 4));
+        int observer = simulation.addObserver(new VectorDouble(5, 5));
+
+        simulation.step(DT);
+        simulation.step(DT);
+        simulation.moveObserver(observer, new VectorDouble(-25, 5));
+        assertEquals(RegionActivity.HALO, simulation.activity(simulation.body(0).position()));
+        simulation.step(DT);
+        simulation.step(DT);
+
+        assertEquals(5 + 6 * 4 * DT, simulation.body(0).position().x(), 1e-9);
+    }
+
+    @Test
+    void frozenRegionTurningHaloSkipsTheTimeItWasFrozen() {
+        World world = new World(List.of(body(new VectorDouble(5, 5), new VectorDouble(6, 0))), List.of());
+        RegionSimulation simulation = new RegionSimulation(world, new RegionSettings(10, 10, 40, 4));
+        int observer = simulation.addObserver(new VectorDouble(100, 5));
+
+        simulation.step(DT);
+        simulation.step(DT);
+        simulation.moveObserver(observer, new VectorDouble(-25, 5));
+        simulation.step(DT);
+        simulation.step(DT);
+
+        assertEquals(5 + 6 * 2 * DT, simulation.body(0).position().x(), 1e-9);
+    }
+
+    @Test
+    void bodiesMigrateBetweenRegions() {
+        World world = new World(List.of(body(new VectorDouble(5, 5), new VectorDouble(60, 0))), List.of());
+        RegionSimulation simulation = new RegionSimulation(world, new RegionSettings(10, 25, 25, 1));
+        simulation.addObserver(new VectorDouble(5, 5));
+
+        for (int step = 0; step < 120; step++) {
+            simulation.step(DT);
+        }
+
+        double x = simulation.body(0).position().x();
+        assertTrue(x >= 40 && x < 42, "body should stop just after leaving the active area, got " + x);
+        assertEquals(RegionActivity.FROZEN, simulation.activity(simulation.body(0).position()));
+    }
+
+    @Test
+    void contactsAcrossRegionEdgesExchangeMomentum() {
+        World world = new World(List.of(
+                body(new VectorDouble(9.5, 5), new VectorDouble(5, 0)),
+                body(new VectorDouble(11, 5), ZERO)
+        ), List.of());
+        RegionSimulation simulation = new RegionSimulation(world, new RegionSettings(10, 5, 5, 1));
+        simulation.addObserver(new VectorDouble(3, 5));
+        assertEquals(RegionActivity.FROZEN, simulation.activity(new VectorDouble(11, 5)));
+
+        simulation.step(DT);
+
+        assertEquals(PhysicsEngine.step(world, DT), simulation.world());
+        assertEquals(5, simulation.body(0).velocity().x() + simulation.body(1).velocity().x(), 1e-9);
+        assertTrue(simulation.body(1).velocity().x() > 0, "the frozen neighbour should be pushed, not act as a wall");
+        assertEquals(2, simulation.lastSteppedBodies());
+    }
+
+    @Test
+    void immovableNeighboursStayProxies() {
+        World world = new World(List.of(
+                body(new VectorDouble(9.5, 5), new VectorDouble(5, 0)),
+                body(new VectorDouble(11, 5), ZERO).withImmovable(true)
+        ), List.of());
+        RegionSimulation simulation = new RegionSimulation(world, new RegionSettings(10, 5, 5, 1));
+        simulation.addObserver(new VectorDouble(3, 5));
+
+        simulation.step(DT);
+
+        assertTrue(simulation.body(0).velocity().x() < 0, "active body should bounce off the immovable neighbour");
+        assertEquals(1, simulation.lastSteppedBodies());
+    }
+
+    private static World pile() {
+        List<Body> bodies = IntStream.range(0, 40)
+                .mapToObj(index -> new Body(
+                        new Circle(1),
+                        new VectorDouble(5 + (index % 10) * 9, 10 + (index / 10) * 15),
+                        new VectorDouble((index % 3) - 1, 0),
+                        new VectorDouble(0, -9.81),
+                        0.0,
+                        0.0,
+                        0.0,
+                        1,
+                        0.6,
+                        0.0,
+                        false
+                ))
+                .toList();
+        return new World(bodies, List.of(new Boundary(0, 0, 100, 100)));
+    }
+
+    private static Body body(VectorDouble position, VectorDouble velocity) {
+        return new Body(new Circle(1), position, velocity, ZERO, 0.0, 0.0, 0.0, 1, 1.0, 0.0, false);
+    }
+}
@@ -0,0 +1,115 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReplayTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysRecordedSessionWithEdits() throws IOException {
+        Path log = directory.resolve("session.jfpr");
+        World world = initialWorld();
+        try (ReplayRecorder recorder = ReplayRecorder.open(log, world, true)) {
+            for (int step = 0; step < 120; step++) {
+                if (step % 30 == 0) {
+                    Body kicked = world.bodies().get(step % 10).withVelocity(new VectorDouble(25, 40));
+                    world = world.withBody(step % 10, kicked);
+                    recorder.recordEdit(step % 10, kicked);
+                }
+                world = PhysicsEngine.step(world, 1.0 / 60.0);
+                recorder.recordStep(1.0 / 60.0, world);
+            }
+        }
+
+        try (ReplayPlayer player = ReplayPlayer.open(log)) {
+            assertEquals(initialWorld(), player.initialWorld());
+            assertEquals(world, player.playToEnd());
+            assertEquals(120, player.steps());
+        }
+    }
+
+    @Test
+    void detectsDesynchronizedSteps() throws IOException {
+        World world = initialWorld();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ReplayRecorder recorder = ReplayRecorder.open(bytes, world, false)) {
+            world = PhysicsEngine.step(world, 1.0 / 60.0);
+            recorder.recordStep(1.0 / 60.0, world);
+            world = PhysicsEngine.step(world, 1.0 / 60.0);
+            recorder.recordStep(1.0 / 60.0, StateHash.of(world) + 1);
+        }
+
+        try (ReplayPlayer player = ReplayPlayer.open(new ByteArrayInputStream(bytes.toByteArray()))) {
+            player.step();
+            ReplayDesyncException desync = assertThrows(ReplayDesyncException.class, player::step);
+            assertEquals(2, desync.step());
+        }
+    }
+
+    @Test
+    void replaysWorldsWithParticles() throws IOException {
+        World world = initialWorld().withParticleSystems(List.of(ParticleSystem.atRest(0.5, 1, 0.3, 0,
+                new VectorDouble(0, -9.81), IntStream.range(0, 20).mapToObj(index -> new VectorDouble(5 + index * 4, 80)).toList())));
+        World initial = world;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ReplayRecorder recorder = ReplayRecorder.open(bytes, world, false)) {
+            for (int step = 0; step < 60; step++) {
+                world = PhysicsEngine.step(world, 1.0 / 60.0);
+                recorder.recordStep(1.0 / 60.0, world);
+            }
+        }
+
+        try (ReplayPlayer player = ReplayPlayer.open(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(initial, player.initialWorld());
+            assertEquals(world, player.playToEnd());
+        }
+    }
+
+    @Test
+    void stateHashDependsOnParticleState() {
+        ParticleSystem particles = ParticleSystem.atRest(0.5, 1, 0.3, 0, ZERO, List.of(new VectorDouble(1, 1)));
+        World world = initialWorld().withParticleSystems(List.of(particles));
+        World moved = initialWorld().withParticleSystems(List.of(
+                new ParticleSystem(0.5, 1, 0.3, 0, ZERO, new double[] {1}, new double[] {1}, new double[] {0}, new double[] {-0.0})));
+
+        assertEquals(StateHash.of(initialWorld()), StateHash.of(initialWorld().withParticleSystems(List.of())));
+        assertNotEquals(StateHash.of(initialWorld()), StateHash.of(world));
+        assertNotEquals(StateHash.of(world), StateHash.of(moved));
+    }
+
+    @Test
+    void stateHashDependsOnBodyIndexAndBits() {
+        Body first = new Body(new Circle(1), new VectorDouble(1, 0), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 1, 0, false);
+        Body second = new Body(new Circle(1), new VectorDouble(2, 0), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 1, 0, false);
+
+        long hash = StateHash.of(List.of(first, second));
+
+        assertEquals(hash, StateHash.of(new World(List.of(first, second), List.of())));
+        assertNotEquals(hash, StateHash.of(List.of(second, first)));
+        assertNotEquals(hash, StateHash.of(List.of(first, second.withPosition(new VectorDouble(2, -0.0)))));
+    }
+
+    private static World initialWorld() {
+        List<Body> bodies = IntStream.range(0, 10)
+                .mapToObj(index -> new Body(new Circle(2), new VectorDouble(10 + index * 8, 50), new VectorDouble(index - 5, 0),
+                        new VectorDouble(0, -9.81), 0.0, 0.0, 0.0, 1, 0.7, 0.01, false))
+                .toList();
+        return new World(bodies, List.of(new Boundary(0, 0, 100, 100)));
+    }
+}
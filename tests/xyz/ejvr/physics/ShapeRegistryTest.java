@@ -0,0 +1,78 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ShapeRegistryTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+
+    @Test
+    void equalShapesShareOneInstance() {
+        ShapeRegistry registry = new ShapeRegistry();
+        Circle circle = registry.intern(new Circle(0.5));
+        ConvexPolygon triangle = registry.intern(new ConvexPolygon(List.of(new VectorDouble(0, 0), new VectorDouble(1, 0), new VectorDouble(0, 1))));
+
+        assertSame(circle, registry.intern(new Circle(0.5)));
+        assertSame(triangle, registry.intern(new ConvexPolygon(List.of(new VectorDouble(0, 0), new VectorDouble(1, 0), new VectorDouble(0, 1)))));
+        assertNotSame(circle, registry.intern(new Circle(0.25)));
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    void internsTheShapesOfManyBodies() {
+        List<Body> bodies = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            Shape shape = i % 2 == 0 ? new Circle(0.5) : new RotatedRectangle(0.5, 0.25);
+            bodies.add(new Body(shape, new VectorDouble(i, 0), ZERO, ZERO, 0, 0, 0, 1, 0, 0, false));
+        }
+        ShapeRegistry registry = new ShapeRegistry();
+
+        List<Body> interned = registry.internShapes(bodies);
+
+        assertEquals(bodies, interned);
+        Set<Shape> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        interned.forEach(body -> distinct.add(body.shape()));
+        assertEquals(2, distinct.size());
+        assertSame(interned.get(2), registry.internShapes(interned).get(2));
+    }
+
+    @Test
+    void unitInertiaGivesMomentOfInertiaPerUnitMass() {
+        assertEquals(0.5 * 4, new Circle(2).unitInertia(), 1e-12);
+        assertEquals((4 + 1) / 12.0, new RotatedRectangle(1, 0.5).unitInertia(), 1e-12);
+        assertEquals((4 + 1) / 12.0, new AxisAlignedRectangle(1, 0.5).unitInertia(), 1e-12);
+        assertEquals(25 / 12.0, new LineSegment(new VectorDouble(0, 0), new VectorDouble(3, 4)).unitInertia(), 1e-12);
+
+        Body body = new Body(new RotatedRectangle(1, 0.5), ZERO, ZERO, ZERO, 0, 0, 0, 3, 0, 0, false);
+        assertEquals(1 / (3 * 5 / 12.0), body.inverseInertia(), 1e-12);
+    }
+
+    @Test
+    void rectangleCornersAndBoundsMatchRotatedPoints() {
+        Body body = new Body(new RotatedRectangle(2, 0.5), new VectorDouble(3, -1), ZERO, ZERO, 0.7, 0, 0, 1, 0, 0, false);
+        VectorDouble[] corners = body.rectangleVertices(2, 0.5);
+        VectorDouble[] local = {new VectorDouble(-2, -0.5), new VectorDouble(2, -0.5), new VectorDouble(2, 0.5), new VectorDouble(-2, 0.5)};
+
+        double minX = Double.POSITIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < 4; i++) {
+            VectorDouble expected = body.rotatePoint(local[i]).add(body.position());
+            assertEquals(expected.x(), corners[i].x(), 1e-12);
+            assertEquals(expected.y(), corners[i].y(), 1e-12);
+            minX = Math.min(minX, expected.x());
+            maxY = Math.max(maxY, expected.y());
+        }
+        assertEquals(minX, body.aabb().minX(), 1e-12);
+        assertEquals(maxY, body.aabb().maxY(), 1e-12);
+    }
+}
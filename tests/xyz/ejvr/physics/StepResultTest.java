@@ -0,0 +1,85 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class StepResultTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+
+    @Test
+    void incrementalHashMatchesFullHash() {
+        StepResult result = StepResult.of(world());
+
+        for (int step = 0; step < 120; step++) {
+            result = PhysicsEngine.step(result, 1.0 / 60.0);
+            assertEquals(StateHash.of(result.world()), result.stateHash());
+        }
+    }
+
+    @Test
+    void stateHashCoversParticles() {
+        ParticleSystem particles = ParticleSystem.atRest(0.5, 1, 0.2, 0, new VectorDouble(0, -9.81),
+                List.of(new VectorDouble(10, 80), new VectorDouble(20, 80)));
+        StepResult result = StepResult.of(world().withParticleSystems(List.of(particles)));
+
+        assertNotEquals(StateHash.of(world()), result.stateHash());
+        for (int step = 0; step < 30; step++) {
+            StepResult previous = result;
+            result = PhysicsEngine.step(result, 1.0 / 60.0);
+            assertEquals(StateHash.of(result.world()), result.stateHash());
+            assertNotEquals(previous.stateHash(), result.stateHash());
+        }
+    }
+
+    @Test
+    void rehashesOnlyBodiesThatChanged() {
+        StepResult result = PhysicsEngine.step(StepResult.of(world()), 1.0 / 60.0);
+
+        assertEquals(8, result.rehashedBodies());
+    }
+
+    @Test
+    void stepResultWorldMatchesWorldStep() {
+        World world = world();
+        StepResult result = PhysicsEngine.step(StepResult.of(world), 1.0 / 60.0);
+
+        assertEquals(PhysicsEngine.step(world, 1.0 / 60.0), result.world());
+    }
+
+    @Test
+    void withWorldRehashesEditedBodies() {
+        World world = world();
+        StepResult result = StepResult.of(world);
+        World edited = world.withBody(3, world.bodies().get(3).withVelocity(new VectorDouble(1, 1)));
+
+        StepResult rebased = result.withWorld(edited);
+
+        assertEquals(StateHash.of(edited), rebased.stateHash());
+        assertEquals(1, rebased.rehashedBodies());
+    }
+
+    private static World world() {
+        List<Body> bodies = IntStream.range(0, 30)
+                .mapToObj(index -> new Body(
+                        new Circle(1),
+                        new VectorDouble(5 + index * 3, 50),
+                        index < 10 ? new VectorDouble(2, 5) : ZERO,
+                        index < 10 ? new VectorDouble(0, -9.81) : ZERO,
+                        0.0,
+                        0.0,
+                        0.0,
+                        1,
+                        0.8,
+                        0.0,
+                        index % 7 == 0
+                ))
+                .toList();
+        return new World(bodies, List.of(new Boundary(0, 0, 100, 100)));
+    }
+}
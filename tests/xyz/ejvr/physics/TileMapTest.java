@@ -0,0 +1,139 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TileMapTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+    private static final VectorDouble GRAVITY = new VectorDouble(0, -9.81);
+    private static final double DT = 1.0 / 60.0;
+
+    @Test
+    void looksUpCellsInConstantTime() {
+        TileMap map = floorAndWall(64, 32);
+
+        assertTrue(map.isSolid(0, 0));
+        assertTrue(map.isSolid(63, 0));
+        assertTrue(map.isSolid(40, 10));
+        assertFalse(map.isSolid(10, 1));
+        assertFalse(map.isSolid(-1, 0));
+        assertFalse(map.isSolid(64, 0));
+        assertEquals(3, map.cellX(3.5));
+        assertEquals(-1, map.cellY(-0.5));
+        assertEquals(64 + 31, map.solidCount());
+    }
+
+    @Test
+    void boxSlidesAcrossTileSeamsWithoutCatching() {
+        Body box = new Body(new AxisAlignedRectangle(0.5, 0.5), new VectorDouble(2, 1.5), new VectorDouble(4, 0), GRAVITY, 0.0, 0.0, 0.0, 1, 0.0, 0.0, false);
+        World world = new World(List.of(box), List.of()).withTileMaps(List.of(floorAndWall(64, 32)));
+
+        for (int step = 0; step < 240; step++) {
+            world = PhysicsEngine.step(world, DT);
+            Body moved = world.bodies().getFirst();
+            assertEquals(4, moved.velocity().x(), 1e-9, "horizontal velocity changed at step " + step);
+        }
+
+        Body rested = world.bodies().getFirst();
+        assertEquals(1.5, rested.position().y(), 0.05);
+        assertEquals(2 + 4 * 240 * DT, rested.position().x(), 1e-6);
+    }
+
+    @Test
+    void ballFallingAlongWallIsNotPushedSideways() {
+        Body ball = new Body(new Circle(0.5), new VectorDouble(39.5, 20), new VectorDouble(0.5, 0), GRAVITY, 0.0, 0.0, 0.0, 1, 0.0, 0.0, false);
+        World world = new World(List.of(ball), List.of()).withTileMaps(List.of(floorAndWall(64, 32)));
+
+        for (int step = 0; step < 180; step++) {
+            world = PhysicsEngine.step(world, DT);
+            assertTrue(world.bodies().getFirst().velocity().y() <= 1e-9, "ball bounced upwards at step " + step);
+        }
+
+        Body landed = world.bodies().getFirst();
+        assertEquals(39.5, landed.position().x(), 0.05);
+        assertEquals(1.5, landed.position().y(), 0.05);
+    }
+
+    @Test
+    void stepNAndStepResultHonourTileMaps() {
+        Body ball = new Body(new Circle(0.5), new VectorDouble(10, 5), new VectorDouble(1, 0), GRAVITY, 0.0, 0.0, 0.0, 1, 0.5, 0.0, false);
+        World world = new World(List.of(ball), List.of()).withTileMaps(List.of(floorAndWall(64, 32)));
+
+        World stepped = world;
+        StepResult result = StepResult.of(world);
+        for (int step = 0; step < 120; step++) {
+            stepped = PhysicsEngine.step(stepped, DT);
+            result = PhysicsEngine.step(result, DT);
+        }
+
+        assertEquals(stepped, PhysicsEngine.stepN(world, DT, 120));
+        assertEquals(stepped, result.world());
+        assertEquals(stepped, VectorizedPhysicsEngine.step(PhysicsEngine.stepN(world, DT, 119), DT));
+    }
+
+    @Test
+    void snapshotsCarryTileMapsAndReadVersionOne() {
+        World world = new World(List.of(), List.of(new Boundary(0, 0, 64, 32))).withTileMaps(List.of(floorAndWall(64, 32)));
+        assertEquals(world, WorldSnapshot.decode(WorldSnapshot.encode(world)).toWorld());
+
+        ByteBuffer legacy = WorldSnapshot.encode(new World(List.of(), List.of()));
+        legacy.putInt(4, 1);
+        assertEquals(List.of(), WorldSnapshot.decode(legacy).tileMaps());
+    }
+
+    @Test
+    void comparesTileMapWithTileBodies() {
+        int tiles = 2048;
+        BitSet solid = new BitSet();
+        solid.set(0, tiles);
+        TileMap floor = new TileMap(0, 0, 1, tiles, tiles, solid);
+
+        Random random = new Random(7);
+        List<Body> dynamic = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            dynamic.add(new Body(new Circle(0.4), new VectorDouble(random.nextDouble() * tiles, 1.4 + random.nextDouble()), ZERO, GRAVITY, 0.0, 0.0, 0.0, 1, 0.2, 0.0, false));
+        }
+        List<Body> withTileBodies = new ArrayList<>(dynamic);
+        for (int x = 0; x < tiles; x++) {
+            withTileBodies.add(new Body(new AxisAlignedRectangle(0.5, 0.5), new VectorDouble(x + 0.5, 0.5), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 0.2, 0.0, true));
+        }
+        World tileMapWorld = new World(dynamic, List.of()).withTileMaps(List.of(floor));
+        World tileBodyWorld = new World(withTileBodies, List.of());
+
+        double tileMapMillis = timeSteps(tileMapWorld);
+        double tileBodyMillis = timeSteps(tileBodyWorld);
+        System.out.printf("200 bodies on a %d-tile floor, ms per step -> tile map: %.3f, tile bodies: %.3f%n", tiles, tileMapMillis, tileBodyMillis);
+
+        World settled = PhysicsEngine.stepN(tileMapWorld, DT, 120);
+        settled.bodies().forEach(body -> assertEquals(1.4, body.position().y(), 0.05));
+    }
+
+    private static double timeSteps(World world) {
+        World current = PhysicsEngine.stepN(world, DT, 5);
+        long start = System.nanoTime();
+        PhysicsEngine.stepN(current, DT, 10);
+        return (System.nanoTime() - start) / 10 / 1_000_000.0;
+    }
+
+    /**
+     * Solid floor along row 0 and a one-cell wall at column 40 from row 1 to the top.
+     */
+    private static TileMap floorAndWall(int width, int height) {
+        BitSet solid = new BitSet();
+        solid.set(0, width);
+        for (int y = 1; y < height; y++) {
+            solid.set(y * width + 40);
+        }
+        return new TileMap(0, 0, 1, width, height, solid);
+    }
+}
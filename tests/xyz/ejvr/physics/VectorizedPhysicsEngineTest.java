@@ -0,0 +1,72 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class VectorizedPhysicsEngineTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+
+    @Test
+    void matchesScalarEngineForCircleWorld() {
+        Random random = new Random(7);
+        Boundary boundary = new Boundary(0, 0, 200, 200);
+        List<Body> bodies = IntStream.range(0, 300)
+                .mapToObj(index -> new Body(
+                        new Circle(2 + random.nextDouble() * 2),
+                        new VectorDouble(10 + random.nextDouble() * 180, 10 + random.nextDouble() * 180),
+                        new VectorDouble(random.nextDouble() * 40 - 20, random.nextDouble() * 40 - 20),
+                        new VectorDouble(0, -9.81),
+                        0.0,
+                        random.nextDouble(),
+                        0.0,
+                        1,
+                        0.8,
+                        0.05,
+                        index % 25 == 0
+                ))
+                .toList();
+
+        World scalar = new World(bodies, List.of(boundary));
+        World vectorized = scalar;
+        for (int step = 0; step < 60; step++) {
+            scalar = PhysicsEngine.step(scalar, 1.0 / 60.0);
+            vectorized = VectorizedPhysicsEngine.step(vectorized, 1.0 / 60.0);
+        }
+
+        assertEquals(scalar, vectorized);
+    }
+
+    @Test
+    void restingBodiesKeepTheirInstance() {
+        Body resting = new Body(new Circle(1), new VectorDouble(5, 5), ZERO, ZERO, 0, 0, 0, 1, 0.5, 0, false);
+        Body moving = new Body(new Circle(1), new VectorDouble(20, 5), new VectorDouble(1, 0), ZERO, 0, 0, 0, 1, 0.5, 0, false);
+        World world = new World(List.of(resting, moving), List.of());
+
+        World stepped = VectorizedPhysicsEngine.step(world, 1.0 / 60.0);
+
+        assertSame(resting, stepped.bodies().get(0));
+        assertNotSame(moving, stepped.bodies().get(1));
+        assertEquals(PhysicsEngine.step(world, 1.0 / 60.0), stepped);
+    }
+
+    @Test
+    void matchesScalarDetectionForMixedShapes() {
+        List<Body> bodies = List.of(
+                new Body(new Circle(1), new VectorDouble(0, 0), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 1, 0, false),
+                new Body(new AxisAlignedRectangle(1, 1), new VectorDouble(1.5, 0), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 1, 0, false),
+                new Body(new Circle(1), new VectorDouble(1.5, 1.5), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 1, 0, false),
+                new Body(new LineSegment(new VectorDouble(-2, 0), new VectorDouble(2, 0)), new VectorDouble(0, 0.5), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 1, 0, true),
+                new Body(new RotatedRectangle(1, 0.5), new VectorDouble(0.5, 1), ZERO, ZERO, 0.3, 0.0, 0.0, 1, 1, 0, false)
+        );
+
+        assertEquals(CollisionDetection.detectAll(bodies), CollisionDetection.detectAllBatched(bodies));
+    }
+}
@@ -0,0 +1,96 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorldDeltaTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+
+    @Test
+    void listsOnlyChangedBodies() {
+        World previous = world();
+        World current = PhysicsEngine.step(previous, 1.0 / 60.0);
+
+        WorldDelta delta = WorldDelta.between(previous, current, Quantization.DEFAULT);
+
+        assertEquals(10, delta.changes().size());
+        assertTrue(delta.changes().stream().allMatch(change -> change.index() % 2 == 0));
+    }
+
+    @Test
+    void roundTripsThroughBinaryEncoding() {
+        World previous = world();
+        WorldDelta delta = WorldDelta.between(previous, PhysicsEngine.step(previous, 1.0 / 60.0), Quantization.DEFAULT);
+
+        assertEquals(delta, WorldDelta.decode(delta.encode()));
+    }
+
+    @Test
+    void receiverTracksSenderThroughLoopbackTransport() {
+        LoopbackDeltaTransport transport = new LoopbackDeltaTransport();
+        World sender = world();
+        transport.send(WorldDelta.full(sender, Quantization.DEFAULT).encode());
+        World receiver = WorldDelta.decode(transport.poll()).applyTo(sender);
+
+        for (int tick = 0; tick < 120; tick++) {
+            World next = PhysicsEngine.step(sender, 1.0 / 60.0);
+            transport.send(WorldDelta.between(sender, next, Quantization.DEFAULT).encode());
+            sender = next;
+            receiver = WorldDelta.decode(transport.poll()).applyTo(receiver);
+        }
+
+        for (int i = 0; i < sender.bodies().size(); i++) {
+            VectorDouble expected = sender.bodies().get(i).position();
+            VectorDouble actual = receiver.bodies().get(i).position();
+            assertEquals(expected.x(), actual.x(), Quantization.DEFAULT.positionStep());
+            assertEquals(expected.y(), actual.y(), Quantization.DEFAULT.positionStep());
+        }
+        assertTrue(transport.bytesSent() < 121L * 20 * 6 * 8, "Deltas should be smaller than full state");
+    }
+
+    @Test
+    void receiverTracksParticlesThroughDeltas() {
+        World sender = world().withParticleSystems(List.of(ParticleSystem.atRest(0.5, 1, 0.2, 0, new VectorDouble(0, -9.81),
+                IntStream.range(0, 40).mapToObj(index -> new VectorDouble(2 + index * 2.4, 80)).toList())));
+        World receiver = WorldDelta.decode(WorldDelta.full(sender, Quantization.DEFAULT).encode()).applyTo(sender);
+
+        for (int tick = 0; tick < 60; tick++) {
+            World next = PhysicsEngine.step(sender, 1.0 / 60.0);
+            WorldDelta delta = WorldDelta.between(sender, next, Quantization.DEFAULT);
+            assertEquals(delta, WorldDelta.decode(delta.encode()));
+            sender = next;
+            receiver = delta.applyTo(receiver);
+        }
+
+        ParticleSystem expected = sender.particleSystems().getFirst();
+        ParticleSystem actual = receiver.particleSystems().getFirst();
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.position(i).x(), actual.position(i).x(), Quantization.DEFAULT.positionStep());
+            assertEquals(expected.position(i).y(), actual.position(i).y(), Quantization.DEFAULT.positionStep());
+            assertEquals(expected.velocity(i).y(), actual.velocity(i).y(), Quantization.DEFAULT.velocityStep());
+        }
+    }
+
+    @Test
+    void rejectsWorldsWithDifferentParticleCounts() {
+        World single = world().withParticleSystems(List.of(ParticleSystem.atRest(0.5, 1, 0, 0, ZERO, List.of(ZERO))));
+
+        assertThrows(IllegalArgumentException.class, () -> WorldDelta.between(world(), single, Quantization.DEFAULT));
+        assertThrows(IllegalArgumentException.class, () -> WorldDelta.full(single, Quantization.DEFAULT).applyTo(world()));
+    }
+
+    private static World world() {
+        List<Body> bodies = IntStream.range(0, 20)
+                .mapToObj(index -> new Body(new Circle(1), new VectorDouble(5 + index * 4, 50), new VectorDouble(0, 3),
+                        new VectorDouble(0, -9.81), 0.0, 0.0, 0.0, 1, 0.8, 0.0, index % 2 == 1))
+                .toList();
+        return new World(bodies, List.of(new Boundary(0, 0, 100, 100)));
+    }
+}
@@ -0,0 +1,106 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorldRuntimeTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+
+    @Test
+    void stepsEachWorldAtItsOwnRate() throws InterruptedException {
+        try (WorldRuntime runtime = new WorldRuntime()) {
+            WorldHandle fast = runtime.register(world(), 200);
+            WorldHandle slow = runtime.register(world(), 20);
+
+            Thread.sleep(500);
+
+            assertTrue(fast.ticks() > slow.ticks() * 3, "fast: " + fast.ticks() + ", slow: " + slow.ticks());
+            assertTrue(slow.ticks() >= 5);
+            assertEquals(StateHash.of(fast.world()), fast.stateHash());
+        }
+    }
+
+    @Test
+    void appliesQueuedEditsBeforeNextStep() throws InterruptedException {
+        try (WorldRuntime runtime = new WorldRuntime()) {
+            WorldHandle handle = runtime.register(world(), 100);
+            handle.edit(world -> world.withBody(0, world.bodies().getFirst().withVelocity(new VectorDouble(50, 0))));
+
+            awaitTrue(() -> handle.world().bodies().getFirst().position().x() > 10);
+        }
+    }
+
+    @Test
+    void stopsWorldThatFails() throws InterruptedException {
+        try (WorldRuntime runtime = new WorldRuntime()) {
+            WorldHandle handle = runtime.register(world(), 100);
+            handle.edit(world -> {
+                throw new IllegalStateException("broken edit");
+            });
+
+            awaitTrue(() -> !handle.active());
+
+            assertFalse(handle.active());
+            assertNotNull(handle.failure());
+            assertEquals(0, runtime.worldCount());
+        }
+    }
+
+    @Test
+    void sustainsTenThousandWorldsAtTwentyHertz() throws InterruptedException {
+        int tickRate = 20;
+        try (WorldRuntime runtime = new WorldRuntime()) {
+            List<WorldHandle> handles = IntStream.range(0, 10_000)
+                    .mapToObj(index -> runtime.register(world(), tickRate))
+                    .toList();
+
+            Thread.sleep(2000);
+            long[] warmTicks = handles.stream().mapToLong(WorldHandle::ticks).toArray();
+            long start = System.nanoTime();
+            Thread.sleep(2000);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            long totalTicks = 0;
+            long minimumTicks = Long.MAX_VALUE;
+            long maximumLagMillis = 0;
+            for (int i = 0; i < handles.size(); i++) {
+                long ticks = handles.get(i).ticks() - warmTicks[i];
+                totalTicks += ticks;
+                minimumTicks = Math.min(minimumTicks, ticks);
+                maximumLagMillis = Math.max(maximumLagMillis, handles.get(i).lastLag().toMillis());
+            }
+            double meanRate = totalTicks / seconds / handles.size();
+            double minimumRate = minimumTicks / seconds;
+            System.out.printf("10k worlds at %d Hz, after 2s warm-up -> mean %.1f ticks/s, slowest world %.1f ticks/s, "
+                    + "max last lag %d ms%n", tickRate, meanRate, minimumRate, maximumLagMillis);
+
+            assertEquals(10_000, runtime.worldCount());
+            assertTrue(meanRate > 0, "Worlds should keep ticking");
+            assertTrue(minimumRate > 0, "Every world should keep ticking");
+        }
+    }
+
+    /** Polls until {@code condition} holds, failing after five seconds instead of sleeping for a guessed time. */
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached within 5 s");
+            Thread.sleep(5);
+        }
+    }
+
+    private static World world() {
+        Body body = new Body(new Circle(1), new VectorDouble(10, 10), new VectorDouble(1, 0), ZERO, 0.0, 0.0, 0.0, 1, 1, 0, false);
+        Body other = new Body(new Circle(1), new VectorDouble(30, 10), new VectorDouble(-1, 0), ZERO, 0.0, 0.0, 0.0, 1, 1, 0, false);
+        return new World(List.of(body, other), List.of(new Boundary(0, 0, 100, 100)));
+    }
+}
@@ -0,0 +1,77 @@
+package xyz.ejvr.physics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorldSnapshotTest {
+
+    private static final VectorDouble ZERO = new VectorDouble(0, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsWorldThroughMappedFile() throws IOException {
+        World world = new World(
+                List.of(
+                        new Body(new Circle(1), new VectorDouble(1, 2), new VectorDouble(3, 4), new VectorDouble(0, -9.81), 0.5, 0.25, 0.1, 2, 0.8, 0.01, false),
+                        new Body(new AxisAlignedRectangle(1, 2), new VectorDouble(5, 6), ZERO, ZERO, 0.0, 0.0, 0.0, 3, 0.5, 0.0, false),
+                        new Body(new RotatedRectangle(2, 1), new VectorDouble(-5, 6), ZERO, ZERO, 1.2, 0.0, 0.0, 0, 0.5, 0.0, true),
+                        new Body(new LineSegment(new VectorDouble(-1, 0), new VectorDouble(1, 0)), ZERO, ZERO, ZERO, 0.0, 0.0, 0.0, 1, 1, 0, true),
+                        new Body(new Circle(1), new VectorDouble(7, 8), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 1, 0, false)
+                ),
+                List.of(new Boundary(-10, -10, 10, 10), new Boundary(-20, -20, 20, 20))
+        );
+        Path file = directory.resolve("world.jfpw");
+
+        WorldSnapshot.write(world, file);
+        WorldSnapshot snapshot = WorldSnapshot.read(file);
+
+        assertEquals(world, snapshot.toWorld());
+        assertEquals(4, snapshot.shapes().size());
+        assertEquals(7.0, snapshot.positionX(4));
+        assertTrue(snapshot.immovable(2));
+    }
+
+    @Test
+    void rejectsUnknownVersions() {
+        ByteBuffer encoded = WorldSnapshot.encode(new World(List.of(), List.of()));
+        encoded.putInt(4, WorldSnapshot.VERSION + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> WorldSnapshot.decode(encoded));
+    }
+
+    @Test
+    void loadsMillionBodySnapshotLazily() throws IOException {
+        Circle shape = new Circle(1);
+        List<Body> bodies = IntStream.range(0, 1_000_000)
+                .mapToObj(index -> new Body(shape, new VectorDouble(index, -index), ZERO, ZERO, 0.0, 0.0, 0.0, 1, 1, 0, false))
+                .toList();
+        Path file = directory.resolve("large.jfpw");
+        WorldSnapshot.write(new World(bodies, List.of()), file);
+
+        long start = System.nanoTime();
+        WorldSnapshot snapshot = WorldSnapshot.read(file);
+        double sum = 0;
+        for (int i = 0; i < snapshot.bodyCount(); i++) {
+            sum += snapshot.positionX(i);
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+        System.out.printf("1M-body snapshot open + scan of positions (ms): %.3f%n", millis);
+
+        assertEquals(1_000_000, snapshot.bodyCount());
+        assertEquals(999_999.0 * 1_000_000 / 2, sum);
+        assertEquals(bodies.get(123_456), snapshot.body(123_456));
+    }
+}